@@ -243,6 +243,7 @@ public interface BpmnXMLConstants {
     public static final String ELEMENT_GATEWAY_EVENT = "eventBasedGateway";
     public static final String ELEMENT_GATEWAY_INCLUSIVE = "inclusiveGateway";
     public static final String ELEMENT_GATEWAY_PARALLEL = "parallelGateway";
+    public static final String ATTRIBUTE_GATEWAY_CONCURRENT_BRANCHES = "concurrentBranches";
     public static final String ELEMENT_GATEWAY_COMPLEX = "complexGateway";
 
     public static final String ELEMENT_EVENT_START = "startEvent";
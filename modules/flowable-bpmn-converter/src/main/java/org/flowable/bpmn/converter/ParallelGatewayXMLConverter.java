@@ -39,12 +39,17 @@ public class ParallelGatewayXMLConverter extends BaseBpmnXMLConverter {
     protected BaseElement convertXMLToElement(XMLStreamReader xtr, BpmnModel model) throws Exception {
         ParallelGateway gateway = new ParallelGateway();
         BpmnXMLUtil.addXMLLocation(gateway, xtr);
+        gateway.setConcurrentBranches(Boolean.valueOf(BpmnXMLUtil.getAttributeValue(ATTRIBUTE_GATEWAY_CONCURRENT_BRANCHES, xtr)));
         parseChildElements(getXMLElementName(), gateway, model, xtr);
         return gateway;
     }
 
     @Override
     protected void writeAdditionalAttributes(BaseElement element, BpmnModel model, XMLStreamWriter xtw) throws Exception {
+        ParallelGateway gateway = (ParallelGateway) element;
+        if (gateway.isConcurrentBranches()) {
+            writeQualifiedAttribute(ATTRIBUTE_GATEWAY_CONCURRENT_BRANCHES, "true", xtw);
+        }
     }
 
     @Override
@@ -17,6 +17,16 @@ package org.flowable.bpmn.model;
  */
 public class ParallelGateway extends Gateway {
 
+    protected boolean concurrentBranches;
+
+    public boolean isConcurrentBranches() {
+        return concurrentBranches;
+    }
+
+    public void setConcurrentBranches(boolean concurrentBranches) {
+        this.concurrentBranches = concurrentBranches;
+    }
+
     @Override
     public ParallelGateway clone() {
         ParallelGateway clone = new ParallelGateway();
@@ -26,5 +36,6 @@ public class ParallelGateway extends Gateway {
 
     public void setValues(ParallelGateway otherElement) {
         super.setValues(otherElement);
+        setConcurrentBranches(otherElement.isConcurrentBranches());
     }
 }
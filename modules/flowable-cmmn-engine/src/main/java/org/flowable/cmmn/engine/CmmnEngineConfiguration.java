@@ -59,6 +59,7 @@ import org.flowable.cmmn.engine.impl.deployer.CmmnDeployer;
 import org.flowable.cmmn.engine.impl.deployer.CmmnDeploymentManager;
 import org.flowable.cmmn.engine.impl.el.CmmnExpressionManager;
 import org.flowable.cmmn.engine.impl.form.DefaultFormFieldHandler;
+import org.flowable.cmmn.engine.impl.history.CmmnHistoryCleaner;
 import org.flowable.cmmn.engine.impl.history.CmmnHistoryManager;
 import org.flowable.cmmn.engine.impl.history.CmmnHistoryTaskManager;
 import org.flowable.cmmn.engine.impl.history.CmmnHistoryVariableManager;
@@ -234,6 +235,7 @@ import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncRunnableExecution
 import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
 import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
 import org.flowable.job.service.impl.asyncexecutor.JobManager;
+import org.flowable.job.service.impl.asyncexecutor.JobPartitionManager;
 import org.flowable.job.service.impl.db.JobDbSchemaManager;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobZippedHandler;
@@ -241,7 +243,12 @@ import org.flowable.job.service.impl.history.async.AsyncHistoryListener;
 import org.flowable.job.service.impl.history.async.AsyncHistorySession;
 import org.flowable.job.service.impl.history.async.AsyncHistorySessionFactory;
 import org.flowable.job.service.impl.history.async.DefaultAsyncHistoryJobProducer;
+import org.flowable.job.service.impl.history.async.codec.AsyncHistoryPayloadCodec;
+import org.flowable.job.service.impl.history.async.sink.StreamingAsyncHistoryListener;
 import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
+import org.flowable.job.service.impl.history.cleanup.HistoryArchiver;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleaner;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleanupJobHandler;
 import org.flowable.task.service.InternalTaskAssignmentManager;
 import org.flowable.task.service.InternalTaskVariableScopeResolver;
 import org.flowable.task.service.TaskPostProcessor;
@@ -500,6 +507,21 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
      */
     protected int asyncExecutorThreadPoolQueueSize = 100;
 
+    /**
+     * When true, the async executor threadpool wakes up the job acquisition thread as soon as a worker is available again after the queue was full,
+     * instead of the acquisition thread waiting for the acquire wait time. Default value = false. (This property is only applicable when using the
+     * {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorFreeCapacityNotificationEnabled;
+
+    /**
+     * When true, the async executor executes each job on its own virtual thread (or on an unbounded threadpool when the JVM doesn't support virtual threads)
+     * instead of on the bounded threadpool and queue. The number of concurrently executing jobs is then limited by {@link #asyncExecutorMaxConcurrentJobs}.
+     * Default value = false. (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorVirtualThreadsEnabled;
+    protected int asyncExecutorMaxConcurrentJobs = 100;
+
     /**
      * The queue onto which jobs will be placed before they are actually executed.
      * Threads form the async executor threadpool will take work from this queue.
@@ -599,6 +621,52 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
      */
     protected int asyncExecutorAsyncJobLockTimeInMillis = 5 * 60 * 1000;
 
+    /**
+     * When true, the async executor locks all jobs of one acquisition with a single update statement.
+     * Jobs that were locked concurrently by another async executor are skipped, instead of the whole acquisition failing with an optimistic locking exception.
+     * <p>
+     * Default value = false;
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorBulkJobLockEnabled;
+
+    /**
+     * When true, the async executor adapts the number of jobs per acquisition and the wait time between acquisitions to the acquisition results:
+     * it acquires bigger pages without waiting while full pages are acquired, and backs off when nothing is acquired,
+     * when optimistic locking exceptions occur or when the workers have no free capacity.
+     * The configured max jobs per acquisition are then the initial page sizes and the configured acquire wait times the maximum wait times.
+     * <p>
+     * Default value = false;
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorAdaptiveAcquisitionEnabled;
+
+    /**
+     * The number of partitions the async and timer jobs are divided over. When bigger than 0, every job gets a partition based on its (process or case) instance
+     * and the async executors of a cluster lease the partitions between them: each async executor only acquires the jobs of the partitions it owns,
+     * instead of all async executors competing for the same jobs. When an async executor goes down, its partitions are taken over by the others when the leases expire.
+     * <p>
+     * All nodes need to use the same number of partitions. Jobs without a partition, e.g. created before partitioning was enabled, are acquired by all async executors.
+     * <p>
+     * Default value = 0 (no partitioning);
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected int asyncExecutorJobPartitionCount;
+
+    /**
+     * When true, the async executor groups the acquired exclusive jobs by case instance and executes the jobs of one instance one after the other on one worker,
+     * locking the instance only once. Without grouping, every exclusive job locks and unlocks the instance in separate transactions
+     * and jobs that fail to get the lock are unacquired and retried later, which is costly for instances with many parallel async paths.
+     * <p>
+     * Default value = false;
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorExclusiveJobGroupingEnabled;
+
     /**
      * The amount of time (in milliseconds) that is between two consecutive checks of 'expired jobs'.
      * Expired jobs are jobs that were locked (a lock owner + time was written by some executor, but the job was never completed).
@@ -651,6 +719,24 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected boolean asyncHistoryExecutorMessageQueueMode;
     protected int asyncHistoryJsonGroupingThreshold = 10;
     protected AsyncHistoryListener asyncHistoryListener;
+    /**
+     * Encodes the historical data stored with async history jobs. When null, the data is stored as json.
+     * See {@link org.flowable.job.service.impl.history.async.codec.BinaryAsyncHistoryPayloadCodec} for a compact binary alternative.
+     */
+    protected AsyncHistoryPayloadCodec asyncHistoryPayloadCodec;
+
+    /**
+     * Whether a repeating timer job removes the history of case instances that have ended longer than
+     * cleanInstancesEndedAfterNumberOfDays ago, following the historyCleaningTimeCycleConfig (a cron expression or an ISO 8601 repetition).
+     */
+    protected boolean enableHistoryCleaning;
+    protected String historyCleaningTimeCycleConfig = "0 0 1 * * ?";
+    protected int cleanInstancesEndedAfterNumberOfDays = 365;
+    protected int historyCleaningBatchSize = 100;
+    protected int historyCleaningMaxBatchesPerRun = 100;
+    protected HistoryArchiver historyArchiver;
+    protected List<HistoryCleaner> customHistoryCleaners;
+    protected HistoryCleanupJobHandler historyCleanupJobHandler;
 
     // More info: see similar async executor properties.
     protected int asyncHistoryExecutorNumberOfRetries = 10;
@@ -658,12 +744,19 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected int asyncHistoryExecutorMaxPoolSize = 10;
     protected long asyncHistoryExecutorThreadKeepAliveTime = 5000L;
     protected int asyncHistoryExecutorThreadPoolQueueSize = 100;
+    protected boolean asyncHistoryExecutorVirtualThreadsEnabled;
+    protected int asyncHistoryExecutorMaxConcurrentJobs = 100;
     protected BlockingQueue<Runnable> asyncHistoryExecutorThreadPoolQueue;
     protected long asyncHistoryExecutorSecondsToWaitOnShutdown = 60L;
     protected int asyncHistoryExecutorDefaultAsyncJobAcquireWaitTime = 10 * 1000;
     protected int asyncHistoryExecutorDefaultQueueSizeFullWaitTime;
     protected String asyncHistoryExecutorLockOwner;
     protected int asyncHistoryExecutorAsyncJobLockTimeInMillis = 5 * 60 * 1000;
+    /**
+     * The number of history jobs that are executed together in one transaction, flushing the historic data of all of them with bulk inserts.
+     * When a batch fails, its jobs are executed again one by one. Default value = 1 (every history job in its own transaction).
+     */
+    protected int asyncHistoryExecutorBatchSize = 1;
     protected int asyncHistoryExecutorResetExpiredJobsInterval = 60 * 1000;
     protected int asyncHistoryExecutorResetExpiredJobsPageSize = 3;
     protected boolean isAsyncHistoryExecutorAsyncJobAcquisitionEnabled = true;
@@ -1430,6 +1523,11 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         jobHandlers.put(AsyncActivatePlanItemInstanceJobHandler.TYPE, new AsyncActivatePlanItemInstanceJobHandler());
         jobHandlers.put(AsyncInitializePlanModelJobHandler.TYPE, new AsyncInitializePlanModelJobHandler());
 
+        if (enableHistoryCleaning) {
+            initHistoryCleanupJobHandler();
+            jobHandlers.put(historyCleanupJobHandler.getType(), historyCleanupJobHandler);
+        }
+
         // if we have custom job handlers, register them
         if (customJobHandlers != null) {
             for (JobHandler customJobHandler : customJobHandlers) {
@@ -1438,6 +1536,23 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         }
     }
     
+    public void initHistoryCleanupJobHandler() {
+        if (historyCleanupJobHandler == null) {
+            historyCleanupJobHandler = new HistoryCleanupJobHandler();
+        }
+        historyCleanupJobHandler.setCleanInstancesEndedAfterNumberOfDays(cleanInstancesEndedAfterNumberOfDays);
+        historyCleanupJobHandler.setBatchSize(historyCleaningBatchSize);
+        historyCleanupJobHandler.setMaxBatchesPerRun(historyCleaningMaxBatchesPerRun);
+        historyCleanupJobHandler.setHistoryArchiver(historyArchiver);
+
+        historyCleanupJobHandler.addHistoryCleaner(new CmmnHistoryCleaner(this));
+        if (customHistoryCleaners != null) {
+            for (HistoryCleaner customHistoryCleaner : customHistoryCleaners) {
+                historyCleanupJobHandler.addHistoryCleaner(customHistoryCleaner);
+            }
+        }
+    }
+
     protected void initHistoryJobHandlers() {
         if (isAsyncHistoryEnabled) {
             historyJobHandlers = new HashMap<>();
@@ -1457,6 +1572,11 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             asyncHistoryJobZippedHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             historyJobHandlers.put(asyncHistoryJobZippedHandler.getType(), asyncHistoryJobZippedHandler);
 
+            if (asyncHistoryListener instanceof StreamingAsyncHistoryListener) {
+                HistoryJobHandler asyncHistorySinkJobHandler = ((StreamingAsyncHistoryListener) asyncHistoryListener).createJobHandler();
+                historyJobHandlers.put(asyncHistorySinkJobHandler.getType(), asyncHistorySinkJobHandler);
+            }
+
             if (getCustomHistoryJobHandlers() != null) {
                 for (HistoryJobHandler customJobHandler : getCustomHistoryJobHandlers()) {
                     historyJobHandlers.put(customJobHandler.getType(), customJobHandler);
@@ -1562,9 +1682,16 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             jobServiceConfiguration.setAsyncHistoryJsonGzipCompressionEnabled(isAsyncHistoryJsonGzipCompressionEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingThreshold(asyncHistoryJsonGroupingThreshold);
+            if (asyncHistoryPayloadCodec != null) {
+                jobServiceConfiguration.setAsyncHistoryPayloadCodec(asyncHistoryPayloadCodec);
+            }
             
             this.jobServiceConfiguration.setJobExecutionScope(this.jobExecutionScope);
             this.jobServiceConfiguration.setHistoryJobExecutionScope(this.historyJobExecutionScope);
+
+            if (asyncExecutorJobPartitionCount > 0) {
+                this.jobServiceConfiguration.setJobPartitionManager(new JobPartitionManager(asyncExecutorJobPartitionCount));
+            }
     
             this.jobServiceConfiguration.init();
         }
@@ -1622,6 +1749,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
                 defaultAsyncExecutor.setThreadPoolQueue(asyncExecutorThreadPoolQueue);
             }
             defaultAsyncExecutor.setQueueSize(asyncExecutorThreadPoolQueueSize);
+            defaultAsyncExecutor.setFreeCapacityNotificationEnabled(asyncExecutorFreeCapacityNotificationEnabled);
+            defaultAsyncExecutor.setVirtualThreadsEnabled(asyncExecutorVirtualThreadsEnabled);
+            defaultAsyncExecutor.setMaxConcurrentJobs(asyncExecutorMaxConcurrentJobs);
             
             // Thread flags
             defaultAsyncExecutor.setAsyncJobAcquisitionEnabled(isAsyncExecutorAsyncJobAcquisitionEnabled);
@@ -1638,6 +1768,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             // Job locking
             defaultAsyncExecutor.setTimerLockTimeInMillis(asyncExecutorTimerLockTimeInMillis);
             defaultAsyncExecutor.setAsyncJobLockTimeInMillis(asyncExecutorAsyncJobLockTimeInMillis);
+            defaultAsyncExecutor.setBulkJobLockEnabled(asyncExecutorBulkJobLockEnabled);
+            defaultAsyncExecutor.setAdaptiveAcquisitionEnabled(asyncExecutorAdaptiveAcquisitionEnabled);
+            defaultAsyncExecutor.setExclusiveJobGroupingEnabled(asyncExecutorExclusiveJobGroupingEnabled);
             if (asyncExecutorLockOwner != null) {
                 defaultAsyncExecutor.setLockOwner(asyncExecutorLockOwner);
             }
@@ -1676,6 +1809,8 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
                     defaultAsyncHistoryExecutor.setThreadPoolQueue(asyncHistoryExecutorThreadPoolQueue);
                 }
                 defaultAsyncHistoryExecutor.setQueueSize(asyncHistoryExecutorThreadPoolQueueSize);
+                defaultAsyncHistoryExecutor.setVirtualThreadsEnabled(asyncHistoryExecutorVirtualThreadsEnabled);
+                defaultAsyncHistoryExecutor.setMaxConcurrentJobs(asyncHistoryExecutorMaxConcurrentJobs);
                 
                 // Thread flags
                 defaultAsyncHistoryExecutor.setAsyncJobAcquisitionEnabled(isAsyncHistoryExecutorAsyncJobAcquisitionEnabled);
@@ -1690,6 +1825,12 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     
                 // Job locking
                 defaultAsyncHistoryExecutor.setAsyncJobLockTimeInMillis(asyncHistoryExecutorAsyncJobLockTimeInMillis);
+
+                // Batching, acquiring a full batch at once
+                if (asyncHistoryExecutorBatchSize > 1) {
+                    defaultAsyncHistoryExecutor.setHistoryJobBatchSize(asyncHistoryExecutorBatchSize);
+                    defaultAsyncHistoryExecutor.setMaxAsyncJobsDuePerAcquisition(asyncHistoryExecutorBatchSize);
+                }
                 if (asyncHistoryExecutorLockOwner != null) {
                     defaultAsyncHistoryExecutor.setLockOwner(asyncHistoryExecutorLockOwner);
                 }
@@ -2745,6 +2886,33 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isAsyncExecutorFreeCapacityNotificationEnabled() {
+        return asyncExecutorFreeCapacityNotificationEnabled;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorFreeCapacityNotificationEnabled(boolean asyncExecutorFreeCapacityNotificationEnabled) {
+        this.asyncExecutorFreeCapacityNotificationEnabled = asyncExecutorFreeCapacityNotificationEnabled;
+        return this;
+    }
+
+    public boolean isAsyncExecutorVirtualThreadsEnabled() {
+        return asyncExecutorVirtualThreadsEnabled;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorVirtualThreadsEnabled(boolean asyncExecutorVirtualThreadsEnabled) {
+        this.asyncExecutorVirtualThreadsEnabled = asyncExecutorVirtualThreadsEnabled;
+        return this;
+    }
+
+    public int getAsyncExecutorMaxConcurrentJobs() {
+        return asyncExecutorMaxConcurrentJobs;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorMaxConcurrentJobs(int asyncExecutorMaxConcurrentJobs) {
+        this.asyncExecutorMaxConcurrentJobs = asyncExecutorMaxConcurrentJobs;
+        return this;
+    }
+
     public BlockingQueue<Runnable> getAsyncExecutorThreadPoolQueue() {
         return asyncExecutorThreadPoolQueue;
     }
@@ -2835,6 +3003,42 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isAsyncExecutorBulkJobLockEnabled() {
+        return asyncExecutorBulkJobLockEnabled;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorBulkJobLockEnabled(boolean asyncExecutorBulkJobLockEnabled) {
+        this.asyncExecutorBulkJobLockEnabled = asyncExecutorBulkJobLockEnabled;
+        return this;
+    }
+
+    public boolean isAsyncExecutorAdaptiveAcquisitionEnabled() {
+        return asyncExecutorAdaptiveAcquisitionEnabled;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorAdaptiveAcquisitionEnabled(boolean asyncExecutorAdaptiveAcquisitionEnabled) {
+        this.asyncExecutorAdaptiveAcquisitionEnabled = asyncExecutorAdaptiveAcquisitionEnabled;
+        return this;
+    }
+
+    public int getAsyncExecutorJobPartitionCount() {
+        return asyncExecutorJobPartitionCount;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorJobPartitionCount(int asyncExecutorJobPartitionCount) {
+        this.asyncExecutorJobPartitionCount = asyncExecutorJobPartitionCount;
+        return this;
+    }
+
+    public boolean isAsyncExecutorExclusiveJobGroupingEnabled() {
+        return asyncExecutorExclusiveJobGroupingEnabled;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorExclusiveJobGroupingEnabled(boolean asyncExecutorExclusiveJobGroupingEnabled) {
+        this.asyncExecutorExclusiveJobGroupingEnabled = asyncExecutorExclusiveJobGroupingEnabled;
+        return this;
+    }
+
     public int getAsyncExecutorResetExpiredJobsInterval() {
         return asyncExecutorResetExpiredJobsInterval;
     }
@@ -2961,6 +3165,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         this.asyncHistoryJsonGroupingThreshold = asyncHistoryJsonGroupingThreshold;
         return this;
     }
+
+    public AsyncHistoryPayloadCodec getAsyncHistoryPayloadCodec() {
+        return asyncHistoryPayloadCodec;
+    }
+
+    public CmmnEngineConfiguration setAsyncHistoryPayloadCodec(AsyncHistoryPayloadCodec asyncHistoryPayloadCodec) {
+        this.asyncHistoryPayloadCodec = asyncHistoryPayloadCodec;
+        return this;
+    }
     
     public boolean isAsyncHistoryExecutorMessageQueueMode() {
         return asyncHistoryExecutorMessageQueueMode;
@@ -3025,6 +3238,24 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isAsyncHistoryExecutorVirtualThreadsEnabled() {
+        return asyncHistoryExecutorVirtualThreadsEnabled;
+    }
+
+    public CmmnEngineConfiguration setAsyncHistoryExecutorVirtualThreadsEnabled(boolean asyncHistoryExecutorVirtualThreadsEnabled) {
+        this.asyncHistoryExecutorVirtualThreadsEnabled = asyncHistoryExecutorVirtualThreadsEnabled;
+        return this;
+    }
+
+    public int getAsyncHistoryExecutorMaxConcurrentJobs() {
+        return asyncHistoryExecutorMaxConcurrentJobs;
+    }
+
+    public CmmnEngineConfiguration setAsyncHistoryExecutorMaxConcurrentJobs(int asyncHistoryExecutorMaxConcurrentJobs) {
+        this.asyncHistoryExecutorMaxConcurrentJobs = asyncHistoryExecutorMaxConcurrentJobs;
+        return this;
+    }
+
     public BlockingQueue<Runnable> getAsyncHistoryExecutorThreadPoolQueue() {
         return asyncHistoryExecutorThreadPoolQueue;
     }
@@ -3079,6 +3310,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public int getAsyncHistoryExecutorBatchSize() {
+        return asyncHistoryExecutorBatchSize;
+    }
+
+    public CmmnEngineConfiguration setAsyncHistoryExecutorBatchSize(int asyncHistoryExecutorBatchSize) {
+        this.asyncHistoryExecutorBatchSize = asyncHistoryExecutorBatchSize;
+        return this;
+    }
+
     public int getAsyncHistoryExecutorResetExpiredJobsInterval() {
         return asyncHistoryExecutorResetExpiredJobsInterval;
     }
@@ -3151,6 +3391,78 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isEnableHistoryCleaning() {
+        return enableHistoryCleaning;
+    }
+
+    public CmmnEngineConfiguration setEnableHistoryCleaning(boolean enableHistoryCleaning) {
+        this.enableHistoryCleaning = enableHistoryCleaning;
+        return this;
+    }
+
+    public String getHistoryCleaningTimeCycleConfig() {
+        return historyCleaningTimeCycleConfig;
+    }
+
+    public CmmnEngineConfiguration setHistoryCleaningTimeCycleConfig(String historyCleaningTimeCycleConfig) {
+        this.historyCleaningTimeCycleConfig = historyCleaningTimeCycleConfig;
+        return this;
+    }
+
+    public int getCleanInstancesEndedAfterNumberOfDays() {
+        return cleanInstancesEndedAfterNumberOfDays;
+    }
+
+    public CmmnEngineConfiguration setCleanInstancesEndedAfterNumberOfDays(int cleanInstancesEndedAfterNumberOfDays) {
+        this.cleanInstancesEndedAfterNumberOfDays = cleanInstancesEndedAfterNumberOfDays;
+        return this;
+    }
+
+    public int getHistoryCleaningBatchSize() {
+        return historyCleaningBatchSize;
+    }
+
+    public CmmnEngineConfiguration setHistoryCleaningBatchSize(int historyCleaningBatchSize) {
+        this.historyCleaningBatchSize = historyCleaningBatchSize;
+        return this;
+    }
+
+    public int getHistoryCleaningMaxBatchesPerRun() {
+        return historyCleaningMaxBatchesPerRun;
+    }
+
+    public CmmnEngineConfiguration setHistoryCleaningMaxBatchesPerRun(int historyCleaningMaxBatchesPerRun) {
+        this.historyCleaningMaxBatchesPerRun = historyCleaningMaxBatchesPerRun;
+        return this;
+    }
+
+    public HistoryArchiver getHistoryArchiver() {
+        return historyArchiver;
+    }
+
+    public CmmnEngineConfiguration setHistoryArchiver(HistoryArchiver historyArchiver) {
+        this.historyArchiver = historyArchiver;
+        return this;
+    }
+
+    public List<HistoryCleaner> getCustomHistoryCleaners() {
+        return customHistoryCleaners;
+    }
+
+    public CmmnEngineConfiguration setCustomHistoryCleaners(List<HistoryCleaner> customHistoryCleaners) {
+        this.customHistoryCleaners = customHistoryCleaners;
+        return this;
+    }
+
+    public HistoryCleanupJobHandler getHistoryCleanupJobHandler() {
+        return historyCleanupJobHandler;
+    }
+
+    public CmmnEngineConfiguration setHistoryCleanupJobHandler(HistoryCleanupJobHandler historyCleanupJobHandler) {
+        this.historyCleanupJobHandler = historyCleanupJobHandler;
+        return this;
+    }
+
     public boolean isEnableEntityLinks() {
         return enableEntityLinks;
     }
@@ -21,8 +21,11 @@ import org.flowable.cmmn.engine.CmmnEngine;
 import org.flowable.cmmn.engine.CmmnEngineConfiguration;
 import org.flowable.cmmn.engine.CmmnEngines;
 import org.flowable.cmmn.engine.impl.cmd.SchemaOperationsCmmnEngineBuild;
+import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.cmd.HandleHistoryCleanupTimerJobCmd;
+import org.flowable.job.service.impl.history.async.sink.StreamingAsyncHistoryListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,6 +64,13 @@ public class CmmnEngineImpl implements CmmnEngine {
             commandExecutor.execute(cmmnEngineConfiguration.getSchemaCommandConfig(), cmmnEngineConfiguration.getSchemaManagementCmd());
         }
 
+        if (cmmnEngineConfiguration.isUsingRelationalDatabase()) {
+            // Schedules the repeating history cleanup timer job, or removes it when the cleaning is disabled.
+            // The job handler is only registered while the cleaning is enabled, so a job that is left behind would fail on every run.
+            String historyCleaningTimeCycleConfig = cmmnEngineConfiguration.isEnableHistoryCleaning() ? cmmnEngineConfiguration.getHistoryCleaningTimeCycleConfig() : null;
+            cmmnEngineConfiguration.getCommandExecutor().execute(new HandleHistoryCleanupTimerJobCmd(historyCleaningTimeCycleConfig, ScopeTypes.CMMN));
+        }
+
         if (asyncExecutor != null && asyncExecutor.isAutoActivate()) {
             asyncExecutor.start();
         }
@@ -96,6 +106,9 @@ public class CmmnEngineImpl implements CmmnEngine {
         if (asyncHistoryExecutor != null && asyncHistoryExecutor.isActive()) {
             asyncHistoryExecutor.shutdown();
         }
+        if (cmmnEngineConfiguration.getAsyncHistoryListener() instanceof StreamingAsyncHistoryListener) {
+            ((StreamingAsyncHistoryListener) cmmnEngineConfiguration.getAsyncHistoryListener()).shutdown();
+        }
     }
     
     @Override
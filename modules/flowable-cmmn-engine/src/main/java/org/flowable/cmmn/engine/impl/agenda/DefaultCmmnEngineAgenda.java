@@ -12,6 +12,8 @@
  */
 package org.flowable.cmmn.engine.impl.agenda;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 
 import org.flowable.cmmn.engine.impl.agenda.operation.ActivateAsyncPlanItemInstanceOperation;
@@ -36,6 +38,7 @@ import org.flowable.cmmn.engine.impl.criteria.PlanItemLifeCycleEvent;
 import org.flowable.cmmn.engine.impl.persistence.entity.CaseInstanceEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.PlanItemInstanceEntity;
 import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
+import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.agenda.AbstractAgenda;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.slf4j.Logger;
@@ -48,15 +51,49 @@ public class DefaultCmmnEngineAgenda extends AbstractAgenda implements CmmnEngin
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultCmmnEngineAgenda.class);
 
+    /**
+     * The operation to evaluate the criteria is the most expensive operation.
+     * As such, when it's planned it is always
+     * - kept after all other operations, as these can trigger new evaluation operations
+     * - checked for duplicates to avoid duplicate evaluations (see {@link #internalPlanEvaluateCriteria(String, PlanItemLifeCycleEvent, boolean)})
+     *
+     * Keeping them in a separate queue, which is only consulted when all other operations are executed,
+     * avoids scanning the operations for the insertion point every time an operation is planned.
+     */
+    protected Deque<Runnable> evaluateCriteriaOperations = new ArrayDeque<>();
+
     public DefaultCmmnEngineAgenda(CommandContext commandContext) {
         super(commandContext);
     }
 
+    @Override
+    public boolean isEmpty() {
+        return operations.isEmpty() && evaluateCriteriaOperations.isEmpty();
+    }
+
+    @Override
+    public Runnable getNextOperation() {
+        assertOperationsNotEmpty();
+        return !operations.isEmpty() ? operations.poll() : evaluateCriteriaOperations.poll();
+    }
+
+    @Override
+    public Runnable peekOperation() {
+        assertOperationsNotEmpty();
+        return !operations.isEmpty() ? operations.peek() : evaluateCriteriaOperations.peek();
+    }
+
+    @Override
+    protected void assertOperationsNotEmpty() {
+        if (isEmpty()) {
+            throw new FlowableException("Unable to peek empty agenda.");
+        }
+    }
+
     public void addOperation(CmmnOperation operation, String caseInstanceId) {
         
-        int operationIndex = getOperationIndex(operation);
-        if (operationIndex >= 0) {
-            operations.add(operationIndex, operation);
+        if (operation instanceof EvaluateCriteriaOperation) {
+            evaluateCriteriaOperations.addLast(operation);
         } else {
             operations.addLast(operation);
         }
@@ -70,28 +107,6 @@ public class DefaultCmmnEngineAgenda extends AbstractAgenda implements CmmnEngin
         }
     }
     
-    /**
-     * Returns the index in the list of operations where the {@link CmmnOperation} should be inserted.
-     * Returns a negative value if the element should be added to the end of the list. 
-     */
-    protected int getOperationIndex(CmmnOperation operation) {
-        
-        // The operation to evaluate the criteria is the most expensive operation.
-        // As such, when it's planned it is always 
-        // - moved to the end of the operations list
-        // - checked for duplicates to avoid duplicate evaluations (see the add method for it)
-        // - other operations are always planned before, as these can trigger new evaluation operations
-        
-        if (!operations.isEmpty() && !(operation instanceof EvaluateCriteriaOperation)) {
-            for (int i=0; i<operations.size(); i++) {
-                if (operations.get(i) instanceof EvaluateCriteriaOperation) {
-                    return i;
-                }
-            }
-        }
-        return -1;
-    }
-
     @Override
     public void planInitPlanModelOperation(CaseInstanceEntity caseInstanceEntity) {
         addOperation(new InitPlanModelInstanceOperation(commandContext, caseInstanceEntity), caseInstanceEntity.getId());
@@ -123,7 +138,7 @@ public class DefaultCmmnEngineAgenda extends AbstractAgenda implements CmmnEngin
         // and when one is found that matches the pattern of one that is now to be planned, it is removed as the new one will
         // do the same thing at a later point in the execution.
         
-        Iterator<Runnable> plannedOperations = operations.iterator();
+        Iterator<Runnable> plannedOperations = evaluateCriteriaOperations.iterator();
         boolean found = false;
         while (!found && plannedOperations.hasNext()) {
             Runnable operation = plannedOperations.next();
@@ -229,4 +244,8 @@ public class DefaultCmmnEngineAgenda extends AbstractAgenda implements CmmnEngin
         addOperation(new TerminateCaseInstanceOperation(commandContext, caseInstanceEntityId, false, exitCriterionId), caseInstanceEntityId);
     }
 
+    public Deque<Runnable> getEvaluateCriteriaOperations() {
+        return evaluateCriteriaOperations;
+    }
+
 }
@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.history.CmmnHistoryCleaner;
+import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
+import org.flowable.common.engine.api.scope.ScopeTypes;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.impl.history.cleanup.HistoryArchiver;
+
+/**
+ * Deletes one batch of historic case instances that have ended before the given date, together with all their related history.
+ * Every kind of related history is removed with one set-based delete statement for the whole batch, instead of per case instance.
+ */
+public class CleanHistoricCaseInstancesCmd implements Command<Integer>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected Date endedBefore;
+    protected int batchSize;
+    protected HistoryArchiver historyArchiver;
+
+    public CleanHistoricCaseInstancesCmd(Date endedBefore, int batchSize, HistoryArchiver historyArchiver) {
+        this.endedBefore = endedBefore;
+        this.batchSize = batchSize;
+        this.historyArchiver = historyArchiver;
+    }
+
+    @Override
+    public Integer execute(CommandContext commandContext) {
+        List<String> caseInstanceIds = CommandContextUtil.getHistoricCaseInstanceEntityManager(commandContext)
+                .findHistoricCaseInstanceIdsEndedBefore(endedBefore, batchSize);
+        if (caseInstanceIds.isEmpty()) {
+            return 0;
+        }
+
+        if (historyArchiver != null) {
+            historyArchiver.archive(CmmnHistoryCleaner.NAME, caseInstanceIds, commandContext);
+        }
+
+        CommandContextUtil.getHistoricMilestoneInstanceEntityManager(commandContext).bulkDeleteHistoricMilestoneInstancesByCaseInstanceIds(caseInstanceIds);
+        CommandContextUtil.getHistoricPlanItemInstanceEntityManager(commandContext).bulkDeleteHistoricPlanItemInstancesByCaseInstanceIds(caseInstanceIds);
+        CommandContextUtil.getHistoricVariableService(commandContext).bulkDeleteHistoricVariableInstancesByScopeIdsAndScopeType(caseInstanceIds, ScopeTypes.CMMN);
+        CommandContextUtil.getHistoricIdentityLinkService(commandContext).bulkDeleteHistoricIdentityLinksByScopeIdsAndScopeType(caseInstanceIds, ScopeTypes.CMMN);
+        CommandContextUtil.getHistoricTaskService(commandContext).bulkDeleteHistoricTaskInstancesByScopeIdsAndScopeType(caseInstanceIds, ScopeTypes.CMMN);
+
+        CmmnEngineConfiguration cmmnEngineConfiguration = CommandContextUtil.getCmmnEngineConfiguration(commandContext);
+        if (cmmnEngineConfiguration.isEnableEntityLinks()) {
+            CommandContextUtil.getHistoricEntityLinkService(commandContext).bulkDeleteHistoricEntityLinksByScopeIdsAndScopeType(caseInstanceIds, ScopeTypes.CMMN);
+        }
+
+        CommandContextUtil.getHistoricCaseInstanceEntityManager(commandContext).bulkDeleteHistoricCaseInstances(caseInstanceIds);
+
+        return caseInstanceIds.size();
+    }
+
+}
@@ -0,0 +1,55 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.history;
+
+import java.util.Date;
+
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.cmd.CleanHistoricCaseInstancesCmd;
+import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.job.service.impl.history.cleanup.HistoryArchiver;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleaner;
+
+/**
+ * Cleans the history of the cmmn engine: historic case instances and all history related to them.
+ */
+public class CmmnHistoryCleaner implements HistoryCleaner {
+
+    public static final String NAME = "cmmn";
+
+    protected CmmnEngineConfiguration cmmnEngineConfiguration;
+
+    public CmmnHistoryCleaner(CmmnEngineConfiguration cmmnEngineConfiguration) {
+        this.cmmnEngineConfiguration = cmmnEngineConfiguration;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int cleanHistory(Date endedBefore, int batchSize, HistoryArchiver historyArchiver) {
+        CommandExecutor commandExecutor = cmmnEngineConfiguration.getCommandExecutor();
+        return commandExecutor.execute(commandExecutor.getDefaultConfig().transactionRequiresNew(),
+                new CleanHistoricCaseInstancesCmd(endedBefore, batchSize, historyArchiver));
+    }
+
+    @Override
+    public long countCleanableHistory(Date endedBefore) {
+        return cmmnEngineConfiguration.getCommandExecutor().execute(commandContext -> CommandContextUtil.getHistoricCaseInstanceEntityManager(commandContext)
+                .findHistoricCaseInstanceCountEndedBefore(endedBefore));
+    }
+
+}
@@ -16,6 +16,7 @@ import org.flowable.cmmn.engine.impl.history.CmmnHistoryHelper;
 import org.flowable.cmmn.engine.impl.history.async.CmmnAsyncHistoryConstants;
 import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncHistoryJobBatchRunnable;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -35,6 +36,12 @@ public class HistoricCaseInstanceDeletedHistoryJsonTransformer extends AbstractN
         return Collections.singletonList(CmmnAsyncHistoryConstants.TYPE_HISTORIC_CASE_INSTANCE_DELETED);
     }
 
+    @Override
+    public boolean isApplicable(ObjectNode historicalData, CommandContext commandContext) {
+        // The historic data of the other jobs of a batch isn't flushed yet and would be missed by the bulk deletes
+        return !ExecuteAsyncHistoryJobBatchRunnable.isBatchExecution(commandContext) && super.isApplicable(historicalData, commandContext);
+    }
+
     @Override
     public void transformJson(HistoryJobEntity job, ObjectNode historicalData, CommandContext commandContext) {
         CmmnHistoryHelper.deleteHistoricCaseInstance(CommandContextUtil.getCmmnEngineConfiguration(commandContext), 
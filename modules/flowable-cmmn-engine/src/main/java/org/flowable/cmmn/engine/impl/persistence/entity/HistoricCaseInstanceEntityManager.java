@@ -12,6 +12,8 @@
  */
 package org.flowable.cmmn.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.cmmn.api.history.HistoricCaseInstance;
@@ -33,5 +35,11 @@ public interface HistoricCaseInstanceEntityManager extends EntityManager<Histori
     List<HistoricCaseInstance> findWithVariablesByQueryCriteria(HistoricCaseInstanceQuery query);
 
     long countByCriteria(HistoricCaseInstanceQuery query);
-    
+
+    List<String> findHistoricCaseInstanceIdsEndedBefore(Date endedBefore, int maxResults);
+
+    long findHistoricCaseInstanceCountEndedBefore(Date endedBefore);
+
+    void bulkDeleteHistoricCaseInstances(Collection<String> caseInstanceIds);
+
 }
\ No newline at end of file
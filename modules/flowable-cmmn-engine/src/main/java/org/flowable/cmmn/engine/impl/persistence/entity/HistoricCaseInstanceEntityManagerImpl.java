@@ -13,6 +13,8 @@
 
 package org.flowable.cmmn.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.cmmn.api.history.HistoricCaseInstance;
@@ -65,5 +67,20 @@ public class HistoricCaseInstanceEntityManagerImpl extends AbstractCmmnEntityMan
    public long countByCriteria(HistoricCaseInstanceQuery query) {
         return historicCaseInstanceDataManager.countByCriteria((HistoricCaseInstanceQueryImpl) query);
     }
-    
+
+    @Override
+    public List<String> findHistoricCaseInstanceIdsEndedBefore(Date endedBefore, int maxResults) {
+        return historicCaseInstanceDataManager.findHistoricCaseInstanceIdsEndedBefore(endedBefore, maxResults);
+    }
+
+    @Override
+    public long findHistoricCaseInstanceCountEndedBefore(Date endedBefore) {
+        return historicCaseInstanceDataManager.findHistoricCaseInstanceCountEndedBefore(endedBefore);
+    }
+
+    @Override
+    public void bulkDeleteHistoricCaseInstances(Collection<String> caseInstanceIds) {
+        historicCaseInstanceDataManager.bulkDeleteHistoricCaseInstances(caseInstanceIds);
+    }
+
 }
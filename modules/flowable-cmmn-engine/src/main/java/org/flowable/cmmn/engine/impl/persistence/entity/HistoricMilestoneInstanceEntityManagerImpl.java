@@ -13,6 +13,7 @@
 
 package org.flowable.cmmn.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.cmmn.api.history.HistoricMilestoneInstance;
@@ -62,4 +63,9 @@ public class HistoricMilestoneInstanceEntityManagerImpl extends AbstractCmmnEnti
         this.historicMilestoneInstanceDataManager = historicMilestoneInstanceDataManager;
     }
 
+    @Override
+    public void bulkDeleteHistoricMilestoneInstancesByCaseInstanceIds(Collection<String> caseInstanceIds) {
+        historicMilestoneInstanceDataManager.bulkDeleteHistoricMilestoneInstancesByCaseInstanceIds(caseInstanceIds);
+    }
+
 }
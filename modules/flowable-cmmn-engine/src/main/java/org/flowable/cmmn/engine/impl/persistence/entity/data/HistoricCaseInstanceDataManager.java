@@ -12,6 +12,8 @@
  */
 package org.flowable.cmmn.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.cmmn.api.history.HistoricCaseInstance;
@@ -33,5 +35,11 @@ public interface HistoricCaseInstanceDataManager extends DataManager<HistoricCas
     List<HistoricCaseInstance> findWithVariablesByQueryCriteria(HistoricCaseInstanceQueryImpl historicCaseInstanceQuery);
 
     void deleteByCaseDefinitionId(String caseDefinitionId);
-    
+
+    List<String> findHistoricCaseInstanceIdsEndedBefore(Date endedBefore, int maxResults);
+
+    long findHistoricCaseInstanceCountEndedBefore(Date endedBefore);
+
+    void bulkDeleteHistoricCaseInstances(Collection<String> caseInstanceIds);
+
 }
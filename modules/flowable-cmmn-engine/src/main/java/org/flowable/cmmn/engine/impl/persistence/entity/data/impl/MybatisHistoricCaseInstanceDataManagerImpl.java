@@ -12,8 +12,12 @@
  */
 package org.flowable.cmmn.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.flowable.cmmn.api.history.HistoricCaseInstance;
 import org.flowable.cmmn.engine.CmmnEngineConfiguration;
@@ -23,6 +27,7 @@ import org.flowable.cmmn.engine.impl.persistence.entity.HistoricCaseInstanceEnti
 import org.flowable.cmmn.engine.impl.persistence.entity.data.AbstractCmmnDataManager;
 import org.flowable.cmmn.engine.impl.persistence.entity.data.HistoricCaseInstanceDataManager;
 import org.flowable.cmmn.engine.impl.persistence.entity.data.impl.matcher.HistoricCaseInstanceByCaseDefinitionIdMatcher;
+import org.flowable.common.engine.impl.db.ListQueryParameterObject;
 
 /**
  * @author Joram Barrez
@@ -103,4 +108,22 @@ public class MybatisHistoricCaseInstanceDataManagerImpl extends AbstractCmmnData
         getDbSqlSession().delete("deleteHistoricCaseInstanceByCaseDefinitionId", caseDefinitionId, getManagedEntityClass());
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findHistoricCaseInstanceIdsEndedBefore(Date endedBefore, int maxResults) {
+        return getDbSqlSession().selectList("selectHistoricCaseInstanceIdsEndedBefore", endedBefore, 0, maxResults);
+    }
+
+    @Override
+    public long findHistoricCaseInstanceCountEndedBefore(Date endedBefore) {
+        return (Long) getDbSqlSession().selectOne("selectHistoricCaseInstanceCountEndedBefore", new ListQueryParameterObject(endedBefore, 0, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public void bulkDeleteHistoricCaseInstances(Collection<String> caseInstanceIds) {
+        Map<String, Object> parameters = new HashMap<>(1);
+        parameters.put("caseInstanceIds", caseInstanceIds);
+        getDbSqlSession().delete("bulkDeleteHistoricCaseInstancesByIds", parameters, getManagedEntityClass());
+    }
+
 }
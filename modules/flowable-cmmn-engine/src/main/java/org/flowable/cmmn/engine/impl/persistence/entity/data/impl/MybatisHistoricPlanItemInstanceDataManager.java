@@ -21,7 +21,10 @@ import org.flowable.cmmn.engine.impl.persistence.entity.data.AbstractCmmnDataMan
 import org.flowable.cmmn.engine.impl.persistence.entity.data.HistoricPlanItemInstanceDataManager;
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcherAdapter;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Dennis Federico
@@ -72,4 +75,11 @@ public class MybatisHistoricPlanItemInstanceDataManager extends AbstractCmmnData
         return new HistoricPlanItemInstanceEntityImpl();
     }
 
+    @Override
+    public void bulkDeleteHistoricPlanItemInstancesByCaseInstanceIds(Collection<String> caseInstanceIds) {
+        Map<String, Object> parameters = new HashMap<>(1);
+        parameters.put("caseInstanceIds", caseInstanceIds);
+        getDbSqlSession().delete("bulkDeleteHistoricPlanItemInstancesByCaseInstanceIds", parameters, getManagedEntityClass());
+    }
+
 }
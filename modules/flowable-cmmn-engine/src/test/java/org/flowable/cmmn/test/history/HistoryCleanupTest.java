@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.test.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.history.CmmnHistoryCleaner;
+import org.flowable.cmmn.test.impl.CustomCmmnConfigurationFlowableTestCase;
+import org.flowable.common.engine.api.scope.ScopeTypes;
+import org.flowable.identitylink.api.IdentityLinkType;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.cmd.HandleHistoryCleanupTimerJobCmd;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleanupJobHandler;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleanupMetrics;
+import org.flowable.task.api.Task;
+import org.junit.Test;
+
+public class HistoryCleanupTest extends CustomCmmnConfigurationFlowableTestCase {
+
+    protected List<String> archivedCaseInstanceIds = new ArrayList<>();
+
+    @Override
+    protected String getEngineName() {
+        return "HistoryCleanupTest";
+    }
+
+    @Override
+    protected void configureConfiguration(CmmnEngineConfiguration cmmnEngineConfiguration) {
+        cmmnEngineConfiguration.setEnableHistoryCleaning(true);
+        cmmnEngineConfiguration.setCleanInstancesEndedAfterNumberOfDays(30);
+        cmmnEngineConfiguration.setHistoryCleaningBatchSize(2);
+        cmmnEngineConfiguration.setHistoryArchiver((historyCleanerName, instanceIds, commandContext) -> archivedCaseInstanceIds.addAll(instanceIds));
+        cmmnEngineConfiguration.setAsyncExecutorActivate(false);
+    }
+
+    @Override
+    public void cleanup() {
+        cmmnEngineConfiguration.getClock().reset();
+        cmmnEngineConfiguration.getCommandExecutor().execute(new HandleHistoryCleanupTimerJobCmd(null, ScopeTypes.CMMN));
+        super.cleanup();
+    }
+
+    @Test
+    public void testCleanHistory() {
+        deployOneHumanTaskCaseModel();
+
+        List<String> oldCaseInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String caseInstanceId = cmmnRuntimeService.createCaseInstanceBuilder()
+                    .caseDefinitionKey("oneTaskCase")
+                    .variables(Collections.singletonMap("var", "value" + i))
+                    .start()
+                    .getId();
+            Task task = cmmnTaskService.createTaskQuery().caseInstanceId(caseInstanceId).singleResult();
+            cmmnTaskService.addUserIdentityLink(task.getId(), "kermit", IdentityLinkType.CANDIDATE);
+            cmmnTaskService.complete(task.getId());
+            oldCaseInstanceIds.add(caseInstanceId);
+        }
+        String runningCaseInstanceId = cmmnRuntimeService.createCaseInstanceBuilder().caseDefinitionKey("oneTaskCase").start().getId();
+
+        setClockTo(new Date(cmmnEngineConfiguration.getClock().getCurrentTime().getTime() + TimeUnit.DAYS.toMillis(31)));
+
+        List<Job> timerJobs = getCleanupTimerJobs();
+        assertEquals(1, timerJobs.size());
+        Job job = cmmnManagementService.moveTimerToExecutableJob(timerJobs.get(0).getId());
+        cmmnManagementService.executeJob(job.getId());
+
+        HistoryCleanupMetrics metrics = cmmnEngineConfiguration.getHistoryCleanupJobHandler().getMetrics(CmmnHistoryCleaner.NAME);
+        assertEquals(5, metrics.getLastRunCleanedInstances());
+        assertEquals(3, metrics.getLastRunBatches());
+        assertEquals(0, metrics.getBacklog());
+        assertTrue(archivedCaseInstanceIds.containsAll(oldCaseInstanceIds));
+
+        for (String caseInstanceId : oldCaseInstanceIds) {
+            assertEquals(0, cmmnHistoryService.createHistoricCaseInstanceQuery().caseInstanceId(caseInstanceId).count());
+            assertEquals(0, cmmnHistoryService.createHistoricPlanItemInstanceQuery().planItemInstanceCaseInstanceId(caseInstanceId).count());
+            assertEquals(0, cmmnHistoryService.createHistoricTaskInstanceQuery().caseInstanceId(caseInstanceId).count());
+            assertEquals(0, cmmnHistoryService.createHistoricVariableInstanceQuery().caseInstanceId(caseInstanceId).count());
+            assertEquals(0, cmmnHistoryService.getHistoricIdentityLinksForCaseInstance(caseInstanceId).size());
+        }
+        assertEquals(1, cmmnHistoryService.createHistoricCaseInstanceQuery().caseInstanceId(runningCaseInstanceId).count());
+        assertEquals(1, cmmnHistoryService.createHistoricTaskInstanceQuery().count());
+
+        // The timer job is repeating
+        assertEquals(1, getCleanupTimerJobs().size());
+    }
+
+    protected List<Job> getCleanupTimerJobs() {
+        List<Job> timerJobs = new ArrayList<>();
+        for (Job timerJob : cmmnManagementService.createTimerJobQuery().list()) {
+            if (HistoryCleanupJobHandler.TYPE.equals(timerJob.getJobHandlerType())) {
+                timerJobs.add(timerJob);
+            }
+        }
+        return timerJobs;
+    }
+
+}
@@ -222,6 +222,8 @@ public class ContentEngineConfiguration extends AbstractEngineConfiguration impl
             dbSqlSessionFactory.setTablePrefixIsSchema(tablePrefixIsSchema);
             dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
             dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
+            dbSqlSessionFactory.setBatchedFlushEnabled(isBatchedFlushEnabled);
+            dbSqlSessionFactory.setEntityDirtyTrackingEnabled(isEntityDirtyTrackingEnabled);
             addSessionFactory(dbSqlSessionFactory);
         }
         initDbSqlSessionFactoryEntitySettings();
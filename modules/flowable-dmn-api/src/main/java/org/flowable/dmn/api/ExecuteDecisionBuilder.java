@@ -12,8 +12,10 @@
  */
 package org.flowable.dmn.api;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Helper for execution a decision.
@@ -67,6 +69,11 @@ public interface ExecuteDecisionBuilder {
      */
     ExecuteDecisionBuilder fallbackToDefaultTenant();
 
+    /**
+     * Don't write historic decision executions for the execution(s), also when history is enabled for the engine
+     */
+    ExecuteDecisionBuilder disableHistory();
+
     /**
      * Sets the variables
      */
@@ -92,4 +99,20 @@ public interface ExecuteDecisionBuilder {
      **/
     DecisionExecutionAuditContainer executeWithAuditTrail();
 
+    /**
+     * Executes a decision for each of the given variable maps, returning the output results of each execution in the same order.
+     * The variables set on the builder are used for all executions.
+     * 
+     * The decision is resolved once and the executions are evaluated in parallel, in one transaction.
+     **/
+    List<List<Map<String, Object>>> executeBatch(List<Map<String, Object>> variablesList);
+
+    /**
+     * Executes a decision for each of the variable maps of the iterator and passes the output results of each execution to the consumer,
+     * in the same order. The variables set on the builder are used for all executions.
+     * 
+     * The variable maps are executed in batches (see {@link #executeBatch(List)}), each batch in its own transaction.
+     **/
+    void executeBatch(Iterator<Map<String, Object>> variablesIterator, Consumer<List<Map<String, Object>>> resultConsumer);
+
 }
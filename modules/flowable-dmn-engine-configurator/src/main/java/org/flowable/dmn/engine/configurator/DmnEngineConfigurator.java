@@ -26,6 +26,8 @@ import org.flowable.dmn.engine.DmnEngineConfiguration;
 import org.flowable.dmn.engine.deployer.DmnDeployer;
 import org.flowable.dmn.engine.impl.cfg.StandaloneInMemDmnEngineConfiguration;
 import org.flowable.dmn.engine.impl.db.EntityDependencyOrder;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleanupJobHandler;
 
 /**
  * @author Tijs Rademakers
@@ -63,6 +65,18 @@ public class DmnEngineConfigurator extends AbstractEngineConfigurator {
         initDmnEngine();
         
         initServiceConfigurations(engineConfiguration, dmnEngineConfiguration);
+
+        initHistoryCleaner(engineConfiguration);
+    }
+
+    protected void initHistoryCleaner(AbstractEngineConfiguration engineConfiguration) {
+        // The historic decision executions are cleaned by the history cleanup job of the process engine
+        if (engineConfiguration instanceof ProcessEngineConfigurationImpl) {
+            HistoryCleanupJobHandler historyCleanupJobHandler = ((ProcessEngineConfigurationImpl) engineConfiguration).getHistoryCleanupJobHandler();
+            if (historyCleanupJobHandler != null) {
+                historyCleanupJobHandler.addHistoryCleaner(new DmnHistoryCleaner(dmnEngineConfiguration));
+            }
+        }
     }
     
     @Override
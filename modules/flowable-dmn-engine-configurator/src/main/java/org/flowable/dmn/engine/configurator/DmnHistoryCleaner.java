@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.configurator;
+
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.impl.persistence.entity.HistoricDecisionExecutionEntityManager;
+import org.flowable.job.service.impl.history.cleanup.HistoryArchiver;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleaner;
+
+/**
+ * Cleans the history of the dmn engine: the historic decision executions.
+ * The dmn engine doesn't have a job executor of its own, so this cleaner is run by the history cleanup job of the engine the dmn engine is configured in.
+ */
+public class DmnHistoryCleaner implements HistoryCleaner {
+
+    public static final String NAME = "dmn";
+
+    protected DmnEngineConfiguration dmnEngineConfiguration;
+
+    public DmnHistoryCleaner(DmnEngineConfiguration dmnEngineConfiguration) {
+        this.dmnEngineConfiguration = dmnEngineConfiguration;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int cleanHistory(Date endedBefore, int batchSize, HistoryArchiver historyArchiver) {
+        CommandExecutor commandExecutor = dmnEngineConfiguration.getCommandExecutor();
+        return commandExecutor.execute(commandExecutor.getDefaultConfig().transactionRequiresNew(), commandContext -> {
+            HistoricDecisionExecutionEntityManager historicDecisionExecutionEntityManager = dmnEngineConfiguration.getHistoricDecisionExecutionEntityManager();
+            List<String> decisionExecutionIds = historicDecisionExecutionEntityManager.findHistoricDecisionExecutionIdsEndedBefore(endedBefore, batchSize);
+            if (decisionExecutionIds.isEmpty()) {
+                return 0;
+            }
+
+            if (historyArchiver != null) {
+                historyArchiver.archive(NAME, decisionExecutionIds, commandContext);
+            }
+            historicDecisionExecutionEntityManager.bulkDeleteHistoricDecisionExecutions(decisionExecutionIds);
+
+            return decisionExecutionIds.size();
+        });
+    }
+
+    @Override
+    public long countCleanableHistory(Date endedBefore) {
+        return dmnEngineConfiguration.getCommandExecutor().execute(commandContext -> dmnEngineConfiguration.getHistoricDecisionExecutionEntityManager()
+                .findHistoricDecisionExecutionCountEndedBefore(endedBefore));
+    }
+
+}
@@ -19,9 +19,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.sql.DataSource;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.transaction.TransactionFactory;
 import org.flowable.common.engine.api.delegate.FlowableFunctionDelegate;
@@ -48,6 +51,7 @@ import org.flowable.dmn.engine.impl.DmnManagementServiceImpl;
 import org.flowable.dmn.engine.impl.DmnRepositoryServiceImpl;
 import org.flowable.dmn.engine.impl.DmnRuleServiceImpl;
 import org.flowable.dmn.engine.impl.RuleEngineExecutorImpl;
+import org.flowable.dmn.engine.impl.audit.DecisionAuditLevel;
 import org.flowable.dmn.engine.impl.cfg.StandaloneDmnEngineConfiguration;
 import org.flowable.dmn.engine.impl.cfg.StandaloneInMemDmnEngineConfiguration;
 import org.flowable.dmn.engine.impl.cmd.SchemaOperationsDmnEngineBuild;
@@ -81,6 +85,7 @@ import org.flowable.dmn.engine.impl.parser.DmnParseFactory;
 import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
 import org.flowable.dmn.engine.impl.persistence.deploy.Deployer;
 import org.flowable.dmn.engine.impl.persistence.deploy.DeploymentManager;
+import org.flowable.dmn.engine.impl.persistence.deploy.LatestDecisionTableCache;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionTableEntityManager;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionTableEntityManagerImpl;
 import org.flowable.dmn.engine.impl.persistence.entity.DmnDeploymentEntityManager;
@@ -117,7 +122,7 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
 
     protected DmnManagementService dmnManagementService = new DmnManagementServiceImpl();
     protected DmnRepositoryService dmnRepositoryService = new DmnRepositoryServiceImpl();
-    protected DmnRuleService ruleService = new DmnRuleServiceImpl();
+    protected DmnRuleService ruleService = new DmnRuleServiceImpl(this);
     protected DmnHistoryService dmnHistoryService = new DmnHistoryServiceImpl();
     protected RuleEngineExecutor ruleEngineExecutor;
 
@@ -155,9 +160,24 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
 
     protected boolean historyEnabled;
 
+    /**
+     * How much of the evaluation is kept in the audit container of an execution and written to the history.
+     * The audit trail of {@link org.flowable.dmn.api.ExecuteDecisionBuilder#executeWithAuditTrail()} is always complete.
+     */
+    protected DecisionAuditLevel decisionAuditLevel = DecisionAuditLevel.FULL;
+
     protected int decisionCacheLimit = -1; // By default, no limit
     protected DeploymentCache<DecisionTableCacheEntry> decisionCache;
 
+    /**
+     * Caches the id of the latest decision table for a decision key, tenant id and parent deployment id, so executing
+     * a decision by key doesn't query the decision table and deployment tables. The cache is cleared by deployments
+     * of this engine only, so it should not be enabled when other engines (e.g. other nodes of a cluster) deploy decision tables.
+     */
+    protected boolean enableLatestDecisionTableCache;
+    protected int latestDecisionTableCacheLimit = 1000;
+    protected LatestDecisionTableCache latestDecisionTableCache;
+
     protected ObjectMapper objectMapper = new ObjectMapper();
 
     // HIT POLICIES
@@ -181,6 +201,39 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
      */
     protected boolean strictMode = true;
 
+    /**
+     * Set this to true to build an index of the input entries of the decision tables when they are deployed.
+     *
+     * The index is used to skip the rules of which an input entry is a literal comparison that is false for the input values,
+     * instead of evaluating every rule. The decision results are the same, but the audit trail only contains the rules that were evaluated.
+     */
+    protected boolean enableDecisionTableIndex;
+
+    /**
+     * Set this to false to evaluate every input entry of the decision tables as an EL expression.
+     *
+     * By default the input entries that compare the input value with a literal, or that call a function with input values and literals
+     * (like the collection functions), are compiled when the decision table is deployed. The input values are then resolved once per execution
+     * and the compiled input entries are evaluated without parsing the EL expression. Input entries that can't be compiled are evaluated as EL expressions.
+     */
+    protected boolean enableInputEntryPredicates = true;
+
+    // BATCH EXECUTION
+
+    /**
+     * The number of threads that evaluate the executions of a batch (see {@link org.flowable.dmn.api.ExecuteDecisionBuilder#executeBatch(List)}).
+     * Only used when no decisionBatchExecutorService is set. When set to 1 or less, the executions are evaluated by the calling thread.
+     */
+    protected int decisionBatchPoolSize = Runtime.getRuntime().availableProcessors();
+
+    protected ExecutorService decisionBatchExecutorService;
+    protected boolean shutdownDecisionBatchExecutorService;
+
+    /**
+     * The number of variable maps that are executed in one transaction when executing a batch from an iterator.
+     */
+    protected int decisionBatchSize = 1000;
+
     public static DmnEngineConfiguration createDmnEngineConfigurationFromResourceDefault() {
         return createDmnEngineConfigurationFromResource("flowable.dmn.cfg.xml", "dmnEngineConfiguration");
     }
@@ -255,6 +308,7 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         initClock();
         initHitPolicyBehaviors();
         initRuleEngineExecutor();
+        initDecisionBatchExecutorService();
     }
 
     // services
@@ -333,6 +387,8 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
             dbSqlSessionFactory.setTablePrefixIsSchema(tablePrefixIsSchema);
             dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
             dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
+            dbSqlSessionFactory.setBatchedFlushEnabled(isBatchedFlushEnabled);
+            dbSqlSessionFactory.setEntityDirtyTrackingEnabled(isEntityDirtyTrackingEnabled);
             addSessionFactory(dbSqlSessionFactory);
         }
         initDbSqlSessionFactoryEntitySettings();
@@ -435,6 +491,13 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         deploymentManager.setDeployers(deployers);
         deploymentManager.setDeploymentEntityManager(deploymentEntityManager);
         deploymentManager.setDecisionTableEntityManager(decisionTableEntityManager);
+
+        if (enableLatestDecisionTableCache) {
+            if (latestDecisionTableCache == null) {
+                latestDecisionTableCache = new LatestDecisionTableCache(latestDecisionTableCacheLimit);
+            }
+            deploymentManager.setLatestDecisionTableCache(latestDecisionTableCache);
+        }
     }
 
     public Collection<? extends Deployer> getDefaultDeployers() {
@@ -528,6 +591,28 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return defaultHitPolicyBehaviors;
     }
 
+    // batch execution
+    /////////////////////////////////////////////////////////////
+    public void initDecisionBatchExecutorService() {
+        if (decisionBatchExecutorService == null && decisionBatchPoolSize > 1) {
+            // threads are only created when a batch is executed
+            BasicThreadFactory threadFactory = new BasicThreadFactory.Builder()
+                    .namingPattern("flowable-dmn-batch-thread-%d")
+                    .daemon(true)
+                    .build();
+            decisionBatchExecutorService = Executors.newFixedThreadPool(decisionBatchPoolSize, threadFactory);
+            shutdownDecisionBatchExecutorService = true;
+        }
+    }
+
+    public void closeDecisionBatchExecutorService() {
+        if (shutdownDecisionBatchExecutorService && decisionBatchExecutorService != null) {
+            decisionBatchExecutorService.shutdown();
+            decisionBatchExecutorService = null;
+            shutdownDecisionBatchExecutorService = false;
+        }
+    }
+
     // rule engine executor
     /////////////////////////////////////////////////////////////
     public void initRuleEngineExecutor() {
@@ -766,6 +851,15 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public DecisionAuditLevel getDecisionAuditLevel() {
+        return decisionAuditLevel;
+    }
+
+    public DmnEngineConfiguration setDecisionAuditLevel(DecisionAuditLevel decisionAuditLevel) {
+        this.decisionAuditLevel = decisionAuditLevel;
+        return this;
+    }
+
     public int getDecisionCacheLimit() {
         return decisionCacheLimit;
     }
@@ -775,6 +869,33 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public boolean isEnableLatestDecisionTableCache() {
+        return enableLatestDecisionTableCache;
+    }
+
+    public DmnEngineConfiguration setEnableLatestDecisionTableCache(boolean enableLatestDecisionTableCache) {
+        this.enableLatestDecisionTableCache = enableLatestDecisionTableCache;
+        return this;
+    }
+
+    public int getLatestDecisionTableCacheLimit() {
+        return latestDecisionTableCacheLimit;
+    }
+
+    public DmnEngineConfiguration setLatestDecisionTableCacheLimit(int latestDecisionTableCacheLimit) {
+        this.latestDecisionTableCacheLimit = latestDecisionTableCacheLimit;
+        return this;
+    }
+
+    public LatestDecisionTableCache getLatestDecisionTableCache() {
+        return latestDecisionTableCache;
+    }
+
+    public DmnEngineConfiguration setLatestDecisionTableCache(LatestDecisionTableCache latestDecisionTableCache) {
+        this.latestDecisionTableCache = latestDecisionTableCache;
+        return this;
+    }
+
     public DeploymentCache<DecisionTableCacheEntry> getDecisionCache() {
         return decisionCache;
     }
@@ -949,6 +1070,51 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public int getDecisionBatchPoolSize() {
+        return decisionBatchPoolSize;
+    }
+
+    public DmnEngineConfiguration setDecisionBatchPoolSize(int decisionBatchPoolSize) {
+        this.decisionBatchPoolSize = decisionBatchPoolSize;
+        return this;
+    }
+
+    public ExecutorService getDecisionBatchExecutorService() {
+        return decisionBatchExecutorService;
+    }
+
+    public DmnEngineConfiguration setDecisionBatchExecutorService(ExecutorService decisionBatchExecutorService) {
+        this.decisionBatchExecutorService = decisionBatchExecutorService;
+        return this;
+    }
+
+    public int getDecisionBatchSize() {
+        return decisionBatchSize;
+    }
+
+    public DmnEngineConfiguration setDecisionBatchSize(int decisionBatchSize) {
+        this.decisionBatchSize = decisionBatchSize;
+        return this;
+    }
+
+    public boolean isEnableDecisionTableIndex() {
+        return enableDecisionTableIndex;
+    }
+
+    public DmnEngineConfiguration setEnableDecisionTableIndex(boolean enableDecisionTableIndex) {
+        this.enableDecisionTableIndex = enableDecisionTableIndex;
+        return this;
+    }
+
+    public boolean isEnableInputEntryPredicates() {
+        return enableInputEntryPredicates;
+    }
+
+    public DmnEngineConfiguration setEnableInputEntryPredicates(boolean enableInputEntryPredicates) {
+        this.enableInputEntryPredicates = enableInputEntryPredicates;
+        return this;
+    }
+
     @Override
     public DmnEngineConfiguration setClock(Clock clock) {
         this.clock = clock;
@@ -12,7 +12,9 @@
  */
 package org.flowable.dmn.engine;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.dmn.api.DecisionExecutionAuditContainer;
@@ -28,6 +30,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public interface RuleEngineExecutor {
 
     DecisionExecutionAuditContainer execute(Decision decision, ExecuteDecisionInfo executeDecisionInfo);
+
+    /**
+     * Executes the decision for each of the given execute decision infos, returning the audit containers in the same order.
+     * The executions are evaluated in parallel when an executor service is given,
+     * and the historic decision executions are written together after all executions are evaluated.
+     */
+    List<DecisionExecutionAuditContainer> execute(Decision decision, List<ExecuteDecisionInfo> executeDecisionInfos, ExecutorService executorService);
     
     Map<String, AbstractHitPolicy> getHitPolicyBehaviors();
 
@@ -12,14 +12,18 @@
  */
 package org.flowable.dmn.engine.impl;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.flowable.common.engine.impl.service.CommonEngineServiceImpl;
 import org.flowable.dmn.api.DecisionExecutionAuditContainer;
 import org.flowable.dmn.api.DmnRuleService;
 import org.flowable.dmn.api.ExecuteDecisionBuilder;
 import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.impl.cmd.ExecuteDecisionBatchCmd;
 import org.flowable.dmn.engine.impl.cmd.ExecuteDecisionCmd;
 import org.flowable.dmn.engine.impl.cmd.ExecuteDecisionSingleResultCmd;
 import org.flowable.dmn.engine.impl.cmd.ExecuteDecisionWithAuditTrailCmd;
@@ -28,6 +32,14 @@ import org.flowable.dmn.engine.impl.cmd.ExecuteDecisionWithAuditTrailCmd;
  * @author Yvo Swillens
  */
 public class DmnRuleServiceImpl extends CommonEngineServiceImpl<DmnEngineConfiguration> implements DmnRuleService {
+
+    public DmnRuleServiceImpl() {
+
+    }
+
+    public DmnRuleServiceImpl(DmnEngineConfiguration engineConfiguration) {
+        super(engineConfiguration);
+    }
     
     @Override
     public ExecuteDecisionBuilder createExecuteDecisionBuilder() {
@@ -117,4 +129,25 @@ public class DmnRuleServiceImpl extends CommonEngineServiceImpl<DmnEngineConfigu
     public DecisionExecutionAuditContainer executeDecisionWithAuditTrail(ExecuteDecisionBuilderImpl executeDecisionBuilder) {
         return commandExecutor.execute(new ExecuteDecisionWithAuditTrailCmd(executeDecisionBuilder));
     }
+
+    public List<List<Map<String, Object>>> executeDecisionBatch(ExecuteDecisionBuilderImpl executeDecisionBuilder, List<Map<String, Object>> variablesList) {
+        return commandExecutor.execute(new ExecuteDecisionBatchCmd(executeDecisionBuilder, variablesList));
+    }
+
+    public void executeDecisionBatch(ExecuteDecisionBuilderImpl executeDecisionBuilder, Iterator<Map<String, Object>> variablesIterator,
+            Consumer<List<Map<String, Object>>> resultConsumer) {
+
+        // every batch is executed in its own transaction, so not all variables and results need to be kept in memory
+        int batchSize = Math.max(1, configuration.getDecisionBatchSize());
+        List<Map<String, Object>> variablesList = new ArrayList<>(batchSize);
+        while (variablesIterator.hasNext()) {
+            variablesList.add(variablesIterator.next());
+            if (variablesList.size() == batchSize || !variablesIterator.hasNext()) {
+                for (List<Map<String, Object>> result : executeDecisionBatch(executeDecisionBuilder, variablesList)) {
+                    resultConsumer.accept(result);
+                }
+                variablesList = new ArrayList<>(batchSize);
+            }
+        }
+    }
 }
\ No newline at end of file
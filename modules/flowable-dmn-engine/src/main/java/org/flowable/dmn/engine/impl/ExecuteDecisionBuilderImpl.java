@@ -13,8 +13,10 @@
 package org.flowable.dmn.engine.impl;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.flowable.dmn.api.DecisionExecutionAuditContainer;
 import org.flowable.dmn.api.ExecuteDecisionBuilder;
@@ -35,6 +37,7 @@ public class ExecuteDecisionBuilderImpl implements ExecuteDecisionBuilder {
     protected String tenantId;
     protected Map<String, Object> variables;
     protected boolean fallbackToDefaultTenant;
+    protected boolean disableHistory;
 
     public ExecuteDecisionBuilderImpl(DmnRuleServiceImpl ruleService) {
         this.ruleService = ruleService;
@@ -88,6 +91,12 @@ public class ExecuteDecisionBuilderImpl implements ExecuteDecisionBuilder {
         return this;
     }
 
+    @Override
+    public ExecuteDecisionBuilder disableHistory() {
+        this.disableHistory = true;
+        return this;
+    }
+
     @Override
     public ExecuteDecisionBuilder variables(Map<String, Object> variables) {
         if (this.variables == null) {
@@ -125,6 +134,16 @@ public class ExecuteDecisionBuilderImpl implements ExecuteDecisionBuilder {
         return ruleService.executeDecisionWithAuditTrail(this);
     }
 
+    @Override
+    public List<List<Map<String, Object>>> executeBatch(List<Map<String, Object>> variablesList) {
+        return ruleService.executeDecisionBatch(this, variablesList);
+    }
+
+    @Override
+    public void executeBatch(Iterator<Map<String, Object>> variablesIterator, Consumer<List<Map<String, Object>>> resultConsumer) {
+        ruleService.executeDecisionBatch(this, variablesIterator, resultConsumer);
+    }
+
     public String getDecisionKey() {
         return decisionKey;
     }
@@ -157,6 +176,10 @@ public class ExecuteDecisionBuilderImpl implements ExecuteDecisionBuilder {
         return this.fallbackToDefaultTenant;
     }
 
+    public boolean isDisableHistory() {
+        return disableHistory;
+    }
+
     public Map<String, Object> getVariables() {
         return variables;
     }
@@ -14,6 +14,10 @@ package org.flowable.dmn.engine.impl;
 
 import java.util.Map;
 
+import org.flowable.dmn.engine.impl.audit.DecisionAuditLevel;
+import org.flowable.dmn.engine.impl.index.DecisionTableIndex;
+import org.flowable.dmn.engine.impl.predicate.InputEntryPredicates;
+
 public class ExecuteDecisionInfo {
 
     protected String decisionKey;
@@ -27,6 +31,10 @@ public class ExecuteDecisionInfo {
     protected Map<String, Object> variables;
     protected String tenantId;
     protected boolean fallbackToDefaultTenant;
+    protected boolean disableHistory;
+    protected DecisionTableIndex decisionTableIndex;
+    protected InputEntryPredicates inputEntryPredicates;
+    protected DecisionAuditLevel auditLevel;
     
     public String getDecisionKey() {
         return decisionKey;
@@ -94,4 +102,28 @@ public class ExecuteDecisionInfo {
     public void setFallbackToDefaultTenant(boolean fallbackToDefaultTenant) {
         this.fallbackToDefaultTenant = fallbackToDefaultTenant;
     }
+    public boolean isDisableHistory() {
+        return disableHistory;
+    }
+    public void setDisableHistory(boolean disableHistory) {
+        this.disableHistory = disableHistory;
+    }
+    public DecisionTableIndex getDecisionTableIndex() {
+        return decisionTableIndex;
+    }
+    public void setDecisionTableIndex(DecisionTableIndex decisionTableIndex) {
+        this.decisionTableIndex = decisionTableIndex;
+    }
+    public InputEntryPredicates getInputEntryPredicates() {
+        return inputEntryPredicates;
+    }
+    public void setInputEntryPredicates(InputEntryPredicates inputEntryPredicates) {
+        this.inputEntryPredicates = inputEntryPredicates;
+    }
+    public DecisionAuditLevel getAuditLevel() {
+        return auditLevel;
+    }
+    public void setAuditLevel(DecisionAuditLevel auditLevel) {
+        this.auditLevel = auditLevel;
+    }
 }
@@ -12,9 +12,15 @@
  */
 package org.flowable.dmn.engine.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -23,6 +29,7 @@ import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.dmn.api.DecisionExecutionAuditContainer;
 import org.flowable.dmn.engine.DmnEngineConfiguration;
 import org.flowable.dmn.engine.RuleEngineExecutor;
+import org.flowable.dmn.engine.impl.audit.DecisionAuditLevel;
 import org.flowable.dmn.engine.impl.el.ELExecutionContext;
 import org.flowable.dmn.engine.impl.el.ELExecutionContextBuilder;
 import org.flowable.dmn.engine.impl.el.ELExpressionExecutor;
@@ -32,8 +39,11 @@ import org.flowable.dmn.engine.impl.hitpolicy.ComposeDecisionResultBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.ComposeRuleResultBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.ContinueEvaluatingBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.EvaluateRuleValidityBehavior;
+import org.flowable.dmn.engine.impl.index.DecisionTableIndex;
 import org.flowable.dmn.engine.impl.persistence.entity.HistoricDecisionExecutionEntity;
 import org.flowable.dmn.engine.impl.persistence.entity.HistoricDecisionExecutionEntityManager;
+import org.flowable.dmn.engine.impl.predicate.InputEntryPredicate;
+import org.flowable.dmn.engine.impl.predicate.InputEntryPredicates;
 import org.flowable.dmn.engine.impl.util.CommandContextUtil;
 import org.flowable.dmn.model.Decision;
 import org.flowable.dmn.model.DecisionRule;
@@ -54,6 +64,9 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RuleEngineExecutorImpl.class);
 
+    // the number of executions of a batch that are evaluated by one task of the executor service
+    protected static final int BATCH_TASK_SIZE = 20;
+
     protected Map<String, AbstractHitPolicy> hitPolicyBehaviors;
     protected ExpressionManager expressionManager;
     protected ObjectMapper objectMapper;
@@ -73,7 +86,107 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
      */
     @Override
     public DecisionExecutionAuditContainer execute(Decision decision, ExecuteDecisionInfo executeDecisionInfo) {
+        DecisionTable currentDecisionTable = getDecisionTable(decision);
+
+        // create execution context and audit trail
+        ELExecutionContext executionContext = ELExecutionContextBuilder.build(decision, executeDecisionInfo.getVariables());
+        executionContext.setAuditLevel(getAuditLevel(executeDecisionInfo));
+        executionContext.setInputEntryPredicates(executeDecisionInfo.getInputEntryPredicates());
+
+        try {
+            evaluateDecision(currentDecisionTable, executeDecisionInfo, executionContext);
+
+        } finally {
+            // end audit trail
+            executionContext.getAuditContainer().stopAudit();
+
+            DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
+            if (dmnEngineConfiguration.isHistoryEnabled() && !executeDecisionInfo.isDisableHistory()) {
+                insertHistoricDecisionExecution(executeDecisionInfo, executionContext.getAuditContainer(), dmnEngineConfiguration);
+            }
+        }
+
+        return executionContext.getAuditContainer();
+    }
+
+    @Override
+    public List<DecisionExecutionAuditContainer> execute(Decision decision, List<ExecuteDecisionInfo> executeDecisionInfos, ExecutorService executorService) {
+        DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
+        DecisionTable currentDecisionTable = getDecisionTable(decision);
+        DecisionExecutionAuditContainer[] auditContainers = new DecisionExecutionAuditContainer[executeDecisionInfos.size()];
+
+        if (executorService == null || executeDecisionInfos.size() <= BATCH_TASK_SIZE) {
+            evaluateDecisions(decision, currentDecisionTable, executeDecisionInfos, 0, executeDecisionInfos.size(), auditContainers, dmnEngineConfiguration);
+
+        } else {
+            // The command context is not shared with the threads that evaluate the executions,
+            // everything the evaluation needs from the configuration is passed explicitly
+            List<Future<?>> futures = new ArrayList<>();
+            for (int from = 0; from < executeDecisionInfos.size(); from += BATCH_TASK_SIZE) {
+                int fromIndex = from;
+                int toIndex = Math.min(from + BATCH_TASK_SIZE, executeDecisionInfos.size());
+                futures.add(executorService.submit(() -> evaluateDecisions(decision, currentDecisionTable, executeDecisionInfos,
+                        fromIndex, toIndex, auditContainers, dmnEngineConfiguration)));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new FlowableException("Interrupted while executing decisions", e);
 
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new FlowableException("Error executing decisions", e.getCause());
+                }
+            }
+        }
+
+        // the history of all executions is inserted when the command context is flushed
+        if (dmnEngineConfiguration.isHistoryEnabled()) {
+            for (int i = 0; i < auditContainers.length; i++) {
+                if (!executeDecisionInfos.get(i).isDisableHistory()) {
+                    insertHistoricDecisionExecution(executeDecisionInfos.get(i), auditContainers[i], dmnEngineConfiguration);
+                }
+            }
+        }
+
+        return Arrays.asList(auditContainers);
+    }
+
+    protected void evaluateDecisions(Decision decision, DecisionTable decisionTable, List<ExecuteDecisionInfo> executeDecisionInfos,
+            int fromIndex, int toIndex, DecisionExecutionAuditContainer[] auditContainers, DmnEngineConfiguration dmnEngineConfiguration) {
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            ExecuteDecisionInfo executeDecisionInfo = executeDecisionInfos.get(i);
+            ELExecutionContext executionContext = ELExecutionContextBuilder.build(decision, executeDecisionInfo.getVariables(), dmnEngineConfiguration.isStrictMode());
+            executionContext.setAuditLevel(getAuditLevel(executeDecisionInfo, dmnEngineConfiguration));
+            executionContext.setInputEntryPredicates(executeDecisionInfo.getInputEntryPredicates());
+            try {
+                evaluateDecision(decisionTable, executeDecisionInfo, executionContext);
+            } finally {
+                executionContext.getAuditContainer().stopAudit();
+            }
+            auditContainers[i] = executionContext.getAuditContainer();
+        }
+    }
+
+    protected DecisionAuditLevel getAuditLevel(ExecuteDecisionInfo executeDecisionInfo) {
+        return getAuditLevel(executeDecisionInfo, CommandContextUtil.getDmnEngineConfiguration());
+    }
+
+    protected DecisionAuditLevel getAuditLevel(ExecuteDecisionInfo executeDecisionInfo, DmnEngineConfiguration dmnEngineConfiguration) {
+        if (executeDecisionInfo.getAuditLevel() != null) {
+            return executeDecisionInfo.getAuditLevel();
+        }
+        return dmnEngineConfiguration.getDecisionAuditLevel();
+    }
+
+    protected DecisionTable getDecisionTable(Decision decision) {
         if (decision == null) {
             throw new IllegalArgumentException("no decision provided");
         }
@@ -82,59 +195,63 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
             throw new IllegalArgumentException("no decision table present in decision");
         }
 
-        DecisionTable currentDecisionTable = (DecisionTable) decision.getExpression();
-
-        // create execution context and audit trail
-        ELExecutionContext executionContext = ELExecutionContextBuilder.build(decision, executeDecisionInfo.getVariables());
+        return (DecisionTable) decision.getExpression();
+    }
 
+    protected void evaluateDecision(DecisionTable decisionTable, ExecuteDecisionInfo executeDecisionInfo, ELExecutionContext executionContext) {
         try {
-            sanityCheckDecisionTable(currentDecisionTable);
+            sanityCheckDecisionTable(decisionTable);
 
             // evaluate decision table
-            evaluateDecisionTable(currentDecisionTable, executionContext);
+            evaluateDecisionTable(decisionTable, executeDecisionInfo.getDecisionTableIndex(), executionContext);
 
         } catch (FlowableException fe) {
             LOGGER.error("decision table execution sanity check failed", fe);
             executionContext.getAuditContainer().setFailed();
             executionContext.getAuditContainer().setExceptionMessage(getExceptionMessage(fe));
+        }
+    }
 
-        } finally {
-            // end audit trail
-            executionContext.getAuditContainer().stopAudit();
-
-            DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
-            if (dmnEngineConfiguration.isHistoryEnabled()) {
-                HistoricDecisionExecutionEntityManager historicDecisionExecutionEntityManager = dmnEngineConfiguration.getHistoricDecisionExecutionEntityManager();
-                HistoricDecisionExecutionEntity decisionExecutionEntity = historicDecisionExecutionEntityManager.create();
-                decisionExecutionEntity.setDecisionDefinitionId(executeDecisionInfo.getDecisionDefinitionId());
-                decisionExecutionEntity.setDeploymentId(executeDecisionInfo.getDeploymentId());
-                decisionExecutionEntity.setStartTime(executionContext.getAuditContainer().getStartTime());
-                decisionExecutionEntity.setEndTime(executionContext.getAuditContainer().getEndTime());
-                decisionExecutionEntity.setInstanceId(executeDecisionInfo.getInstanceId());
-                decisionExecutionEntity.setExecutionId(executeDecisionInfo.getExecutionId());
-                decisionExecutionEntity.setActivityId(executeDecisionInfo.getActivityId());
-                decisionExecutionEntity.setScopeType(executeDecisionInfo.getScopeType());
-                decisionExecutionEntity.setTenantId(executeDecisionInfo.getTenantId());
-
-                Boolean failed = executionContext.getAuditContainer().isFailed();
-                if (BooleanUtils.isTrue(failed)) {
-                    decisionExecutionEntity.setFailed(failed.booleanValue());
-                }
-
-                try {
-                    decisionExecutionEntity.setExecutionJson(objectMapper.writeValueAsString(executionContext.getAuditContainer()));
-                } catch (Exception e) {
-                    throw new FlowableException("Error writing execution json", e);
-                }
+    protected void insertHistoricDecisionExecution(ExecuteDecisionInfo executeDecisionInfo, DecisionExecutionAuditContainer auditContainer,
+            DmnEngineConfiguration dmnEngineConfiguration) {
+
+        HistoricDecisionExecutionEntityManager historicDecisionExecutionEntityManager = dmnEngineConfiguration.getHistoricDecisionExecutionEntityManager();
+        HistoricDecisionExecutionEntity decisionExecutionEntity = historicDecisionExecutionEntityManager.create();
+        decisionExecutionEntity.setDecisionDefinitionId(executeDecisionInfo.getDecisionDefinitionId());
+        decisionExecutionEntity.setDeploymentId(executeDecisionInfo.getDeploymentId());
+        decisionExecutionEntity.setStartTime(auditContainer.getStartTime());
+        decisionExecutionEntity.setEndTime(auditContainer.getEndTime());
+        decisionExecutionEntity.setInstanceId(executeDecisionInfo.getInstanceId());
+        decisionExecutionEntity.setExecutionId(executeDecisionInfo.getExecutionId());
+        decisionExecutionEntity.setActivityId(executeDecisionInfo.getActivityId());
+        decisionExecutionEntity.setScopeType(executeDecisionInfo.getScopeType());
+        decisionExecutionEntity.setTenantId(executeDecisionInfo.getTenantId());
+
+        Boolean failed = auditContainer.isFailed();
+        if (BooleanUtils.isTrue(failed)) {
+            decisionExecutionEntity.setFailed(failed.booleanValue());
+        }
 
-                historicDecisionExecutionEntityManager.insert(decisionExecutionEntity);
+        if (getAuditLevel(executeDecisionInfo, dmnEngineConfiguration).isWriteExecutionJson(BooleanUtils.isTrue(failed))) {
+            try {
+                decisionExecutionEntity.setExecutionJson(objectMapper.writeValueAsString(auditContainer));
+            } catch (Exception e) {
+                throw new FlowableException("Error writing execution json", e);
             }
         }
 
-        return executionContext.getAuditContainer();
+        historicDecisionExecutionEntityManager.insert(decisionExecutionEntity);
     }
 
     protected void evaluateDecisionTable(DecisionTable decisionTable, ELExecutionContext executionContext) {
+        evaluateDecisionTable(decisionTable, null, executionContext);
+    }
+
+    /**
+     * Evaluates the decision table, only evaluating the candidate rules of the given index (if any).
+     * The other rules are treated as rules that are evaluated to false.
+     */
+    protected void evaluateDecisionTable(DecisionTable decisionTable, DecisionTableIndex decisionTableIndex, ELExecutionContext executionContext) {
         LOGGER.debug("Start table evaluation: {}", decisionTable.getId());
 
         if (decisionTable == null || decisionTable.getRules().isEmpty()) {
@@ -149,8 +266,15 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
             // evaluate rule conditions
             Map<Integer, List<RuleOutputClauseContainer>> validRuleOutputEntries = new HashMap<>();
 
-            for (DecisionRule rule : decisionTable.getRules()) {
-                boolean ruleResult = executeRule(rule, executionContext);
+            List<DecisionRule> rules = decisionTable.getRules();
+            BitSet candidateRules = null;
+            if (decisionTableIndex != null && decisionTableIndex.getNumberOfRules() == rules.size()) {
+                candidateRules = decisionTableIndex.findCandidateRules(executionContext.getStackVariables());
+            }
+
+            for (int ruleIndex = 0; ruleIndex < rules.size(); ruleIndex++) {
+                DecisionRule rule = rules.get(ruleIndex);
+                boolean ruleResult = (candidateRules == null || candidateRules.get(ruleIndex)) && executeRule(rule, executionContext);
 
                 if (ruleResult) {
                     // evaluate decision table hit policy validity
@@ -196,6 +320,10 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
             throw new FlowableException("rule cannot be null");
         }
 
+        if (!executionContext.getAuditLevel().isAuditAllRules()) {
+            return executeRuleWithoutAudit(rule, executionContext);
+        }
+
         LOGGER.debug("Start rule {} evaluation", rule.getRuleNumber());
 
         // add audit entry
@@ -255,7 +383,69 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
         return conditionResult;
     }
 
+    /**
+     * Evaluates the rule without adding audit entries for every input entry. Only a matched rule or a rule that fails
+     * is added to the audit container, as the hit policies and the failure audit need them.
+     */
+    protected boolean executeRuleWithoutAudit(DecisionRule rule, ELExecutionContext executionContext) {
+        List<RuleInputClauseContainer> inputEntries = rule.getInputEntries();
+        for (int i = 0; i < inputEntries.size(); i++) {
+            RuleInputClauseContainer conditionContainer = inputEntries.get(i);
+            String inputEntryText = conditionContainer.getInputEntry().getText();
+            if (StringUtils.isEmpty(inputEntryText) || "-".equals(inputEntryText)) {
+                continue;
+            }
+
+            boolean conditionResult;
+            try {
+                conditionResult = executeInputExpressionEvaluation(conditionContainer, executionContext);
+
+            } catch (Exception e) {
+                // add the evaluated input entries and the failed one to the audit container and rethrow
+                String exceptionMessage = getExceptionMessage(e);
+                addRuleAuditEntry(rule, i, executionContext);
+                executionContext.getAuditContainer().addInputEntry(rule.getRuleNumber(), conditionContainer.getInputEntry().getId(), exceptionMessage, null);
+                executionContext.getAuditContainer().markRuleEnd(rule.getRuleNumber());
+                if (e instanceof FlowableException) {
+                    throw (FlowableException) e;
+                }
+                throw new FlowableException(exceptionMessage, e);
+            }
+
+            if (!conditionResult) {
+                return false;
+            }
+        }
+
+        addRuleAuditEntry(rule, inputEntries.size(), executionContext);
+        executionContext.getAuditContainer().markRuleValid(rule.getRuleNumber());
+        executionContext.getAuditContainer().markRuleEnd(rule.getRuleNumber());
+        return true;
+    }
+
+    /**
+     * Adds the rule with its first input entries to the audit container. These input entries are all true, as the evaluation stops at the first false one.
+     */
+    protected void addRuleAuditEntry(DecisionRule rule, int numberOfTrueInputEntries, ELExecutionContext executionContext) {
+        executionContext.getAuditContainer().addRuleEntry(rule);
+        for (int i = 0; i < numberOfTrueInputEntries; i++) {
+            executionContext.getAuditContainer().addInputEntry(rule.getRuleNumber(), rule.getInputEntries().get(i).getInputEntry().getId(), true);
+        }
+    }
+
     protected Boolean executeInputExpressionEvaluation(RuleInputClauseContainer ruleContainer, ELExecutionContext executionContext) {
+        InputEntryPredicates inputEntryPredicates = executionContext.getInputEntryPredicates();
+        if (inputEntryPredicates != null) {
+            InputEntryPredicate inputEntryPredicate = inputEntryPredicates.getPredicate(ruleContainer);
+            if (inputEntryPredicate != null) {
+                Boolean result = inputEntryPredicate.evaluate(executionContext.getInputValues());
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        // the input entry isn't compiled or can't be evaluated by the compiled input entry
         return ELExpressionExecutor.executeInputExpression(ruleContainer.getInputClause(), ruleContainer.getInputEntry(), expressionManager, executionContext);
     }
 
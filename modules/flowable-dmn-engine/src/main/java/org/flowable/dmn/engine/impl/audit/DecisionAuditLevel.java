@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.audit;
+
+/**
+ * Determines how much of the evaluation of a decision table is kept in the {@link org.flowable.dmn.api.DecisionExecutionAuditContainer}
+ * and written as execution json of the historic decision execution.
+ *
+ * The matched rules (and a rule that failed) are kept for every level, as the hit policies use them to validate the result.
+ */
+public enum DecisionAuditLevel {
+
+    /**
+     * Only the matched rules are kept and no execution json is written.
+     */
+    NONE,
+
+    /**
+     * Only the matched rules are kept and the execution json is only written for failed executions.
+     */
+    FAILURES_ONLY,
+
+    /**
+     * Only the matched rules are kept, the execution json is always written.
+     */
+    MATCHED_RULES,
+
+    /**
+     * All evaluated rules and input entries are kept, the execution json is always written.
+     */
+    FULL;
+
+    public boolean isAuditAllRules() {
+        return this == FULL;
+    }
+
+    public boolean isWriteExecutionJson(boolean failed) {
+        return this == FULL || this == MATCHED_RULES || (this == FAILURES_ONLY && failed);
+    }
+}
@@ -29,6 +29,10 @@ public class DecisionExecutionAuditUtil {
     private static final Logger LOGGER = LoggerFactory.getLogger(DecisionExecutionAuditUtil.class);
 
     public static DecisionExecutionAuditContainer initializeRuleExecutionAudit(Decision decision, Map<String, Object> inputVariables) {
+        return initializeRuleExecutionAudit(decision, inputVariables, CommandContextUtil.getDmnEngineConfiguration().isStrictMode());
+    }
+
+    public static DecisionExecutionAuditContainer initializeRuleExecutionAudit(Decision decision, Map<String, Object> inputVariables, boolean strictMode) {
 
         if (decision == null || decision.getId() == null) {
             LOGGER.error("decision does not contain key");
@@ -46,7 +50,7 @@ public class DecisionExecutionAuditUtil {
         String decisionName = decision.getName();
 
         return new DecisionExecutionAuditContainer(decisionKey, decisionName, decisionTable.getHitPolicy(),
-            CommandContextUtil.getDmnEngineConfiguration().isStrictMode(), inputVariables);
+            strictMode, inputVariables);
     }
 
 }
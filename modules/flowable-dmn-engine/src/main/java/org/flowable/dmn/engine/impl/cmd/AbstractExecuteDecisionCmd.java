@@ -25,6 +25,7 @@ import org.flowable.dmn.engine.impl.DmnDeploymentQueryImpl;
 import org.flowable.dmn.engine.impl.ExecuteDecisionBuilderImpl;
 import org.flowable.dmn.engine.impl.ExecuteDecisionInfo;
 import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
+import org.flowable.dmn.engine.impl.persistence.deploy.LatestDecisionTableCache;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionTableEntityManager;
 import org.flowable.dmn.engine.impl.util.CommandContextUtil;
 import org.flowable.dmn.model.Decision;
@@ -48,6 +49,7 @@ public abstract class AbstractExecuteDecisionCmd implements Serializable {
         executeDecisionInfo.setVariables(decisionBuilder.getVariables());
         executeDecisionInfo.setTenantId(decisionBuilder.getTenantId());
         executeDecisionInfo.setFallbackToDefaultTenant(decisionBuilder.isFallbackToDefaultTenant());
+        executeDecisionInfo.setDisableHistory(decisionBuilder.isDisableHistory());
     }
 
     public AbstractExecuteDecisionCmd(String decisionKey, Map<String, Object> variables) {
@@ -57,6 +59,31 @@ public abstract class AbstractExecuteDecisionCmd implements Serializable {
 
 
     protected DmnDecisionTable resolveDecisionTable() {
+        LatestDecisionTableCache latestDecisionTableCache = CommandContextUtil.getDmnEngineConfiguration().getDeploymentManager().getLatestDecisionTableCache();
+        if (latestDecisionTableCache == null || StringUtils.isEmpty(executeDecisionInfo.getDecisionKey())) {
+            return findDecisionTable();
+        }
+
+        String cacheKey = LatestDecisionTableCache.createKey(executeDecisionInfo.getDecisionKey(), executeDecisionInfo.getParentDeploymentId(),
+                executeDecisionInfo.getTenantId(), executeDecisionInfo.isFallbackToDefaultTenant());
+        String decisionTableId = latestDecisionTableCache.get(cacheKey);
+        if (decisionTableId != null) {
+            DecisionTableCacheEntry decisionTableCacheEntry = CommandContextUtil.getDmnEngineConfiguration().getDeploymentManager().getDecisionCache().get(decisionTableId);
+            if (decisionTableCacheEntry != null) {
+                DmnDecisionTable decisionTable = decisionTableCacheEntry.getDecisionTableEntity();
+                executeDecisionInfo.setDecisionDefinitionId(decisionTable.getId());
+                executeDecisionInfo.setDeploymentId(decisionTable.getDeploymentId());
+                return decisionTable;
+            }
+        }
+
+        long cacheGeneration = latestDecisionTableCache.getGeneration();
+        DmnDecisionTable decisionTable = findDecisionTable();
+        latestDecisionTableCache.add(cacheKey, decisionTable.getId(), cacheGeneration);
+        return decisionTable;
+    }
+
+    protected DmnDecisionTable findDecisionTable() {
         DmnDecisionTable decisionTable = null;
         DecisionTableEntityManager decisionTableManager = CommandContextUtil.getDmnEngineConfiguration().getDecisionTableEntityManager();
 
@@ -149,6 +176,8 @@ public abstract class AbstractExecuteDecisionCmd implements Serializable {
 
         DecisionTableCacheEntry decisionTableCacheEntry = CommandContextUtil.getDmnEngineConfiguration().getDeploymentManager().resolveDecisionTable(decisionTable);
         Decision decision = decisionTableCacheEntry.getDecision();
+        executeDecisionInfo.setDecisionTableIndex(decisionTableCacheEntry.getDecisionTableIndex());
+        executeDecisionInfo.setInputEntryPredicates(decisionTableCacheEntry.getInputEntryPredicates());
 
         return decision;
     }
@@ -0,0 +1,103 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnDecisionTable;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.impl.ExecuteDecisionBuilderImpl;
+import org.flowable.dmn.engine.impl.ExecuteDecisionInfo;
+import org.flowable.dmn.engine.impl.util.CommandContextUtil;
+import org.flowable.dmn.model.Decision;
+
+/**
+ * Executes a decision for each of the given variable maps. The decision is resolved once for all executions.
+ */
+public class ExecuteDecisionBatchCmd extends AbstractExecuteDecisionCmd implements Command<List<List<Map<String, Object>>>> {
+
+    private static final long serialVersionUID = 1L;
+
+    protected List<Map<String, Object>> variablesList;
+
+    public ExecuteDecisionBatchCmd(ExecuteDecisionBuilderImpl decisionBuilder, List<Map<String, Object>> variablesList) {
+        super(decisionBuilder);
+        this.variablesList = variablesList;
+    }
+
+    @Override
+    public List<List<Map<String, Object>>> execute(CommandContext commandContext) {
+        if (executeDecisionInfo.getDecisionKey() == null) {
+            throw new FlowableIllegalArgumentException("decisionKey is null");
+        }
+        if (variablesList == null) {
+            throw new FlowableIllegalArgumentException("variablesList is null");
+        }
+
+        DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
+        DmnDecisionTable decisionTable = resolveDecisionTable();
+        Decision decision = resolveDecision(decisionTable);
+
+        List<ExecuteDecisionInfo> executeDecisionInfos = new ArrayList<>(variablesList.size());
+        for (Map<String, Object> variables : variablesList) {
+            executeDecisionInfos.add(createExecuteDecisionInfo(variables));
+        }
+
+        List<DecisionExecutionAuditContainer> executionResults = dmnEngineConfiguration.getRuleEngineExecutor().execute(decision,
+                executeDecisionInfos, dmnEngineConfiguration.getDecisionBatchExecutorService());
+
+        List<List<Map<String, Object>>> decisionResults = new ArrayList<>(executionResults.size());
+        for (DecisionExecutionAuditContainer executionResult : executionResults) {
+            decisionResults.add(executionResult.getDecisionResult());
+        }
+        return decisionResults;
+    }
+
+    protected ExecuteDecisionInfo createExecuteDecisionInfo(Map<String, Object> variables) {
+        ExecuteDecisionInfo rowExecuteDecisionInfo = new ExecuteDecisionInfo();
+        rowExecuteDecisionInfo.setDecisionKey(executeDecisionInfo.getDecisionKey());
+        rowExecuteDecisionInfo.setDecisionDefinitionId(executeDecisionInfo.getDecisionDefinitionId());
+        rowExecuteDecisionInfo.setDeploymentId(executeDecisionInfo.getDeploymentId());
+        rowExecuteDecisionInfo.setParentDeploymentId(executeDecisionInfo.getParentDeploymentId());
+        rowExecuteDecisionInfo.setInstanceId(executeDecisionInfo.getInstanceId());
+        rowExecuteDecisionInfo.setExecutionId(executeDecisionInfo.getExecutionId());
+        rowExecuteDecisionInfo.setActivityId(executeDecisionInfo.getActivityId());
+        rowExecuteDecisionInfo.setScopeType(executeDecisionInfo.getScopeType());
+        rowExecuteDecisionInfo.setTenantId(executeDecisionInfo.getTenantId());
+        rowExecuteDecisionInfo.setFallbackToDefaultTenant(executeDecisionInfo.isFallbackToDefaultTenant());
+        rowExecuteDecisionInfo.setDisableHistory(executeDecisionInfo.isDisableHistory());
+        rowExecuteDecisionInfo.setDecisionTableIndex(executeDecisionInfo.getDecisionTableIndex());
+        rowExecuteDecisionInfo.setInputEntryPredicates(executeDecisionInfo.getInputEntryPredicates());
+        rowExecuteDecisionInfo.setAuditLevel(executeDecisionInfo.getAuditLevel());
+
+        // the variables of the builder are shared by all executions,
+        // the execution adds its output variables so every execution needs its own map
+        Map<String, Object> rowVariables = new HashMap<>();
+        if (executeDecisionInfo.getVariables() != null) {
+            rowVariables.putAll(executeDecisionInfo.getVariables());
+        }
+        if (variables != null) {
+            rowVariables.putAll(variables);
+        }
+        rowExecuteDecisionInfo.setVariables(rowVariables);
+
+        return rowExecuteDecisionInfo;
+    }
+}
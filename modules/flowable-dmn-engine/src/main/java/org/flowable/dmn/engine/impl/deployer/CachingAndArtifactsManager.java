@@ -14,11 +14,14 @@ package org.flowable.dmn.engine.impl.deployer;
 
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.impl.index.DecisionTableIndex;
 import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionTableEntity;
 import org.flowable.dmn.engine.impl.persistence.entity.DmnDeploymentEntity;
+import org.flowable.dmn.engine.impl.predicate.InputEntryPredicates;
 import org.flowable.dmn.engine.impl.util.CommandContextUtil;
 import org.flowable.dmn.model.Decision;
+import org.flowable.dmn.model.DecisionTable;
 import org.flowable.dmn.model.DmnDefinition;
 
 /**
@@ -38,6 +41,12 @@ public class CachingAndArtifactsManager {
             DmnDefinition dmnDefinition = parsedDeployment.getDmnDefinitionForDecisionTable(decisionTable);
             Decision decision = parsedDeployment.getDecisionForDecisionTable(decisionTable);
             DecisionTableCacheEntry cacheEntry = new DecisionTableCacheEntry(decisionTable, dmnDefinition, decision);
+            if (dmnEngineConfiguration.isEnableDecisionTableIndex() && decision.getExpression() instanceof DecisionTable) {
+                cacheEntry.setDecisionTableIndex(DecisionTableIndex.build((DecisionTable) decision.getExpression(), dmnEngineConfiguration.getExpressionManager()));
+            }
+            if (dmnEngineConfiguration.isEnableInputEntryPredicates() && decision.getExpression() instanceof DecisionTable) {
+                cacheEntry.setInputEntryPredicates(InputEntryPredicates.build((DecisionTable) decision.getExpression(), dmnEngineConfiguration.getExpressionManager()));
+            }
             decisionTableCache.add(decisionTable.getId(), cacheEntry);
 
             // Add to deployment for further usage
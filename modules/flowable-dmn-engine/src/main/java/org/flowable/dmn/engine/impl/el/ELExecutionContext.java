@@ -19,6 +19,9 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.engine.impl.audit.DecisionAuditLevel;
+import org.flowable.dmn.engine.impl.predicate.InputEntryPredicates;
+import org.flowable.dmn.engine.impl.predicate.InputValues;
 import org.flowable.dmn.model.BuiltinAggregator;
 
 /**
@@ -31,6 +34,9 @@ public class ELExecutionContext {
     protected DecisionExecutionAuditContainer auditContainer;
     protected Map<String, List<Object>> outputValues = new LinkedHashMap<>();
     protected BuiltinAggregator aggregator;
+    protected DecisionAuditLevel auditLevel = DecisionAuditLevel.FULL;
+    protected InputEntryPredicates inputEntryPredicates;
+    protected InputValues inputValues;
 
     public void checkExecutionContext(String variableId) {
 
@@ -89,4 +95,30 @@ public class ELExecutionContext {
     public void setAggregator(BuiltinAggregator aggregator) {
         this.aggregator = aggregator;
     }
+
+    public DecisionAuditLevel getAuditLevel() {
+        return auditLevel;
+    }
+
+    public void setAuditLevel(DecisionAuditLevel auditLevel) {
+        this.auditLevel = auditLevel;
+    }
+
+    public InputEntryPredicates getInputEntryPredicates() {
+        return inputEntryPredicates;
+    }
+
+    public void setInputEntryPredicates(InputEntryPredicates inputEntryPredicates) {
+        this.inputEntryPredicates = inputEntryPredicates;
+    }
+
+    /**
+     * Returns the input values of the compiled input entries, which are created when they are first needed.
+     */
+    public InputValues getInputValues() {
+        if (inputValues == null && inputEntryPredicates != null) {
+            inputValues = inputEntryPredicates.createInputValues(stackVariables);
+        }
+        return inputValues;
+    }
 }
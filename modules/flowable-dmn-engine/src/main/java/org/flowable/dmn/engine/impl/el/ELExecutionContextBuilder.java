@@ -20,6 +20,7 @@ import java.util.Map;
 
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.dmn.engine.impl.audit.DecisionExecutionAuditUtil;
+import org.flowable.dmn.engine.impl.util.CommandContextUtil;
 import org.flowable.dmn.model.Decision;
 import org.flowable.dmn.model.DecisionTable;
 import org.flowable.dmn.model.InputClause;
@@ -36,11 +37,15 @@ public class ELExecutionContextBuilder {
     private static final Logger LOGGER = LoggerFactory.getLogger(ELExecutionContextBuilder.class);
 
     public static ELExecutionContext build(Decision decision, Map<String, Object> inputVariables) {
+        return build(decision, inputVariables, CommandContextUtil.getDmnEngineConfiguration().isStrictMode());
+    }
+
+    public static ELExecutionContext build(Decision decision, Map<String, Object> inputVariables, boolean strictMode) {
 
         ELExecutionContext executionContext = new ELExecutionContext();
 
         // initialize audit trail
-        executionContext.setAuditContainer(DecisionExecutionAuditUtil.initializeRuleExecutionAudit(decision, inputVariables));
+        executionContext.setAuditContainer(DecisionExecutionAuditUtil.initializeRuleExecutionAudit(decision, inputVariables, strictMode));
 
         DecisionTable decisionTable = (DecisionTable) decision.getExpression();
 
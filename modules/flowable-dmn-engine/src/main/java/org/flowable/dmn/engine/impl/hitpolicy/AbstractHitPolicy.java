@@ -55,4 +55,12 @@ public abstract class AbstractHitPolicy implements ContinueEvaluatingBehavior, C
         List<Map<String, Object>> decisionResults = new ArrayList<>(executionContext.getRuleResults().values());
         executionContext.getAuditContainer().setDecisionResult(decisionResults);
     }
+
+    /**
+     * Returns whether the decision is executed in strict mode. This is taken from the audit container of the execution,
+     * so no command context is needed (the decisions of a batch can be evaluated on other threads).
+     */
+    protected boolean isStrictMode(ELExecutionContext executionContext) {
+        return Boolean.TRUE.equals(executionContext.getAuditContainer().isStrictMode());
+    }
 }
@@ -18,7 +18,6 @@ import java.util.Map;
 
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.dmn.engine.impl.el.ELExecutionContext;
-import org.flowable.dmn.engine.impl.util.CommandContextUtil;
 import org.flowable.dmn.model.HitPolicy;
 
 /**
@@ -49,7 +48,7 @@ public class HitPolicyAny extends AbstractHitPolicy implements ComposeDecisionRe
                             String hitPolicyViolatedMessage = String.format("HitPolicy %s violated; both rule %d and %d are valid but output %s has different values.",
                                 getHitPolicyName(), otherRuleResults.getKey(), ruleResults.getKey(), outputValues.getKey());
 
-                            if (CommandContextUtil.getDmnEngineConfiguration().isStrictMode()) {
+                            if (isStrictMode(executionContext)) {
                                 executionContext.getAuditContainer().getRuleExecutions().get(otherRuleResults.getKey()).setExceptionMessage(hitPolicyViolatedMessage);
                                 executionContext.getAuditContainer().getRuleExecutions().get(ruleResults.getKey()).setExceptionMessage(hitPolicyViolatedMessage);
 
@@ -70,7 +69,7 @@ public class HitPolicyAny extends AbstractHitPolicy implements ComposeDecisionRe
 
         List<Map<String, Object>> ruleResults = new ArrayList<>(executionContext.getRuleResults().values());
         if (!ruleResults.isEmpty()) {
-            if (CommandContextUtil.getDmnEngineConfiguration().isStrictMode() == false && validationFailed) {
+            if (!isStrictMode(executionContext) && validationFailed) {
                 executionContext.getAuditContainer().setValidationMessage(String.format("HitPolicy %s violated; multiple valid rules with different outcomes. Setting last valid rule result as final result.", getHitPolicyName()));
             }
             executionContext.getAuditContainer().addDecisionResultObject(ruleResults.get(ruleResults.size() - 1));
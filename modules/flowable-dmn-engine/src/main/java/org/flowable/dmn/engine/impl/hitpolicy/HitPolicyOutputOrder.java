@@ -21,7 +21,6 @@ import java.util.Map;
 import org.apache.commons.lang3.builder.CompareToBuilder;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.dmn.engine.impl.el.ELExecutionContext;
-import org.flowable.dmn.engine.impl.util.CommandContextUtil;
 import org.flowable.dmn.model.HitPolicy;
 
 /**
@@ -49,7 +48,7 @@ public class HitPolicyOutputOrder extends AbstractHitPolicy implements ComposeDe
         
         if (!outputValuesPresent) {
             String hitPolicyViolatedMessage = String.format("HitPolicy: %s violated; no output values present", getHitPolicyName());
-            if (CommandContextUtil.getDmnEngineConfiguration().isStrictMode()) {
+            if (isStrictMode(executionContext)) {
                 throw new FlowableException(hitPolicyViolatedMessage);
             } else {
                 executionContext.getAuditContainer().setValidationMessage(hitPolicyViolatedMessage);
@@ -21,7 +21,6 @@ import java.util.Map;
 import org.apache.commons.lang3.builder.CompareToBuilder;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.dmn.engine.impl.el.ELExecutionContext;
-import org.flowable.dmn.engine.impl.util.CommandContextUtil;
 import org.flowable.dmn.model.HitPolicy;
 
 /**
@@ -60,7 +59,7 @@ public class HitPolicyPriority extends AbstractHitPolicy implements ComposeDecis
                 if (!noOutputValuesPresent) {
                     return compareToBuilder.toComparison();
                 } else {
-                    if (CommandContextUtil.getDmnEngineConfiguration().isStrictMode()) {
+                    if (isStrictMode(executionContext)) {
                         throw new FlowableException(String.format("HitPolicy %s violated; no output values present.", getHitPolicyName()));
                     } else {
                         executionContext.getAuditContainer().setValidationMessage(String.format("HitPolicy %s violated; no output values present. Setting first valid result as final result.", getHitPolicyName()));
@@ -21,7 +21,6 @@ import java.util.Map;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.dmn.api.RuleExecutionAuditContainer;
 import org.flowable.dmn.engine.impl.el.ELExecutionContext;
-import org.flowable.dmn.engine.impl.util.CommandContextUtil;
 import org.flowable.dmn.model.HitPolicy;
 
 /**
@@ -41,7 +40,7 @@ public class HitPolicyUnique extends AbstractHitPolicy implements EvaluateRuleVa
             if (entry.getKey().equals(ruleNumber) == false && entry.getValue().isValid()) {
                 String hitPolicyViolatedMessage = String.format("HitPolicy %s violated; at least rule %d and rule %d are valid.", getHitPolicyName(), ruleNumber, entry.getKey());
 
-                if (CommandContextUtil.getDmnEngineConfiguration().isStrictMode()) {
+                if (isStrictMode(executionContext)) {
                     executionContext.getAuditContainer().getRuleExecutions().get(ruleNumber).setExceptionMessage(hitPolicyViolatedMessage);
                     executionContext.getAuditContainer().getRuleExecutions().get(entry.getKey()).setExceptionMessage(hitPolicyViolatedMessage);
                     throw new FlowableException("HitPolicy UNIQUE violated.");
@@ -59,7 +58,7 @@ public class HitPolicyUnique extends AbstractHitPolicy implements EvaluateRuleVa
         List<Map<String, Object>> ruleResults = new ArrayList<>(executionContext.getRuleResults().values());
         List<Map<String, Object>> decisionResult = null;
 
-        if (ruleResults.size() > 1 && CommandContextUtil.getDmnEngineConfiguration().isStrictMode() == false) {
+        if (ruleResults.size() > 1 && !isStrictMode(executionContext)) {
             Map<String, Object> lastResult = new HashMap<>();
 
             for (Map<String, Object> ruleResult : ruleResults) {
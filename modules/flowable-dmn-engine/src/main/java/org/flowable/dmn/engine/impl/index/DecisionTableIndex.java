@@ -0,0 +1,169 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per column indexes of the input entries of a decision table, which are built when the decision table is deployed.
+ *
+ * The index is used to find the candidate rules for the input values, so the rules of which an input entry is definitely false
+ * don't need to be evaluated. The candidate rules are evaluated as usual, so the result is the same as when all rules are evaluated
+ * (for every hit policy, as skipping a rule is the same as evaluating it to false). Only the audit trail doesn't contain the skipped rules.
+ *
+ * A rule is only skipped when its input entries are evaluated without an error up to the entry that is false,
+ * so a decision table that fails when all rules are evaluated also fails when the index is used.
+ */
+public class DecisionTableIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DecisionTableIndex.class);
+
+    protected int numberOfRules;
+    protected List<InputColumnIndex> columnIndexes;
+
+    public DecisionTableIndex(int numberOfRules, List<InputColumnIndex> columnIndexes) {
+        this.numberOfRules = numberOfRules;
+        this.columnIndexes = columnIndexes;
+    }
+
+    /**
+     * Builds the index for the given decision table.
+     *
+     * @return the index, or null if the decision table doesn't have input entries that can be indexed
+     */
+    public static DecisionTableIndex build(DecisionTable decisionTable, ExpressionManager expressionManager) {
+        List<DecisionRule> rules = decisionTable.getRules();
+
+        // the input expression of each column, determined by the position of the input entries in the rules
+        List<String> inputExpressions = new ArrayList<>();
+        for (DecisionRule rule : rules) {
+            List<RuleInputClauseContainer> inputEntries = rule.getInputEntries();
+            for (int column = 0; column < inputEntries.size(); column++) {
+                RuleInputClauseContainer inputEntry = inputEntries.get(column);
+                if (inputEntry.getInputClause() == null || inputEntry.getInputClause().getInputExpression() == null || inputEntry.getInputEntry() == null) {
+                    return null;
+                }
+
+                String inputExpression = inputEntry.getInputClause().getInputExpression().getText();
+                if (column == inputExpressions.size()) {
+                    inputExpressions.add(inputExpression);
+                } else if (!Objects.equals(inputExpressions.get(column), inputExpression)) {
+                    return null;
+                }
+            }
+        }
+
+        List<InputColumnIndex> columnIndexes = new ArrayList<>(inputExpressions.size());
+        boolean hasIndexedEntries = false;
+        for (int column = 0; column < inputExpressions.size(); column++) {
+            String inputExpression = inputExpressions.get(column);
+            boolean indexableColumn = InputColumnIndex.isIndexableInputExpression(inputExpression);
+
+            InputColumnIndex columnIndex = new InputColumnIndex(rules.size());
+            for (int ruleIndex = 0; ruleIndex < rules.size(); ruleIndex++) {
+                List<RuleInputClauseContainer> inputEntries = rules.get(ruleIndex).getInputEntries();
+                if (column >= inputEntries.size()) {
+                    // an entry that is not there is not evaluated
+                    columnIndex.addEntry(ruleIndex, null);
+
+                } else {
+                    String inputEntryText = inputEntries.get(column).getInputEntry().getText();
+                    if (indexableColumn || isWildcard(inputEntryText)) {
+                        columnIndex.addEntry(ruleIndex, inputEntryText);
+                    }
+                }
+            }
+
+            if (indexableColumn && columnIndex.hasIndexedEntries()) {
+                columnIndex.build(expressionManager.createExpression("#{" + inputExpression + "}"));
+                hasIndexedEntries = true;
+            } else {
+                columnIndex.build(null);
+            }
+            columnIndexes.add(columnIndex);
+        }
+
+        if (!hasIndexedEntries) {
+            return null;
+        }
+
+        return new DecisionTableIndex(rules.size(), columnIndexes);
+    }
+
+    protected static boolean isWildcard(String inputEntryText) {
+        return StringUtils.isEmpty(inputEntryText) || "-".equals(inputEntryText);
+    }
+
+    /**
+     * Returns the rules that can be true for the given variables, as positions in the rules of the decision table.
+     */
+    public BitSet findCandidateRules(Map<String, Object> variables) {
+        BitSet candidateRules = new BitSet(numberOfRules);
+        candidateRules.set(0, numberOfRules);
+
+        // the rules of which all input entries up to the current column are evaluated without an error
+        BitSet safeRules = (BitSet) candidateRules.clone();
+
+        for (InputColumnIndex columnIndex : columnIndexes) {
+            if (!columnIndex.hasIndexedEntries()) {
+                safeRules.and(columnIndex.getWildcardRules());
+
+            } else {
+                Object inputValue;
+                try {
+                    inputValue = columnIndex.getInputValue(variables);
+                } catch (Exception e) {
+                    // the input entries of the column are evaluated (and fail) as usual
+                    LOGGER.debug("Could not resolve input value for decision table index", e);
+                    safeRules.and(columnIndex.getWildcardRules());
+                    if (safeRules.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+
+                BitSet falseRules = columnIndex.getFalseRules(inputValue);
+                falseRules.and(safeRules);
+                candidateRules.andNot(falseRules);
+
+                safeRules.and(columnIndex.getSafeRules(inputValue));
+            }
+
+            if (safeRules.isEmpty()) {
+                break;
+            }
+        }
+
+        return candidateRules;
+    }
+
+    public int getNumberOfRules() {
+        return numberOfRules;
+    }
+
+    public List<InputColumnIndex> getColumnIndexes() {
+        return columnIndexes;
+    }
+}
@@ -0,0 +1,332 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.index;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.VariableContainerWrapper;
+
+/**
+ * Index of the input entries of one input column of a decision table.
+ *
+ * Input entries that are a simple literal comparison (<code>"value"</code>, <code>== 10</code>, <code>&lt; 20</code>, <code>true</code>, ...)
+ * are indexed by value, so the rules for which the entry is true can be looked up instead of evaluating the entry for every rule.
+ * All other input entries are left to the EL evaluation.
+ *
+ * For an input value the index determines which rules have an entry that is definitely false and which rules have an entry
+ * that can be evaluated without an error. Entries of a literal type that is different from the type of the input value
+ * are neither, because EL coerces the values (e.g. <code>"10" == 10</code> is true and <code>"abc" == 10</code> fails).
+ */
+public class InputColumnIndex {
+
+    protected static final Pattern STRING_LITERAL_PATTERN = Pattern.compile("\"[^\"\\\\]*\"|'[^'\\\\]*'");
+    protected static final Pattern NUMBER_LITERAL_PATTERN = Pattern.compile("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?");
+    protected static final Pattern INPUT_EXPRESSION_PATTERN = Pattern.compile("[A-Za-z_$][\\w$]*(\\.[A-Za-z_$][\\w$]*)*");
+
+    protected Expression inputExpression;
+    protected int numberOfRules;
+
+    protected BitSet wildcardRules;
+    protected BitSet stringRules;
+    protected BitSet numberRules;
+    protected BitSet booleanRules;
+
+    protected Map<String, BitSet> stringEntries = new HashMap<>();
+    protected Map<Double, BitSet> numberEntries = new HashMap<>();
+    protected Map<Boolean, BitSet> booleanEntries = new HashMap<>();
+
+    // rules with a < or <= entry, sorted by the upper bound
+    protected double[] upperBounds;
+    protected int[] upperBoundRules;
+
+    // rules with a > or >= entry, sorted by the lower bound
+    protected double[] lowerBounds;
+    protected int[] lowerBoundRules;
+
+    // the rules that have an entry that can be evaluated without an error, for an input value of each type
+    protected BitSet nullSafeRules;
+    protected BitSet stringSafeRules;
+    protected BitSet numberSafeRules;
+    protected BitSet booleanSafeRules;
+
+    protected InputColumnIndex(int numberOfRules) {
+        this.numberOfRules = numberOfRules;
+        this.wildcardRules = new BitSet(numberOfRules);
+        this.stringRules = new BitSet(numberOfRules);
+        this.numberRules = new BitSet(numberOfRules);
+        this.booleanRules = new BitSet(numberOfRules);
+    }
+
+    /**
+     * Returns true if the input expression of the column can be evaluated on its own and gives the same value as when it's used
+     * as the left side of a comparison in an input entry (i.e. it's a variable or a property of a variable).
+     */
+    public static boolean isIndexableInputExpression(String inputExpression) {
+        return inputExpression != null && INPUT_EXPRESSION_PATTERN.matcher(inputExpression).matches();
+    }
+
+    /**
+     * Adds the input entry of the given rule to the index.
+     *
+     * @return true if the entry is a wildcard or an indexed literal comparison, false if the entry is left to the EL evaluation
+     */
+    public boolean addEntry(int ruleIndex, String inputEntryText) {
+        if (StringUtils.isEmpty(inputEntryText) || "-".equals(inputEntryText)) {
+            wildcardRules.set(ruleIndex);
+            return true;
+        }
+
+        // the functions are replaced by the EL pre parser, also in literals
+        if (inputEntryText.contains("fn_")) {
+            return false;
+        }
+
+        // the operator is determined like the EL pre parser does
+        String text = inputEntryText.trim();
+        String operator = "==";
+        for (String candidateOperator : new String[] { "==", "!=", "<=", ">=", "<", ">" }) {
+            if (inputEntryText.startsWith(candidateOperator)) {
+                operator = candidateOperator;
+                text = inputEntryText.substring(candidateOperator.length()).trim();
+                break;
+            }
+        }
+
+        if ("==".equals(operator)) {
+            if (STRING_LITERAL_PATTERN.matcher(text).matches()) {
+                addRule(stringEntries, text.substring(1, text.length() - 1), ruleIndex);
+                stringRules.set(ruleIndex);
+                return true;
+
+            } else if (NUMBER_LITERAL_PATTERN.matcher(text).matches()) {
+                addRule(numberEntries, normalize(Double.parseDouble(text)), ruleIndex);
+                numberRules.set(ruleIndex);
+                return true;
+
+            } else if ("true".equals(text) || "false".equals(text)) {
+                addRule(booleanEntries, Boolean.valueOf(text), ruleIndex);
+                booleanRules.set(ruleIndex);
+                return true;
+            }
+
+        } else if (!"!=".equals(operator) && NUMBER_LITERAL_PATTERN.matcher(text).matches()) {
+            double bound = Double.parseDouble(text);
+            if (operator.startsWith("<")) {
+                upperBounds = append(upperBounds, bound);
+                upperBoundRules = append(upperBoundRules, ruleIndex);
+            } else {
+                lowerBounds = append(lowerBounds, bound);
+                lowerBoundRules = append(lowerBoundRules, ruleIndex);
+            }
+            numberRules.set(ruleIndex);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Completes the index after all entries are added.
+     */
+    public void build(Expression inputExpression) {
+        this.inputExpression = inputExpression;
+
+        sortBounds(upperBounds, upperBoundRules);
+        sortBounds(lowerBounds, lowerBoundRules);
+
+        stringSafeRules = union(wildcardRules, stringRules);
+        numberSafeRules = union(wildcardRules, numberRules);
+        booleanSafeRules = union(wildcardRules, booleanRules);
+
+        // a comparison with null is always false
+        nullSafeRules = union(stringSafeRules, numberRules);
+        nullSafeRules.or(booleanRules);
+    }
+
+    public BitSet getWildcardRules() {
+        return wildcardRules;
+    }
+
+    public boolean hasIndexedEntries() {
+        return !stringRules.isEmpty() || !numberRules.isEmpty() || !booleanRules.isEmpty();
+    }
+
+    /**
+     * Resolves the value of the input expression of the column.
+     */
+    public Object getInputValue(Map<String, Object> variables) {
+        return inputExpression.getValue(new VariableContainerWrapper(variables));
+    }
+
+    /**
+     * Returns the rules that have an input entry that can be evaluated without an error for the given input value. Don't modify the returned set.
+     */
+    public BitSet getSafeRules(Object inputValue) {
+        if (inputValue == null) {
+            return nullSafeRules;
+        } else if (inputValue instanceof String) {
+            return stringSafeRules;
+        } else if (isNumber(inputValue)) {
+            return numberSafeRules;
+        } else if (inputValue instanceof Boolean) {
+            return booleanSafeRules;
+        } else {
+            return wildcardRules;
+        }
+    }
+
+    /**
+     * Returns the rules that have an input entry that is false for the given input value.
+     */
+    public BitSet getFalseRules(Object inputValue) {
+        BitSet falseRules;
+        if (inputValue == null) {
+            falseRules = union(stringRules, numberRules);
+            falseRules.or(booleanRules);
+
+        } else if (inputValue instanceof String) {
+            falseRules = without(stringRules, stringEntries.get(inputValue));
+
+        } else if (isNumber(inputValue)) {
+            // candidates are looked up with the double value and inclusive bounds, which can give more matches than the exact
+            // EL comparison but never less, so the other rules are definitely false
+            double value = ((Number) inputValue).doubleValue();
+            falseRules = without(numberRules, numberEntries.get(normalize(value)));
+            if (upperBounds != null) {
+                int from = firstIndexOfGreaterOrEqual(upperBounds, value);
+                for (int i = from; i < upperBounds.length; i++) {
+                    falseRules.clear(upperBoundRules[i]);
+                }
+            }
+            if (lowerBounds != null) {
+                int to = firstIndexOfGreater(lowerBounds, value);
+                for (int i = 0; i < to; i++) {
+                    falseRules.clear(lowerBoundRules[i]);
+                }
+            }
+
+        } else if (inputValue instanceof Boolean) {
+            falseRules = without(booleanRules, booleanEntries.get(inputValue));
+
+        } else {
+            falseRules = new BitSet(numberOfRules);
+        }
+
+        return falseRules;
+    }
+
+    protected boolean isNumber(Object value) {
+        // the number types that EL compares numerically with a number literal
+        return value instanceof Long || value instanceof Integer || value instanceof Double || value instanceof BigDecimal
+                || value instanceof Short || value instanceof Byte || value instanceof Float || value instanceof BigInteger;
+    }
+
+    protected static Double normalize(double value) {
+        // -0.0 and 0.0 are equal numbers, but not equal doubles
+        return value == 0.0 ? 0.0 : value;
+    }
+
+    protected static <K> void addRule(Map<K, BitSet> entries, K key, int ruleIndex) {
+        BitSet rules = entries.get(key);
+        if (rules == null) {
+            rules = new BitSet();
+            entries.put(key, rules);
+        }
+        rules.set(ruleIndex);
+    }
+
+    protected static BitSet union(BitSet first, BitSet second) {
+        BitSet union = (BitSet) first.clone();
+        union.or(second);
+        return union;
+    }
+
+    protected static BitSet without(BitSet rules, BitSet matchingRules) {
+        BitSet result = (BitSet) rules.clone();
+        if (matchingRules != null) {
+            result.andNot(matchingRules);
+        }
+        return result;
+    }
+
+    protected static double[] append(double[] values, double value) {
+        double[] result = values == null ? new double[1] : Arrays.copyOf(values, values.length + 1);
+        result[result.length - 1] = value;
+        return result;
+    }
+
+    protected static int[] append(int[] values, int value) {
+        int[] result = values == null ? new int[1] : Arrays.copyOf(values, values.length + 1);
+        result[result.length - 1] = value;
+        return result;
+    }
+
+    protected static void sortBounds(double[] bounds, int[] rules) {
+        if (bounds == null) {
+            return;
+        }
+
+        List<Integer> order = new ArrayList<>(bounds.length);
+        for (int i = 0; i < bounds.length; i++) {
+            order.add(i);
+        }
+        order.sort((first, second) -> Double.compare(bounds[first], bounds[second]));
+
+        double[] sortedBounds = new double[bounds.length];
+        int[] sortedRules = new int[rules.length];
+        for (int i = 0; i < order.size(); i++) {
+            sortedBounds[i] = bounds[order.get(i)];
+            sortedRules[i] = rules[order.get(i)];
+        }
+        System.arraycopy(sortedBounds, 0, bounds, 0, bounds.length);
+        System.arraycopy(sortedRules, 0, rules, 0, rules.length);
+    }
+
+    protected static int firstIndexOfGreaterOrEqual(double[] sortedValues, double value) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    protected static int firstIndexOfGreater(double[] sortedValues, double value) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
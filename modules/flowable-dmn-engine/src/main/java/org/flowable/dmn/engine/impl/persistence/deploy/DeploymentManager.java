@@ -36,6 +36,7 @@ public class DeploymentManager {
 
     protected DmnEngineConfiguration engineConfig;
     protected DeploymentCache<DecisionTableCacheEntry> decisionCache;
+    protected LatestDecisionTableCache latestDecisionTableCache;
 
     protected List<Deployer> deployers;
     protected DecisionTableEntityManager decisionTableEntityManager;
@@ -54,6 +55,11 @@ public class DeploymentManager {
         for (Deployer deployer : deployers) {
             deployer.deploy(deployment, deploymentSettings);
         }
+
+        // a new deployment can change the decision table that is executed for a key
+        if (deployment.isNew() && latestDecisionTableCache != null) {
+            latestDecisionTableCache.invalidate();
+        }
     }
 
     public DecisionTableEntity findDeployedDecisionById(String decisionId) {
@@ -174,6 +180,10 @@ public class DeploymentManager {
         for (DmnDecisionTable decisionTable : decisionTables) {
             decisionCache.remove(decisionTable.getId());
         }
+
+        if (latestDecisionTableCache != null) {
+            latestDecisionTableCache.invalidate();
+        }
     }
 
     public List<Deployer> getDeployers() {
@@ -192,6 +202,14 @@ public class DeploymentManager {
         this.decisionCache = decisionCache;
     }
 
+    public LatestDecisionTableCache getLatestDecisionTableCache() {
+        return latestDecisionTableCache;
+    }
+
+    public void setLatestDecisionTableCache(LatestDecisionTableCache latestDecisionTableCache) {
+        this.latestDecisionTableCache = latestDecisionTableCache;
+    }
+
     public DecisionTableEntityManager getDecisionTableEntityManager() {
         return decisionTableEntityManager;
     }
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.persistence.deploy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.interceptor.CommandContextCloseListener;
+import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
+
+/**
+ * Cache of the id of the decision table that is executed for a decision key, tenant id and parent deployment id,
+ * so the latest version of a decision table doesn't need to be queried for every execution.
+ *
+ * All entries are removed when a dmn deployment is deployed or deleted by this engine. As a transaction that started before
+ * the deployment could still add an entry for the previous version, entries are only added when no deployment happened since
+ * the lookup started, and the cache is cleared again when the transaction of the deployment is committed.
+ */
+public class LatestDecisionTableCache {
+
+    protected DefaultDeploymentCache<String> decisionTableIds;
+    protected AtomicLong generation = new AtomicLong();
+
+    public LatestDecisionTableCache(int limit) {
+        this.decisionTableIds = limit > 0 ? new DefaultDeploymentCache<>(limit) : new DefaultDeploymentCache<>();
+    }
+
+    public static String createKey(String decisionKey, String parentDeploymentId, String tenantId, boolean fallbackToDefaultTenant) {
+        StringBuilder key = new StringBuilder(decisionKey);
+        key.append('\u0000').append(parentDeploymentId != null ? parentDeploymentId : "");
+        key.append('\u0000').append(tenantId != null ? tenantId : "");
+        key.append('\u0000').append(fallbackToDefaultTenant);
+        return key.toString();
+    }
+
+    public String get(String key) {
+        return decisionTableIds.get(key);
+    }
+
+    /**
+     * Returns the current generation of the cache, which is passed to {@link #add(String, String, long)} after the lookup.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public void add(String key, String decisionTableId, long lookupGeneration) {
+        if (generation.get() == lookupGeneration) {
+            decisionTableIds.add(key, decisionTableId);
+
+            // a deployment that happened in the meantime can have missed the entry
+            if (generation.get() != lookupGeneration) {
+                decisionTableIds.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Removes all entries, now and after the current transaction is committed.
+     */
+    public void invalidate() {
+        clear();
+
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            commandContext.addCloseListener(new CommandContextCloseListener() {
+
+                @Override
+                public void closing(CommandContext commandContext) {
+                }
+
+                @Override
+                public void afterSessionsFlush(CommandContext commandContext) {
+                }
+
+                @Override
+                public void closed(CommandContext commandContext) {
+                    clear();
+                }
+
+                @Override
+                public void closeFailure(CommandContext commandContext) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        decisionTableIds.clear();
+    }
+
+    public int size() {
+        return decisionTableIds.size();
+    }
+}
@@ -12,6 +12,8 @@
  */
 package org.flowable.dmn.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -34,4 +36,10 @@ public interface HistoricDecisionExecutionEntityManager extends EntityManager<Hi
 
     long findHistoricDecisionExecutionCountByNativeQuery(Map<String, Object> parameterMap);
 
+    List<String> findHistoricDecisionExecutionIdsEndedBefore(Date endedBefore, int maxResults);
+
+    long findHistoricDecisionExecutionCountEndedBefore(Date endedBefore);
+
+    void bulkDeleteHistoricDecisionExecutions(Collection<String> decisionExecutionIds);
+
 }
\ No newline at end of file
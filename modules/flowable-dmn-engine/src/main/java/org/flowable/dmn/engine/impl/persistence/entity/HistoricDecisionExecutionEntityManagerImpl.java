@@ -13,6 +13,8 @@
 
 package org.flowable.dmn.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -67,6 +69,21 @@ public class HistoricDecisionExecutionEntityManagerImpl extends AbstractEntityMa
         return historicDecisionExecutionDataManager.findHistoricDecisionExecutionCountByNativeQuery(parameterMap);
     }
 
+    @Override
+    public List<String> findHistoricDecisionExecutionIdsEndedBefore(Date endedBefore, int maxResults) {
+        return historicDecisionExecutionDataManager.findHistoricDecisionExecutionIdsEndedBefore(endedBefore, maxResults);
+    }
+
+    @Override
+    public long findHistoricDecisionExecutionCountEndedBefore(Date endedBefore) {
+        return historicDecisionExecutionDataManager.findHistoricDecisionExecutionCountEndedBefore(endedBefore);
+    }
+
+    @Override
+    public void bulkDeleteHistoricDecisionExecutions(Collection<String> decisionExecutionIds) {
+        historicDecisionExecutionDataManager.bulkDeleteHistoricDecisionExecutions(decisionExecutionIds);
+    }
+
     public HistoricDecisionExecutionDataManager getHistoricDecisionExecutionDataManager() {
         return historicDecisionExecutionDataManager;
     }
@@ -12,6 +12,8 @@
  */
 package org.flowable.dmn.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -34,4 +36,10 @@ public interface HistoricDecisionExecutionDataManager extends DataManager<Histor
     List<DmnHistoricDecisionExecution> findHistoricDecisionExecutionsByNativeQuery(Map<String, Object> parameterMap);
 
     long findHistoricDecisionExecutionCountByNativeQuery(Map<String, Object> parameterMap);
+
+    List<String> findHistoricDecisionExecutionIdsEndedBefore(Date endedBefore, int maxResults);
+
+    long findHistoricDecisionExecutionCountEndedBefore(Date endedBefore);
+
+    void bulkDeleteHistoricDecisionExecutions(Collection<String> decisionExecutionIds);
 }
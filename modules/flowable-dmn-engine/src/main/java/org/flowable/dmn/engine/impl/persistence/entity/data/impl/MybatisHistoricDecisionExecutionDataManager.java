@@ -12,9 +12,13 @@
  */
 package org.flowable.dmn.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.flowable.common.engine.impl.db.ListQueryParameterObject;
 import org.flowable.dmn.api.DmnHistoricDecisionExecution;
 import org.flowable.dmn.engine.DmnEngineConfiguration;
 import org.flowable.dmn.engine.impl.HistoricDecisionExecutionQueryImpl;
@@ -68,4 +72,22 @@ public class MybatisHistoricDecisionExecutionDataManager extends AbstractDmnData
     public long findHistoricDecisionExecutionCountByNativeQuery(Map<String, Object> parameterMap) {
         return (Long) getDbSqlSession().selectOne("selectHistoricDecisionExecutionCountByNativeQuery", parameterMap);
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findHistoricDecisionExecutionIdsEndedBefore(Date endedBefore, int maxResults) {
+        return getDbSqlSession().selectList("selectHistoricDecisionExecutionIdsEndedBefore", endedBefore, 0, maxResults);
+    }
+
+    @Override
+    public long findHistoricDecisionExecutionCountEndedBefore(Date endedBefore) {
+        return (Long) getDbSqlSession().selectOne("selectHistoricDecisionExecutionCountEndedBefore", new ListQueryParameterObject(endedBefore, 0, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public void bulkDeleteHistoricDecisionExecutions(Collection<String> decisionExecutionIds) {
+        Map<String, Object> parameters = new HashMap<>(1);
+        parameters.put("decisionExecutionIds", decisionExecutionIds);
+        getDbSqlSession().delete("bulkDeleteHistoricDecisionExecutionsByIds", parameters, getManagedEntityClass());
+    }
 }
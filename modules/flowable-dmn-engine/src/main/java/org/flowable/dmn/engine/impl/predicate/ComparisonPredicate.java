@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.predicate;
+
+import org.flowable.common.engine.impl.de.odysseus.el.misc.BooleanOperations;
+import org.flowable.common.engine.impl.de.odysseus.el.misc.TypeConverter;
+
+/**
+ * An input entry that compares an input value with a literal, like <code>&lt; 10</code> or <code>== 'gold'</code>.
+ *
+ * The comparison uses the same operations and type coercion as the EL expression of the input entry.
+ */
+public class ComparisonPredicate implements InputEntryPredicate {
+
+    public enum Operator {
+
+        EQ("=="), NE("!="), LT("<"), LE("<="), GT(">"), GE(">=");
+
+        protected final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public static Operator fromSymbol(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("Unknown comparison operator " + symbol);
+        }
+    }
+
+    protected int valueIndex;
+    protected Operator operator;
+    protected Object literal;
+    protected TypeConverter typeConverter;
+
+    public ComparisonPredicate(int valueIndex, Operator operator, Object literal) {
+        this(valueIndex, operator, literal, TypeConverter.DEFAULT);
+    }
+
+    public ComparisonPredicate(int valueIndex, Operator operator, Object literal, TypeConverter typeConverter) {
+        this.valueIndex = valueIndex;
+        this.operator = operator;
+        this.literal = literal;
+        this.typeConverter = typeConverter;
+    }
+
+    @Override
+    public Boolean evaluate(InputValues inputValues) {
+        Object value = inputValues.getValue(valueIndex);
+        if (value == InputValues.NOT_RESOLVABLE) {
+            return null;
+        }
+
+        try {
+            switch (operator) {
+                case EQ:
+                    return BooleanOperations.eq(typeConverter, value, literal);
+                case NE:
+                    return BooleanOperations.ne(typeConverter, value, literal);
+                case LT:
+                    return BooleanOperations.lt(typeConverter, value, literal);
+                case LE:
+                    return BooleanOperations.le(typeConverter, value, literal);
+                case GT:
+                    return BooleanOperations.gt(typeConverter, value, literal);
+                case GE:
+                    return BooleanOperations.ge(typeConverter, value, literal);
+                default:
+                    return null;
+            }
+
+        } catch (RuntimeException e) {
+            // the value can't be compared with the literal, the EL expression reports the error
+            return null;
+        }
+    }
+
+    public int getValueIndex() {
+        return valueIndex;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Object getLiteral() {
+        return literal;
+    }
+
+}
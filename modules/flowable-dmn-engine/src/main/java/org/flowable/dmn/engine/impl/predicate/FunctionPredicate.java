@@ -0,0 +1,71 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.predicate;
+
+import java.lang.reflect.Method;
+
+/**
+ * An input entry that invokes a function of a {@link org.flowable.common.engine.api.delegate.FlowableFunctionDelegate}
+ * with input values and literals as arguments, like <code>${collection:anyOf(customerTypes, '"gold", "silver"')}</code>.
+ *
+ * The function method is invoked with the arguments as is, like the EL expression does for functions with {@link Object} parameters.
+ */
+public class FunctionPredicate implements InputEntryPredicate {
+
+    protected Method method;
+
+    /**
+     * The position of the input value of each argument, or -1 if the argument is a literal.
+     */
+    protected int[] valueIndexes;
+    protected Object[] literals;
+
+    public FunctionPredicate(Method method, int[] valueIndexes, Object[] literals) {
+        this.method = method;
+        this.valueIndexes = valueIndexes;
+        this.literals = literals;
+    }
+
+    @Override
+    public Boolean evaluate(InputValues inputValues) {
+        Object[] arguments = new Object[valueIndexes.length];
+        for (int i = 0; i < valueIndexes.length; i++) {
+            if (valueIndexes[i] < 0) {
+                arguments[i] = literals[i];
+            } else {
+                arguments[i] = inputValues.getValue(valueIndexes[i]);
+                if (arguments[i] == InputValues.NOT_RESOLVABLE) {
+                    return null;
+                }
+            }
+        }
+
+        Object result;
+        try {
+            result = method.invoke(null, arguments);
+        } catch (Exception e) {
+            // the EL expression reports the error
+            return null;
+        }
+
+        if (result instanceof Boolean) {
+            return (Boolean) result;
+        }
+        return null;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+}
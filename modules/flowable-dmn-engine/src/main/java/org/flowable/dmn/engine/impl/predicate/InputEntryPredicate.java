@@ -0,0 +1,29 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.predicate;
+
+/**
+ * An input entry of a decision table rule that is compiled when the decision table is deployed,
+ * so it can be evaluated without parsing and evaluating the EL expression of the input entry.
+ */
+public interface InputEntryPredicate {
+
+    /**
+     * Evaluates the input entry for the input values of a decision execution.
+     *
+     * @return the result of the input entry, or null if the result can't be determined by the predicate
+     *         (for example when an input value can't be resolved or compared), in which case the EL expression of the input entry is evaluated instead
+     */
+    Boolean evaluate(InputValues inputValues);
+
+}
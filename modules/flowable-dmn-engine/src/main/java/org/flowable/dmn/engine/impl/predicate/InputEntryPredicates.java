@@ -0,0 +1,280 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.predicate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.api.delegate.FlowableFunctionDelegate;
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.dmn.engine.impl.el.ELInputEntryExpressionPreParser;
+import org.flowable.dmn.engine.impl.el.util.DateUtil;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The compiled input entries of a decision table, which are built when the decision table is deployed.
+ *
+ * An input entry is compiled when its pre-parsed EL expression (see {@link ELInputEntryExpressionPreParser}) is a comparison of an input value
+ * with a literal, or a function call with input values and literals as arguments. The input values are resolved once per decision execution
+ * (see {@link InputValues}). All other input entries, and the compiled input entries that can't be evaluated for the input values,
+ * are evaluated as EL expressions, so the result and the errors of a decision execution are the same as without compiled input entries.
+ */
+public class InputEntryPredicates {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InputEntryPredicates.class);
+
+    protected static final String STRING_LITERAL = "\"[^\"\\\\]*\"|'[^'\\\\]*'";
+    protected static final String NUMBER_LITERAL = "-?\\d+(?:\\.\\d+)?(?:[eE][+-]?\\d+)?";
+    protected static final String LITERAL = STRING_LITERAL + "|" + NUMBER_LITERAL + "|true|false";
+    protected static final String VALUE_PATH = "[A-Za-z_$][\\w$]*(?:\\.[A-Za-z_$][\\w$]*)*";
+    protected static final String DATE_LITERAL = "\\w+:\\w+\\(\\s*(?:" + STRING_LITERAL + ")\\s*\\)";
+    protected static final String ARGUMENT = LITERAL + "|" + VALUE_PATH;
+
+    protected static final Pattern COMPARISON_PATTERN = Pattern.compile(
+            "[#$]\\{\\s*(" + VALUE_PATH + ")\\s*(==|!=|<=|>=|<|>)\\s*(" + LITERAL + "|" + DATE_LITERAL + ")\\s*}");
+    protected static final Pattern FUNCTION_PATTERN = Pattern.compile(
+            "[#$]\\{\\s*(\\w+):(\\w+)\\(\\s*(" + ARGUMENT + ")\\s*,\\s*(" + ARGUMENT + ")\\s*\\)\\s*}");
+    protected static final Pattern DATE_LITERAL_PATTERN = Pattern.compile("(\\w+):(\\w+)\\(\\s*(" + STRING_LITERAL + ")\\s*\\)");
+
+    protected static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList(
+            "and", "div", "empty", "eq", "false", "ge", "gt", "instanceof", "le", "lt", "mod", "ne", "not", "null", "or", "true"));
+
+    protected static final Object NO_LITERAL = new Object();
+
+    protected Map<RuleInputClauseContainer, InputEntryPredicate> predicates;
+    protected List<Expression> valueExpressions;
+
+    public InputEntryPredicates(Map<RuleInputClauseContainer, InputEntryPredicate> predicates, List<Expression> valueExpressions) {
+        this.predicates = predicates;
+        this.valueExpressions = valueExpressions;
+    }
+
+    /**
+     * Compiles the input entries of the given decision table.
+     *
+     * @return the compiled input entries, or null if the decision table doesn't have input entries that can be compiled
+     */
+    public static InputEntryPredicates build(DecisionTable decisionTable, ExpressionManager expressionManager) {
+        Compiler compiler = new Compiler(expressionManager);
+        Map<RuleInputClauseContainer, InputEntryPredicate> predicates = new IdentityHashMap<>();
+        for (DecisionRule rule : decisionTable.getRules()) {
+            for (RuleInputClauseContainer inputEntry : rule.getInputEntries()) {
+                InputEntryPredicate predicate = compiler.compile(inputEntry);
+                if (predicate != null) {
+                    predicates.put(inputEntry, predicate);
+                }
+            }
+        }
+
+        if (predicates.isEmpty()) {
+            return null;
+        }
+
+        return new InputEntryPredicates(predicates, compiler.valueExpressions);
+    }
+
+    /**
+     * Returns the compiled input entry, or null if the input entry is evaluated as an EL expression.
+     */
+    public InputEntryPredicate getPredicate(RuleInputClauseContainer inputEntry) {
+        return predicates.get(inputEntry);
+    }
+
+    /**
+     * Creates the input values of a decision execution with the given variables.
+     */
+    public InputValues createInputValues(Map<String, Object> variables) {
+        return new InputValues(valueExpressions, variables);
+    }
+
+    public int size() {
+        return predicates.size();
+    }
+
+    protected static class Compiler {
+
+        protected ExpressionManager expressionManager;
+        protected List<Expression> valueExpressions = new ArrayList<>();
+        protected Map<String, Integer> valueIndexes = new HashMap<>();
+
+        public Compiler(ExpressionManager expressionManager) {
+            this.expressionManager = expressionManager;
+        }
+
+        public InputEntryPredicate compile(RuleInputClauseContainer inputEntry) {
+            if (inputEntry.getInputClause() == null || inputEntry.getInputClause().getInputExpression() == null || inputEntry.getInputEntry() == null) {
+                return null;
+            }
+
+            String inputExpression = inputEntry.getInputClause().getInputExpression().getText();
+            String inputEntryText = inputEntry.getInputEntry().getText();
+            if (StringUtils.isEmpty(inputExpression) || StringUtils.isEmpty(inputEntryText) || "-".equals(inputEntryText)) {
+                return null;
+            }
+
+            String parsedExpression = ELInputEntryExpressionPreParser.parse(inputEntryText, inputExpression,
+                    inputEntry.getInputClause().getInputExpression().getTypeRef());
+            try {
+                Matcher comparisonMatcher = COMPARISON_PATTERN.matcher(parsedExpression);
+                if (comparisonMatcher.matches()) {
+                    return compileComparison(comparisonMatcher.group(1), comparisonMatcher.group(2), comparisonMatcher.group(3));
+                }
+
+                Matcher functionMatcher = FUNCTION_PATTERN.matcher(parsedExpression);
+                if (functionMatcher.matches()) {
+                    return compileFunction(functionMatcher.group(1), functionMatcher.group(2), functionMatcher.group(3), functionMatcher.group(4));
+                }
+
+            } catch (Exception e) {
+                LOGGER.debug("Could not compile input entry {}", parsedExpression, e);
+            }
+
+            return null;
+        }
+
+        protected InputEntryPredicate compileComparison(String valuePath, String operator, String literalText) {
+            if (!isValuePath(valuePath)) {
+                return null;
+            }
+
+            Object literal = parseLiteral(literalText);
+            if (literal == NO_LITERAL) {
+                return null;
+            }
+
+            return new ComparisonPredicate(getValueIndex(valuePath), ComparisonPredicate.Operator.fromSymbol(operator), literal);
+        }
+
+        protected InputEntryPredicate compileFunction(String prefix, String localName, String... argumentTexts) {
+            Method method = resolveFunction(prefix, localName);
+            if (method == null || !Modifier.isStatic(method.getModifiers()) || method.isVarArgs() || method.getParameterCount() != argumentTexts.length) {
+                return null;
+            }
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                // other parameter types are coerced by the EL expression
+                if (parameterType != Object.class) {
+                    return null;
+                }
+            }
+
+            int[] valueIndexes = new int[argumentTexts.length];
+            Object[] literals = new Object[argumentTexts.length];
+            for (int i = 0; i < argumentTexts.length; i++) {
+                Object literal = parseLiteral(argumentTexts[i]);
+                if (literal != NO_LITERAL) {
+                    valueIndexes[i] = -1;
+                    literals[i] = literal;
+
+                } else if (isValuePath(argumentTexts[i])) {
+                    valueIndexes[i] = getValueIndex(argumentTexts[i]);
+
+                } else {
+                    return null;
+                }
+            }
+
+            return new FunctionPredicate(method, valueIndexes, literals);
+        }
+
+        /**
+         * Parses the literal like the EL parser does: integers are longs, decimals are doubles.
+         *
+         * @return the value of the literal, or {@link #NO_LITERAL} if the text isn't a supported literal
+         */
+        protected Object parseLiteral(String text) {
+            if (text.startsWith("\"") || text.startsWith("'")) {
+                return text.substring(1, text.length() - 1);
+            }
+            if ("true".equals(text) || "false".equals(text)) {
+                return Boolean.valueOf(text);
+            }
+            if (text.matches(NUMBER_LITERAL)) {
+                boolean negative = text.startsWith("-");
+                String number = negative ? text.substring(1) : text;
+                if (StringUtils.containsAny(number, '.', 'e', 'E')) {
+                    double value = Double.parseDouble(number);
+                    return negative ? -value : value;
+                } else {
+                    long value = Long.parseLong(number);
+                    return negative ? -value : value;
+                }
+            }
+
+            Matcher dateMatcher = DATE_LITERAL_PATTERN.matcher(text);
+            if (dateMatcher.matches()) {
+                // only the date conversion is evaluated up front, as it always returns the same date for the same text
+                Method method = resolveFunction(dateMatcher.group(1), dateMatcher.group(2));
+                if (method != null && method.getDeclaringClass() == DateUtil.class && "toDate".equals(method.getName())) {
+                    String dateText = dateMatcher.group(3);
+                    return DateUtil.toDate(dateText.substring(1, dateText.length() - 1));
+                }
+            }
+
+            return NO_LITERAL;
+        }
+
+        protected boolean isValuePath(String text) {
+            if (!text.matches(VALUE_PATH)) {
+                return false;
+            }
+            for (String part : text.split("\\.")) {
+                if (RESERVED_WORDS.contains(part)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        protected int getValueIndex(String valuePath) {
+            Integer valueIndex = valueIndexes.get(valuePath);
+            if (valueIndex == null) {
+                valueIndex = valueExpressions.size();
+                valueExpressions.add(expressionManager.createExpression("#{" + valuePath + "}"));
+                valueIndexes.put(valuePath, valueIndex);
+            }
+            return valueIndex;
+        }
+
+        /**
+         * Resolves the function method like the EL parser does.
+         */
+        protected Method resolveFunction(String prefix, String localName) {
+            List<FlowableFunctionDelegate> functionDelegates = expressionManager.getFunctionDelegates();
+            if (functionDelegates != null) {
+                for (FlowableFunctionDelegate functionDelegate : functionDelegates) {
+                    if (functionDelegate.prefix().equals(prefix) && functionDelegate.localName().equals(localName)) {
+                        return functionDelegate.functionMethod();
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.predicate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.VariableContainerWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The input values of one decision execution that are used by the {@link InputEntryPredicate}s of a decision table.
+ *
+ * Every value is resolved once, when it is first needed, so the rules of the decision table don't resolve the same variable over and over again.
+ */
+public class InputValues {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InputValues.class);
+
+    /**
+     * The value of an input that can't be resolved. The input entries that use it are evaluated as EL expressions, which fail as usual.
+     */
+    public static final Object NOT_RESOLVABLE = new Object();
+
+    protected static final Object NOT_RESOLVED = new Object();
+
+    protected List<Expression> valueExpressions;
+    protected VariableContainerWrapper variableContainer;
+    protected Object[] values;
+
+    public InputValues(List<Expression> valueExpressions, Map<String, Object> variables) {
+        this.valueExpressions = valueExpressions;
+        this.variableContainer = new VariableContainerWrapper(variables);
+        this.values = new Object[valueExpressions.size()];
+        Arrays.fill(values, NOT_RESOLVED);
+    }
+
+    /**
+     * Returns the value at the given position, or {@link #NOT_RESOLVABLE} if the value can't be resolved.
+     */
+    public Object getValue(int index) {
+        Object value = values[index];
+        if (value == NOT_RESOLVED) {
+            try {
+                value = valueExpressions.get(index).getValue(variableContainer);
+            } catch (Exception e) {
+                LOGGER.debug("Could not resolve input value {}", valueExpressions.get(index).getExpressionText(), e);
+                value = NOT_RESOLVABLE;
+            }
+            values[index] = value;
+        }
+        return value;
+    }
+
+}
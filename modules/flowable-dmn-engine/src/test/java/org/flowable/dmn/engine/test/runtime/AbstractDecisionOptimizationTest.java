@@ -0,0 +1,123 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnDecisionTable;
+import org.flowable.dmn.api.DmnDeployment;
+import org.flowable.dmn.engine.DmnEngine;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+
+/**
+ * Base class for tests that execute decisions with and without an optimization of the decision table execution
+ * and assert that both executions give the same results.
+ */
+public abstract class AbstractDecisionOptimizationTest {
+
+    protected static final String RESOURCE_PATH = "org/flowable/dmn/engine/test/runtime/";
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule();
+
+    protected DmnEngine dmnEngine;
+    protected DmnEngineConfiguration dmnEngineConfiguration;
+    protected List<String> deploymentIds = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        dmnEngine = flowableDmnRule.getDmnEngine();
+        dmnEngineConfiguration = dmnEngine.getDmnEngineConfiguration();
+    }
+
+    @After
+    public void tearDown() {
+        for (String deploymentId : deploymentIds) {
+            dmnEngine.getDmnRepositoryService().deleteDeployment(deploymentId);
+        }
+    }
+
+    /**
+     * Enables or disables the optimization, for the decisions that are cached afterwards.
+     */
+    protected abstract void setOptimizationEnabled(boolean enabled);
+
+    protected DmnDecisionTable deployDecisionTable(String resource) {
+        DmnDeployment deployment = dmnEngine.getDmnRepositoryService().createDeployment()
+                .addClasspathResource(RESOURCE_PATH + resource)
+                .deploy();
+        deploymentIds.add(deployment.getId());
+
+        return dmnEngine.getDmnRepositoryService().createDecisionTableQuery()
+                .deploymentId(deployment.getId())
+                .singleResult();
+    }
+
+    /**
+     * Executes the decision with the optimization as it's cached now, and again after it's cached without the optimization.
+     * The optimization is enabled again afterwards.
+     */
+    protected void assertSameResults(String decisionKey, List<Map<String, Object>> variablesList) {
+        List<Object> optimizedResults = execute(decisionKey, variablesList);
+
+        setOptimizationEnabled(false);
+        dmnEngineConfiguration.getDeploymentManager().getDecisionCache().clear();
+        List<Object> results = execute(decisionKey, variablesList);
+
+        setOptimizationEnabled(true);
+        dmnEngineConfiguration.getDeploymentManager().getDecisionCache().clear();
+
+        for (int i = 0; i < variablesList.size(); i++) {
+            String message = decisionKey + " " + variablesList.get(i);
+            if (results.get(i) instanceof DecisionExecutionAuditContainer && optimizedResults.get(i) instanceof DecisionExecutionAuditContainer) {
+                assertSameResult(message, (DecisionExecutionAuditContainer) results.get(i), (DecisionExecutionAuditContainer) optimizedResults.get(i));
+            } else {
+                assertEquals(message, results.get(i), optimizedResults.get(i));
+            }
+        }
+    }
+
+    protected void assertSameResult(String message, DecisionExecutionAuditContainer result, DecisionExecutionAuditContainer optimizedResult) {
+        assertEquals(message, result.isFailed(), optimizedResult.isFailed());
+        assertEquals(message, result.getExceptionMessage(), optimizedResult.getExceptionMessage());
+        assertEquals(message, result.getDecisionResult(), optimizedResult.getDecisionResult());
+        assertEquals(message, result.getValidationMessage(), optimizedResult.getValidationMessage());
+    }
+
+    /**
+     * Returns the audit container of each execution, or the type of the exception if the execution throws an exception.
+     */
+    protected List<Object> execute(String decisionKey, List<Map<String, Object>> variablesList) {
+        List<Object> results = new ArrayList<>();
+        for (Map<String, Object> variables : variablesList) {
+            try {
+                results.add(dmnEngine.getDmnRuleService().createExecuteDecisionBuilder()
+                        .decisionKey(decisionKey)
+                        .variables(variables)
+                        .executeWithAuditTrail());
+            } catch (RuntimeException e) {
+                results.add(e.getClass());
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.flowable.dmn.engine.DmnEngine;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.impl.audit.DecisionAuditLevel;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the execution time of a large decision table for each audit level.
+ * Not part of the unit test suite (the class name doesn't match the surefire includes), run it with <code>-Dtest=DecisionAuditLevelBenchmark</code>.
+ */
+public class DecisionAuditLevelBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DecisionAuditLevelBenchmark.class);
+
+    protected static final int NUMBER_OF_RULES = 500;
+    protected static final int NUMBER_OF_EXECUTIONS = 50;
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule();
+
+    protected DmnEngine dmnEngine;
+    protected DmnEngineConfiguration dmnEngineConfiguration;
+    protected String deploymentId;
+
+    @Before
+    public void setUp() {
+        dmnEngine = flowableDmnRule.getDmnEngine();
+        dmnEngineConfiguration = dmnEngine.getDmnEngineConfiguration();
+        deploymentId = dmnEngine.getDmnRepositoryService().createDeployment()
+                .addString("largeDecision.dmn", DecisionAuditLevelTest.createLargeDecision(NUMBER_OF_RULES))
+                .deploy()
+                .getId();
+    }
+
+    @After
+    public void tearDown() {
+        dmnEngineConfiguration.setDecisionAuditLevel(DecisionAuditLevel.FULL);
+        dmnEngine.getDmnRepositoryService().deleteDeployment(deploymentId);
+    }
+
+    @Test
+    public void executionTimePerAuditLevel() {
+        for (DecisionAuditLevel auditLevel : DecisionAuditLevel.values()) {
+            dmnEngineConfiguration.setDecisionAuditLevel(auditLevel);
+
+            // warm up
+            for (int i = 0; i < NUMBER_OF_EXECUTIONS; i++) {
+                executeLargeDecision();
+            }
+
+            long startTime = System.nanoTime();
+            for (int i = 0; i < NUMBER_OF_EXECUTIONS; i++) {
+                executeLargeDecision();
+            }
+            LOGGER.info("Audit level {}: {} executions of a decision table with {} rules in {} ms", auditLevel, NUMBER_OF_EXECUTIONS, NUMBER_OF_RULES,
+                    (System.nanoTime() - startTime) / 1_000_000);
+        }
+    }
+
+    protected void executeLargeDecision() {
+        assertEquals("rule " + NUMBER_OF_RULES, dmnEngine.getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey("largeDecision")
+                .variable("input", NUMBER_OF_RULES)
+                .executeWithSingleResult()
+                .get("output"));
+    }
+}
@@ -0,0 +1,200 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnHistoricDecisionExecution;
+import org.flowable.dmn.engine.DmnEngine;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.impl.audit.DecisionAuditLevel;
+import org.flowable.dmn.engine.test.DmnDeployment;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class DecisionAuditLevelTest {
+
+    protected static final int NUMBER_OF_RULES = 500;
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule();
+
+    protected DmnEngine dmnEngine;
+    protected DmnEngineConfiguration dmnEngineConfiguration;
+    protected String deploymentId;
+
+    @Before
+    public void setUp() {
+        dmnEngine = flowableDmnRule.getDmnEngine();
+        dmnEngineConfiguration = dmnEngine.getDmnEngineConfiguration();
+        deploymentId = dmnEngine.getDmnRepositoryService().createDeployment()
+                .addString("largeDecision.dmn", createLargeDecision(NUMBER_OF_RULES))
+                .deploy()
+                .getId();
+    }
+
+    @After
+    public void tearDown() {
+        dmnEngineConfiguration.setDecisionAuditLevel(DecisionAuditLevel.FULL);
+        dmnEngine.getDmnRepositoryService().deleteDeployment(deploymentId);
+    }
+
+    @Test
+    public void fullAudit() throws Exception {
+        assertEquals("rule 300", executeLargeDecision(300));
+
+        JsonNode execution = getExecutionJson("largeDecision");
+        assertEquals(300, execution.get("ruleExecutions").size());
+        assertTrue(execution.get("ruleExecutions").get("300").get("valid").asBoolean());
+    }
+
+    @Test
+    public void matchedRulesAudit() throws Exception {
+        dmnEngineConfiguration.setDecisionAuditLevel(DecisionAuditLevel.MATCHED_RULES);
+        assertEquals("rule 300", executeLargeDecision(300));
+
+        JsonNode execution = getExecutionJson("largeDecision");
+        assertEquals(1, execution.get("ruleExecutions").size());
+        JsonNode ruleExecution = execution.get("ruleExecutions").get("300");
+        assertTrue(ruleExecution.get("valid").asBoolean());
+        assertEquals(1, ruleExecution.get("conditionResults").size());
+        assertEquals(1, ruleExecution.get("conclusionResults").size());
+        assertEquals("rule 300", execution.get("decisionResult").get(0).get("output").asText());
+    }
+
+    @Test
+    public void failuresOnlyAudit() throws Exception {
+        dmnEngineConfiguration.setDecisionAuditLevel(DecisionAuditLevel.FAILURES_ONLY);
+        assertEquals("rule 300", executeLargeDecision(300));
+        assertNull(getHistoricDecisionExecution("largeDecision").getExecutionJson());
+
+        // a string can't be compared with the numbers of the input entries
+        List<Map<String, Object>> result = dmnEngine.getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey("largeDecision")
+                .variable("input", "abc")
+                .execute();
+        assertTrue(result.isEmpty());
+
+        DmnHistoricDecisionExecution failedExecution = dmnEngine.getDmnHistoryService().createHistoricDecisionExecutionQuery()
+                .decisionKey("largeDecision").failed(true).singleResult();
+        JsonNode execution = dmnEngineConfiguration.getObjectMapper().readTree(failedExecution.getExecutionJson());
+        assertTrue(execution.get("failed").asBoolean());
+        assertEquals(1, execution.get("ruleExecutions").size());
+        assertNotNull(execution.get("ruleExecutions").get("1").get("conditionResults").get(0).get("exception"));
+    }
+
+    @Test
+    public void noAudit() {
+        dmnEngineConfiguration.setDecisionAuditLevel(DecisionAuditLevel.NONE);
+        assertEquals("rule 300", executeLargeDecision(300));
+
+        DmnHistoricDecisionExecution historicDecisionExecution = getHistoricDecisionExecution("largeDecision");
+        assertNull(historicDecisionExecution.getExecutionJson());
+        assertFalse(historicDecisionExecution.isFailed());
+    }
+
+    @Test
+    public void auditTrailIsAlwaysComplete() {
+        dmnEngineConfiguration.setDecisionAuditLevel(DecisionAuditLevel.NONE);
+        DecisionExecutionAuditContainer auditContainer = dmnEngine.getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey("largeDecision")
+                .variable("input", 300)
+                .executeWithAuditTrail();
+
+        assertEquals(300, auditContainer.getRuleExecutions().size());
+        assertNotNull(getHistoricDecisionExecution("largeDecision").getExecutionJson());
+    }
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/HitPolicyUniqueTest.uniqueHitPolicyViolated.dmn")
+    public void hitPolicyViolationWithoutFullAudit() throws Exception {
+        dmnEngineConfiguration.setDecisionAuditLevel(DecisionAuditLevel.FAILURES_ONLY);
+        List<Map<String, Object>> result = dmnEngine.getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("inputVariable1", 9)
+                .execute();
+        assertTrue(result.isEmpty());
+
+        JsonNode execution = getExecutionJson("decision1");
+        assertTrue(execution.get("failed").asBoolean());
+        assertEquals(2, execution.get("ruleExecutions").size());
+        assertNotNull(execution.get("ruleExecutions").get("1").get("exception"));
+        assertNotNull(execution.get("ruleExecutions").get("3").get("exception"));
+    }
+
+    @Test
+    public void persistedExecutionPerAuditLevel() {
+        for (DecisionAuditLevel auditLevel : DecisionAuditLevel.values()) {
+            dmnEngineConfiguration.setDecisionAuditLevel(auditLevel);
+            Map<String, Object> result = dmnEngine.getDmnRuleService().createExecuteDecisionBuilder()
+                    .decisionKey("largeDecision")
+                    .instanceId(auditLevel.name())
+                    .variable("input", NUMBER_OF_RULES)
+                    .executeWithSingleResult();
+            assertEquals("rule " + NUMBER_OF_RULES, result.get("output"));
+
+            DmnHistoricDecisionExecution historicDecisionExecution = dmnEngine.getDmnHistoryService().createHistoricDecisionExecutionQuery()
+                    .decisionKey("largeDecision").instanceId(auditLevel.name()).singleResult();
+            assertNotNull(auditLevel.name(), historicDecisionExecution);
+            assertFalse(auditLevel.name(), historicDecisionExecution.isFailed());
+            if (auditLevel == DecisionAuditLevel.FULL || auditLevel == DecisionAuditLevel.MATCHED_RULES) {
+                assertNotNull(auditLevel.name(), historicDecisionExecution.getExecutionJson());
+            } else {
+                assertNull(auditLevel.name(), historicDecisionExecution.getExecutionJson());
+            }
+        }
+    }
+
+    protected String executeLargeDecision(int input) {
+        return (String) dmnEngine.getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey("largeDecision")
+                .variable("input", input)
+                .executeWithSingleResult()
+                .get("output");
+    }
+
+    protected DmnHistoricDecisionExecution getHistoricDecisionExecution(String decisionKey) {
+        return dmnEngine.getDmnHistoryService().createHistoricDecisionExecutionQuery().decisionKey(decisionKey).singleResult();
+    }
+
+    protected JsonNode getExecutionJson(String decisionKey) throws Exception {
+        return dmnEngineConfiguration.getObjectMapper().readTree(getHistoricDecisionExecution(decisionKey).getExecutionJson());
+    }
+
+    protected static String createLargeDecision(int numberOfRules) {
+        StringBuilder dmn = new StringBuilder();
+        dmn.append("<definitions xmlns=\"http://www.omg.org/spec/DMN/20151101\" id=\"large\" name=\"Large\" namespace=\"http://www.flowable.org/dmn\">");
+        dmn.append("<decision id=\"largeDecision\" name=\"Large decision\"><decisionTable id=\"decisionTable\" hitPolicy=\"FIRST\">");
+        dmn.append("<input><inputExpression id=\"input\" typeRef=\"number\"><text>input</text></inputExpression></input>");
+        dmn.append("<output id=\"output\" name=\"output\" typeRef=\"string\" />");
+        for (int i = 1; i <= numberOfRules; i++) {
+            dmn.append("<rule><inputEntry id=\"inputEntry").append(i).append("\"><text>== ").append(i).append("</text></inputEntry>");
+            dmn.append("<outputEntry id=\"outputEntry").append(i).append("\"><text>'rule ").append(i).append("'</text></outputEntry></rule>");
+        }
+        dmn.append("</decisionTable></decision></definitions>");
+        return dmn.toString();
+    }
+}
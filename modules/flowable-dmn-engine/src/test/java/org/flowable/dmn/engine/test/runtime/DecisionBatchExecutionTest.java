@@ -0,0 +1,138 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.dmn.api.DmnRuleService;
+import org.flowable.dmn.api.ExecuteDecisionBuilder;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.test.DmnDeployment;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class DecisionBatchExecutionTest {
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule();
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/HitPolicyFirstTest.firstHitPolicy.dmn")
+    public void executeBatch() {
+        DmnRuleService ruleService = flowableDmnRule.getDmnEngine().getDmnRuleService();
+        List<Map<String, Object>> variablesList = createVariablesList(100);
+
+        List<List<Map<String, Object>>> results = ruleService.createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .executeBatch(variablesList);
+
+        assertEquals(variablesList.size(), results.size());
+        for (int i = 0; i < variablesList.size(); i++) {
+            List<Map<String, Object>> result = ruleService.createExecuteDecisionBuilder()
+                    .decisionKey("decision1")
+                    .variables(variablesList.get(i))
+                    .execute();
+            assertEquals(result, results.get(i));
+        }
+
+        // the single executions are in the history as well
+        assertEquals(2 * variablesList.size(), flowableDmnRule.getDmnEngine().getDmnHistoryService()
+                .createHistoricDecisionExecutionQuery().decisionKey("decision1").count());
+    }
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/HitPolicyFirstTest.firstHitPolicy.dmn")
+    public void executeBatchWithSharedVariables() {
+        List<Map<String, Object>> results = flowableDmnRule.getDmnEngine().getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("inputVariable1", 5)
+                .executeBatch(Collections.singletonList(new HashMap<>()))
+                .get(0);
+
+        assertEquals(1, results.size());
+        assertEquals("lt 10", results.get(0).get("outputVariable1"));
+    }
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/HitPolicyFirstTest.firstHitPolicy.dmn")
+    public void executeBatchWithoutHistory() {
+        List<List<Map<String, Object>>> results = flowableDmnRule.getDmnEngine().getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .disableHistory()
+                .executeBatch(createVariablesList(50));
+
+        assertEquals(50, results.size());
+        assertEquals(0, flowableDmnRule.getDmnEngine().getDmnHistoryService().createHistoricDecisionExecutionQuery().count());
+    }
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/HitPolicyFirstTest.firstHitPolicy.dmn")
+    public void executeBatchFromIterator() {
+        DmnEngineConfiguration dmnEngineConfiguration = flowableDmnRule.getDmnEngine().getDmnEngineConfiguration();
+        int originalBatchSize = dmnEngineConfiguration.getDecisionBatchSize();
+        dmnEngineConfiguration.setDecisionBatchSize(30);
+        try {
+            List<Map<String, Object>> variablesList = createVariablesList(100);
+            ExecuteDecisionBuilder decisionBuilder = flowableDmnRule.getDmnEngine().getDmnRuleService().createExecuteDecisionBuilder()
+                    .decisionKey("decision1");
+
+            List<List<Map<String, Object>>> results = new ArrayList<>();
+            decisionBuilder.executeBatch(variablesList.iterator(), results::add);
+
+            assertEquals(decisionBuilder.executeBatch(variablesList), results);
+            assertEquals(2 * variablesList.size(), flowableDmnRule.getDmnEngine().getDmnHistoryService()
+                    .createHistoricDecisionExecutionQuery().decisionKey("decision1").count());
+
+        } finally {
+            dmnEngineConfiguration.setDecisionBatchSize(originalBatchSize);
+        }
+    }
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/HitPolicyUniqueTest.uniqueHitPolicyViolated.dmn")
+    public void executeBatchInStrictMode() {
+        List<Map<String, Object>> variablesList = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            variablesList.add(Collections.singletonMap("inputVariable1", 9));
+        }
+
+        // the hit policy is violated for every execution, also when evaluated by the threads of the executor service
+        List<List<Map<String, Object>>> results = flowableDmnRule.getDmnEngine().getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .executeBatch(variablesList);
+
+        assertEquals(variablesList.size(), results.size());
+        for (List<Map<String, Object>> result : results) {
+            assertEquals(0, result.size());
+        }
+        assertEquals(variablesList.size(), flowableDmnRule.getDmnEngine().getDmnHistoryService()
+                .createHistoricDecisionExecutionQuery().decisionKey("decision1").failed(true).count());
+    }
+
+    protected List<Map<String, Object>> createVariablesList(int size) {
+        List<Map<String, Object>> variablesList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("inputVariable1", i % 25);
+            variablesList.add(variables);
+        }
+        return variablesList;
+    }
+}
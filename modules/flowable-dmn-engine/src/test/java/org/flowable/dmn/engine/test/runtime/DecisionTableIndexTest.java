@@ -0,0 +1,135 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnDecisionTable;
+import org.junit.After;
+import org.junit.Test;
+
+public class DecisionTableIndexTest extends AbstractDecisionOptimizationTest {
+
+    protected boolean lessRulesEvaluated;
+
+    @Override
+    @After
+    public void tearDown() {
+        dmnEngineConfiguration.setEnableDecisionTableIndex(false);
+        super.tearDown();
+    }
+
+    @Override
+    protected void setOptimizationEnabled(boolean enabled) {
+        dmnEngineConfiguration.setEnableDecisionTableIndex(enabled);
+    }
+
+    @Test
+    public void mixedEntries() {
+        String decisionKey = deploy("DecisionTableIndexTest.mixedEntries.dmn");
+
+        List<Map<String, Object>> variablesList = new ArrayList<>();
+        for (Object customerType : Arrays.asList("GOLD", "SILVER", "BRONZE", "PLATINUM", "OTHER", 42, null)) {
+            for (Object amount : Arrays.asList(0, 42, 42L, 42.0, new BigDecimal("42.00"), 99.5, 100, 2000L, -0.0, "abc", null)) {
+                Map<String, Object> variables = new HashMap<>();
+                variables.put("customerType", customerType);
+                variables.put("amount", amount);
+                variablesList.add(variables);
+            }
+        }
+
+        assertSameResults(decisionKey, variablesList);
+    }
+
+    @Test
+    public void skipsRulesThatCannotMatch() {
+        String decisionKey = deploy("DecisionTableIndexTest.mixedEntries.dmn");
+
+        DecisionExecutionAuditContainer auditContainer = dmnEngine.getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey(decisionKey)
+                .variable("customerType", "SILVER")
+                .variable("amount", 42)
+                .executeWithAuditTrail();
+
+        assertEquals(2, auditContainer.getDecisionResult().size());
+        assertEquals("silver", auditContainer.getDecisionResult().get(0).get("outputVariable1"));
+        assertEquals("answer", auditContainer.getDecisionResult().get(1).get("outputVariable1"));
+
+        // only the silver, bronze and answer rules are evaluated
+        assertEquals(3, auditContainer.getRuleExecutions().size());
+    }
+
+    @Test
+    public void hitPolicies() {
+        String[] resources = new String[] {
+                "HitPolicyAnyTest.anyHitPolicy.dmn",
+                "HitPolicyAnyTest.anyHitPolicyViolated.dmn",
+                "HitPolicyCollectTest.collectHitPolicyCOUNT.dmn",
+                "HitPolicyCollectTest.collectHitPolicySUM.dmn",
+                "HitPolicyCollectTest.collectHitPolicyNoAggregator.dmn",
+                "HitPolicyFirstTest.firstHitPolicy.dmn",
+                "HitPolicyOutputOrderTest.outputOrderHitPolicy.dmn",
+                "HitPolicyOutputOrderTest.outputOrderHitPolicyCompound.dmn",
+                "HitPolicyPriorityTest.priorityHitPolicy.dmn",
+                "HitPolicyPriorityTest.priorityHitPolicyCompound.dmn",
+                "HitPolicyRuleOrderTest.ruleOrderHitPolicy.dmn",
+                "HitPolicyUniqueTest.uniqueHitPolicy.dmn",
+                "HitPolicyUniqueTest.uniqueHitPolicyViolated.dmn"
+        };
+
+        List<Map<String, Object>> variablesList = new ArrayList<>();
+        for (Object value : Arrays.asList(-5, 0, 5, 9.99, 10, 11, 15L, 19, 20, 25, 35, 45, new BigDecimal("10"), "10", null)) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("inputVariable1", value);
+            variablesList.add(variables);
+        }
+
+        for (String resource : resources) {
+            String decisionKey = deploy(resource);
+            assertSameResults(decisionKey, variablesList);
+        }
+    }
+
+    protected String deploy(String resource) {
+        dmnEngineConfiguration.setEnableDecisionTableIndex(true);
+        DmnDecisionTable decisionTable = deployDecisionTable(resource);
+        assertNotNull(dmnEngineConfiguration.getDeploymentManager().getDecisionCache().get(decisionTable.getId()).getDecisionTableIndex());
+        return decisionTable.getKey();
+    }
+
+    @Override
+    protected void assertSameResults(String decisionKey, List<Map<String, Object>> variablesList) {
+        lessRulesEvaluated = false;
+        super.assertSameResults(decisionKey, variablesList);
+        assertTrue(decisionKey, lessRulesEvaluated);
+    }
+
+    @Override
+    protected void assertSameResult(String message, DecisionExecutionAuditContainer result, DecisionExecutionAuditContainer indexedResult) {
+        super.assertSameResult(message, result, indexedResult);
+        assertTrue(message, indexedResult.getRuleExecutions().size() <= result.getRuleExecutions().size());
+        if (indexedResult.getRuleExecutions().size() < result.getRuleExecutions().size()) {
+            lessRulesEvaluated = true;
+        }
+    }
+}
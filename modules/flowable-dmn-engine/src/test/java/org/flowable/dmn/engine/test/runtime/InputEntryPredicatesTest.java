@@ -0,0 +1,160 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnDecisionTable;
+import org.flowable.dmn.api.ExpressionExecution;
+import org.flowable.dmn.api.RuleExecutionAuditContainer;
+import org.flowable.dmn.engine.impl.predicate.InputEntryPredicates;
+import org.joda.time.LocalDate;
+import org.junit.After;
+import org.junit.Test;
+
+public class InputEntryPredicatesTest extends AbstractDecisionOptimizationTest {
+
+    @Override
+    @After
+    public void tearDown() {
+        dmnEngineConfiguration.setEnableInputEntryPredicates(true);
+        super.tearDown();
+    }
+
+    @Override
+    protected void setOptimizationEnabled(boolean enabled) {
+        dmnEngineConfiguration.setEnableInputEntryPredicates(enabled);
+    }
+
+    @Test
+    public void compiledInputEntries() {
+        DmnDecisionTable decisionTable = deployDecisionTable("InputEntryPredicatesTest.mixedEntries.dmn");
+
+        // all entries except the wildcards and the method call are compiled
+        InputEntryPredicates inputEntryPredicates = getInputEntryPredicates(decisionTable);
+        assertNotNull(inputEntryPredicates);
+        assertEquals(17, inputEntryPredicates.size());
+
+        dmnEngineConfiguration.setEnableInputEntryPredicates(false);
+        decisionTable = deployDecisionTable("InputEntryPredicatesTest.mixedEntries.dmn");
+        assertNull(getInputEntryPredicates(decisionTable));
+    }
+
+    @Test
+    public void mixedEntries() {
+        String decisionKey = deployDecisionTable("InputEntryPredicatesTest.mixedEntries.dmn").getKey();
+
+        List<Map<String, Object>> variablesList = new ArrayList<>();
+        for (Object customerType : Arrays.asList("GOLD", "SILVER", "BRONZE", 42, null)) {
+            for (Object amount : Arrays.asList(-5, 0, 7, 42L, 42.0, new BigDecimal("100.50"), 999.5, 2000L, "abc", null)) {
+                for (Object startDate : Arrays.asList(new LocalDate(2015, 1, 1), new LocalDate(2014, 6, 1), new LocalDate(2016, 6, 1).toDate(), null)) {
+                    Map<String, Object> variables = new HashMap<>();
+                    variables.put("customerType", customerType);
+                    variables.put("amount", amount);
+                    variables.put("startDate", startDate);
+                    variables.put("vip", amount instanceof Long);
+                    variables.put("tags", Arrays.asList("a", "c"));
+                    variables.put("otherTags", Arrays.asList("a"));
+                    variablesList.add(variables);
+                }
+            }
+        }
+
+        assertSameResults(decisionKey, variablesList);
+    }
+
+    @Test
+    public void collectionEntries() {
+        String[] resources = new String[] {
+                "contains_ANY.dmn",
+                "contains_IN.dmn",
+                "contains_IN_reversed.dmn",
+                "contains_NOT_ANY.dmn",
+                "contains_NOT_IN.dmn"
+        };
+
+        List<Map<String, Object>> variablesList = new ArrayList<>();
+        for (Object collection : Arrays.asList(Arrays.asList("test1", "test2"), Arrays.asList("test3"), Arrays.asList(10L, 20L), "test1", null)) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("collection1", collection);
+            variables.put("collection2", collection);
+            variables.put("collection3", Arrays.asList("test1"));
+            variables.put("collection4", Arrays.asList(10, 50));
+            variables.put("input1", "test1");
+            variablesList.add(variables);
+        }
+
+        for (String resource : resources) {
+            String decisionKey = deployDecisionTable(resource).getKey();
+            assertSameResults(decisionKey, variablesList);
+        }
+    }
+
+    @Test
+    public void hitPolicies() {
+        String[] resources = new String[] {
+                "HitPolicyAnyTest.anyHitPolicyViolated.dmn",
+                "HitPolicyCollectTest.collectHitPolicySUM.dmn",
+                "HitPolicyFirstTest.firstHitPolicy.dmn",
+                "HitPolicyPriorityTest.priorityHitPolicy.dmn",
+                "HitPolicyUniqueTest.uniqueHitPolicyViolated.dmn"
+        };
+
+        List<Map<String, Object>> variablesList = new ArrayList<>();
+        for (Object value : Arrays.asList(-5, 0, 5, 9.99, 10, 11, 15L, 19, 20, 25, 35, 45, new BigDecimal("10"), "10", "abc", null)) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("inputVariable1", value);
+            variablesList.add(variables);
+        }
+
+        for (String resource : resources) {
+            String decisionKey = deployDecisionTable(resource).getKey();
+            assertSameResults(decisionKey, variablesList);
+        }
+    }
+
+    protected InputEntryPredicates getInputEntryPredicates(DmnDecisionTable decisionTable) {
+        return dmnEngineConfiguration.getDeploymentManager().getDecisionCache().get(decisionTable.getId()).getInputEntryPredicates();
+    }
+
+    @Override
+    protected void assertSameResult(String message, DecisionExecutionAuditContainer result, DecisionExecutionAuditContainer compiledResult) {
+        super.assertSameResult(message, result, compiledResult);
+
+        // the same input entries are evaluated with the same results
+        assertEquals(message, result.getRuleExecutions().keySet(), compiledResult.getRuleExecutions().keySet());
+        for (Integer ruleNumber : result.getRuleExecutions().keySet()) {
+            RuleExecutionAuditContainer ruleExecution = result.getRuleExecutions().get(ruleNumber);
+            RuleExecutionAuditContainer compiledRuleExecution = compiledResult.getRuleExecutions().get(ruleNumber);
+            assertEquals(message, ruleExecution.isValid(), compiledRuleExecution.isValid());
+            assertEquals(message, ruleExecution.getConditionResults().size(), compiledRuleExecution.getConditionResults().size());
+            for (int j = 0; j < ruleExecution.getConditionResults().size(); j++) {
+                ExpressionExecution conditionResult = ruleExecution.getConditionResults().get(j);
+                ExpressionExecution compiledConditionResult = compiledRuleExecution.getConditionResults().get(j);
+                assertEquals(message, conditionResult.getId(), compiledConditionResult.getId());
+                assertEquals(message, conditionResult.getResult(), compiledConditionResult.getResult());
+                assertEquals(message, conditionResult.getException(), compiledConditionResult.getException());
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.dmn.api.DmnDeployment;
+import org.flowable.dmn.engine.DmnEngine;
+import org.flowable.dmn.engine.impl.persistence.deploy.DeploymentManager;
+import org.flowable.dmn.engine.impl.persistence.deploy.LatestDecisionTableCache;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class LatestDecisionTableCacheTest {
+
+    protected static final String RESOURCE_PATH = "org/flowable/dmn/engine/test/runtime/";
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule();
+
+    protected DmnEngine dmnEngine;
+    protected DeploymentManager deploymentManager;
+    protected LatestDecisionTableCache latestDecisionTableCache;
+    protected List<String> deploymentIds = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        dmnEngine = flowableDmnRule.getDmnEngine();
+        deploymentManager = dmnEngine.getDmnEngineConfiguration().getDeploymentManager();
+        latestDecisionTableCache = new LatestDecisionTableCache(10);
+        deploymentManager.setLatestDecisionTableCache(latestDecisionTableCache);
+    }
+
+    @After
+    public void tearDown() {
+        for (String deploymentId : deploymentIds) {
+            dmnEngine.getDmnRepositoryService().deleteDeployment(deploymentId);
+        }
+        deploymentManager.setLatestDecisionTableCache(null);
+    }
+
+    @Test
+    public void latestVersionIsCachedUntilNextDeployment() {
+        deploy("LatestDecisionTableCacheTest.version1.dmn", null, null);
+        String cacheKey = LatestDecisionTableCache.createKey("latestDecision", null, null, false);
+
+        assertEquals("version1", execute(null, null));
+        String decisionTableId = latestDecisionTableCache.get(cacheKey);
+        assertNotNull(decisionTableId);
+
+        // the cached id is used as long as there is no new deployment
+        assertEquals("version1", execute(null, null));
+        assertEquals(decisionTableId, latestDecisionTableCache.get(cacheKey));
+
+        String secondDeploymentId = deploy("LatestDecisionTableCacheTest.version2.dmn", null, null);
+        assertNull(latestDecisionTableCache.get(cacheKey));
+        assertEquals("version2", execute(null, null));
+
+        dmnEngine.getDmnRepositoryService().deleteDeployment(secondDeploymentId);
+        deploymentIds.remove(secondDeploymentId);
+        assertEquals(0, latestDecisionTableCache.size());
+        assertEquals("version1", execute(null, null));
+        assertEquals(decisionTableId, latestDecisionTableCache.get(cacheKey));
+    }
+
+    @Test
+    public void cacheKeyIncludesTenantAndParentDeployment() {
+        deploy("LatestDecisionTableCacheTest.version1.dmn", null, "tenant1");
+        deploy("LatestDecisionTableCacheTest.version2.dmn", "parentDeployment", "tenant1");
+        deploy("LatestDecisionTableCacheTest.version2.dmn", null, "tenant2");
+
+        assertEquals("version2", execute("parentDeployment", "tenant1"));
+        assertEquals("version2", execute(null, "tenant1"));
+        assertEquals("version2", execute(null, "tenant2"));
+
+        // the parent deployment doesn't exist, so the latest version of the tenant is used
+        deploy("LatestDecisionTableCacheTest.version1.dmn", null, "tenant1");
+        assertEquals("version1", execute("otherParentDeployment", "tenant1"));
+        assertEquals("version2", execute("parentDeployment", "tenant1"));
+        assertEquals(2, latestDecisionTableCache.size());
+    }
+
+    protected String deploy(String resource, String parentDeploymentId, String tenantId) {
+        DmnDeployment deployment = dmnEngine.getDmnRepositoryService().createDeployment()
+                .addClasspathResource(RESOURCE_PATH + resource)
+                .parentDeploymentId(parentDeploymentId)
+                .tenantId(tenantId)
+                .deploy();
+        deploymentIds.add(deployment.getId());
+        return deployment.getId();
+    }
+
+    protected String execute(String parentDeploymentId, String tenantId) {
+        return (String) dmnEngine.getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey("latestDecision")
+                .parentDeploymentId(parentDeploymentId)
+                .tenantId(tenantId)
+                .variable("inputVariable1", 1)
+                .executeWithSingleResult()
+                .get("version");
+    }
+}
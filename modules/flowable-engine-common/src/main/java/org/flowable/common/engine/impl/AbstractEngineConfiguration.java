@@ -170,6 +170,20 @@ public abstract class AbstractEngineConfiguration {
      */
     protected int maxNrOfStatementsInBulkInsert = 100;
 
+    /**
+     * If set to true, entity updates and deletes are sent to the database as JDBC batches during the flush (grouped per statement),
+     * instead of one statement execution per entity. Optimistic locking is still verified using the update count of each row.
+     * Default false, as not all JDBC drivers report row counts for batched statements.
+     */
+    protected boolean isBatchedFlushEnabled;
+
+    /**
+     * If set to true, entities that support it (see {@link org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity}) mark themselves as dirty
+     * when changed, instead of storing and diffing their persistent state. Entities that were only read in a command then don't have any flush overhead.
+     * Default false.
+     */
+    protected boolean isEntityDirtyTrackingEnabled;
+
     public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 60; // currently Execution has most params (31). 2000 / 31 = 64.
 
     protected Set<Class<?>> customMybatisMappers;
@@ -606,6 +620,8 @@ public abstract class AbstractEngineConfiguration {
         dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
         dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
         dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+        dbSqlSessionFactory.setBatchedFlushEnabled(isBatchedFlushEnabled);
+        dbSqlSessionFactory.setEntityDirtyTrackingEnabled(isEntityDirtyTrackingEnabled);
 
         initDbSqlSessionFactoryEntitySettings();
 
@@ -1261,6 +1277,24 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isBatchedFlushEnabled() {
+        return isBatchedFlushEnabled;
+    }
+
+    public AbstractEngineConfiguration setBatchedFlushEnabled(boolean isBatchedFlushEnabled) {
+        this.isBatchedFlushEnabled = isBatchedFlushEnabled;
+        return this;
+    }
+
+    public boolean isEntityDirtyTrackingEnabled() {
+        return isEntityDirtyTrackingEnabled;
+    }
+
+    public AbstractEngineConfiguration setEntityDirtyTrackingEnabled(boolean isEntityDirtyTrackingEnabled) {
+        this.isEntityDirtyTrackingEnabled = isEntityDirtyTrackingEnabled;
+        return this;
+    }
+
     public Set<Class<?>> getCustomMybatisMappers() {
         return customMybatisMappers;
     }
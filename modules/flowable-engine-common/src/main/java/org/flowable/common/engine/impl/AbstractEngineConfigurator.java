@@ -255,6 +255,8 @@ public abstract class AbstractEngineConfigurator implements EngineConfigurator {
     protected void initDbSqlSessionFactory(AbstractEngineConfiguration engineConfiguration, AbstractEngineConfiguration targetEngineConfiguration) {
         targetEngineConfiguration.setDbSqlSessionFactory(engineConfiguration.getDbSqlSessionFactory());
         targetEngineConfiguration.setSqlSessionFactory(engineConfiguration.getSqlSessionFactory());
+        targetEngineConfiguration.setBatchedFlushEnabled(engineConfiguration.isBatchedFlushEnabled());
+        targetEngineConfiguration.setEntityDirtyTrackingEnabled(engineConfiguration.isEntityDirtyTrackingEnabled());
         targetEngineConfiguration.defaultInitDbSqlSessionFactoryEntitySettings(getEntityInsertionOrder(), getEntityDeletionOrder());
     }
 
@@ -12,6 +12,8 @@
  */
 package org.flowable.common.engine.impl.agenda;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.LinkedList;
 
 import org.flowable.common.engine.api.FlowableException;
@@ -27,7 +29,10 @@ public abstract class AbstractAgenda implements Agenda {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractAgenda.class);
 
     protected CommandContext commandContext;
-    protected LinkedList<Runnable> operations = new LinkedList<>();
+    /**
+     * Array backed, as operations are only ever added at the tail and taken from the head.
+     */
+    protected Deque<Runnable> operations = new ArrayDeque<>();
 
     public AbstractAgenda(CommandContext commandContext) {
         this.commandContext = commandContext;
@@ -67,7 +72,16 @@ public abstract class AbstractAgenda implements Agenda {
         }
     }
 
+    /**
+     * @deprecated the operations are no longer kept in a {@link LinkedList}, this returns a copy of them.
+     * Use {@link #getOperationQueue()} to access the operations themselves.
+     */
+    @Deprecated
     public LinkedList<Runnable> getOperations() {
+        return new LinkedList<>(operations);
+    }
+
+    public Deque<Runnable> getOperationQueue() {
         return operations;
     }
 
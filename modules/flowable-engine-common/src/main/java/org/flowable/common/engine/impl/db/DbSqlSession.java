@@ -14,6 +14,7 @@
 package org.flowable.common.engine.impl.db;
 
 import java.sql.Connection;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -24,7 +25,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.common.engine.impl.Page;
@@ -33,6 +39,7 @@ import org.flowable.common.engine.impl.interceptor.Session;
 import org.flowable.common.engine.impl.persistence.cache.CachedEntity;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 import org.flowable.common.engine.impl.persistence.entity.AlwaysUpdatedPersistentObject;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +56,7 @@ public class DbSqlSession implements Session {
 
     protected EntityCache entityCache;
     protected SqlSession sqlSession;
+    protected SqlSession batchSqlSession;
     protected DbSqlSessionFactory dbSqlSessionFactory;
     protected String connectionMetadataDefaultCatalog;
     protected String connectionMetadataDefaultSchema;
@@ -239,6 +247,7 @@ public class DbSqlSession implements Session {
             return null;
         }
 
+        enableDirtyTracking(entity);
         entityCache.put(entity, true); // true -> store state so we can see later if it is updated later on
         return entity;
     }
@@ -272,10 +281,20 @@ public class DbSqlSession implements Session {
         if (cachedEntity != null) {
             return cachedEntity;
         }
+        enableDirtyTracking(entity);
         entityCache.put(entity, true);
         return entity;
     }
 
+    /**
+     * When enabled, loaded {@link DirtyTrackingEntity} instances track their own changes, so no persistent state needs to be stored when caching them.
+     */
+    protected void enableDirtyTracking(Entity entity) {
+        if (dbSqlSessionFactory.isEntityDirtyTrackingEnabled() && entity instanceof DirtyTrackingEntity) {
+            ((DirtyTrackingEntity) entity).setDirtyTrackingEnabled(true);
+        }
+    }
+
     // flush
     // ////////////////////////////////////////////////////////////////////
 
@@ -490,6 +509,11 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushUpdates() {
+        if (dbSqlSessionFactory.isBatchedFlushEnabled() && updatedObjects.size() > 1) {
+            flushBatchedUpdates();
+            return;
+        }
+
         for (Entity updatedObject : updatedObjects) {
             String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
             updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
@@ -514,6 +538,41 @@ public class DbSqlSession implements Session {
         updatedObjects.clear();
     }
 
+    /**
+     * Sends all updates as JDBC batches: the updates are grouped per statement (MyBatis only batches consecutive executions of the same statement)
+     * and the update count of every row is verified afterwards, to keep the optimistic locking semantics of the regular flush.
+     */
+    protected void flushBatchedUpdates() {
+        Map<String, List<Entity>> updatesByStatement = new LinkedHashMap<>();
+        for (Entity updatedObject : updatedObjects) {
+            String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+            updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+            if (updateStatement == null) {
+                throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+            }
+
+            updatesByStatement.computeIfAbsent(updateStatement, key -> new ArrayList<>()).add(updatedObject);
+        }
+
+        SqlSession batchSession = getBatchSqlSession();
+        for (String updateStatement : updatesByStatement.keySet()) {
+            for (Entity updatedObject : updatesByStatement.get(updateStatement)) {
+                LOGGER.debug("updating (batched): {}", updatedObject);
+                batchSession.update(updateStatement, updatedObject);
+            }
+        }
+        executeBatch(batchSession, false);
+
+        for (Entity updatedObject : updatedObjects) {
+            // See https://activiti.atlassian.net/browse/ACT-1290
+            if (updatedObject instanceof HasRevision) {
+                ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+            }
+        }
+        updatedObjects.clear();
+    }
+
     protected void flushDeletes() {
 
         if (deletedObjects.size() == 0 && bulkDeleteOperations.size() == 0) {
@@ -556,6 +615,11 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        if (dbSqlSessionFactory.isBatchedFlushEnabled() && entitiesToDelete.size() > 1) {
+            flushBatchedDeleteEntities(entityClass, entitiesToDelete);
+            return;
+        }
+
         for (Entity entity : entitiesToDelete) {
             String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
             deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
@@ -576,17 +640,74 @@ public class DbSqlSession implements Session {
         }
     }
 
+    protected void flushBatchedDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entityClass);
+        deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
+        if (deleteStatement == null) {
+            throw new FlowableException("no delete statement for " + entityClass + " in the ibatis mapping files");
+        }
+
+        SqlSession batchSession = getBatchSqlSession();
+        for (Entity entity : entitiesToDelete) {
+            LOGGER.debug("deleting (batched): {}", entity);
+            batchSession.delete(deleteStatement, entity);
+        }
+
+        // Same as for regular deletes, only entities with a revision are checked for optimistic locking
+        executeBatch(batchSession, true);
+    }
+
+    /**
+     * Executes all pending batched statements and verifies the row counts: zero rows means the row was changed or removed concurrently.
+     * Drivers that don't report counts for batches ({@link Statement#SUCCESS_NO_INFO}) can't be checked.
+     */
+    protected void executeBatch(SqlSession batchSession, boolean onlyCheckEntitiesWithRevision) {
+        List<BatchResult> batchResults = batchSession.flushStatements();
+
+        // The batch executor bypasses the regular session, so its local cache could now contain stale results
+        sqlSession.clearCache();
+
+        for (BatchResult batchResult : batchResults) {
+            int[] updateCounts = batchResult.getUpdateCounts();
+            List<Object> parameterObjects = batchResult.getParameterObjects();
+            for (int i = 0; i < updateCounts.length; i++) {
+                Object parameterObject = parameterObjects.get(i);
+                if (updateCounts[i] == 0 && (!onlyCheckEntitiesWithRevision || parameterObject instanceof HasRevision)) {
+                    throw new FlowableOptimisticLockingException(parameterObject + " was updated by another transaction concurrently");
+                } else if (updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                    LOGGER.debug("No update count returned by the driver for batched {}", parameterObject);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a session using the MyBatis batch executor on the same connection (and thus transaction) as the regular session.
+     */
+    protected SqlSession getBatchSqlSession() {
+        if (batchSqlSession == null) {
+            Configuration configuration = sqlSession.getConfiguration();
+            Executor executor = configuration.newExecutor(new SharedConnectionTransaction(sqlSession.getConnection()), ExecutorType.BATCH);
+            batchSqlSession = new DefaultSqlSession(configuration, executor, false);
+        }
+        return batchSqlSession;
+    }
+
     @Override
     public void close() {
+        if (batchSqlSession != null) {
+            batchSqlSession.close();
+        }
         sqlSession.close();
     }
 
     public void commit() {
-        sqlSession.commit();
+        // Statements executed through the batch session don't mark the regular session as dirty, hence the forced commit
+        sqlSession.commit(batchSqlSession != null);
     }
 
     public void rollback() {
-        sqlSession.rollback();
+        sqlSession.rollback(batchSqlSession != null);
     }
 
     public <T> T getCustomMapper(Class<T> type) {
@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db;
+
+import java.sql.Connection;
+
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * A MyBatis {@link Transaction} that wraps a connection owned by another {@link org.apache.ibatis.session.SqlSession}.
+ *
+ * Commit, rollback and close are no-ops: the lifecycle of the connection stays with the owning session.
+ * This allows to open a secondary (for example batch) executor that participates in the same database transaction.
+ */
+public class SharedConnectionTransaction implements Transaction {
+
+    protected Connection connection;
+
+    public SharedConnectionTransaction(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public void commit() {
+        // Handled by the owning session
+    }
+
+    @Override
+    public void rollback() {
+        // Handled by the owning session
+    }
+
+    @Override
+    public void close() {
+        // Handled by the owning session
+    }
+
+    @Override
+    public Integer getTimeout() {
+        return null;
+    }
+
+}
@@ -14,6 +14,7 @@ package org.flowable.common.engine.impl.persistence.cache;
 
 import java.util.HashMap;
 
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
 
 /**
@@ -32,9 +33,16 @@ public class CachedEntity {
      */
     protected Object originalPersistentState;
 
+    /**
+     * True if changes are tracked by the {@link DirtyTrackingEntity} itself, instead of by diffing with a persistent state stored at creation.
+     */
+    protected boolean dirtyTracked;
+
     public CachedEntity(Entity entity, boolean storeState) {
         this.entity = entity;
-        if (storeState) {
+        if (storeState && entity instanceof DirtyTrackingEntity && ((DirtyTrackingEntity) entity).isDirtyTrackingEnabled()) {
+            this.dirtyTracked = true; // The persistent state will be captured by the entity itself on the first change
+        } else if (storeState) {
             this.originalPersistentState = entity.getPersistentState();
             entity.setOriginalPersistentState(originalPersistentState);
         } else if (entity.getOriginalPersistentState() == null){
@@ -51,6 +59,9 @@ public class CachedEntity {
     }
 
     public Object getOriginalPersistentState() {
+        if (dirtyTracked) {
+            return entity.getOriginalPersistentState();
+        }
         return originalPersistentState;
     }
 
@@ -59,7 +70,18 @@ public class CachedEntity {
     }
 
     public boolean hasChanged() {
+        if (dirtyTracked) {
+            if (!((DirtyTrackingEntity) entity).isDirty()) {
+                return false;
+            }
+            Object persistentState = entity.getPersistentState();
+            return persistentState != null && !persistentState.equals(entity.getOriginalPersistentState());
+        }
         return entity.getPersistentState() != null && !entity.getPersistentState().equals(originalPersistentState);
     }
 
+    public boolean isDirtyTracked() {
+        return dirtyTracked;
+    }
+
 }
\ No newline at end of file
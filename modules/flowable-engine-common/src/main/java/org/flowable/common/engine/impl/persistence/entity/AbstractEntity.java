@@ -30,6 +30,9 @@ public abstract class AbstractEntity implements Entity, HasRevision {
     
     protected Object originalPersistentState;
 
+    protected boolean isDirtyTrackingEnabled;
+    protected boolean isDirty;
+
     @Override
     public String getId() {
         return id;
@@ -94,4 +97,27 @@ public abstract class AbstractEntity implements Entity, HasRevision {
     public void setOriginalPersistentState(Object persistentState) {
         this.originalPersistentState = persistentState;
     }
+
+    public boolean isDirtyTrackingEnabled() {
+        return isDirtyTrackingEnabled;
+    }
+
+    public void setDirtyTrackingEnabled(boolean isDirtyTrackingEnabled) {
+        this.isDirtyTrackingEnabled = isDirtyTrackingEnabled;
+    }
+
+    public boolean isDirty() {
+        return isDirty;
+    }
+
+    /**
+     * Needs to be called by {@link DirtyTrackingEntity} implementations before a field of the persistent state is changed.
+     * The first call captures the persistent state, so the update can still be diffed against the original values.
+     */
+    protected void markDirty() {
+        if (isDirtyTrackingEnabled && !isDirty) {
+            originalPersistentState = getPersistentState();
+            isDirty = true;
+        }
+    }
 }
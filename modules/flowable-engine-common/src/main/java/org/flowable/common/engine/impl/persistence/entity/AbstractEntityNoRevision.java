@@ -27,6 +27,9 @@ public abstract class AbstractEntityNoRevision implements Entity {
     
     protected Object originalPersistentState;
 
+    protected boolean isDirtyTrackingEnabled;
+    protected boolean isDirty;
+
     @Override
     public String getId() {
         return id;
@@ -76,4 +79,27 @@ public abstract class AbstractEntityNoRevision implements Entity {
     public void setOriginalPersistentState(Object persistentState) {
         this.originalPersistentState = persistentState;
     }
+
+    public boolean isDirtyTrackingEnabled() {
+        return isDirtyTrackingEnabled;
+    }
+
+    public void setDirtyTrackingEnabled(boolean isDirtyTrackingEnabled) {
+        this.isDirtyTrackingEnabled = isDirtyTrackingEnabled;
+    }
+
+    public boolean isDirty() {
+        return isDirty;
+    }
+
+    /**
+     * Needs to be called by {@link DirtyTrackingEntity} implementations before a field of the persistent state is changed.
+     * The first call captures the persistent state, so the update can still be diffed against the original values.
+     */
+    protected void markDirty() {
+        if (isDirtyTrackingEnabled && !isDirty) {
+            originalPersistentState = getPersistentState();
+            isDirty = true;
+        }
+    }
 }
@@ -0,0 +1,35 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.entity;
+
+/**
+ * An {@link Entity} of which every change to a field that is part of the {@link #getPersistentState()} goes through a setter that marks it as dirty.
+ *
+ * When dirty tracking is enabled for a loaded entity, the persistent state is not stored when putting it in the entity cache.
+ * Instead, the persistent state is only captured right before the first change, and entities that were never marked as dirty
+ * are skipped entirely when determining the updated objects at flush time.
+ *
+ * Only implement this interface when all fields of the persistent state are exclusively changed through such setters.
+ */
+public interface DirtyTrackingEntity extends Entity {
+
+    boolean isDirtyTrackingEnabled();
+
+    void setDirtyTrackingEnabled(boolean dirtyTrackingEnabled);
+
+    /**
+     * Returns true if a field of the persistent state was (potentially) changed since dirty tracking was enabled.
+     */
+    boolean isDirty();
+
+}
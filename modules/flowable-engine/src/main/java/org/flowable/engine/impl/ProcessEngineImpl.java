@@ -30,7 +30,10 @@ import org.flowable.engine.RuntimeService;
 import org.flowable.engine.TaskService;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.db.StripedDbIdGenerator;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.cmd.HandleHistoryCleanupTimerJobCmd;
+import org.flowable.job.service.impl.history.async.sink.StreamingAsyncHistoryListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -78,6 +81,13 @@ public class ProcessEngineImpl implements ProcessEngine {
             commandExecutor.execute(processEngineConfiguration.getSchemaCommandConfig(), processEngineConfiguration.getSchemaManagementCmd());
         }
 
+        if (processEngineConfiguration.isUsingRelationalDatabase()) {
+            // Schedules the repeating history cleanup timer job, or removes it when the cleaning is disabled.
+            // The job handler is only registered while the cleaning is enabled, so a job that is left behind would fail on every run.
+            String historyCleaningTimeCycleConfig = processEngineConfiguration.isEnableHistoryCleaning() ? processEngineConfiguration.getHistoryCleaningTimeCycleConfig() : null;
+            commandExecutor.execute(new HandleHistoryCleanupTimerJobCmd(historyCleaningTimeCycleConfig, null));
+        }
+
         if (name == null) {
             LOGGER.info("default ProcessEngine created");
         } else {
@@ -109,6 +119,12 @@ public class ProcessEngineImpl implements ProcessEngine {
         if (asyncHistoryExecutor != null && asyncHistoryExecutor.isActive()) {
             asyncHistoryExecutor.shutdown();
         }
+        if (processEngineConfiguration.getIdGenerator() instanceof StripedDbIdGenerator) {
+            ((StripedDbIdGenerator) processEngineConfiguration.getIdGenerator()).shutdown();
+        }
+        if (processEngineConfiguration.getAsyncHistoryListener() instanceof StreamingAsyncHistoryListener) {
+            ((StreamingAsyncHistoryListener) processEngineConfiguration.getAsyncHistoryListener()).shutdown();
+        }
 
         Runnable closeRunnable = processEngineConfiguration.getProcessEngineCloseRunnable();
         if (closeRunnable != null) {
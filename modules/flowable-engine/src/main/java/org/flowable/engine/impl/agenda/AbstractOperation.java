@@ -12,12 +12,18 @@
  */
 package org.flowable.engine.impl.agenda;
 
+import java.util.List;
 import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.FlowableListener;
 import org.flowable.bpmn.model.HasExecutionListeners;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.util.CollectionUtil;
 import org.flowable.engine.FlowableEngineAgenda;
 import org.flowable.engine.delegate.ExecutionListener;
+import org.flowable.engine.impl.persistence.deploy.FlowNodeExecutionPlan;
+import org.flowable.engine.impl.persistence.deploy.ProcessExecutionPlan;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
@@ -36,6 +42,13 @@ public abstract class AbstractOperation implements Runnable {
     protected FlowableEngineAgenda agenda;
     protected ExecutionEntity execution;
 
+    /**
+     * The execution plan of the process definition of the execution, resolved once for all flow nodes this operation looks up.
+     * Kept together with the id of that process definition, as a pooled operation can be reused for an execution of another process definition.
+     */
+    protected ProcessExecutionPlan processExecutionPlan;
+    protected String processExecutionPlanDefinitionId;
+
     public AbstractOperation() {
 
     }
@@ -78,6 +91,39 @@ public abstract class AbstractOperation implements Runnable {
                 .executeExecutionListeners(elementWithExecutionListeners, executionEntity, eventType);
     }
 
+    /**
+     * Executes the execution listeners of the given flow node for the given event type, using the precompiled listeners of the execution plan of the node if there is one.
+     */
+    protected void executeFlowNodeExecutionListeners(FlowNode flowNode, String eventType) {
+        FlowNodeExecutionPlan flowNodePlan = getFlowNodeExecutionPlan(flowNode);
+        if (flowNodePlan != null) {
+            List<FlowableListener> listeners = flowNodePlan.getExecutionListeners(eventType);
+            if (!listeners.isEmpty()) {
+                CommandContextUtil.getProcessEngineConfiguration(commandContext).getListenerNotificationHelper()
+                        .executeExecutionListeners(listeners, execution, eventType);
+            }
+
+        } else if (CollectionUtil.isNotEmpty(flowNode.getExecutionListeners())) {
+            executeExecutionListeners(flowNode, eventType);
+        }
+    }
+
+    /**
+     * Returns the precompiled execution plan of the given flow node, or null if there is none (e.g. when execution plans are disabled).
+     */
+    protected FlowNodeExecutionPlan getFlowNodeExecutionPlan(FlowNode flowNode) {
+        String processDefinitionId = execution.getProcessDefinitionId();
+        if (processDefinitionId == null) {
+            return null;
+        }
+
+        if (!processDefinitionId.equals(processExecutionPlanDefinitionId)) {
+            processExecutionPlan = ProcessDefinitionUtil.getProcessExecutionPlan(processDefinitionId);
+            processExecutionPlanDefinitionId = processDefinitionId;
+        }
+        return processExecutionPlan != null ? processExecutionPlan.getFlowNodePlan(flowNode) : null;
+    }
+
     /**
      * Returns the first parent execution of the provided execution that is a scope.
      */
@@ -0,0 +1,220 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.agenda;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.flowable.bpmn.model.Activity;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.identity.Authentication;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.util.CollectionUtil;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.delegate.IsolatedActivityBehavior;
+import org.flowable.engine.impl.delegate.IsolatedVariableScope;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Does the work of the activities directly following a parallel gateway with concurrent branches
+ * (see {@link org.flowable.bpmn.model.ParallelGateway#isConcurrentBranches()}) on multiple threads.
+ * 
+ * When the gateway forks, every activity that supports it ({@link IsolatedActivityBehavior}, e.g. script tasks and expression service tasks)
+ * does its work on a snapshot of the variables of its execution, using the concurrent branch executor service of the process engine configuration.
+ * The command waits until all of them are done, so the execution tree, the database session and the transaction are still only used by the thread of the command.
+ * The results are kept in the command context and applied when the activity is executed on the agenda, in the regular order.
+ * 
+ * As all branches see the variables as they were when the gateway forked, this should only be enabled for branches that are independent of each other.
+ * 
+ * Nothing is done concurrently unless an executor service is configured explicitly
+ * (see {@link ProcessEngineConfigurationImpl#setConcurrentBranchExecutorService(ExecutorService)}).
+ * Whether an activity is executed isolated is decided before anything is executed ({@link IsolatedActivityBehavior#isIsolatedExecutionSupported(DelegateExecution)}).
+ * The isolated work runs without a command context, so scripts, expressions and the beans they call must not use the engine and must be thread-safe.
+ * When an isolated execution fails, the failure is handled as a failure of the activity ({@link IsolatedActivityBehavior#failIsolated(DelegateExecution, RuntimeException)}),
+ * the activity is never executed a second time.
+ */
+public class ConcurrentBranchExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentBranchExecutor.class);
+
+    protected static final String ATTRIBUTE_ISOLATED_EXECUTION_RESULTS = "concurrentBranchIsolatedExecutionResults";
+
+    /**
+     * Executes the activities the given outgoing executions of a forking gateway are about to continue to (their current flow element is the outgoing sequence flow).
+     */
+    public static void executeIsolatedActivities(CommandContext commandContext, List<ExecutionEntity> outgoingExecutions) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
+        ExecutorService executorService = processEngineConfiguration.getConcurrentBranchExecutorService();
+        if (executorService == null) {
+            return;
+        }
+
+        List<ExecutionEntity> executions = new ArrayList<>(outgoingExecutions.size());
+        List<Activity> activities = new ArrayList<>(outgoingExecutions.size());
+        for (ExecutionEntity outgoingExecution : outgoingExecutions) {
+            Activity activity = getIsolatedActivity(outgoingExecution);
+            if (activity != null) {
+                executions.add(outgoingExecution);
+                activities.add(activity);
+            }
+        }
+
+        // Nothing to gain when there is only one activity, as the command waits for it anyway
+        if (executions.size() < 2) {
+            return;
+        }
+
+        String authenticatedUserId = Authentication.getAuthenticatedUserId();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        List<Future<IsolatedExecutionResult>> futures = new ArrayList<>(executions.size());
+        for (int i = 0; i < executions.size(); i++) {
+            ExecutionEntity execution = executions.get(i);
+            Activity activity = activities.get(i);
+
+            // The variables are fetched on the thread of the command
+            IsolatedVariableScope variableScope = new IsolatedVariableScope(execution.getVariables(), execution.getTransientVariables());
+            futures.add(executorService.submit(() -> executeIsolated(activity, variableScope, processEngineConfiguration, authenticatedUserId, classLoader)));
+        }
+
+        Map<String, IsolatedExecutionResult> results = getIsolatedExecutionResults(commandContext, true);
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.put(executions.get(i).getId(), futures.get(i).get());
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FlowableException("Interrupted while waiting for the concurrent branches to be executed", e);
+
+            } catch (ExecutionException e) {
+                throw new FlowableException("Isolated execution of activity " + activities.get(i).getId() + " failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Returns (and removes) the result of the isolated execution of the given activity for the given execution, or null if the activity wasn't executed isolated.
+     */
+    public static IsolatedExecutionResult removeIsolatedExecutionResult(CommandContext commandContext, ExecutionEntity execution, FlowElement flowElement) {
+        Map<String, IsolatedExecutionResult> results = getIsolatedExecutionResults(commandContext, false);
+        if (results == null || results.isEmpty()) {
+            return null;
+        }
+
+        IsolatedExecutionResult result = results.get(execution.getId());
+        if (result != null && result.getActivityId().equals(flowElement.getId())) {
+            results.remove(execution.getId());
+            return result;
+        }
+        return null;
+    }
+
+    protected static Activity getIsolatedActivity(ExecutionEntity execution) {
+        FlowElement currentFlowElement = execution.getCurrentFlowElement();
+        if (!(currentFlowElement instanceof SequenceFlow) || CollectionUtil.isNotEmpty(((SequenceFlow) currentFlowElement).getExecutionListeners())) {
+            return null;
+        }
+
+        // Listeners, async continuations and multi instance need the execution before the actual work is done
+        FlowElement targetFlowElement = ((SequenceFlow) currentFlowElement).getTargetFlowElement();
+        if (!(targetFlowElement instanceof Activity)) {
+            return null;
+        }
+        Activity activity = (Activity) targetFlowElement;
+        if (activity.isAsynchronous() || activity.hasMultiInstanceLoopCharacteristics() || CollectionUtil.isNotEmpty(activity.getExecutionListeners())
+                || !(activity.getBehavior() instanceof IsolatedActivityBehavior)
+                || !((IsolatedActivityBehavior) activity.getBehavior()).isIsolatedExecutionSupported(execution)) {
+            return null;
+        }
+        return activity;
+    }
+
+    protected static IsolatedExecutionResult executeIsolated(Activity activity, IsolatedVariableScope variableScope,
+            ProcessEngineConfigurationImpl processEngineConfiguration, String authenticatedUserId, ClassLoader classLoader) {
+
+        Thread currentThread = Thread.currentThread();
+        ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+        currentThread.setContextClassLoader(classLoader);
+        Authentication.setAuthenticatedUserId(authenticatedUserId);
+        try {
+            Object result = ((IsolatedActivityBehavior) activity.getBehavior()).executeIsolated(variableScope, processEngineConfiguration);
+            return new IsolatedExecutionResult(activity.getId(), variableScope, result);
+
+        } catch (RuntimeException e) {
+            LOGGER.debug("Isolated execution of activity {} failed", activity.getId(), e);
+            return new IsolatedExecutionResult(activity.getId(), e);
+
+        } finally {
+            Authentication.setAuthenticatedUserId(null);
+            currentThread.setContextClassLoader(originalClassLoader);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static Map<String, IsolatedExecutionResult> getIsolatedExecutionResults(CommandContext commandContext, boolean create) {
+        Map<String, IsolatedExecutionResult> results = (Map<String, IsolatedExecutionResult>) commandContext.getAttribute(ATTRIBUTE_ISOLATED_EXECUTION_RESULTS);
+        if (results == null && create) {
+            results = new HashMap<>();
+            commandContext.addAttribute(ATTRIBUTE_ISOLATED_EXECUTION_RESULTS, results);
+        }
+        return results;
+    }
+
+    public static class IsolatedExecutionResult {
+
+        protected String activityId;
+        protected IsolatedVariableScope variableScope;
+        protected Object result;
+        protected RuntimeException failure;
+
+        public IsolatedExecutionResult(String activityId, IsolatedVariableScope variableScope, Object result) {
+            this.activityId = activityId;
+            this.variableScope = variableScope;
+            this.result = result;
+        }
+
+        public IsolatedExecutionResult(String activityId, RuntimeException failure) {
+            this.activityId = activityId;
+            this.failure = failure;
+        }
+
+        public String getActivityId() {
+            return activityId;
+        }
+
+        public IsolatedVariableScope getVariableScope() {
+            return variableScope;
+        }
+
+        public Object getResult() {
+            return result;
+        }
+
+        public RuntimeException getFailure() {
+            return failure;
+        }
+
+    }
+
+}
@@ -17,7 +17,6 @@ import org.flowable.bpmn.model.FlowNode;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
-import org.flowable.common.engine.impl.util.CollectionUtil;
 import org.flowable.engine.delegate.BpmnError;
 import org.flowable.engine.delegate.ExecutionListener;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
@@ -77,9 +76,7 @@ public class ContinueMultiInstanceOperation extends AbstractOperation {
         CommandContextUtil.getHistoryManager(commandContext).recordActivityStart(execution);
         
         // Execution listener
-        if (CollectionUtil.isNotEmpty(flowNode.getExecutionListeners())) {
-            executeExecutionListeners(flowNode, ExecutionListener.EVENTNAME_START);
-        }
+        executeFlowNodeExecutionListeners(flowNode, ExecutionListener.EVENTNAME_START);
         
         // Execute actual behavior
         ActivityBehavior activityBehavior = (ActivityBehavior) flowNode.getBehavior();
@@ -29,8 +29,10 @@ import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.util.CollectionUtil;
 import org.flowable.engine.delegate.ExecutionListener;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
+import org.flowable.engine.impl.agenda.ConcurrentBranchExecutor.IsolatedExecutionResult;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.delegate.ActivityBehavior;
+import org.flowable.engine.impl.delegate.IsolatedActivityBehavior;
 import org.flowable.engine.impl.jobexecutor.AsyncContinuationJobHandler;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
@@ -70,6 +72,15 @@ public class ContinueProcessOperation extends AbstractOperation {
         this(commandContext, execution, false, false);
     }
 
+    /**
+     * Prepares an executed instance of this operation to be planned again, when operation pooling is enabled on the agenda.
+     */
+    protected void reinitialize(ExecutionEntity execution, boolean forceSynchronousOperation, boolean inCompensation) {
+        this.execution = execution;
+        this.forceSynchronousOperation = forceSynchronousOperation;
+        this.inCompensation = inCompensation;
+    }
+
     @Override
     public void run() {
         FlowElement currentFlowElement = getCurrentFlowElement(execution);
@@ -137,9 +148,7 @@ public class ContinueProcessOperation extends AbstractOperation {
         CommandContextUtil.getHistoryManager(commandContext).recordActivityStart(execution);
 
         // Execution listener: event 'start'
-        if (CollectionUtil.isNotEmpty(flowNode.getExecutionListeners())) {
-            executeExecutionListeners(flowNode, ExecutionListener.EVENTNAME_START);
-        }
+        executeFlowNodeExecutionListeners(flowNode, ExecutionListener.EVENTNAME_START);
 
         // Create any boundary events, sub process boundary events will be created from the activity behavior
         List<ExecutionEntity> boundaryEventExecutions = null;
@@ -187,9 +196,7 @@ public class ContinueProcessOperation extends AbstractOperation {
     protected void executeMultiInstanceSynchronous(FlowNode flowNode) {
 
         // Execution listener: event 'start'
-        if (CollectionUtil.isNotEmpty(flowNode.getExecutionListeners())) {
-            executeExecutionListeners(flowNode, ExecutionListener.EVENTNAME_START);
-        }
+        executeFlowNodeExecutionListeners(flowNode, ExecutionListener.EVENTNAME_START);
         
         if (!hasMultiInstanceRootExecution(execution, flowNode)) {
             execution = createMultiInstanceRootExecution(execution);
@@ -261,7 +268,21 @@ public class ContinueProcessOperation extends AbstractOperation {
         }
 
         try {
-            activityBehavior.execute(execution);
+            IsolatedExecutionResult isolatedExecutionResult = null;
+            if (activityBehavior instanceof IsolatedActivityBehavior) {
+                isolatedExecutionResult = ConcurrentBranchExecutor.removeIsolatedExecutionResult(commandContext, execution, flowNode);
+            }
+
+            if (isolatedExecutionResult != null && isolatedExecutionResult.getFailure() != null) {
+                // The work already failed concurrently with the other branches of a parallel gateway, it must not be done again
+                ((IsolatedActivityBehavior) activityBehavior).failIsolated(execution, isolatedExecutionResult.getFailure());
+            } else if (isolatedExecutionResult != null) {
+                // The work was already done concurrently with the other branches of a parallel gateway
+                isolatedExecutionResult.getVariableScope().applyChanges(execution);
+                ((IsolatedActivityBehavior) activityBehavior).completeIsolated(execution, isolatedExecutionResult.getResult());
+            } else {
+                activityBehavior.execute(execution);
+            }
         } catch (RuntimeException e) {
             if (LogMDC.isMDCEnabled()) {
                 LogMDC.putMDCExecution(execution);
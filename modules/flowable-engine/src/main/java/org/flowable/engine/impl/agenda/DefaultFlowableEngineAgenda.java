@@ -12,12 +12,16 @@
  */
 package org.flowable.engine.impl.agenda;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import org.flowable.common.engine.impl.agenda.AbstractAgenda;
 import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.engine.FlowableEngineAgenda;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.delegate.ActivityBehavior;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
@@ -38,8 +42,26 @@ public class DefaultFlowableEngineAgenda extends AbstractAgenda implements Flowa
     
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultFlowableEngineAgenda.class);
 
+    protected static final int MAX_POOLED_OPERATIONS = 16;
+
+    /**
+     * When enabled (see {@link org.flowable.engine.impl.cfg.PerformanceSettings#isEnableAgendaOperationPooling()}),
+     * the operations that are planned for every step of a process instance are reused once they are executed.
+     * As the agenda belongs to one command context, the pools don't need any synchronization.
+     */
+    protected boolean operationPoolingEnabled;
+    protected Deque<ContinueProcessOperation> continueProcessOperationPool;
+    protected Deque<TakeOutgoingSequenceFlowsOperation> takeOutgoingSequenceFlowsOperationPool;
+
     public DefaultFlowableEngineAgenda(CommandContext commandContext) {
         super(commandContext);
+
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
+        if (processEngineConfiguration != null && processEngineConfiguration.getPerformanceSettings().isEnableAgendaOperationPooling()) {
+            this.operationPoolingEnabled = true;
+            this.continueProcessOperationPool = new ArrayDeque<>();
+            this.takeOutgoingSequenceFlowsOperationPool = new ArrayDeque<>();
+        }
     }
 
     /**
@@ -59,17 +81,17 @@ public class DefaultFlowableEngineAgenda extends AbstractAgenda implements Flowa
 
     @Override
     public void planContinueProcessOperation(ExecutionEntity execution) {
-        planOperation(new ContinueProcessOperation(commandContext, execution), execution);
+        planOperation(createContinueProcessOperation(execution, false, false), execution);
     }
 
     @Override
     public void planContinueProcessSynchronousOperation(ExecutionEntity execution) {
-        planOperation(new ContinueProcessOperation(commandContext, execution, true, false), execution);
+        planOperation(createContinueProcessOperation(execution, true, false), execution);
     }
 
     @Override
     public void planContinueProcessInCompensation(ExecutionEntity execution) {
-        planOperation(new ContinueProcessOperation(commandContext, execution, false, true), execution);
+        planOperation(createContinueProcessOperation(execution, false, true), execution);
     }
 
     @Override
@@ -79,7 +101,7 @@ public class DefaultFlowableEngineAgenda extends AbstractAgenda implements Flowa
 
     @Override
     public void planTakeOutgoingSequenceFlowsOperation(ExecutionEntity execution, boolean evaluateConditions) {
-        planOperation(new TakeOutgoingSequenceFlowsOperation(commandContext, execution, evaluateConditions), execution);
+        planOperation(createTakeOutgoingSequenceFlowsOperation(execution, evaluateConditions), execution);
     }
 
     @Override
@@ -112,4 +134,61 @@ public class DefaultFlowableEngineAgenda extends AbstractAgenda implements Flowa
         planOperation(new ExecuteInactiveBehaviorsOperation(commandContext));
     }
 
+    /* Operation pooling */
+
+    protected ContinueProcessOperation createContinueProcessOperation(ExecutionEntity execution, boolean forceSynchronousOperation, boolean inCompensation) {
+        if (operationPoolingEnabled && !continueProcessOperationPool.isEmpty()) {
+            ContinueProcessOperation operation = continueProcessOperationPool.pop();
+            operation.reinitialize(execution, forceSynchronousOperation, inCompensation);
+            return operation;
+        }
+        return new ContinueProcessOperation(commandContext, execution, forceSynchronousOperation, inCompensation);
+    }
+
+    protected TakeOutgoingSequenceFlowsOperation createTakeOutgoingSequenceFlowsOperation(ExecutionEntity execution, boolean evaluateConditions) {
+        if (operationPoolingEnabled && !takeOutgoingSequenceFlowsOperationPool.isEmpty()) {
+            TakeOutgoingSequenceFlowsOperation operation = takeOutgoingSequenceFlowsOperationPool.pop();
+            operation.reinitialize(execution, evaluateConditions);
+            return operation;
+        }
+        return new TakeOutgoingSequenceFlowsOperation(commandContext, execution, evaluateConditions);
+    }
+
+    /**
+     * Called by the command invoker once the given operation is completely executed.
+     * Operations are only released at this point (and not when they are taken from the agenda),
+     * as an operation can execute nested commands that run the agenda while the operation itself is still being executed.
+     */
+    public void releaseOperation(Runnable operation) {
+        if (!operationPoolingEnabled) {
+            return;
+        }
+
+        // Subclasses (e.g. the debug operations) are never reused
+        if (operation.getClass() == ContinueProcessOperation.class) {
+            releaseOperation((ContinueProcessOperation) operation, continueProcessOperationPool);
+        } else if (operation.getClass() == TakeOutgoingSequenceFlowsOperation.class) {
+            releaseOperation((TakeOutgoingSequenceFlowsOperation) operation, takeOutgoingSequenceFlowsOperationPool);
+        }
+    }
+
+    protected <T extends AbstractOperation> void releaseOperation(T operation, Deque<T> pool) {
+        if (operation.getCommandContext() == commandContext && pool.size() < MAX_POOLED_OPERATIONS) {
+            operation.setExecution(null);
+            pool.push(operation);
+        }
+    }
+
+    public boolean isOperationPoolingEnabled() {
+        return operationPoolingEnabled;
+    }
+
+    public Deque<ContinueProcessOperation> getContinueProcessOperationPool() {
+        return continueProcessOperationPool;
+    }
+
+    public Deque<TakeOutgoingSequenceFlowsOperation> getTakeOutgoingSequenceFlowsOperationPool() {
+        return takeOutgoingSequenceFlowsOperationPool;
+    }
+
 }
@@ -37,6 +37,7 @@ import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.Condition;
 import org.flowable.engine.impl.bpmn.helper.SkipExpressionUtil;
 import org.flowable.engine.impl.el.UelExpressionCondition;
+import org.flowable.engine.impl.persistence.deploy.FlowNodeExecutionPlan;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
@@ -61,6 +62,14 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
         this.evaluateConditions = evaluateConditions;
     }
 
+    /**
+     * Prepares an executed instance of this operation to be planned again, when operation pooling is enabled on the agenda.
+     */
+    protected void reinitialize(ExecutionEntity executionEntity, boolean evaluateConditions) {
+        this.execution = executionEntity;
+        this.evaluateConditions = evaluateConditions;
+    }
+
     @Override
     public void run() {
         FlowElement currentFlowElement = getCurrentFlowElement(execution);
@@ -102,9 +111,7 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
         // hence the check for NOT being a process instance
         if (!execution.isProcessInstanceType()) {
 
-            if (CollectionUtil.isNotEmpty(flowNode.getExecutionListeners())) {
-                executeExecutionListeners(flowNode, ExecutionListener.EVENTNAME_END);
-            }
+            executeFlowNodeExecutionListeners(flowNode, ExecutionListener.EVENTNAME_END);
 
             if (execution.isActive()
                     && !flowNode.getOutgoingFlows().isEmpty()
@@ -131,27 +138,34 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
         LOGGER.debug("Leaving flow node {} with id '{}' by following it's {} outgoing sequenceflow",
                 flowNode.getClass(), flowNode.getId(), flowNode.getOutgoingFlows().size());
 
+        // The precompiled plan of the node has the resolved flows and parsed expressions
+        FlowNodeExecutionPlan flowNodePlan = getFlowNodeExecutionPlan(flowNode);
+
         // Get default sequence flow (if set)
         String defaultSequenceFlowId = null;
-        if (flowNode instanceof Activity) {
+        if (flowNodePlan != null) {
+            defaultSequenceFlowId = flowNodePlan.getDefaultFlowId();
+        } else if (flowNode instanceof Activity) {
             defaultSequenceFlowId = ((Activity) flowNode).getDefaultFlow();
         } else if (flowNode instanceof Gateway) {
             defaultSequenceFlowId = ((Gateway) flowNode).getDefaultFlow();
         }
 
         // Determine which sequence flows can be used for leaving
+        List<SequenceFlow> flowNodeOutgoingFlows = flowNodePlan != null ? flowNodePlan.getOutgoingFlows() : flowNode.getOutgoingFlows();
         List<SequenceFlow> outgoingSequenceFlows = new ArrayList<>();
-        for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
+        for (int i = 0; i < flowNodeOutgoingFlows.size(); i++) {
+            SequenceFlow sequenceFlow = flowNodeOutgoingFlows.get(i);
 
             String skipExpressionString = sequenceFlow.getSkipExpression();
             if (!SkipExpressionUtil.isSkipExpressionEnabled(execution, skipExpressionString)) {
 
                 if (!evaluateConditions
-                        || (evaluateConditions && ConditionUtil.hasTrueCondition(sequenceFlow, execution) && (defaultSequenceFlowId == null || !defaultSequenceFlowId.equals(sequenceFlow.getId())))) {
+                        || (evaluateConditions && hasTrueCondition(sequenceFlow, flowNodePlan, i) && (defaultSequenceFlowId == null || !defaultSequenceFlowId.equals(sequenceFlow.getId())))) {
                     outgoingSequenceFlows.add(sequenceFlow);
                 }
 
-            } else if (flowNode.getOutgoingFlows().size() == 1 || SkipExpressionUtil.shouldSkipFlowElement(commandContext, execution, skipExpressionString)) {
+            } else if (flowNodeOutgoingFlows.size() == 1 || shouldSkipFlowElement(sequenceFlow, flowNodePlan, i)) {
                 // The 'skip' for a sequence flow means that we skip the condition, not the sequence flow.
                 outgoingSequenceFlows.add(sequenceFlow);
             }
@@ -159,7 +173,12 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
 
         // Check if there is a default sequence flow
         if (outgoingSequenceFlows.size() == 0 && evaluateConditions) { // The elements that set this to false also have no support for default sequence flow
-            if (defaultSequenceFlowId != null) {
+            if (flowNodePlan != null) {
+                if (flowNodePlan.getDefaultFlow() != null) {
+                    outgoingSequenceFlows.add(flowNodePlan.getDefaultFlow());
+                }
+                
+            } else if (defaultSequenceFlowId != null) {
                 for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
                     if (defaultSequenceFlowId.equals(sequenceFlow.getId())) {
                         outgoingSequenceFlows.add(sequenceFlow);
@@ -209,6 +228,11 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
                 }
             }
 
+            // The independent work of the branches can be done concurrently, before they are continued on the agenda
+            if (outgoingExecutions.size() > 1 && flowNode instanceof ParallelGateway && ((ParallelGateway) flowNode).isConcurrentBranches()) {
+                ConcurrentBranchExecutor.executeIsolatedActivities(commandContext, outgoingExecutions);
+            }
+
             // Leave (only done when all executions have been made, since some queries depend on this)
             for (ExecutionEntity outgoingExecution : outgoingExecutions) {
                 agenda.planContinueProcessOperation(outgoingExecution);
@@ -216,6 +240,20 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
         }
     }
 
+    protected boolean hasTrueCondition(SequenceFlow sequenceFlow, FlowNodeExecutionPlan flowNodePlan, int outgoingFlowIndex) {
+        if (flowNodePlan != null) {
+            return ConditionUtil.hasTrueCondition(sequenceFlow, flowNodePlan.getConditionExpression(outgoingFlowIndex), execution);
+        }
+        return ConditionUtil.hasTrueCondition(sequenceFlow, execution);
+    }
+
+    protected boolean shouldSkipFlowElement(SequenceFlow sequenceFlow, FlowNodeExecutionPlan flowNodePlan, int outgoingFlowIndex) {
+        if (flowNodePlan != null) {
+            return SkipExpressionUtil.shouldSkipFlowElement(execution, flowNodePlan.getSkipExpression(outgoingFlowIndex));
+        }
+        return SkipExpressionUtil.shouldSkipFlowElement(commandContext, execution, sequenceFlow.getSkipExpression());
+    }
+
     protected void handleAdhocSubProcess(FlowNode flowNode) {
         boolean completeAdhocSubProcess = false;
         AdhocSubProcess adhocSubProcess = (AdhocSubProcess) flowNode.getParentContainer();
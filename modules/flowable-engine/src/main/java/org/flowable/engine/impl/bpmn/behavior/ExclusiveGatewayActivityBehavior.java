@@ -12,7 +12,7 @@
  */
 package org.flowable.engine.impl.bpmn.behavior;
 
-import java.util.Iterator;
+import java.util.List;
 
 import org.flowable.bpmn.model.ExclusiveGateway;
 import org.flowable.bpmn.model.SequenceFlow;
@@ -22,7 +22,9 @@ import org.flowable.common.engine.impl.context.Context;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.bpmn.helper.SkipExpressionUtil;
+import org.flowable.engine.impl.persistence.deploy.FlowNodeExecutionPlan;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.impl.util.ProcessDefinitionUtil;
 import org.flowable.engine.impl.util.condition.ConditionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,21 +67,28 @@ public class ExclusiveGatewayActivityBehavior extends GatewayActivityBehavior {
         SequenceFlow defaultSequenceFlow = null;
         String defaultSequenceFlowId = exclusiveGateway.getDefaultFlow();
 
+        // The precompiled plan of the gateway has the parsed expressions of the sequence flows
+        FlowNodeExecutionPlan flowNodePlan = ProcessDefinitionUtil.getFlowNodeExecutionPlan(execution.getProcessDefinitionId(), exclusiveGateway);
+        List<SequenceFlow> outgoingFlows = flowNodePlan != null ? flowNodePlan.getOutgoingFlows() : exclusiveGateway.getOutgoingFlows();
+
         // Determine sequence flow to take
-        Iterator<SequenceFlow> sequenceFlowIterator = exclusiveGateway.getOutgoingFlows().iterator();
-        while (outgoingSequenceFlow == null && sequenceFlowIterator.hasNext()) {
-            SequenceFlow sequenceFlow = sequenceFlowIterator.next();
+        for (int i = 0; outgoingSequenceFlow == null && i < outgoingFlows.size(); i++) {
+            SequenceFlow sequenceFlow = outgoingFlows.get(i);
 
             String skipExpressionString = sequenceFlow.getSkipExpression();
             if (!SkipExpressionUtil.isSkipExpressionEnabled(execution, skipExpressionString)) {
-                boolean conditionEvaluatesToTrue = ConditionUtil.hasTrueCondition(sequenceFlow, execution);
+                boolean conditionEvaluatesToTrue = flowNodePlan != null 
+                        ? ConditionUtil.hasTrueCondition(sequenceFlow, flowNodePlan.getConditionExpression(i), execution)
+                        : ConditionUtil.hasTrueCondition(sequenceFlow, execution);
                 if (conditionEvaluatesToTrue && (defaultSequenceFlowId == null || !defaultSequenceFlowId.equals(sequenceFlow.getId()))) {
                     if (LOGGER.isDebugEnabled()) {
                         LOGGER.debug("Sequence flow '{}' selected as outgoing sequence flow.", sequenceFlow.getId());
                     }
                     outgoingSequenceFlow = sequenceFlow;
                 }
-            } else if (SkipExpressionUtil.shouldSkipFlowElement(Context.getCommandContext(), execution, skipExpressionString)) {
+            } else if (flowNodePlan != null 
+                    ? SkipExpressionUtil.shouldSkipFlowElement(execution, flowNodePlan.getSkipExpression(i))
+                    : SkipExpressionUtil.shouldSkipFlowElement(Context.getCommandContext(), execution, skipExpressionString)) {
                 outgoingSequenceFlow = sequenceFlow;
             }
 
@@ -316,7 +316,20 @@ public abstract class MultiInstanceActivityBehavior extends FlowNodeActivityBeha
                 value = it.next();
                 index++;
             }
-            setLoopVariable(execution, collectionElementVariable, value);
+            executeOriginalBehavior(execution, multiInstanceRootExecution, loopCounter, value);
+
+        } else {
+            executeOriginalBehavior(execution, multiInstanceRootExecution, loopCounter, null);
+        }
+    }
+
+    /**
+     * Same as {@link #executeOriginalBehavior(DelegateExecution, ExecutionEntity, int)}, for when the element of the collection
+     * for the instance is already resolved (to avoid iterating over the collection for every instance).
+     */
+    protected void executeOriginalBehavior(DelegateExecution execution, ExecutionEntity multiInstanceRootExecution, int loopCounter, Object collectionElement) {
+        if (usesCollection() && collectionElementVariable != null) {
+            setLoopVariable(execution, collectionElementVariable, collectionElement);
         }
 
         execution.setCurrentFlowElement(activity);
@@ -15,7 +15,9 @@ package org.flowable.engine.impl.bpmn.behavior;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.flowable.bpmn.model.Activity;
 import org.flowable.bpmn.model.FlowElement;
@@ -23,9 +25,13 @@ import org.flowable.bpmn.model.FlowNode;
 import org.flowable.bpmn.model.ParallelGateway;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.jobexecutor.ParallelGatewayJoinJobHandler;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.JobService;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,8 +73,68 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
             throw new FlowableException("Programmatic error: parallel gateway behaviour can only be applied" + " to a ParallelGateway instance, but got an instance of " + flowElement);
         }
 
-        lockFirstParentScope(execution);
+        boolean lockFreeJoin = isLockFreeJoinEnabled();
+        if (!lockFreeJoin) {
+            lockFirstParentScope(execution);
+        }
+
+        Collection<ExecutionEntity> joinedExecutions = findJoinedExecutions(execution, parallelGateway);
+
+        int nbrOfExecutionsToJoin = parallelGateway.getIncomingFlows().size();
+        int nbrOfExecutionsCurrentlyJoined = joinedExecutions.size();
+
+        // Fork
+
+        // Is needed to set the endTime for all historic activity joins
+        CommandContextUtil.getHistoryManager().recordActivityEnd((ExecutionEntity) execution, null);
+
+        if (nbrOfExecutionsCurrentlyJoined == nbrOfExecutionsToJoin) {
+            activate(execution, parallelGateway, joinedExecutions);
+
+        } else {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("parallel gateway '{}' ({}) does not activate: {} of {} joined", execution.getCurrentActivityId(), 
+                        execution.getId(), nbrOfExecutionsCurrentlyJoined, nbrOfExecutionsToJoin);
+            }
+            
+            // Other arrivals that are not committed yet can't be seen, so the join needs to be checked again after this transaction
+            if (lockFreeJoin) {
+                scheduleJoinCheck((ExecutionEntity) execution);
+            }
+        }
+
+    }
+
+    /**
+     * Checks the join of the gateway again for an execution that arrived in it before, when the lock free join is used.
+     * Activates the gateway when all executions have arrived by now and it has not been activated by another execution yet.
+     */
+    public void checkJoin(ExecutionEntity execution, JobEntity job) {
+        FlowElement flowElement = execution.getCurrentFlowElement();
+        if (execution.isEnded() || execution.isActive() || !(flowElement instanceof ParallelGateway)) {
+            return; // the gateway was activated already
+        }
+
+        // The pending checks are looked up before the joined executions, so the arrivals of the checks are committed and thus seen by this check
+        List<Job> pendingJoinChecks = CommandContextUtil.getJobService().createJobQuery()
+                .processInstanceId(execution.getProcessInstanceId())
+                .handlerType(ParallelGatewayJoinJobHandler.TYPE)
+                .unlocked()
+                .list();
+
+        ParallelGateway parallelGateway = (ParallelGateway) flowElement;
+        Collection<ExecutionEntity> joinedExecutions = findJoinedExecutions(execution, parallelGateway);
+        deletePendingJoinChecks(pendingJoinChecks, joinedExecutions, job);
+        if (joinedExecutions.size() == parallelGateway.getIncomingFlows().size()) {
+            activate(execution, parallelGateway, joinedExecutions);
+
+        } else if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("parallel gateway '{}' ({}) does not activate after check: {} of {} joined", execution.getCurrentActivityId(), 
+                    execution.getId(), joinedExecutions.size(), parallelGateway.getIncomingFlows().size());
+        }
+    }
 
+    protected Collection<ExecutionEntity> findJoinedExecutions(DelegateExecution execution, ParallelGateway parallelGateway) {
         DelegateExecution multiInstanceExecution = null;
         if (hasMultiInstanceParent(parallelGateway)) {
             multiInstanceExecution = findMultiInstanceParentExecution(execution);
@@ -79,45 +145,85 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
         if (multiInstanceExecution != null) {
             joinedExecutions = cleanJoinedExecutions(joinedExecutions, multiInstanceExecution);
         }
+        return joinedExecutions;
+    }
 
+    protected void activate(DelegateExecution execution, ParallelGateway parallelGateway, Collection<ExecutionEntity> joinedExecutions) {
+        ExecutionEntityManager executionEntityManager = CommandContextUtil.getExecutionEntityManager();
         int nbrOfExecutionsToJoin = parallelGateway.getIncomingFlows().size();
         int nbrOfExecutionsCurrentlyJoined = joinedExecutions.size();
 
         // Fork
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("parallel gateway '{}' ({}) activates: {} of {} joined", execution.getCurrentActivityId(), 
+                    execution.getId(), nbrOfExecutionsCurrentlyJoined, nbrOfExecutionsToJoin);
+        }
 
-        // Is needed to set the endTime for all historic activity joins
-        CommandContextUtil.getHistoryManager().recordActivityEnd((ExecutionEntity) execution, null);
+        if (parallelGateway.getIncomingFlows().size() > 1) {
 
-        if (nbrOfExecutionsCurrentlyJoined == nbrOfExecutionsToJoin) {
+            // All (now inactive) children are deleted.
+            for (ExecutionEntity joinedExecution : joinedExecutions) {
+
+                // The current execution will be reused and not deleted
+                if (!joinedExecution.getId().equals(execution.getId())) {
+                    executionEntityManager.deleteRelatedDataForExecution(joinedExecution, null);
+                    executionEntityManager.delete(joinedExecution);
+                }
 
-            // Fork
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("parallel gateway '{}' ({}) activates: {} of {} joined", execution.getCurrentActivityId(), 
-                        execution.getId(), nbrOfExecutionsCurrentlyJoined, nbrOfExecutionsToJoin);
             }
+        }
 
-            if (parallelGateway.getIncomingFlows().size() > 1) {
+        // TODO: potential optimization here: reuse more then 1 execution, only 1 currently
+        CommandContextUtil.getAgenda().planTakeOutgoingSequenceFlowsOperation((ExecutionEntity) execution, false); // false -> ignoring conditions on parallel gw
+    }
 
-                // All (now inactive) children are deleted.
-                for (ExecutionEntity joinedExecution : joinedExecutions) {
+    /**
+     * Deletes the pending checks of the other joined executions, which would only check the arrivals this check has seen already.
+     */
+    protected void deletePendingJoinChecks(List<Job> pendingJoinChecks, Collection<ExecutionEntity> joinedExecutions, JobEntity currentJob) {
+        if (pendingJoinChecks.isEmpty()) {
+            return;
+        }
 
-                    // The current execution will be reused and not deleted
-                    if (!joinedExecution.getId().equals(execution.getId())) {
-                        executionEntityManager.deleteRelatedDataForExecution(joinedExecution, null);
-                        executionEntityManager.delete(joinedExecution);
-                    }
+        Set<String> joinedExecutionIds = new HashSet<>();
+        for (ExecutionEntity joinedExecution : joinedExecutions) {
+            joinedExecutionIds.add(joinedExecution.getId());
+        }
 
-                }
+        JobService jobService = CommandContextUtil.getJobService();
+        for (Job pendingJoinCheck : pendingJoinChecks) {
+            if (joinedExecutionIds.contains(pendingJoinCheck.getExecutionId())
+                    && (currentJob == null || !currentJob.getId().equals(pendingJoinCheck.getId()))) {
+                jobService.deleteJob((JobEntity) pendingJoinCheck);
             }
+        }
+    }
 
-            // TODO: potential optimization here: reuse more then 1 execution, only 1 currently
-            CommandContextUtil.getAgenda().planTakeOutgoingSequenceFlowsOperation((ExecutionEntity) execution, false); // false -> ignoring conditions on parallel gw
+    protected void scheduleJoinCheck(ExecutionEntity execution) {
+        JobService jobService = CommandContextUtil.getJobService();
 
-        } else if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("parallel gateway '{}' ({}) does not activate: {} of {} joined", execution.getCurrentActivityId(), 
-                    execution.getId(), nbrOfExecutionsCurrentlyJoined, nbrOfExecutionsToJoin);
+        JobEntity job = jobService.createJob();
+        job.setExecutionId(execution.getId());
+        job.setProcessInstanceId(execution.getProcessInstanceId());
+        job.setProcessDefinitionId(execution.getProcessDefinitionId());
+        job.setJobHandlerType(ParallelGatewayJoinJobHandler.TYPE);
+
+        // Inherit tenant id (if applicable)
+        if (execution.getTenantId() != null) {
+            job.setTenantId(execution.getTenantId());
         }
 
+        // The job is deleted together with the execution when the gateway is activated by another execution
+        execution.getJobs().add(job);
+
+        // Not exclusive, as the check doesn't need to lock the process instance: the gateway can only be activated once,
+        // because activating it deletes the joined executions, which is checked against their revision
+        jobService.createAsyncJob(job, false);
+        jobService.scheduleAsyncJob(job);
+    }
+
+    protected boolean isLockFreeJoinEnabled() {
+        return CommandContextUtil.getProcessEngineConfiguration().getPerformanceSettings().isEnableLockFreeParallelGatewayJoin();
     }
 
     protected Collection<ExecutionEntity> cleanJoinedExecutions(Collection<ExecutionEntity> joinedExecutions, DelegateExecution multiInstanceExecution) {
@@ -13,8 +13,11 @@
 package org.flowable.engine.impl.bpmn.behavior;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.bpmn.model.Activity;
@@ -24,14 +27,22 @@ import org.flowable.bpmn.model.CompensateEventDefinition;
 import org.flowable.bpmn.model.FlowElement;
 import org.flowable.bpmn.model.SubProcess;
 import org.flowable.bpmn.model.Transaction;
+import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.util.CollectionUtil;
 import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.ExecutionQueryImpl;
 import org.flowable.engine.impl.bpmn.helper.ScopeUtil;
 import org.flowable.engine.impl.delegate.ActivityBehavior;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceCompletionJobHandler;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceCreationJobHandler;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.JobService;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
 
 /**
  * @author Joram Barrez
@@ -41,6 +52,8 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
 
     private static final long serialVersionUID = 1L;
 
+    protected static final String NUMBER_OF_CREATED_INSTANCES = "nrOfCreatedInstances";
+
     public ParallelMultiInstanceBehavior(Activity activity, AbstractBpmnActivityBehavior originalActivityBehavior) {
         super(activity, originalActivityBehavior);
     }
@@ -59,6 +72,19 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         setLoopVariable(multiInstanceRootExecution, NUMBER_OF_COMPLETED_INSTANCES, 0);
         setLoopVariable(multiInstanceRootExecution, NUMBER_OF_ACTIVE_INSTANCES, nrOfInstances);
 
+        int creationBatchSize = getCreationBatchSize();
+        if (creationBatchSize > 0 && nrOfInstances > creationBatchSize) {
+            
+            // Only the first batch of instances is created now, every next batch is created by an asynchronous job.
+            // The number of created instances is the cursor on the collection for the next batch.
+            setLoopVariable(multiInstanceRootExecution, NUMBER_OF_CREATED_INSTANCES, creationBatchSize);
+            createInstanceBatch((ExecutionEntity) multiInstanceRootExecution, 0, creationBatchSize, nrOfInstances);
+            scheduleNextInstanceBatch((ExecutionEntity) multiInstanceRootExecution);
+            
+            multiInstanceRootExecution.setActive(false);
+            return nrOfInstances;
+        }
+
         List<ExecutionEntity> concurrentExecutions = new ArrayList<>();
         for (int loopCounter = 0; loopCounter < nrOfInstances; loopCounter++) {
             ExecutionEntity concurrentExecution = CommandContextUtil.getExecutionEntityManager()
@@ -98,6 +124,91 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         return nrOfInstances;
     }
 
+    /**
+     * Creates and starts the next batch of instances, for a multi instance activity that creates its instances in batches.
+     * Schedules the creation of the batch after it when not all instances are created yet.
+     */
+    public void createNextInstanceBatch(ExecutionEntity multiInstanceRootExecution) {
+        int nrOfInstances = (Integer) multiInstanceRootExecution.getVariableLocal(NUMBER_OF_INSTANCES);
+        int nrOfCreatedInstances = (Integer) multiInstanceRootExecution.getVariableLocal(NUMBER_OF_CREATED_INSTANCES);
+        
+        int creationBatchSize = getCreationBatchSize();
+        int toLoopCounter = creationBatchSize > 0 ? Math.min(nrOfCreatedInstances + creationBatchSize, nrOfInstances) : nrOfInstances;
+        setLoopVariable(multiInstanceRootExecution, NUMBER_OF_CREATED_INSTANCES, toLoopCounter);
+        createInstanceBatch(multiInstanceRootExecution, nrOfCreatedInstances, toLoopCounter, nrOfInstances);
+        
+        if (toLoopCounter < nrOfInstances) {
+            scheduleNextInstanceBatch(multiInstanceRootExecution);
+        }
+    }
+
+    protected void createInstanceBatch(ExecutionEntity multiInstanceRootExecution, int fromLoopCounter, int toLoopCounter, int nrOfInstances) {
+        ExecutionEntityManager executionEntityManager = CommandContextUtil.getExecutionEntityManager();
+        List<ExecutionEntity> concurrentExecutions = new ArrayList<>(toLoopCounter - fromLoopCounter);
+        for (int loopCounter = fromLoopCounter; loopCounter < toLoopCounter; loopCounter++) {
+            ExecutionEntity concurrentExecution = executionEntityManager.createChildExecution(multiInstanceRootExecution);
+            concurrentExecution.setCurrentFlowElement(activity);
+            concurrentExecution.setActive(true);
+            concurrentExecution.setScope(false);
+
+            concurrentExecutions.add(concurrentExecution);
+            logLoopDetails(concurrentExecution, "initialized", loopCounter, 0, nrOfInstances, nrOfInstances);
+        }
+
+        // The collection is resolved once for the whole batch, instead of for every instance
+        Iterator<?> collectionIterator = null;
+        if (usesCollection() && collectionElementVariable != null) {
+            collectionIterator = ((Collection<?>) resolveAndValidateCollection(multiInstanceRootExecution)).iterator();
+            for (int index = 0; index < fromLoopCounter && collectionIterator.hasNext(); index++) {
+                collectionIterator.next();
+            }
+        }
+
+        // As for the regular creation, all executions of the batch MUST be created before the activities are executed
+        for (int index = 0; index < concurrentExecutions.size(); index++) {
+            Object collectionElement = null;
+            if (collectionIterator != null) {
+                if (!collectionIterator.hasNext()) {
+                    throw new FlowableException("The collection of multi instance activity " + activity.getId() + " has less than " + nrOfInstances
+                            + " elements, it has been changed while the instances were being created");
+                }
+                collectionElement = collectionIterator.next();
+            }
+            
+            ExecutionEntity concurrentExecution = concurrentExecutions.get(index);
+            if (concurrentExecution.isActive()
+                    && !concurrentExecution.isEnded()
+                    && !concurrentExecution.getParent().isEnded()) {
+                executeOriginalBehavior(concurrentExecution, multiInstanceRootExecution, fromLoopCounter + index, collectionElement);
+            }
+        }
+    }
+
+    protected void scheduleNextInstanceBatch(ExecutionEntity multiInstanceRootExecution) {
+        JobService jobService = CommandContextUtil.getJobService();
+
+        JobEntity job = jobService.createJob();
+        job.setExecutionId(multiInstanceRootExecution.getId());
+        job.setProcessInstanceId(multiInstanceRootExecution.getProcessInstanceId());
+        job.setProcessDefinitionId(multiInstanceRootExecution.getProcessDefinitionId());
+        job.setJobHandlerType(ParallelMultiInstanceCreationJobHandler.TYPE);
+
+        // Inherit tenant id (if applicable)
+        if (multiInstanceRootExecution.getTenantId() != null) {
+            job.setTenantId(multiInstanceRootExecution.getTenantId());
+        }
+
+        multiInstanceRootExecution.getJobs().add(job);
+
+        // Exclusive, so a batch is never created concurrently with other work of the process instance that is done in an exclusive job
+        jobService.createAsyncJob(job, true);
+        jobService.scheduleAsyncJob(job);
+    }
+
+    protected int getCreationBatchSize() {
+        return CommandContextUtil.getProcessEngineConfiguration().getParallelMultiInstanceCreationBatchSize();
+    }
+
     /**
      * Called when the wrapped {@link ActivityBehavior} calls the {@link AbstractBpmnActivityBehavior#leave(DelegateExecution)} method. Handles the completion of one of the parallel instances
      */
@@ -111,13 +222,23 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
             super.leave(execution); // Plan the default leave
         }
 
+        DelegateExecution miRootExecution = getMultiInstanceRootExecution(execution);
+        boolean completionMarkers = miRootExecution != null && !zeroNrOfInstances && isCompletionMarkersEnabled();
+        if (completionMarkers) {
+            // The inactive execution of a completed instance is its completion marker, no variable of the multi instance root is updated.
+            // The counters are derived from the number of active instance executions instead, for the evaluation of the completion.
+            execution.inactivate();
+            setCompletionCounters((ExecutionEntity) miRootExecution, countActiveInstances((ExecutionEntity) miRootExecution), false);
+        }
+
         int loopCounter = getLoopVariable(execution, getCollectionElementIndexVariable());
         int nrOfInstances = getLoopVariable(execution, NUMBER_OF_INSTANCES);
-        int nrOfCompletedInstances = getLoopVariable(execution, NUMBER_OF_COMPLETED_INSTANCES) + 1;
-        int nrOfActiveInstances = getLoopVariable(execution, NUMBER_OF_ACTIVE_INSTANCES) - 1;
+        int nrOfCompletedInstances = getLoopVariable(execution, NUMBER_OF_COMPLETED_INSTANCES);
+        int nrOfActiveInstances = getLoopVariable(execution, NUMBER_OF_ACTIVE_INSTANCES);
         
-        DelegateExecution miRootExecution = getMultiInstanceRootExecution(execution);
-        if (miRootExecution != null) { // will be null in case of empty collection
+        if (miRootExecution != null && !completionMarkers) { // will be null in case of empty collection
+            nrOfCompletedInstances++;
+            nrOfActiveInstances--;
             setLoopVariable(miRootExecution, NUMBER_OF_COMPLETED_INSTANCES, nrOfCompletedInstances);
             setLoopVariable(miRootExecution, NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
         }
@@ -134,49 +255,222 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         ExecutionEntity executionEntity = (ExecutionEntity) execution;
         if (executionEntity.getParent() != null) {
 
-            executionEntity.inactivate();
-            lockFirstParentScope(executionEntity);
+            if (!completionMarkers) {
+                executionEntity.inactivate();
+                lockFirstParentScope(executionEntity);
+            }
 
-            boolean isCompletionConditionSatisfied = completionConditionSatisfied(execution.getParent());
-            if (nrOfCompletedInstances >= nrOfInstances || isCompletionConditionSatisfied) {
+            boolean completed = completeIfFinished(executionEntity, miRootExecution, nrOfInstances, nrOfCompletedInstances);
+            
+            // Other completions that are not committed yet can't be seen, so the completion needs to be checked again after this transaction
+            if (!completed && completionMarkers) {
+                scheduleCompletionCheck(executionEntity, (ExecutionEntity) miRootExecution);
+            }
 
-                ExecutionEntity leavingExecution = null;
-                if (nrOfInstances > 0) {
-                    leavingExecution = executionEntity.getParent();
-                } else {
-                    CommandContextUtil.getHistoryManager().recordActivityEnd((ExecutionEntity) execution, null);
-                    leavingExecution = executionEntity;
-                }
+        } else {
+            sendCompletedEvent(execution);
+            super.leave(execution);
+        }
+    }
 
-                Activity activity = (Activity) execution.getCurrentFlowElement();
-                verifyCompensation(execution, leavingExecution, activity);
-                verifyCallActivity(leavingExecution, activity);
+    /**
+     * Leaves the multi instance activity when all instances are completed or the completion condition is satisfied.
+     * Returns whether the multi instance activity was left.
+     */
+    protected boolean completeIfFinished(ExecutionEntity execution, DelegateExecution miRootExecution, int nrOfInstances, int nrOfCompletedInstances) {
+        boolean isCompletionConditionSatisfied = completionConditionSatisfied(execution.getParent());
+        if (nrOfCompletedInstances < nrOfInstances && !isCompletionConditionSatisfied) {
+            return false;
+        }
+
+        ExecutionEntity leavingExecution = null;
+        if (nrOfInstances > 0) {
+            leavingExecution = execution.getParent();
+        } else {
+            CommandContextUtil.getHistoryManager().recordActivityEnd(execution, null);
+            leavingExecution = execution;
+        }
+
+        Activity activity = (Activity) execution.getCurrentFlowElement();
+        verifyCompensation(execution, leavingExecution, activity);
+        verifyCallActivity(leavingExecution, activity);
+        
+        if (nrOfInstances > 0 && isCompletionMarkersEnabled()) {
+            persistCompletionCounters((ExecutionEntity) miRootExecution);
+        }
+        
+        if (isCompletionConditionSatisfied) {
+            LinkedList<ExecutionEntity> toVerify = new LinkedList<>(((ExecutionEntity) miRootExecution).getExecutions());
+            while (!toVerify.isEmpty()) {
+                ExecutionEntity childExecution = toVerify.pop();
+                if (childExecution.isInserted()) {
+                    childExecution.inactivate();
+                }
                 
-                if (isCompletionConditionSatisfied) {
-                    LinkedList<DelegateExecution> toVerify = new LinkedList<>(miRootExecution.getExecutions());
-                    while (!toVerify.isEmpty()) {
-                        DelegateExecution childExecution = toVerify.pop();
-                        if (((ExecutionEntity) childExecution).isInserted()) {
-                            childExecution.inactivate();
-                        }
-                        
-                        List<DelegateExecution> childExecutions = (List<DelegateExecution>) childExecution.getExecutions();
-                        if (childExecutions != null && !childExecutions.isEmpty()) {
-                            toVerify.addAll(childExecutions);
-                        }
-                    }
-                    sendCompletedWithConditionEvent(leavingExecution);
+                List<? extends ExecutionEntity> childExecutions = childExecution.getExecutions();
+                if (childExecutions != null && !childExecutions.isEmpty()) {
+                    toVerify.addAll(childExecutions);
                 }
-                else {
-                    sendCompletedEvent(leavingExecution);
+            }
+            sendCompletedWithConditionEvent(leavingExecution);
+        }
+        else {
+            sendCompletedEvent(leavingExecution);
+        }
+
+        super.leave(leavingExecution);
+        return true;
+    }
+
+    /**
+     * Checks the completion of the multi instance activity again for the execution of a completed instance, when completion markers are used.
+     * Leaves the multi instance activity when all instances are completed by now (or the completion condition is satisfied)
+     * and it has not been left by another instance yet. Otherwise the counter variables of the multi instance root are updated
+     * to the completions seen by the check.
+     */
+    public void checkCompletion(ExecutionEntity execution, JobEntity job) {
+        if (execution.isEnded() || execution.isActive()) {
+            return; // the multi instance activity was left already
+        }
+
+        ExecutionEntity miRootExecution = (ExecutionEntity) getMultiInstanceRootExecution(execution);
+        if (miRootExecution == null || miRootExecution.isEnded()) {
+            return;
+        }
+
+        // The pending checks of the completions that are seen by this check are not needed anymore.
+        // They are looked up before the instances are counted, so their completions are committed and thus counted.
+        deletePendingCompletionChecks(miRootExecution, job);
+
+        setCompletionCounters(miRootExecution, countActiveInstances(miRootExecution), true);
+        int nrOfInstances = getLoopVariable(miRootExecution, NUMBER_OF_INSTANCES);
+        int nrOfCompletedInstances = getLoopVariable(miRootExecution, NUMBER_OF_COMPLETED_INSTANCES);
+        if (!completeIfFinished(execution, miRootExecution, nrOfInstances, nrOfCompletedInstances) && LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Multi instance '{}' ({}) does not complete after check: {} of {} instances completed", activity.getId(),
+                    miRootExecution.getId(), nrOfCompletedInstances, nrOfInstances);
+        }
+    }
+
+    /**
+     * Counts the active instance executions of the multi instance root, when completion markers are used.
+     * The instance executions are not loaded: the active ones are counted in the database, corrected for the instance executions
+     * that are created, completed or deleted in the current transaction (which are not flushed yet).
+     */
+    protected int countActiveInstances(ExecutionEntity multiInstanceRootExecution) {
+        CommandContext commandContext = CommandContextUtil.getCommandContext();
+        long activeInstances = new ExecutionQueryImpl(commandContext)
+                .parentId(multiInstanceRootExecution.getId())
+                .activityId(activity.getId())
+                .count();
+
+        for (ExecutionEntity cachedExecution : CommandContextUtil.getEntityCache(commandContext).findInCache(ExecutionEntity.class)) {
+            if (!multiInstanceRootExecution.getId().equals(cachedExecution.getParentId())) {
+                continue;
+            }
+
+            boolean active = !cachedExecution.isDeleted() && !cachedExecution.isEnded() && cachedExecution.isActive()
+                    && activity.getId().equals(cachedExecution.getCurrentActivityId());
+            boolean persistedActive = false;
+            if (!cachedExecution.isInserted()) {
+                Object originalPersistentState = cachedExecution.getOriginalPersistentState();
+                if (originalPersistentState instanceof Map && !((Map<?, ?>) originalPersistentState).isEmpty()) {
+                    Map<?, ?> originalState = (Map<?, ?>) originalPersistentState;
+                    persistedActive = Boolean.TRUE.equals(originalState.get("isActive")) && activity.getId().equals(originalState.get("activityId"));
+                } else {
+                    persistedActive = active; // not changed since it was fetched
                 }
+            }
 
-                super.leave(leavingExecution);
-              }
+            if (active && !persistedActive) {
+                activeInstances++;
+            } else if (!active && persistedActive) {
+                activeInstances--;
+            }
+        }
+        return (int) activeInstances;
+    }
 
+    /**
+     * Sets the <code>nrOfCompletedInstances</code> and <code>nrOfActiveInstances</code> counters of the multi instance root execution
+     * for the given number of active instance executions, when completion markers are used.
+     * 
+     * An instance completion sets them as transient variables for the evaluation of the completion, so it doesn't update the variables of the root.
+     * They are persisted by the completion checks and when the multi instance activity is left (see {@link #persistCompletionCounters(ExecutionEntity)}).
+     */
+    protected void setCompletionCounters(ExecutionEntity multiInstanceRootExecution, int nrOfActiveInstances, boolean persistent) {
+        // When the instances are created in batches, the instances that are not created yet are not completed either
+        int nrOfInstances = getLoopVariable(multiInstanceRootExecution, NUMBER_OF_INSTANCES);
+        Integer nrOfCreatedInstances = (Integer) multiInstanceRootExecution.getVariableLocal(NUMBER_OF_CREATED_INSTANCES);
+        int nrOfUncreatedInstances = nrOfCreatedInstances != null ? nrOfInstances - nrOfCreatedInstances : 0;
+        int nrOfCompletedInstances = nrOfInstances - nrOfActiveInstances - nrOfUncreatedInstances;
+
+        if (persistent) {
+            setChangedLoopVariable(multiInstanceRootExecution, NUMBER_OF_COMPLETED_INSTANCES, nrOfCompletedInstances);
+            setChangedLoopVariable(multiInstanceRootExecution, NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
         } else {
-            sendCompletedEvent(execution);
-            super.leave(execution);
+            multiInstanceRootExecution.setTransientVariableLocal(NUMBER_OF_COMPLETED_INSTANCES, nrOfCompletedInstances);
+            multiInstanceRootExecution.setTransientVariableLocal(NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
+        }
+    }
+
+    /**
+     * Persists the counters that were set as transient variables by an instance completion, when the multi instance activity is left.
+     */
+    protected void persistCompletionCounters(ExecutionEntity multiInstanceRootExecution) {
+        for (String counterName : new String[] { NUMBER_OF_COMPLETED_INSTANCES, NUMBER_OF_ACTIVE_INSTANCES }) {
+            Object counterValue = multiInstanceRootExecution.getTransientVariableLocal(counterName);
+            if (counterValue != null) {
+                multiInstanceRootExecution.removeTransientVariableLocal(counterName);
+                setChangedLoopVariable(multiInstanceRootExecution, counterName, (Integer) counterValue);
+            }
+        }
+    }
+
+    protected void setChangedLoopVariable(ExecutionEntity multiInstanceRootExecution, String variableName, int value) {
+        Object currentValue = multiInstanceRootExecution.getVariableLocal(variableName);
+        if (!Integer.valueOf(value).equals(currentValue)) {
+            setLoopVariable(multiInstanceRootExecution, variableName, value);
+        }
+    }
+
+    protected void scheduleCompletionCheck(ExecutionEntity execution, ExecutionEntity multiInstanceRootExecution) {
+        JobService jobService = CommandContextUtil.getJobService();
+
+        JobEntity job = jobService.createJob();
+        job.setExecutionId(execution.getId());
+        job.setProcessInstanceId(execution.getProcessInstanceId());
+        job.setProcessDefinitionId(execution.getProcessDefinitionId());
+        job.setJobHandlerType(ParallelMultiInstanceCompletionJobHandler.TYPE);
+        
+        // The multi instance root is the configuration, so the pending checks of the same multi instance activity can be found
+        job.setJobHandlerConfiguration(multiInstanceRootExecution.getId());
+
+        // Inherit tenant id (if applicable)
+        if (execution.getTenantId() != null) {
+            job.setTenantId(execution.getTenantId());
+        }
+
+        // The job is deleted together with the execution when the multi instance activity is left by another instance
+        execution.getJobs().add(job);
+
+        // Not exclusive, as the check doesn't need to lock the process instance: the multi instance activity can only be left once,
+        // because leaving it deletes the instance executions, which is checked against their revision
+        jobService.createAsyncJob(job, false);
+        jobService.scheduleAsyncJob(job);
+    }
+
+    protected void deletePendingCompletionChecks(ExecutionEntity multiInstanceRootExecution, JobEntity currentJob) {
+        JobService jobService = CommandContextUtil.getJobService();
+        List<Job> pendingJobs = jobService.createJobQuery()
+                .processInstanceId(multiInstanceRootExecution.getProcessInstanceId())
+                .handlerType(ParallelMultiInstanceCompletionJobHandler.TYPE)
+                .unlocked()
+                .list();
+        for (Job pendingJob : pendingJobs) {
+            if (multiInstanceRootExecution.getId().equals(pendingJob.getJobHandlerConfiguration())
+                    && (currentJob == null || !currentJob.getId().equals(pendingJob.getId()))) {
+                jobService.deleteJob((JobEntity) pendingJob);
+            }
         }
     }
 
@@ -241,6 +535,10 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
     }
 
 
+    protected boolean isCompletionMarkersEnabled() {
+        return CommandContextUtil.getProcessEngineConfiguration().getPerformanceSettings().isEnableParallelMultiInstanceCompletionMarkers();
+    }
+
     protected void lockFirstParentScope(DelegateExecution execution) {
 
         ExecutionEntityManager executionEntityManager = CommandContextUtil.getExecutionEntityManager();
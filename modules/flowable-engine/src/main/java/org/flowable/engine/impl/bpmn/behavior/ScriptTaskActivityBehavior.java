@@ -20,7 +20,10 @@ import org.flowable.engine.DynamicBpmnConstants;
 import org.flowable.engine.delegate.BpmnError;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.impl.bpmn.helper.ErrorPropagation;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.context.BpmnOverrideContext;
+import org.flowable.engine.impl.delegate.IsolatedActivityBehavior;
+import org.flowable.engine.impl.delegate.IsolatedVariableScope;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +37,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  * @author Christian Stettler
  * @author Falko Menge
  */
-public class ScriptTaskActivityBehavior extends TaskActivityBehavior {
+public class ScriptTaskActivityBehavior extends TaskActivityBehavior implements IsolatedActivityBehavior {
 
     private static final long serialVersionUID = 1L;
 
@@ -88,20 +91,65 @@ public class ScriptTaskActivityBehavior extends TaskActivityBehavior {
             }
 
         } catch (FlowableException e) {
-
-            LOGGER.warn("Exception while executing {} : {}", execution.getCurrentFlowElement().getId(), e.getMessage());
-
             noErrors = false;
-            Throwable rootCause = ExceptionUtils.getRootCause(e);
-            if (rootCause instanceof BpmnError) {
-                ErrorPropagation.propagateError((BpmnError) rootCause, execution);
-            } else {
-                throw e;
-            }
+            handleException(e, execution);
         }
         if (noErrors) {
             leave(execution);
         }
     }
 
+    protected void handleException(FlowableException e, DelegateExecution execution) {
+        LOGGER.warn("Exception while executing {} : {}", execution.getCurrentFlowElement().getId(), e.getMessage());
+
+        Throwable rootCause = ExceptionUtils.getRootCause(e);
+        if (rootCause instanceof BpmnError) {
+            ErrorPropagation.propagateError((BpmnError) rootCause, execution);
+        } else {
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isIsolatedExecutionSupported(DelegateExecution execution) {
+        // The script can only use the execution for its variables
+        if (!IsolatedVariableScope.isSupportedBy(script)) {
+            return false;
+        }
+        // An overridden script is applied by the regular execution
+        if (CommandContextUtil.getProcessEngineConfiguration().isEnableProcessDefinitionInfoCache()) {
+            ObjectNode taskElementProperties = BpmnOverrideContext.getBpmnOverrideElementProperties(scriptTaskId, execution.getProcessDefinitionId());
+            return taskElementProperties == null || !taskElementProperties.has(DynamicBpmnConstants.SCRIPT_TASK_SCRIPT);
+        }
+        return true;
+    }
+
+    @Override
+    public Object executeIsolated(IsolatedVariableScope variableScope, ProcessEngineConfigurationImpl processEngineConfiguration) {
+        Object result = processEngineConfiguration.getScriptingEngines().evaluate(script, language, variableScope, storeScriptVariables);
+        if (null != result) {
+            if (language.equalsIgnoreCase("juel") && (result instanceof String) && script.equals(result.toString())) {
+                throw new FlowableException("Error in Script");
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void completeIsolated(DelegateExecution execution, Object result) {
+        if (resultVariable != null) {
+            execution.setVariable(resultVariable, result);
+        }
+        leave(execution);
+    }
+
+    @Override
+    public void failIsolated(DelegateExecution execution, RuntimeException exception) {
+        if (exception instanceof FlowableException) {
+            handleException((FlowableException) exception, execution);
+        } else {
+            throw exception;
+        }
+    }
+
 }
@@ -24,7 +24,10 @@ import org.flowable.engine.delegate.BpmnError;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.impl.bpmn.helper.ErrorPropagation;
 import org.flowable.engine.impl.bpmn.helper.SkipExpressionUtil;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.context.BpmnOverrideContext;
+import org.flowable.engine.impl.delegate.IsolatedActivityBehavior;
+import org.flowable.engine.impl.delegate.IsolatedVariableScope;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
 
@@ -40,7 +43,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  * @author Falko Menge
  * @author Filip Hrisafov
  */
-public class ServiceTaskExpressionActivityBehavior extends TaskActivityBehavior {
+public class ServiceTaskExpressionActivityBehavior extends TaskActivityBehavior implements IsolatedActivityBehavior {
 
     private static final long serialVersionUID = 1L;
 
@@ -89,27 +92,66 @@ public class ServiceTaskExpressionActivityBehavior extends TaskActivityBehavior
             }
 
             leave(execution);
-        } catch (Exception exc) {
-
-            Throwable cause = exc;
-            BpmnError error = null;
-            while (cause != null) {
-                if (cause instanceof BpmnError) {
-                    error = (BpmnError) cause;
-                    break;
-                } else if (cause instanceof RuntimeException) {
-                    if (ErrorPropagation.mapException((RuntimeException) cause, (ExecutionEntity) execution, mapExceptions)) {
-                        return;
-                    }
+        } catch (RuntimeException exc) {
+            handleException(exc, execution);
+        }
+    }
+
+    protected void handleException(RuntimeException exc, DelegateExecution execution) {
+        Throwable cause = exc;
+        BpmnError error = null;
+        while (cause != null) {
+            if (cause instanceof BpmnError) {
+                error = (BpmnError) cause;
+                break;
+            } else if (cause instanceof RuntimeException) {
+                if (ErrorPropagation.mapException((RuntimeException) cause, (ExecutionEntity) execution, mapExceptions)) {
+                    return;
                 }
-                cause = cause.getCause();
             }
+            cause = cause.getCause();
+        }
+
+        if (error != null) {
+            ErrorPropagation.propagateError(error, execution);
+        } else {
+            throw exc;
+        }
+    }
+
+    @Override
+    public boolean isIsolatedExecutionSupported(DelegateExecution execution) {
+        // Skip expressions need the execution, the expression can only use the execution for its variables
+        // and an overridden expression is applied by the regular execution
+        if (skipExpression != null || !IsolatedVariableScope.isSupportedBy(expression.getExpressionText())) {
+            return false;
+        }
+        if (CommandContextUtil.getProcessEngineConfiguration().isEnableProcessDefinitionInfoCache()) {
+            ObjectNode taskElementProperties = BpmnOverrideContext.getBpmnOverrideElementProperties(serviceTaskId, execution.getProcessDefinitionId());
+            return taskElementProperties == null || !taskElementProperties.has(DynamicBpmnConstants.SERVICE_TASK_EXPRESSION);
+        }
+        return true;
+    }
+
+    @Override
+    public Object executeIsolated(IsolatedVariableScope variableScope, ProcessEngineConfigurationImpl processEngineConfiguration) {
+        return expression.getValue(variableScope);
+    }
 
-            if (error != null) {
-                ErrorPropagation.propagateError(error, execution);
+    @Override
+    public void completeIsolated(DelegateExecution execution, Object result) {
+        if (resultVariable != null) {
+            if (useLocalScopeForResultVariable) {
+                execution.setVariableLocal(resultVariable, result);
             } else {
-                throw exc;
+                execution.setVariable(resultVariable, result);
             }
         }
+        leave(execution);
+    }
+
+    @Override
+    public void failIsolated(DelegateExecution execution, RuntimeException exception) {
+        handleException(exception, execution);
     }
 }
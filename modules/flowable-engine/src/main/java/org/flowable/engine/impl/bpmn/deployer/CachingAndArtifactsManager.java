@@ -49,7 +49,7 @@ public class CachingAndArtifactsManager {
         for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
             BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
             Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
-            ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+            ProcessDefinitionCacheEntry cacheEntry = createCacheEntry(processDefinition, bpmnModel, process, processEngineConfiguration);
             processDefinitionCache.add(processDefinition.getId(), cacheEntry);
             addDefinitionInfoToCache(processDefinition, processEngineConfiguration, commandContext);
 
@@ -68,11 +68,22 @@ public class CachingAndArtifactsManager {
         for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
             BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
             Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
-            ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+            ProcessDefinitionCacheEntry cacheEntry = createCacheEntry(processDefinition, bpmnModel, process, processEngineConfiguration);
             processDefinitionCache.add(processDefinition.getId(), cacheEntry);
         }
     }
 
+    protected ProcessDefinitionCacheEntry createCacheEntry(ProcessDefinitionEntity processDefinition, BpmnModel bpmnModel, Process process,
+            ProcessEngineConfigurationImpl processEngineConfiguration) {
+        
+        ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+        if (processEngineConfiguration.getPerformanceSettings().isEnableProcessExecutionPlans()) {
+            ProcessExecutionPlanCompiler compiler = new ProcessExecutionPlanCompiler(processEngineConfiguration.getExpressionManager());
+            cacheEntry.setExecutionPlan(compiler.compile(processDefinition.getId(), process));
+        }
+        return cacheEntry;
+    }
+
     protected void addDefinitionInfoToCache(ProcessDefinitionEntity processDefinition,
             ProcessEngineConfigurationImpl processEngineConfiguration, CommandContext commandContext) {
 
@@ -0,0 +1,122 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.bpmn.deployer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.bpmn.model.Activity;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.FlowableListener;
+import org.flowable.bpmn.model.Gateway;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.engine.delegate.ExecutionListener;
+import org.flowable.engine.impl.persistence.deploy.FlowNodeExecutionPlan;
+import org.flowable.engine.impl.persistence.deploy.ProcessExecutionPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles the {@link ProcessExecutionPlan} of a process definition, with a {@link FlowNodeExecutionPlan} for every flow node of the process.
+ */
+public class ProcessExecutionPlanCompiler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessExecutionPlanCompiler.class);
+
+    protected ExpressionManager expressionManager;
+
+    public ProcessExecutionPlanCompiler(ExpressionManager expressionManager) {
+        this.expressionManager = expressionManager;
+    }
+
+    public ProcessExecutionPlan compile(String processDefinitionId, Process process) {
+        Map<FlowNode, FlowNodeExecutionPlan> flowNodePlans = new HashMap<>();
+        for (FlowElement flowElement : process.getFlowElementMap().values()) {
+            if (flowElement instanceof FlowNode) {
+                FlowNode flowNode = (FlowNode) flowElement;
+                FlowNodeExecutionPlan flowNodePlan = compileFlowNode(flowNode);
+                if (flowNodePlan != null) {
+                    flowNodePlans.put(flowNode, flowNodePlan);
+                }
+            }
+        }
+
+        return new ProcessExecutionPlan(processDefinitionId, Collections.unmodifiableMap(flowNodePlans));
+    }
+
+    /**
+     * Returns null when the node can't be compiled (e.g. an invalid expression, which should only fail when it's evaluated),
+     * the node is then executed without plan.
+     */
+    protected FlowNodeExecutionPlan compileFlowNode(FlowNode flowNode) {
+        List<SequenceFlow> outgoingFlows = new ArrayList<>(flowNode.getOutgoingFlows());
+        Expression[] conditionExpressions = new Expression[outgoingFlows.size()];
+        Expression[] skipExpressions = new Expression[outgoingFlows.size()];
+        for (int i = 0; i < outgoingFlows.size(); i++) {
+            SequenceFlow sequenceFlow = outgoingFlows.get(i);
+            try {
+                if (StringUtils.isNotEmpty(sequenceFlow.getConditionExpression())) {
+                    conditionExpressions[i] = expressionManager.createExpression(sequenceFlow.getConditionExpression());
+                }
+                if (sequenceFlow.getSkipExpression() != null) {
+                    skipExpressions[i] = expressionManager.createExpression(sequenceFlow.getSkipExpression());
+                }
+                
+            } catch (RuntimeException e) {
+                LOGGER.debug("Could not compile expression of sequence flow {}, flow node {} is executed without execution plan", sequenceFlow.getId(), flowNode.getId(), e);
+                return null;
+            }
+        }
+
+        String defaultFlowId = null;
+        if (flowNode instanceof Activity) {
+            defaultFlowId = ((Activity) flowNode).getDefaultFlow();
+        } else if (flowNode instanceof Gateway) {
+            defaultFlowId = ((Gateway) flowNode).getDefaultFlow();
+        }
+
+        SequenceFlow defaultFlow = null;
+        if (defaultFlowId != null) {
+            for (SequenceFlow sequenceFlow : outgoingFlows) {
+                if (defaultFlowId.equals(sequenceFlow.getId())) {
+                    defaultFlow = sequenceFlow;
+                    break;
+                }
+            }
+        }
+
+        return new FlowNodeExecutionPlan(flowNode, Collections.unmodifiableList(outgoingFlows), conditionExpressions, skipExpressions, defaultFlowId, defaultFlow,
+                getExecutionListeners(flowNode, ExecutionListener.EVENTNAME_START), getExecutionListeners(flowNode, ExecutionListener.EVENTNAME_END));
+    }
+
+    protected List<FlowableListener> getExecutionListeners(FlowNode flowNode, String eventType) {
+        List<FlowableListener> executionListeners = new ArrayList<>();
+        if (flowNode.getExecutionListeners() != null) {
+            for (FlowableListener listener : flowNode.getExecutionListeners()) {
+                if (eventType.equals(listener.getEvent())) {
+                    executionListeners.add(listener);
+                }
+            }
+        }
+        return executionListeners.isEmpty() ? Collections.<FlowableListener>emptyList() : Collections.unmodifiableList(executionListeners);
+    }
+
+}
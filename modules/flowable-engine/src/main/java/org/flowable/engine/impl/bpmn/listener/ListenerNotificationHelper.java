@@ -47,7 +47,13 @@ import org.flowable.task.service.impl.persistence.entity.TaskEntity;
 public class ListenerNotificationHelper {
 
     public void executeExecutionListeners(HasExecutionListeners elementWithExecutionListeners, DelegateExecution execution, String eventType) {
-        List<FlowableListener> listeners = elementWithExecutionListeners.getExecutionListeners();
+        executeExecutionListeners(elementWithExecutionListeners.getExecutionListeners(), execution, eventType);
+    }
+
+    /**
+     * Executes the given listeners that are defined for the given event type (e.g. the precompiled listeners of an execution plan).
+     */
+    public void executeExecutionListeners(List<FlowableListener> listeners, DelegateExecution execution, String eventType) {
         if (listeners != null && listeners.size() > 0) {
             ListenerFactory listenerFactory = CommandContextUtil.getProcessEngineConfiguration().getListenerFactory();
             for (FlowableListener listener : listeners) {
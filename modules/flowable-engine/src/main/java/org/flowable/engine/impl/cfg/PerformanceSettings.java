@@ -61,6 +61,46 @@ public class PerformanceSettings {
      */
     protected boolean enableLocalization = true;
 
+    /**
+     * If true, the agenda reuses the instances of the operations that are planned for every step of a process instance
+     * (continuing the process and taking the outgoing sequence flows) once they are executed, instead of creating new ones.
+     * 
+     * This lowers the number of short-lived objects created when executing long chains of (automatic) steps in one transaction.
+     * Custom agendas or operations should not keep references to these operations after they are executed when this is enabled.
+     */
+    protected boolean enableAgendaOperationPooling = false;
+
+    /**
+     * If true, the completion of an instance of a parallel multi instance activity doesn't update the <code>nrOfCompletedInstances</code>
+     * and <code>nrOfActiveInstances</code> variables of the multi instance root execution.
+     * The completed instance is marked by its own (inactive) execution instead. The counters are derived from the number of active instance executions
+     * (counted in the database, without loading them) when the completion is evaluated, so the completion condition sees the same values as before.
+     * 
+     * Concurrent completions (e.g. asynchronous instances) then don't update any shared row.
+     * A completion that doesn't see all other completions (e.g. because they are not committed yet) schedules a non exclusive job that checks the completion again,
+     * so the multi instance activity is left even when the last concurrent completions don't see each other. Such a check also persists the counter variables
+     * of the root and removes the pending checks of the completions it has seen, so the counter variables are updated shortly after the completions.
+     */
+    protected boolean enableParallelMultiInstanceCompletionMarkers = false;
+
+    /**
+     * If true, an execution arriving in a joining parallel gateway doesn't lock the parent scope execution.
+     * The arrival is only recorded by the (inactive) execution itself, so concurrent branches arriving in the same gateway don't update the same row.
+     * 
+     * The join is activated once, because activating it deletes the joined executions, which fails for all but one transaction.
+     * An arrival that doesn't see all other arrivals (e.g. because they are not committed yet) schedules a non exclusive job that checks the join again,
+     * so the gateway is activated even when the last concurrent arrivals don't see each other. Such a check removes the pending checks of the arrivals
+     * it has seen, so only one check per join runs when the arrivals are committed by the time the checks are executed.
+     */
+    protected boolean enableLockFreeParallelGatewayJoin = false;
+
+    /**
+     * If true, an execution plan is compiled for every process definition when it is put in the process definition cache
+     * (resolved sequence flows and default flows, parsed condition and skip expressions and the execution listeners per event),
+     * which the agenda operations then use instead of looking these up in the model and parsing the expressions again for every step.
+     */
+    protected boolean enableProcessExecutionPlans = false;
+
     public boolean isEnableEagerExecutionTreeFetching() {
         return enableEagerExecutionTreeFetching;
     }
@@ -109,4 +149,36 @@ public class PerformanceSettings {
         this.enableLocalization = enableLocalization;
     }
 
+    public boolean isEnableAgendaOperationPooling() {
+        return enableAgendaOperationPooling;
+    }
+
+    public void setEnableAgendaOperationPooling(boolean enableAgendaOperationPooling) {
+        this.enableAgendaOperationPooling = enableAgendaOperationPooling;
+    }
+
+    public boolean isEnableParallelMultiInstanceCompletionMarkers() {
+        return enableParallelMultiInstanceCompletionMarkers;
+    }
+
+    public void setEnableParallelMultiInstanceCompletionMarkers(boolean enableParallelMultiInstanceCompletionMarkers) {
+        this.enableParallelMultiInstanceCompletionMarkers = enableParallelMultiInstanceCompletionMarkers;
+    }
+
+    public boolean isEnableLockFreeParallelGatewayJoin() {
+        return enableLockFreeParallelGatewayJoin;
+    }
+
+    public void setEnableLockFreeParallelGatewayJoin(boolean enableLockFreeParallelGatewayJoin) {
+        this.enableLockFreeParallelGatewayJoin = enableLockFreeParallelGatewayJoin;
+    }
+
+    public boolean isEnableProcessExecutionPlans() {
+        return enableProcessExecutionPlans;
+    }
+
+    public void setEnableProcessExecutionPlans(boolean enableProcessExecutionPlans) {
+        this.enableProcessExecutionPlans = enableProcessExecutionPlans;
+    }
+
 }
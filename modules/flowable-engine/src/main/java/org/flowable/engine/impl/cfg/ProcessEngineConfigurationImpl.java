@@ -27,6 +27,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
 
 import javax.xml.namespace.QName;
 
@@ -204,6 +205,7 @@ import org.flowable.engine.impl.form.JuelFormEngine;
 import org.flowable.engine.impl.form.LongFormType;
 import org.flowable.engine.impl.form.StringFormType;
 import org.flowable.engine.impl.formhandler.DefaultFormFieldHandler;
+import org.flowable.engine.impl.history.BpmnHistoryCleaner;
 import org.flowable.engine.impl.history.DefaultHistoryManager;
 import org.flowable.engine.impl.history.DefaultHistoryTaskManager;
 import org.flowable.engine.impl.history.DefaultHistoryVariableManager;
@@ -243,6 +245,9 @@ import org.flowable.engine.impl.jobexecutor.AsyncCompleteCallActivityJobHandler;
 import org.flowable.engine.impl.jobexecutor.AsyncContinuationJobHandler;
 import org.flowable.engine.impl.jobexecutor.AsyncTriggerJobHandler;
 import org.flowable.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
+import org.flowable.engine.impl.jobexecutor.ParallelGatewayJoinJobHandler;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceCompletionJobHandler;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceCreationJobHandler;
 import org.flowable.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.flowable.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
 import org.flowable.engine.impl.jobexecutor.TimerStartEventJobHandler;
@@ -344,6 +349,7 @@ import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncRunnableExecution
 import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
 import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
 import org.flowable.job.service.impl.asyncexecutor.JobManager;
+import org.flowable.job.service.impl.asyncexecutor.JobPartitionManager;
 import org.flowable.job.service.impl.db.JobDbSchemaManager;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobZippedHandler;
@@ -351,7 +357,12 @@ import org.flowable.job.service.impl.history.async.AsyncHistoryListener;
 import org.flowable.job.service.impl.history.async.AsyncHistorySession;
 import org.flowable.job.service.impl.history.async.AsyncHistorySessionFactory;
 import org.flowable.job.service.impl.history.async.DefaultAsyncHistoryJobProducer;
+import org.flowable.job.service.impl.history.async.codec.AsyncHistoryPayloadCodec;
+import org.flowable.job.service.impl.history.async.sink.StreamingAsyncHistoryListener;
 import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
+import org.flowable.job.service.impl.history.cleanup.HistoryArchiver;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleaner;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleanupJobHandler;
 import org.flowable.task.api.TaskQueryInterceptor;
 import org.flowable.task.api.history.HistoricTaskQueryInterceptor;
 import org.flowable.task.service.InternalTaskAssignmentManager;
@@ -470,7 +481,31 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected boolean isAsyncHistoryJsonGzipCompressionEnabled;
     protected boolean isAsyncHistoryJsonGroupingEnabled;
     protected int asyncHistoryJsonGroupingThreshold = 10;
+    /**
+     * Whether historic events for the same entity within one transaction are merged before the history job is created
+     * (e.g. activity start and end, variable creation and updates, task creation and property changes).
+     * See {@link HistoryJsonConstants#COALESCING_RULES}.
+     */
+    protected boolean isAsyncHistoryCoalescingEnabled = true;
     protected AsyncHistoryListener asyncHistoryListener;
+    /**
+     * Encodes the historical data stored with async history jobs. When null, the data is stored as json.
+     * See {@link org.flowable.job.service.impl.history.async.codec.BinaryAsyncHistoryPayloadCodec} for a compact binary alternative.
+     */
+    protected AsyncHistoryPayloadCodec asyncHistoryPayloadCodec;
+
+    /**
+     * Whether a repeating timer job removes the history of instances that have ended longer than
+     * cleanInstancesEndedAfterNumberOfDays ago, following the historyCleaningTimeCycleConfig (a cron expression or an ISO 8601 repetition).
+     */
+    protected boolean enableHistoryCleaning;
+    protected String historyCleaningTimeCycleConfig = "0 0 1 * * ?";
+    protected int cleanInstancesEndedAfterNumberOfDays = 365;
+    protected int historyCleaningBatchSize = 100;
+    protected int historyCleaningMaxBatchesPerRun = 100;
+    protected HistoryArchiver historyArchiver;
+    protected List<HistoryCleaner> customHistoryCleaners;
+    protected HistoryCleanupJobHandler historyCleanupJobHandler;
 
     // Job Manager
 
@@ -564,6 +599,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected int asyncExecutorThreadPoolQueueSize = 100;
 
+    /**
+     * When true, the async executor threadpool wakes up the job acquisition thread as soon as a worker is available again after the queue was full,
+     * instead of the acquisition thread waiting for the acquire wait time. Default value = false. (This property is only applicable when using the
+     * {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorFreeCapacityNotificationEnabled;
+
+    /**
+     * When true, the async executor executes each job on its own virtual thread (or on an unbounded threadpool when the JVM doesn't support virtual threads)
+     * instead of on the bounded threadpool and queue. The number of concurrently executing jobs is then limited by {@link #asyncExecutorMaxConcurrentJobs}.
+     * Default value = false. (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorVirtualThreadsEnabled;
+    protected int asyncExecutorMaxConcurrentJobs = 100;
+
     /**
      * The queue onto which jobs will be placed before they are actually executed. Threads form the async executor threadpool will take work from this queue.
      * <p>
@@ -651,6 +701,52 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected int asyncExecutorAsyncJobLockTimeInMillis = 5 * 60 * 1000;
 
+    /**
+     * When true, the async executor locks all jobs of one acquisition with a single update statement.
+     * Jobs that were locked concurrently by another async executor are skipped, instead of the whole acquisition failing with an optimistic locking exception.
+     * <p>
+     * Default value = false;
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorBulkJobLockEnabled;
+
+    /**
+     * When true, the async executor adapts the number of jobs per acquisition and the wait time between acquisitions to the acquisition results:
+     * it acquires bigger pages without waiting while full pages are acquired, and backs off when nothing is acquired,
+     * when optimistic locking exceptions occur or when the workers have no free capacity.
+     * The configured max jobs per acquisition are then the initial page sizes and the configured acquire wait times the maximum wait times.
+     * <p>
+     * Default value = false;
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorAdaptiveAcquisitionEnabled;
+
+    /**
+     * The number of partitions the async and timer jobs are divided over. When bigger than 0, every job gets a partition based on its (process or case) instance
+     * and the async executors of a cluster lease the partitions between them: each async executor only acquires the jobs of the partitions it owns,
+     * instead of all async executors competing for the same jobs. When an async executor goes down, its partitions are taken over by the others when the leases expire.
+     * <p>
+     * All nodes need to use the same number of partitions. Jobs without a partition, e.g. created before partitioning was enabled, are acquired by all async executors.
+     * <p>
+     * Default value = 0 (no partitioning);
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected int asyncExecutorJobPartitionCount;
+
+    /**
+     * When true, the async executor groups the acquired exclusive jobs by process instance and executes the jobs of one instance one after the other on one worker,
+     * locking the instance only once. Without grouping, every exclusive job locks and unlocks the instance in separate transactions
+     * and jobs that fail to get the lock are unacquired and retried later, which is costly for instances with many parallel async paths.
+     * <p>
+     * Default value = false;
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorExclusiveJobGroupingEnabled;
+
     /**
      * The amount of time (in milliseconds) that is between two consecutive checks of 'expired jobs'. Expired jobs are jobs that were locked (a lock owner + time was written by some executor, but the
      * job was never completed).
@@ -702,12 +798,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected int asyncHistoryExecutorMaxPoolSize = 10;
     protected long asyncHistoryExecutorThreadKeepAliveTime = 5000L;
     protected int asyncHistoryExecutorThreadPoolQueueSize = 100;
+    protected boolean asyncHistoryExecutorVirtualThreadsEnabled;
+    protected int asyncHistoryExecutorMaxConcurrentJobs = 100;
     protected BlockingQueue<Runnable> asyncHistoryExecutorThreadPoolQueue;
     protected long asyncHistoryExecutorSecondsToWaitOnShutdown = 60L;
     protected int asyncHistoryExecutorDefaultAsyncJobAcquireWaitTime = 10 * 1000;
     protected int asyncHistoryExecutorDefaultQueueSizeFullWaitTime;
     protected String asyncHistoryExecutorLockOwner;
     protected int asyncHistoryExecutorAsyncJobLockTimeInMillis = 5 * 60 * 1000;
+    /**
+     * The number of history jobs that are executed together in one transaction, flushing the historic data of all of them with bulk inserts.
+     * When a batch fails, its jobs are executed again one by one. Default value = 1 (every history job in its own transaction).
+     */
+    protected int asyncHistoryExecutorBatchSize = 1;
     protected int asyncHistoryExecutorResetExpiredJobsInterval = 60 * 1000;
     protected int asyncHistoryExecutorResetExpiredJobsPageSize = 3;
     protected boolean isAsyncHistoryExecutorAsyncJobAcquisitionEnabled = true;
@@ -859,6 +962,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     // agenda factory
     protected FlowableEngineAgendaFactory agendaFactory;
 
+    /**
+     * The executor service used to do the work of the branches of a parallel gateway with concurrent branches.
+     * When not set, the branches are executed one after the other on the thread of the command.
+     * The work is done without a command context, so the scripts and expressions of these branches (and the beans they call) must not use the engine.
+     */
+    protected ExecutorService concurrentBranchExecutorService;
+
+    /**
+     * When larger than zero, a parallel multi instance activity with more instances than this number creates its instances in batches of this size.
+     * Only the first batch is created when the activity is started, every next batch is created by an asynchronous job.
+     */
+    protected int parallelMultiInstanceCreationBatchSize;
+
     protected SchemaManager identityLinkSchemaManager;
     protected SchemaManager entityLinkSchemaManager;
     protected SchemaManager variableSchemaManager;
@@ -1334,7 +1450,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             sessionFactories.put(AsyncHistorySession.class, asyncHistorySessionFactory);
         }
         
-        ((AsyncHistorySessionFactory) sessionFactories.get(AsyncHistorySession.class)).registerJobDataTypes(HistoryJsonConstants.ORDERED_TYPES);
+        AsyncHistorySessionFactory asyncHistorySessionFactory = (AsyncHistorySessionFactory) sessionFactories.get(AsyncHistorySession.class);
+        asyncHistorySessionFactory.registerJobDataTypes(HistoryJsonConstants.ORDERED_TYPES);
+        if (isAsyncHistoryCoalescingEnabled) {
+            asyncHistorySessionFactory.registerCoalescingRules(HistoryJsonConstants.COALESCING_RULES);
+        }
     }
 
     protected void initDefaultAsyncHistoryListener() {
@@ -1514,6 +1634,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             jobServiceConfiguration.setAsyncHistoryJsonGzipCompressionEnabled(isAsyncHistoryJsonGzipCompressionEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingThreshold(asyncHistoryJsonGroupingThreshold);
+            if (asyncHistoryPayloadCodec != null) {
+                jobServiceConfiguration.setAsyncHistoryPayloadCodec(asyncHistoryPayloadCodec);
+            }
 
             // set the job processors
             this.jobServiceConfiguration.setJobProcessors(this.jobProcessors);
@@ -1521,6 +1644,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             
             this.jobServiceConfiguration.setJobExecutionScope(this.jobExecutionScope);
             this.jobServiceConfiguration.setHistoryJobExecutionScope(this.historyJobExecutionScope);
+
+            if (asyncExecutorJobPartitionCount > 0) {
+                this.jobServiceConfiguration.setJobPartitionManager(new JobPartitionManager(asyncExecutorJobPartitionCount));
+            }
     
             this.jobServiceConfiguration.init();
         }
@@ -1872,6 +1999,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         
         AsyncCompleteCallActivityJobHandler asyncCompleteCallActivityJobHandler = new AsyncCompleteCallActivityJobHandler();
         jobHandlers.put(asyncCompleteCallActivityJobHandler.getType(), asyncCompleteCallActivityJobHandler);
+        
+        ParallelMultiInstanceCreationJobHandler parallelMultiInstanceCreationJobHandler = new ParallelMultiInstanceCreationJobHandler();
+        jobHandlers.put(parallelMultiInstanceCreationJobHandler.getType(), parallelMultiInstanceCreationJobHandler);
+        
+        ParallelMultiInstanceCompletionJobHandler parallelMultiInstanceCompletionJobHandler = new ParallelMultiInstanceCompletionJobHandler();
+        jobHandlers.put(parallelMultiInstanceCompletionJobHandler.getType(), parallelMultiInstanceCompletionJobHandler);
+        
+        ParallelGatewayJoinJobHandler parallelGatewayJoinJobHandler = new ParallelGatewayJoinJobHandler();
+        jobHandlers.put(parallelGatewayJoinJobHandler.getType(), parallelGatewayJoinJobHandler);
+
+        if (enableHistoryCleaning) {
+            initHistoryCleanupJobHandler();
+            jobHandlers.put(historyCleanupJobHandler.getType(), historyCleanupJobHandler);
+        }
 
         // if we have custom job handlers, register them
         if (getCustomJobHandlers() != null) {
@@ -1881,6 +2022,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         }
     }
 
+    public void initHistoryCleanupJobHandler() {
+        if (historyCleanupJobHandler == null) {
+            historyCleanupJobHandler = new HistoryCleanupJobHandler();
+        }
+        historyCleanupJobHandler.setCleanInstancesEndedAfterNumberOfDays(cleanInstancesEndedAfterNumberOfDays);
+        historyCleanupJobHandler.setBatchSize(historyCleaningBatchSize);
+        historyCleanupJobHandler.setMaxBatchesPerRun(historyCleaningMaxBatchesPerRun);
+        historyCleanupJobHandler.setHistoryArchiver(historyArchiver);
+
+        historyCleanupJobHandler.addHistoryCleaner(new BpmnHistoryCleaner(this));
+        if (customHistoryCleaners != null) {
+            for (HistoryCleaner customHistoryCleaner : customHistoryCleaners) {
+                historyCleanupJobHandler.addHistoryCleaner(customHistoryCleaner);
+            }
+        }
+    }
+
     protected void initHistoryJobHandlers() {
         if (isAsyncHistoryEnabled) {
             historyJobHandlers = new HashMap<>();
@@ -1900,6 +2058,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             asyncHistoryJobZippedHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             historyJobHandlers.put(asyncHistoryJobZippedHandler.getType(), asyncHistoryJobZippedHandler);
 
+            if (asyncHistoryListener instanceof StreamingAsyncHistoryListener) {
+                HistoryJobHandler asyncHistorySinkJobHandler = ((StreamingAsyncHistoryListener) asyncHistoryListener).createJobHandler();
+                historyJobHandlers.put(asyncHistorySinkJobHandler.getType(), asyncHistorySinkJobHandler);
+            }
+
             if (getCustomHistoryJobHandlers() != null) {
                 for (HistoryJobHandler customJobHandler : getCustomHistoryJobHandlers()) {
                     historyJobHandlers.put(customJobHandler.getType(), customJobHandler);
@@ -1967,6 +2130,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
                 defaultAsyncExecutor.setThreadPoolQueue(asyncExecutorThreadPoolQueue);
             }
             defaultAsyncExecutor.setQueueSize(asyncExecutorThreadPoolQueueSize);
+            defaultAsyncExecutor.setFreeCapacityNotificationEnabled(asyncExecutorFreeCapacityNotificationEnabled);
+            defaultAsyncExecutor.setVirtualThreadsEnabled(asyncExecutorVirtualThreadsEnabled);
+            defaultAsyncExecutor.setMaxConcurrentJobs(asyncExecutorMaxConcurrentJobs);
             
             // Thread flags
             defaultAsyncExecutor.setAsyncJobAcquisitionEnabled(isAsyncExecutorAsyncJobAcquisitionEnabled);
@@ -1983,6 +2149,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             // Job locking
             defaultAsyncExecutor.setTimerLockTimeInMillis(asyncExecutorTimerLockTimeInMillis);
             defaultAsyncExecutor.setAsyncJobLockTimeInMillis(asyncExecutorAsyncJobLockTimeInMillis);
+            defaultAsyncExecutor.setBulkJobLockEnabled(asyncExecutorBulkJobLockEnabled);
+            defaultAsyncExecutor.setAdaptiveAcquisitionEnabled(asyncExecutorAdaptiveAcquisitionEnabled);
+            defaultAsyncExecutor.setExclusiveJobGroupingEnabled(asyncExecutorExclusiveJobGroupingEnabled);
             if (asyncExecutorLockOwner != null) {
                 defaultAsyncExecutor.setLockOwner(asyncExecutorLockOwner);
             }
@@ -2020,6 +2189,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
                     defaultAsyncHistoryExecutor.setThreadPoolQueue(asyncHistoryExecutorThreadPoolQueue);
                 }
                 defaultAsyncHistoryExecutor.setQueueSize(asyncHistoryExecutorThreadPoolQueueSize);
+                defaultAsyncHistoryExecutor.setVirtualThreadsEnabled(asyncHistoryExecutorVirtualThreadsEnabled);
+                defaultAsyncHistoryExecutor.setMaxConcurrentJobs(asyncHistoryExecutorMaxConcurrentJobs);
                 
                 // Thread flags
                 defaultAsyncHistoryExecutor.setAsyncJobAcquisitionEnabled(isAsyncHistoryExecutorAsyncJobAcquisitionEnabled);
@@ -2034,6 +2205,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     
                 // Job locking
                 defaultAsyncHistoryExecutor.setAsyncJobLockTimeInMillis(asyncHistoryExecutorAsyncJobLockTimeInMillis);
+
+                // Batching, acquiring a full batch at once
+                if (asyncHistoryExecutorBatchSize > 1) {
+                    defaultAsyncHistoryExecutor.setHistoryJobBatchSize(asyncHistoryExecutorBatchSize);
+                    defaultAsyncHistoryExecutor.setMaxAsyncJobsDuePerAcquisition(asyncHistoryExecutorBatchSize);
+                }
                 if (asyncHistoryExecutorLockOwner != null) {
                     defaultAsyncHistoryExecutor.setLockOwner(asyncHistoryExecutorLockOwner);
                 }
@@ -3026,6 +3203,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public ExecutorService getConcurrentBranchExecutorService() {
+        return concurrentBranchExecutorService;
+    }
+
+    public ProcessEngineConfigurationImpl setConcurrentBranchExecutorService(ExecutorService concurrentBranchExecutorService) {
+        this.concurrentBranchExecutorService = concurrentBranchExecutorService;
+        return this;
+    }
+
+    public int getParallelMultiInstanceCreationBatchSize() {
+        return parallelMultiInstanceCreationBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setParallelMultiInstanceCreationBatchSize(int parallelMultiInstanceCreationBatchSize) {
+        this.parallelMultiInstanceCreationBatchSize = parallelMultiInstanceCreationBatchSize;
+        return this;
+    }
+
     public Map<String, JobHandler> getJobHandlers() {
         return jobHandlers;
     }
@@ -3510,6 +3705,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public ProcessEngineConfigurationImpl setEnableAgendaOperationPooling(boolean enableAgendaOperationPooling) {
+        this.performanceSettings.setEnableAgendaOperationPooling(enableAgendaOperationPooling);
+        return this;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableParallelMultiInstanceCompletionMarkers(boolean enableParallelMultiInstanceCompletionMarkers) {
+        this.performanceSettings.setEnableParallelMultiInstanceCompletionMarkers(enableParallelMultiInstanceCompletionMarkers);
+        return this;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableLockFreeParallelGatewayJoin(boolean enableLockFreeParallelGatewayJoin) {
+        this.performanceSettings.setEnableLockFreeParallelGatewayJoin(enableLockFreeParallelGatewayJoin);
+        return this;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableProcessExecutionPlans(boolean enableProcessExecutionPlans) {
+        this.performanceSettings.setEnableProcessExecutionPlans(enableProcessExecutionPlans);
+        return this;
+    }
+
     public AttachmentDataManager getAttachmentDataManager() {
         return attachmentDataManager;
     }
@@ -3861,6 +4076,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.asyncHistoryJsonGroupingThreshold = asyncHistoryJsonGroupingThreshold;
     }
 
+    public boolean isAsyncHistoryCoalescingEnabled() {
+        return isAsyncHistoryCoalescingEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryCoalescingEnabled(boolean isAsyncHistoryCoalescingEnabled) {
+        this.isAsyncHistoryCoalescingEnabled = isAsyncHistoryCoalescingEnabled;
+        return this;
+    }
+
+    public AsyncHistoryPayloadCodec getAsyncHistoryPayloadCodec() {
+        return asyncHistoryPayloadCodec;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryPayloadCodec(AsyncHistoryPayloadCodec asyncHistoryPayloadCodec) {
+        this.asyncHistoryPayloadCodec = asyncHistoryPayloadCodec;
+        return this;
+    }
+
     public AsyncHistoryListener getAsyncHistoryListener() {
         return asyncHistoryListener;
     }
@@ -4019,6 +4252,78 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
     
+    public boolean isEnableHistoryCleaning() {
+        return enableHistoryCleaning;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableHistoryCleaning(boolean enableHistoryCleaning) {
+        this.enableHistoryCleaning = enableHistoryCleaning;
+        return this;
+    }
+
+    public String getHistoryCleaningTimeCycleConfig() {
+        return historyCleaningTimeCycleConfig;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryCleaningTimeCycleConfig(String historyCleaningTimeCycleConfig) {
+        this.historyCleaningTimeCycleConfig = historyCleaningTimeCycleConfig;
+        return this;
+    }
+
+    public int getCleanInstancesEndedAfterNumberOfDays() {
+        return cleanInstancesEndedAfterNumberOfDays;
+    }
+
+    public ProcessEngineConfigurationImpl setCleanInstancesEndedAfterNumberOfDays(int cleanInstancesEndedAfterNumberOfDays) {
+        this.cleanInstancesEndedAfterNumberOfDays = cleanInstancesEndedAfterNumberOfDays;
+        return this;
+    }
+
+    public int getHistoryCleaningBatchSize() {
+        return historyCleaningBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryCleaningBatchSize(int historyCleaningBatchSize) {
+        this.historyCleaningBatchSize = historyCleaningBatchSize;
+        return this;
+    }
+
+    public int getHistoryCleaningMaxBatchesPerRun() {
+        return historyCleaningMaxBatchesPerRun;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryCleaningMaxBatchesPerRun(int historyCleaningMaxBatchesPerRun) {
+        this.historyCleaningMaxBatchesPerRun = historyCleaningMaxBatchesPerRun;
+        return this;
+    }
+
+    public HistoryArchiver getHistoryArchiver() {
+        return historyArchiver;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryArchiver(HistoryArchiver historyArchiver) {
+        this.historyArchiver = historyArchiver;
+        return this;
+    }
+
+    public List<HistoryCleaner> getCustomHistoryCleaners() {
+        return customHistoryCleaners;
+    }
+
+    public ProcessEngineConfigurationImpl setCustomHistoryCleaners(List<HistoryCleaner> customHistoryCleaners) {
+        this.customHistoryCleaners = customHistoryCleaners;
+        return this;
+    }
+
+    public HistoryCleanupJobHandler getHistoryCleanupJobHandler() {
+        return historyCleanupJobHandler;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryCleanupJobHandler(HistoryCleanupJobHandler historyCleanupJobHandler) {
+        this.historyCleanupJobHandler = historyCleanupJobHandler;
+        return this;
+    }
+
     public boolean isEnableEntityLinks() {
         return enableEntityLinks;
     }
@@ -4207,6 +4512,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncExecutorFreeCapacityNotificationEnabled() {
+        return asyncExecutorFreeCapacityNotificationEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorFreeCapacityNotificationEnabled(boolean asyncExecutorFreeCapacityNotificationEnabled) {
+        this.asyncExecutorFreeCapacityNotificationEnabled = asyncExecutorFreeCapacityNotificationEnabled;
+        return this;
+    }
+
+    public boolean isAsyncExecutorVirtualThreadsEnabled() {
+        return asyncExecutorVirtualThreadsEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorVirtualThreadsEnabled(boolean asyncExecutorVirtualThreadsEnabled) {
+        this.asyncExecutorVirtualThreadsEnabled = asyncExecutorVirtualThreadsEnabled;
+        return this;
+    }
+
+    public int getAsyncExecutorMaxConcurrentJobs() {
+        return asyncExecutorMaxConcurrentJobs;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorMaxConcurrentJobs(int asyncExecutorMaxConcurrentJobs) {
+        this.asyncExecutorMaxConcurrentJobs = asyncExecutorMaxConcurrentJobs;
+        return this;
+    }
+
     public BlockingQueue<Runnable> getAsyncExecutorThreadPoolQueue() {
         return asyncExecutorThreadPoolQueue;
     }
@@ -4297,6 +4629,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncExecutorBulkJobLockEnabled() {
+        return asyncExecutorBulkJobLockEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorBulkJobLockEnabled(boolean asyncExecutorBulkJobLockEnabled) {
+        this.asyncExecutorBulkJobLockEnabled = asyncExecutorBulkJobLockEnabled;
+        return this;
+    }
+
+    public boolean isAsyncExecutorAdaptiveAcquisitionEnabled() {
+        return asyncExecutorAdaptiveAcquisitionEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveAcquisitionEnabled(boolean asyncExecutorAdaptiveAcquisitionEnabled) {
+        this.asyncExecutorAdaptiveAcquisitionEnabled = asyncExecutorAdaptiveAcquisitionEnabled;
+        return this;
+    }
+
+    public int getAsyncExecutorJobPartitionCount() {
+        return asyncExecutorJobPartitionCount;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorJobPartitionCount(int asyncExecutorJobPartitionCount) {
+        this.asyncExecutorJobPartitionCount = asyncExecutorJobPartitionCount;
+        return this;
+    }
+
+    public boolean isAsyncExecutorExclusiveJobGroupingEnabled() {
+        return asyncExecutorExclusiveJobGroupingEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorExclusiveJobGroupingEnabled(boolean asyncExecutorExclusiveJobGroupingEnabled) {
+        this.asyncExecutorExclusiveJobGroupingEnabled = asyncExecutorExclusiveJobGroupingEnabled;
+        return this;
+    }
+
     public int getAsyncExecutorResetExpiredJobsInterval() {
         return asyncExecutorResetExpiredJobsInterval;
     }
@@ -4405,6 +4773,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncHistoryExecutorVirtualThreadsEnabled() {
+        return asyncHistoryExecutorVirtualThreadsEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryExecutorVirtualThreadsEnabled(boolean asyncHistoryExecutorVirtualThreadsEnabled) {
+        this.asyncHistoryExecutorVirtualThreadsEnabled = asyncHistoryExecutorVirtualThreadsEnabled;
+        return this;
+    }
+
+    public int getAsyncHistoryExecutorMaxConcurrentJobs() {
+        return asyncHistoryExecutorMaxConcurrentJobs;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryExecutorMaxConcurrentJobs(int asyncHistoryExecutorMaxConcurrentJobs) {
+        this.asyncHistoryExecutorMaxConcurrentJobs = asyncHistoryExecutorMaxConcurrentJobs;
+        return this;
+    }
+
     public BlockingQueue<Runnable> getAsyncHistoryExecutorThreadPoolQueue() {
         return asyncHistoryExecutorThreadPoolQueue;
     }
@@ -4459,6 +4845,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public int getAsyncHistoryExecutorBatchSize() {
+        return asyncHistoryExecutorBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryExecutorBatchSize(int asyncHistoryExecutorBatchSize) {
+        this.asyncHistoryExecutorBatchSize = asyncHistoryExecutorBatchSize;
+        return this;
+    }
+
     public int getAsyncHistoryExecutorResetExpiredJobsInterval() {
         return asyncHistoryExecutorResetExpiredJobsInterval;
     }
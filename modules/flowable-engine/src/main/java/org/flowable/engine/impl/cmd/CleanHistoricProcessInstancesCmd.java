@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.common.engine.api.scope.ScopeTypes;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.BpmnHistoryCleaner;
+import org.flowable.engine.impl.persistence.entity.HistoricProcessInstanceEntityManager;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.job.service.impl.history.cleanup.HistoryArchiver;
+
+/**
+ * Deletes one batch of root historic process instances that have ended before the given date, together with their sub process instances
+ * (e.g. of call activities) and all their related history.
+ * Every kind of related history is removed with one set-based delete statement for the whole batch, instead of per process instance.
+ */
+public class CleanHistoricProcessInstancesCmd implements Command<Integer>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected Date endedBefore;
+    protected int batchSize;
+    protected HistoryArchiver historyArchiver;
+
+    public CleanHistoricProcessInstancesCmd(Date endedBefore, int batchSize, HistoryArchiver historyArchiver) {
+        this.endedBefore = endedBefore;
+        this.batchSize = batchSize;
+        this.historyArchiver = historyArchiver;
+    }
+
+    @Override
+    public Integer execute(CommandContext commandContext) {
+        HistoricProcessInstanceEntityManager historicProcessInstanceEntityManager = CommandContextUtil.getHistoricProcessInstanceEntityManager(commandContext);
+        List<String> rootProcessInstanceIds = historicProcessInstanceEntityManager.findHistoricProcessInstanceIdsEndedBefore(endedBefore, batchSize);
+        if (rootProcessInstanceIds.isEmpty()) {
+            return 0;
+        }
+
+        // Sub process instances are only deleted through their root process instance, so the history of a root process instance is never left incomplete
+        List<String> processInstanceIds = new ArrayList<>(rootProcessInstanceIds);
+        List<String> superProcessInstanceIds = rootProcessInstanceIds;
+        while (!superProcessInstanceIds.isEmpty()) {
+            superProcessInstanceIds = historicProcessInstanceEntityManager.findHistoricProcessInstanceIdsBySuperProcessInstanceIds(superProcessInstanceIds);
+            processInstanceIds.addAll(superProcessInstanceIds);
+        }
+
+        if (historyArchiver != null) {
+            historyArchiver.archive(BpmnHistoryCleaner.NAME, processInstanceIds, commandContext);
+        }
+
+        CommandContextUtil.getHistoricDetailEntityManager(commandContext).bulkDeleteHistoricDetailsByProcessInstanceIds(processInstanceIds);
+        CommandContextUtil.getHistoricVariableService().bulkDeleteHistoricVariableInstancesByProcessInstanceIds(processInstanceIds);
+        CommandContextUtil.getHistoricActivityInstanceEntityManager(commandContext).bulkDeleteHistoricActivityInstancesByProcessInstanceIds(processInstanceIds);
+        CommandContextUtil.getHistoricIdentityLinkService().bulkDeleteHistoricIdentityLinksByProcessInstanceIds(processInstanceIds);
+
+        // The comments and attachments (with their content) of the tasks are found through the historic task instances, so they go first
+        CommandContextUtil.getCommentEntityManager(commandContext).bulkDeleteCommentsByProcessInstanceIds(processInstanceIds);
+        CommandContextUtil.getAttachmentEntityManager(commandContext).bulkDeleteAttachmentsByProcessInstanceIds(processInstanceIds);
+        CommandContextUtil.getHistoricTaskService().bulkDeleteHistoricTaskInstancesByProcessInstanceIds(processInstanceIds);
+
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
+        if (processEngineConfiguration.isEnableEntityLinks()) {
+            CommandContextUtil.getHistoricEntityLinkService().bulkDeleteHistoricEntityLinksByScopeIdsAndScopeType(processInstanceIds, ScopeTypes.BPMN);
+        }
+
+        historicProcessInstanceEntityManager.bulkDeleteHistoricProcessInstances(processInstanceIds);
+
+        return rootProcessInstanceIds.size();
+    }
+
+}
@@ -87,12 +87,17 @@ public class DeleteMultiInstanceExecutionCmd implements Command<Void>, Serializa
             miExecution.setVariableLocal(NUMBER_OF_INSTANCES, currentNumberOfInstances - 1);
         }
         
-        ExecutionEntity childExecution = executionEntityManager.createChildExecution(miExecution);
-        childExecution.setCurrentFlowElement(miExecution.getCurrentFlowElement());
-        
-        if (multiInstanceLoopCharacteristics.isSequential()) {
-            SequentialMultiInstanceBehavior miBehavior = (SequentialMultiInstanceBehavior) miActivityElement.getBehavior();
-            miBehavior.continueSequentialMultiInstance(childExecution, loopCounter, childExecution);
+        // With completion markers, the active instance executions are counted, so no placeholder execution is created for a parallel multi instance
+        if (multiInstanceLoopCharacteristics.isSequential()
+                || !CommandContextUtil.getProcessEngineConfiguration(commandContext).getPerformanceSettings().isEnableParallelMultiInstanceCompletionMarkers()) {
+            
+            ExecutionEntity childExecution = executionEntityManager.createChildExecution(miExecution);
+            childExecution.setCurrentFlowElement(miExecution.getCurrentFlowElement());
+            
+            if (multiInstanceLoopCharacteristics.isSequential()) {
+                SequentialMultiInstanceBehavior miBehavior = (SequentialMultiInstanceBehavior) miActivityElement.getBehavior();
+                miBehavior.continueSequentialMultiInstance(childExecution, loopCounter, childExecution);
+            }
         }
         
         return null;
@@ -0,0 +1,249 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.db;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.flowable.common.engine.impl.db.IdBlock;
+import org.flowable.engine.impl.cmd.GetNextIdBlockCmd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DbIdGenerator} that doesn't serialize all threads on one synchronized block of ids.
+ *
+ * Ids are handed out from a number of stripes, each having its own id block from which ids are taken with an atomic increment.
+ * A thread always uses the same stripe. When the remaining ids of a stripe drop below the prefetch threshold,
+ * the next block for that stripe is fetched asynchronously, so that normally no thread needs to wait for the database when a block is exhausted.
+ *
+ * The time threads had to wait for a new block is exposed through {@link #getBlockExhaustionWaitCount()} and {@link #getBlockExhaustionWaitTimeInNanos()}.
+ */
+public class StripedDbIdGenerator extends DbIdGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StripedDbIdGenerator.class);
+
+    /**
+     * Number of stripes. Rounded up to the next power of two. By default the number of available processors.
+     */
+    protected int stripeCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The next block of a stripe is fetched when the number of remaining ids drops below this percentage of the block size.
+     */
+    protected int prefetchThresholdPercentage = 20;
+
+    protected ExecutorService prefetchExecutorService;
+
+    /**
+     * Whether the prefetch executor service was created by this id generator, and thus needs to be shut down when the engine is closed.
+     */
+    protected boolean shutdownPrefetchExecutorService;
+
+    protected final Object fetchLock = new Object();
+
+    protected volatile IdStripe[] stripes;
+    protected int stripeMask;
+
+    protected LongAdder blockExhaustionWaitCount = new LongAdder();
+    protected LongAdder blockExhaustionWaitTimeInNanos = new LongAdder();
+    protected LongAdder prefetchedBlockCount = new LongAdder();
+
+    @Override
+    public String getNextId() {
+        IdStripe stripe = getStripe();
+        while (true) {
+            StripeIdBlock block = stripe.currentBlock;
+            if (block != null) {
+                long id = block.nextId.getAndIncrement();
+                if (id <= block.lastId) {
+                    if (block.lastId - id == block.prefetchThreshold) {
+                        prefetchNextBlock(stripe);
+                    }
+                    return Long.toString(id);
+                }
+            }
+            switchToNextBlock(stripe, block);
+        }
+    }
+
+    protected IdStripe getStripe() {
+        IdStripe[] currentStripes = stripes;
+        if (currentStripes == null) {
+            currentStripes = initStripes();
+        }
+        return currentStripes[(int) (Thread.currentThread().getId() & stripeMask)];
+    }
+
+    protected synchronized IdStripe[] initStripes() {
+        if (stripes == null) {
+            int size = 1;
+            while (size < stripeCount) {
+                size <<= 1;
+            }
+
+            IdStripe[] newStripes = new IdStripe[size];
+            for (int i = 0; i < size; i++) {
+                newStripes[i] = new IdStripe();
+            }
+            stripeMask = size - 1;
+            stripes = newStripes;
+        }
+        return stripes;
+    }
+
+    /**
+     * Replaces the exhausted block of the stripe. Only one thread per stripe does this, the others wait on the stripe and then retry with the new block.
+     * Only threads that had to wait for a block, either on the stripe or on the fetch of the block, are counted in the block exhaustion wait metrics.
+     */
+    protected void switchToNextBlock(IdStripe stripe, StripeIdBlock exhaustedBlock) {
+        long start = System.nanoTime();
+        synchronized (stripe) {
+            if (stripe.currentBlock != exhaustedBlock) {
+                // Another thread switched already, while this thread was waiting for the stripe
+                recordBlockExhaustionWait(start);
+                return;
+            }
+
+            IdBlock idBlock = null;
+            boolean waitedForBlock = false;
+            CompletableFuture<IdBlock> prefetchedBlock = stripe.prefetchedBlock;
+            if (prefetchedBlock != null) {
+                waitedForBlock = !prefetchedBlock.isDone();
+                try {
+                    idBlock = prefetchedBlock.join();
+                    prefetchedBlockCount.increment();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Prefetching id block failed, fetching a new block instead", e);
+                }
+            }
+
+            if (idBlock == null) {
+                idBlock = fetchIdBlock();
+                waitedForBlock = true;
+            }
+
+            stripe.prefetchedBlock = null;
+            long blockSize = idBlock.getLastId() - idBlock.getNextId() + 1;
+            stripe.currentBlock = new StripeIdBlock(idBlock, Math.min(blockSize - 1, blockSize * prefetchThresholdPercentage / 100));
+
+            if (waitedForBlock) {
+                recordBlockExhaustionWait(start);
+            }
+        }
+    }
+
+    protected void recordBlockExhaustionWait(long start) {
+        blockExhaustionWaitCount.increment();
+        blockExhaustionWaitTimeInNanos.add(System.nanoTime() - start);
+    }
+
+    protected void prefetchNextBlock(IdStripe stripe) {
+        synchronized (stripe) {
+            if (stripe.prefetchedBlock == null) {
+                stripe.prefetchedBlock = CompletableFuture.supplyAsync(this::fetchIdBlock, ensurePrefetchExecutorService());
+            }
+        }
+    }
+
+    protected IdBlock fetchIdBlock() {
+        // All blocks come from the same property row: fetching them concurrently would only lead to optimistic locking exceptions
+        synchronized (fetchLock) {
+            return commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(idBlockSize));
+        }
+    }
+
+    protected synchronized ExecutorService ensurePrefetchExecutorService() {
+        if (prefetchExecutorService == null) {
+            prefetchExecutorService = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+                    .namingPattern("flowable-id-block-prefetch-%d")
+                    .daemon(true)
+                    .build());
+            shutdownPrefetchExecutorService = true;
+        }
+        return prefetchExecutorService;
+    }
+
+    /**
+     * Shuts down the prefetch executor service if it was created by this id generator. Called when the process engine is closed.
+     * Blocks that are already being prefetched are still fetched.
+     */
+    public synchronized void shutdown() {
+        if (shutdownPrefetchExecutorService && prefetchExecutorService != null) {
+            prefetchExecutorService.shutdown();
+            prefetchExecutorService = null;
+            shutdownPrefetchExecutorService = false;
+        }
+    }
+
+    public long getBlockExhaustionWaitCount() {
+        return blockExhaustionWaitCount.sum();
+    }
+
+    public long getBlockExhaustionWaitTimeInNanos() {
+        return blockExhaustionWaitTimeInNanos.sum();
+    }
+
+    public long getPrefetchedBlockCount() {
+        return prefetchedBlockCount.sum();
+    }
+
+    public int getStripeCount() {
+        return stripeCount;
+    }
+
+    public void setStripeCount(int stripeCount) {
+        this.stripeCount = stripeCount;
+    }
+
+    public int getPrefetchThresholdPercentage() {
+        return prefetchThresholdPercentage;
+    }
+
+    public void setPrefetchThresholdPercentage(int prefetchThresholdPercentage) {
+        this.prefetchThresholdPercentage = prefetchThresholdPercentage;
+    }
+
+    public ExecutorService getPrefetchExecutorService() {
+        return prefetchExecutorService;
+    }
+
+    public void setPrefetchExecutorService(ExecutorService prefetchExecutorService) {
+        this.prefetchExecutorService = prefetchExecutorService;
+    }
+
+    protected static class IdStripe {
+
+        protected volatile StripeIdBlock currentBlock;
+        protected CompletableFuture<IdBlock> prefetchedBlock; // guarded by the stripe
+
+    }
+
+    protected static class StripeIdBlock {
+
+        protected final AtomicLong nextId;
+        protected final long lastId;
+        protected final long prefetchThreshold;
+
+        public StripeIdBlock(IdBlock idBlock, long prefetchThreshold) {
+            this.nextId = new AtomicLong(idBlock.getNextId());
+            this.lastId = idBlock.getLastId();
+            this.prefetchThreshold = prefetchThreshold;
+        }
+
+    }
+}
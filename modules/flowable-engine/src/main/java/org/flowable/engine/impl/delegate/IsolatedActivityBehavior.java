@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.delegate;
+
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+
+/**
+ * An {@link ActivityBehavior} of which the actual work can be done isolated from its execution, on a snapshot of the variables of the execution.
+ * 
+ * This allows the activities directly following a parallel gateway with concurrent branches to do their work on multiple threads,
+ * see {@link org.flowable.engine.impl.agenda.ConcurrentBranchExecutor}.
+ */
+public interface IsolatedActivityBehavior extends ActivityBehavior {
+
+    /**
+     * Returns whether the work of the activity can be done isolated for the given execution. Called on the thread of the command, before anything is executed.
+     * This must be decided statically (e.g. see {@link IsolatedVariableScope#isSupportedBy(String)}), as a failed isolated execution is never retried regularly.
+     */
+    boolean isIsolatedExecutionSupported(DelegateExecution execution);
+
+    /**
+     * Does the work of the activity with the given snapshot of the variables of the execution.
+     * 
+     * Called on a worker thread of the concurrent branch executor service, without a command context, so the engine (and any bean using it) must not be accessed.
+     * When this fails, {@link #failIsolated(DelegateExecution, RuntimeException)} is called instead of {@link #completeIsolated(DelegateExecution, Object)}.
+     */
+    Object executeIsolated(IsolatedVariableScope variableScope, ProcessEngineConfigurationImpl processEngineConfiguration);
+
+    /**
+     * Completes the activity with the result of {@link #executeIsolated(IsolatedVariableScope, ProcessEngineConfigurationImpl)}.
+     * Called on the thread of the command, when the activity is executed on the agenda, after the variable changes of the isolated execution are applied to the execution.
+     */
+    void completeIsolated(DelegateExecution execution, Object result);
+
+    /**
+     * Handles the failure of {@link #executeIsolated(IsolatedVariableScope, ProcessEngineConfigurationImpl)} the same way a failure of the regular execution is handled
+     * (e.g. by propagating a BPMN error or rethrowing the exception), without executing the activity again.
+     * Called on the thread of the command, when the activity is executed on the agenda. The variable changes of the failed isolated execution are discarded.
+     */
+    void failIsolated(DelegateExecution execution, RuntimeException exception);
+
+}
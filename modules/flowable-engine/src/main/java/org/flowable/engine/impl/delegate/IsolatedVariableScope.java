@@ -0,0 +1,274 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.delegate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.flowable.variable.api.delegate.VariableScope;
+import org.flowable.variable.service.impl.el.NoExecutionVariableScope;
+
+/**
+ * Variable scope used by an {@link IsolatedActivityBehavior} to do its work without access to the execution.
+ * 
+ * It holds a snapshot of the variables of the execution (there is no distinction between local and inherited variables)
+ * and records all changes made to the variables, so they can be applied to the execution afterwards, in the same order.
+ * Everything else that would need the execution is not supported.
+ */
+public class IsolatedVariableScope extends NoExecutionVariableScope {
+
+    protected static final Pattern EXECUTION_REFERENCE = Pattern.compile("\\bexecution\\b(?:\\s*\\.\\s*(\\w+)\\s*\\()?");
+
+    protected static final Set<String> SUPPORTED_METHODS = new HashSet<>(Arrays.asList(
+            "getVariable", "getVariableLocal", "getVariables", "getVariablesLocal", "getVariableNames", "getVariableNamesLocal",
+            "setVariable", "setVariableLocal", "setVariables", "setVariablesLocal",
+            "hasVariable", "hasVariableLocal", "hasVariables", "hasVariablesLocal", "removeVariable", "removeVariableLocal",
+            "getTransientVariable", "getTransientVariableLocal", "getTransientVariables", "getTransientVariablesLocal",
+            "setTransientVariable", "setTransientVariableLocal"));
+
+    protected Map<String, Object> variables;
+    protected Map<String, Object> transientVariables;
+    protected List<Consumer<VariableScope>> changes = new ArrayList<>();
+
+    public IsolatedVariableScope(Map<String, Object> variables, Map<String, Object> transientVariables) {
+        this.variables = variables != null ? new HashMap<>(variables) : new HashMap<>();
+        this.transientVariables = transientVariables != null ? new HashMap<>(transientVariables) : new HashMap<>();
+    }
+
+    /**
+     * Returns whether the given script or expression can be evaluated with an isolated variable scope:
+     * every reference to the execution must be a call of one of the variable methods of this scope.
+     * Any other use of the execution (a property, another method or passing it to a bean) needs the real execution.
+     */
+    public static boolean isSupportedBy(String scriptOrExpression) {
+        if (scriptOrExpression == null) {
+            return true;
+        }
+        Matcher matcher = EXECUTION_REFERENCE.matcher(scriptOrExpression);
+        while (matcher.find()) {
+            if (matcher.group(1) == null || !SUPPORTED_METHODS.contains(matcher.group(1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies all variable changes made in this scope to the given variable scope (typically the execution).
+     */
+    public void applyChanges(VariableScope variableScope) {
+        for (Consumer<VariableScope> change : changes) {
+            change.accept(variableScope);
+        }
+    }
+
+    public boolean hasChanges() {
+        return !changes.isEmpty();
+    }
+
+    @Override
+    public Map<String, Object> getVariables() {
+        Map<String, Object> allVariables = new HashMap<>(variables);
+        allVariables.putAll(transientVariables);
+        return allVariables;
+    }
+
+    @Override
+    public Map<String, Object> getVariablesLocal() {
+        return getVariables();
+    }
+
+    @Override
+    public Map<String, Object> getVariables(Collection<String> variableNames) {
+        Map<String, Object> requestedVariables = new HashMap<>();
+        for (String variableName : variableNames) {
+            if (hasVariable(variableName)) {
+                requestedVariables.put(variableName, getVariable(variableName));
+            }
+        }
+        return requestedVariables;
+    }
+
+    @Override
+    public Map<String, Object> getVariables(Collection<String> variableNames, boolean fetchAllVariables) {
+        return getVariables(variableNames);
+    }
+
+    @Override
+    public Map<String, Object> getVariablesLocal(Collection<String> variableNames) {
+        return getVariables(variableNames);
+    }
+
+    @Override
+    public Map<String, Object> getVariablesLocal(Collection<String> variableNames, boolean fetchAllVariables) {
+        return getVariables(variableNames);
+    }
+
+    @Override
+    public Object getVariable(String variableName) {
+        if (transientVariables.containsKey(variableName)) {
+            return transientVariables.get(variableName);
+        }
+        return variables.get(variableName);
+    }
+
+    @Override
+    public Object getVariable(String variableName, boolean fetchAllVariables) {
+        return getVariable(variableName);
+    }
+
+    @Override
+    public Object getVariableLocal(String variableName) {
+        return getVariable(variableName);
+    }
+
+    @Override
+    public Object getVariableLocal(String variableName, boolean fetchAllVariables) {
+        return getVariable(variableName);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T getVariable(String variableName, Class<T> variableClass) {
+        return (T) getVariable(variableName);
+    }
+
+    @Override
+    public <T> T getVariableLocal(String variableName, Class<T> variableClass) {
+        return getVariable(variableName, variableClass);
+    }
+
+    @Override
+    public Set<String> getVariableNames() {
+        Set<String> variableNames = new HashSet<>(variables.keySet());
+        variableNames.addAll(transientVariables.keySet());
+        return variableNames;
+    }
+
+    @Override
+    public Set<String> getVariableNamesLocal() {
+        return getVariableNames();
+    }
+
+    @Override
+    public void setVariable(String variableName, Object value) {
+        variables.put(variableName, value);
+        changes.add(variableScope -> variableScope.setVariable(variableName, value));
+    }
+
+    @Override
+    public void setVariable(String variableName, Object value, boolean fetchAllVariables) {
+        setVariable(variableName, value);
+    }
+
+    @Override
+    public Object setVariableLocal(String variableName, Object value) {
+        Object oldValue = variables.put(variableName, value);
+        changes.add(variableScope -> variableScope.setVariableLocal(variableName, value));
+        return oldValue;
+    }
+
+    @Override
+    public Object setVariableLocal(String variableName, Object value, boolean fetchAllVariables) {
+        return setVariableLocal(variableName, value);
+    }
+
+    @Override
+    public void setVariables(Map<String, ? extends Object> variables) {
+        for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+            setVariable(variable.getKey(), variable.getValue());
+        }
+    }
+
+    @Override
+    public void setVariablesLocal(Map<String, ? extends Object> variables) {
+        for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+            setVariableLocal(variable.getKey(), variable.getValue());
+        }
+    }
+
+    @Override
+    public boolean hasVariables() {
+        return !variables.isEmpty() || !transientVariables.isEmpty();
+    }
+
+    @Override
+    public boolean hasVariablesLocal() {
+        return hasVariables();
+    }
+
+    @Override
+    public boolean hasVariable(String variableName) {
+        return variables.containsKey(variableName) || transientVariables.containsKey(variableName);
+    }
+
+    @Override
+    public boolean hasVariableLocal(String variableName) {
+        return hasVariable(variableName);
+    }
+
+    @Override
+    public void removeVariable(String variableName) {
+        variables.remove(variableName);
+        changes.add(variableScope -> variableScope.removeVariable(variableName));
+    }
+
+    @Override
+    public void removeVariableLocal(String variableName) {
+        variables.remove(variableName);
+        changes.add(variableScope -> variableScope.removeVariableLocal(variableName));
+    }
+
+    @Override
+    public void setTransientVariable(String variableName, Object variableValue) {
+        transientVariables.put(variableName, variableValue);
+        changes.add(variableScope -> variableScope.setTransientVariable(variableName, variableValue));
+    }
+
+    @Override
+    public void setTransientVariableLocal(String variableName, Object variableValue) {
+        transientVariables.put(variableName, variableValue);
+        changes.add(variableScope -> variableScope.setTransientVariableLocal(variableName, variableValue));
+    }
+
+    @Override
+    public Object getTransientVariable(String variableName) {
+        return transientVariables.get(variableName);
+    }
+
+    @Override
+    public Object getTransientVariableLocal(String variableName) {
+        return transientVariables.get(variableName);
+    }
+
+    @Override
+    public Map<String, Object> getTransientVariables() {
+        return Collections.unmodifiableMap(transientVariables);
+    }
+
+    @Override
+    public Map<String, Object> getTransientVariablesLocal() {
+        return getTransientVariables();
+    }
+
+}
@@ -16,6 +16,7 @@ import org.flowable.common.engine.api.variable.VariableContainer;
 import org.flowable.common.engine.impl.el.VariableContainerELResolver;
 import org.flowable.common.engine.impl.identity.Authentication;
 import org.flowable.common.engine.impl.javax.el.ELContext;
+import org.flowable.engine.impl.delegate.IsolatedVariableScope;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.task.service.impl.persistence.entity.TaskEntity;
@@ -36,7 +37,8 @@ public class ProcessVariableScopeELResolver extends VariableContainerELResolver
     @Override
     public Object getValue(ELContext context, Object base, Object property) {
         if (base == null) {
-            if ((EXECUTION_KEY.equals(property) && variableContainer instanceof ExecutionEntity) || (TASK_KEY.equals(property) && variableContainer instanceof TaskEntity)) {
+            if ((EXECUTION_KEY.equals(property) && (variableContainer instanceof ExecutionEntity || variableContainer instanceof IsolatedVariableScope))
+                    || (TASK_KEY.equals(property) && variableContainer instanceof TaskEntity)) {
                 context.setPropertyResolved(true);
                 return variableContainer;
                 
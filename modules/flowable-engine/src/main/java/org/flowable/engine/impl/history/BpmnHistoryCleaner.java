@@ -0,0 +1,55 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history;
+
+import java.util.Date;
+
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cmd.CleanHistoricProcessInstancesCmd;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.job.service.impl.history.cleanup.HistoryArchiver;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleaner;
+
+/**
+ * Cleans the history of the process engine: historic process instances and all history related to them.
+ */
+public class BpmnHistoryCleaner implements HistoryCleaner {
+
+    public static final String NAME = "bpmn";
+
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    public BpmnHistoryCleaner(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        this.processEngineConfiguration = processEngineConfiguration;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int cleanHistory(Date endedBefore, int batchSize, HistoryArchiver historyArchiver) {
+        CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+        return commandExecutor.execute(commandExecutor.getDefaultConfig().transactionRequiresNew(),
+                new CleanHistoricProcessInstancesCmd(endedBefore, batchSize, historyArchiver));
+    }
+
+    @Override
+    public long countCleanableHistory(Date endedBefore) {
+        return processEngineConfiguration.getCommandExecutor().execute(commandContext -> CommandContextUtil.getHistoricProcessInstanceEntityManager(commandContext)
+                .findHistoricProcessInstanceCountEndedBefore(endedBefore));
+    }
+
+}
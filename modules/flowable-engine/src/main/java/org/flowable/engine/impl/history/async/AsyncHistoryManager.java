@@ -206,7 +206,13 @@ public class AsyncHistoryManager extends AbstractHistoryManager {
                 putIfNotNull(data, HistoryJsonConstants.DELETE_REASON, deleteReason);
                 putIfNotNull(data, HistoryJsonConstants.END_TIME, getClock().getCurrentTime());
 
-                Map<String, String> correspondingActivityStartData = getActivityStart(executionEntity.getId(), activityId, true);
+                // When the activity was started in the same transaction, the start and end are merged into an activity-full.
+                // With coalescing enabled this is done by the async history session, for all events at once.
+                Map<String, String> correspondingActivityStartData = null;
+                if (!processEngineConfiguration.isAsyncHistoryCoalescingEnabled()) {
+                    correspondingActivityStartData = getActivityStart(executionEntity.getId(), activityId, true);
+                }
+
                 if (correspondingActivityStartData == null) {
                     getAsyncHistorySession().addHistoricData(getJobServiceConfiguration(), HistoryJsonConstants.TYPE_ACTIVITY_END, data);
                 } else {
@@ -15,6 +15,8 @@ package org.flowable.engine.impl.history.async;
 import java.util.Arrays;
 import java.util.List;
 
+import org.flowable.job.service.impl.history.async.AsyncHistoryCoalescingRule;
+
 public interface HistoryJsonConstants {
     
     String JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY = "async-history"; // Backwards compatibility: process engine used this first before the handler was reused
@@ -47,6 +49,40 @@ public interface HistoryJsonConstants {
             HistoryJsonConstants.TYPE_PROCESS_INSTANCE_DELETED,
             HistoryJsonConstants.TYPE_PROCESS_INSTANCE_END
     );
+
+    // The task fields that are (re)set by a task property change
+    String[] TASK_PROPERTY_FIELDS = {
+            HistoryJsonConstants.NAME, HistoryJsonConstants.DESCRIPTION, HistoryJsonConstants.ASSIGNEE, HistoryJsonConstants.OWNER,
+            HistoryJsonConstants.CLAIM_TIME, HistoryJsonConstants.DUE_DATE, HistoryJsonConstants.PRIORITY, HistoryJsonConstants.CATEGORY,
+            HistoryJsonConstants.FORM_KEY, HistoryJsonConstants.PARENT_TASK_ID, HistoryJsonConstants.TASK_DEFINITION_KEY,
+            HistoryJsonConstants.TASK_DEFINITION_ID, HistoryJsonConstants.PROCESS_DEFINITION_ID
+    };
+    
+    // The variable fields that are (re)set by a variable update
+    String[] VARIABLE_VALUE_FIELDS = {
+            HistoryJsonConstants.VARIABLE_TYPE, HistoryJsonConstants.VARIABLE_TEXT_VALUE, HistoryJsonConstants.VARIABLE_TEXT_VALUE2,
+            HistoryJsonConstants.VARIABLE_DOUBLE_VALUE, HistoryJsonConstants.VARIABLE_LONG_VALUE, HistoryJsonConstants.VARIABLE_BYTES_VALUE
+    };
+    
+    // Events for the same entity in one transaction that are merged before the history job is created
+    List<AsyncHistoryCoalescingRule> COALESCING_RULES = Arrays.asList(
+            new AsyncHistoryCoalescingRule(HistoryJsonConstants.TYPE_ACTIVITY_START, HistoryJsonConstants.TYPE_ACTIVITY_END, HistoryJsonConstants.TYPE_ACTIVITY_FULL,
+                    HistoryJsonConstants.EXECUTION_ID, HistoryJsonConstants.ACTIVITY_ID),
+            
+            new AsyncHistoryCoalescingRule(HistoryJsonConstants.TYPE_TASK_CREATED, HistoryJsonConstants.TYPE_TASK_PROPERTY_CHANGED, HistoryJsonConstants.TYPE_TASK_CREATED,
+                    HistoryJsonConstants.ID).replacing(HistoryJsonConstants.TASK_PROPERTY_FIELDS),
+            new AsyncHistoryCoalescingRule(HistoryJsonConstants.TYPE_TASK_PROPERTY_CHANGED, HistoryJsonConstants.TYPE_TASK_PROPERTY_CHANGED, HistoryJsonConstants.TYPE_TASK_PROPERTY_CHANGED,
+                    HistoryJsonConstants.ID).replacing(HistoryJsonConstants.TASK_PROPERTY_FIELDS),
+            
+            new AsyncHistoryCoalescingRule(HistoryJsonConstants.TYPE_VARIABLE_CREATED, HistoryJsonConstants.TYPE_VARIABLE_UPDATED, HistoryJsonConstants.TYPE_VARIABLE_CREATED,
+                    HistoryJsonConstants.ID).replacing(HistoryJsonConstants.VARIABLE_VALUE_FIELDS),
+            new AsyncHistoryCoalescingRule(HistoryJsonConstants.TYPE_VARIABLE_UPDATED, HistoryJsonConstants.TYPE_VARIABLE_UPDATED, HistoryJsonConstants.TYPE_VARIABLE_UPDATED,
+                    HistoryJsonConstants.ID).replacing(HistoryJsonConstants.VARIABLE_VALUE_FIELDS),
+            new AsyncHistoryCoalescingRule(HistoryJsonConstants.TYPE_VARIABLE_CREATED, HistoryJsonConstants.TYPE_VARIABLE_REMOVED, null,
+                    HistoryJsonConstants.ID),
+            new AsyncHistoryCoalescingRule(HistoryJsonConstants.TYPE_VARIABLE_UPDATED, HistoryJsonConstants.TYPE_VARIABLE_REMOVED, HistoryJsonConstants.TYPE_VARIABLE_REMOVED,
+                    HistoryJsonConstants.ID)
+    );
     
     String TYPE_PROCESS_INSTANCE_START = "process-instance-start";
     String TYPE_SUBPROCESS_INSTANCE_START = "subprocess-instance-start";
@@ -20,6 +20,7 @@ import java.util.List;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.history.async.HistoryJsonConstants;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncHistoryJobBatchRunnable;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -33,7 +34,8 @@ public class ProcessInstanceDeleteHistoryByProcessDefinitionIdJsonTransformer ex
 
     @Override
     public boolean isApplicable(ObjectNode historicalData, CommandContext commandContext) {
-        return true;
+        // The historic data of the other jobs of a batch isn't flushed yet and would be missed by the queries and bulk deletes
+        return !ExecuteAsyncHistoryJobBatchRunnable.isBatchExecution(commandContext);
     }
 
     @Override
@@ -21,6 +21,7 @@ import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.history.async.HistoryJsonConstants;
 import org.flowable.engine.impl.persistence.entity.HistoricProcessInstanceEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncHistoryJobBatchRunnable;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -34,6 +35,11 @@ public class ProcessInstanceDeleteHistoryJsonTransformer extends AbstractProcess
 
     @Override
     public boolean isApplicable(ObjectNode historicalData, CommandContext commandContext) {
+        // The historic data of the other jobs of a batch isn't flushed yet and would be missed by the bulk deletes
+        if (ExecuteAsyncHistoryJobBatchRunnable.isBatchExecution(commandContext)) {
+            return false;
+        }
+
         String id = getStringFromJson(historicalData, HistoryJsonConstants.PROCESS_INSTANCE_ID);
         HistoricProcessInstanceEntityManager historicProcessInstanceEntityManager = CommandContextUtil.getHistoricProcessInstanceEntityManager(commandContext);
         return historicProcessInstanceEntityManager.findById(id) != null;
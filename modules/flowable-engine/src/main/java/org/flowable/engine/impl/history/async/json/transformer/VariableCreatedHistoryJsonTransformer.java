@@ -75,7 +75,13 @@ public class VariableCreatedHistoryJsonTransformer extends AbstractHistoryJsonTr
         
         Date time = getDateFromJson(historicalData, HistoryJsonConstants.CREATE_TIME);
         historicVariableInstanceEntity.setCreateTime(time);
-        historicVariableInstanceEntity.setLastUpdatedTime(time);
+        
+        // Updates of the variable in the same transaction are merged into the creation
+        if (historicalData.has(HistoryJsonConstants.LAST_UPDATED_TIME)) {
+            historicVariableInstanceEntity.setLastUpdatedTime(getDateFromJson(historicalData, HistoryJsonConstants.LAST_UPDATED_TIME));
+        } else {
+            historicVariableInstanceEntity.setLastUpdatedTime(time);
+        }
 
         historicVariableService.insertHistoricVariableInstance(historicVariableInstanceEntity);
     }
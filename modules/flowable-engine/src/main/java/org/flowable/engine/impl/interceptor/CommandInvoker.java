@@ -20,6 +20,7 @@ import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.engine.FlowableEngineAgenda;
 import org.flowable.engine.impl.agenda.AbstractOperation;
+import org.flowable.engine.impl.agenda.DefaultFlowableEngineAgenda;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,8 +69,14 @@ public class CommandInvoker extends AbstractCommandInterceptor {
 
     protected void executeOperations(final CommandContext commandContext) {
         while (!CommandContextUtil.getAgenda(commandContext).isEmpty()) {
-            Runnable runnable = CommandContextUtil.getAgenda(commandContext).getNextOperation();
+            FlowableEngineAgenda agenda = CommandContextUtil.getAgenda(commandContext);
+            Runnable runnable = agenda.getNextOperation();
             executeOperation(runnable);
+
+            // Only now the operation can be reused, as nested commands could have run the agenda while it was executing
+            if (agenda instanceof DefaultFlowableEngineAgenda) {
+                ((DefaultFlowableEngineAgenda) agenda).releaseOperation(runnable);
+            }
         }
     }
 
@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.bpmn.behavior.ParallelMultiInstanceBehavior;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.job.service.JobHandler;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.variable.api.delegate.VariableScope;
+
+/**
+ * A {@link JobHandler} that checks the completion of a parallel multi instance activity again for the execution of a completed instance,
+ * when completion markers are used (see {@link ParallelMultiInstanceBehavior}).
+ * 
+ * Nothing happens when the multi instance activity has been left in the meantime.
+ */
+public class ParallelMultiInstanceCompletionJobHandler implements JobHandler {
+
+    public static final String TYPE = "parallel-multi-instance-completion";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(JobEntity job, String configuration, VariableScope variableScope, CommandContext commandContext) {
+        ExecutionEntity execution = (ExecutionEntity) variableScope;
+        FlowElement flowElement = execution.getCurrentFlowElement();
+        if (flowElement instanceof FlowNode && ((FlowNode) flowElement).getBehavior() instanceof ParallelMultiInstanceBehavior) {
+            ((ParallelMultiInstanceBehavior) ((FlowNode) flowElement).getBehavior()).checkCompletion(execution, job);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.bpmn.behavior.ParallelMultiInstanceBehavior;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.job.service.JobHandler;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.variable.api.delegate.VariableScope;
+
+/**
+ * A {@link JobHandler} that creates and starts the next batch of instances of a parallel multi instance activity
+ * that creates its instances in batches (see {@link ParallelMultiInstanceBehavior}).
+ * 
+ * The job is created for the multi instance root execution, so it's removed when the multi instance activity is left
+ * (e.g. when the completion condition is satisfied) before all instances are created.
+ */
+public class ParallelMultiInstanceCreationJobHandler implements JobHandler {
+
+    public static final String TYPE = "parallel-multi-instance-creation";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(JobEntity job, String configuration, VariableScope variableScope, CommandContext commandContext) {
+        ExecutionEntity multiInstanceRootExecution = (ExecutionEntity) variableScope;
+        FlowNode flowNode = (FlowNode) multiInstanceRootExecution.getCurrentFlowElement();
+        if (flowNode == null || !(flowNode.getBehavior() instanceof ParallelMultiInstanceBehavior)) {
+            throw new FlowableException("No parallel multi instance behavior found for execution " + multiInstanceRootExecution.getId());
+        }
+
+        ((ParallelMultiInstanceBehavior) flowNode.getBehavior()).createNextInstanceBatch(multiInstanceRootExecution);
+    }
+
+}
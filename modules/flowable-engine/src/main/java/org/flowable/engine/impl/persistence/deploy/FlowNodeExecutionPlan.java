@@ -0,0 +1,90 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.persistence.deploy;
+
+import java.util.List;
+
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.FlowableListener;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.engine.delegate.ExecutionListener;
+
+/**
+ * The precompiled, immutable part of a {@link ProcessExecutionPlan} for one {@link FlowNode}: the outgoing sequence flows with their
+ * resolved targets and parsed condition and skip expressions, the resolved default flow and the execution listeners per event.
+ * 
+ * The expressions are indexed like the outgoing sequence flows, and are null for a sequence flow without condition or skip expression.
+ */
+public class FlowNodeExecutionPlan {
+
+    protected final FlowNode flowNode;
+    protected final List<SequenceFlow> outgoingFlows;
+    protected final Expression[] conditionExpressions;
+    protected final Expression[] skipExpressions;
+    protected final String defaultFlowId;
+    protected final SequenceFlow defaultFlow;
+    protected final List<FlowableListener> startExecutionListeners;
+    protected final List<FlowableListener> endExecutionListeners;
+
+    public FlowNodeExecutionPlan(FlowNode flowNode, List<SequenceFlow> outgoingFlows, Expression[] conditionExpressions, Expression[] skipExpressions,
+            String defaultFlowId, SequenceFlow defaultFlow, List<FlowableListener> startExecutionListeners, List<FlowableListener> endExecutionListeners) {
+        
+        this.flowNode = flowNode;
+        this.outgoingFlows = outgoingFlows;
+        this.conditionExpressions = conditionExpressions;
+        this.skipExpressions = skipExpressions;
+        this.defaultFlowId = defaultFlowId;
+        this.defaultFlow = defaultFlow;
+        this.startExecutionListeners = startExecutionListeners;
+        this.endExecutionListeners = endExecutionListeners;
+    }
+
+    public FlowNode getFlowNode() {
+        return flowNode;
+    }
+
+    public List<SequenceFlow> getOutgoingFlows() {
+        return outgoingFlows;
+    }
+
+    public Expression getConditionExpression(int outgoingFlowIndex) {
+        return conditionExpressions[outgoingFlowIndex];
+    }
+
+    public Expression getSkipExpression(int outgoingFlowIndex) {
+        return skipExpressions[outgoingFlowIndex];
+    }
+
+    public String getDefaultFlowId() {
+        return defaultFlowId;
+    }
+
+    public SequenceFlow getDefaultFlow() {
+        return defaultFlow;
+    }
+
+    /**
+     * Returns the execution listeners of the node for the given event ({@link ExecutionListener#EVENTNAME_START} or {@link ExecutionListener#EVENTNAME_END}),
+     * or null for any other event.
+     */
+    public List<FlowableListener> getExecutionListeners(String eventType) {
+        if (ExecutionListener.EVENTNAME_START.equals(eventType)) {
+            return startExecutionListeners;
+        } else if (ExecutionListener.EVENTNAME_END.equals(eventType)) {
+            return endExecutionListeners;
+        }
+        return null;
+    }
+
+}
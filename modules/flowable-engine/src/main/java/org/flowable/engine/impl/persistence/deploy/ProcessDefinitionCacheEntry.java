@@ -28,6 +28,7 @@ public class ProcessDefinitionCacheEntry implements Serializable {
     protected ProcessDefinition processDefinition;
     protected BpmnModel bpmnModel;
     protected Process process;
+    protected transient ProcessExecutionPlan executionPlan;
 
     public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
         this.processDefinition = processDefinition;
@@ -59,4 +60,12 @@ public class ProcessDefinitionCacheEntry implements Serializable {
         this.process = process;
     }
 
+    public ProcessExecutionPlan getExecutionPlan() {
+        return executionPlan;
+    }
+
+    public void setExecutionPlan(ProcessExecutionPlan executionPlan) {
+        this.executionPlan = executionPlan;
+    }
+
 }
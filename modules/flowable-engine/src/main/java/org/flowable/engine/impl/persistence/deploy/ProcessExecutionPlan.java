@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.persistence.deploy;
+
+import java.util.Map;
+
+import org.flowable.bpmn.model.FlowNode;
+
+/**
+ * Immutable execution plan of a process definition, compiled when the process definition is deployed (or put in the cache again).
+ * It has a {@link FlowNodeExecutionPlan} for every {@link FlowNode} of the process (including the nodes of subprocesses),
+ * which the agenda operations use instead of discovering the path through the model again for every step.
+ */
+public class ProcessExecutionPlan {
+
+    protected final String processDefinitionId;
+    protected final Map<FlowNode, FlowNodeExecutionPlan> flowNodePlans;
+
+    public ProcessExecutionPlan(String processDefinitionId, Map<FlowNode, FlowNodeExecutionPlan> flowNodePlans) {
+        this.processDefinitionId = processDefinitionId;
+        this.flowNodePlans = flowNodePlans;
+    }
+
+    public String getProcessDefinitionId() {
+        return processDefinitionId;
+    }
+
+    /**
+     * Returns the plan of the given flow node of the cached process model, or null if the node has no plan.
+     */
+    public FlowNodeExecutionPlan getFlowNodePlan(FlowNode flowNode) {
+        return flowNodePlans.get(flowNode);
+    }
+
+}
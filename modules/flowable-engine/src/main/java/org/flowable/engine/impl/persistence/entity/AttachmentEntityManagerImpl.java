@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.common.engine.api.FlowableException;
@@ -97,6 +98,11 @@ public class AttachmentEntityManagerImpl extends AbstractEntityManager<Attachmen
         }
     }
 
+    @Override
+    public void bulkDeleteAttachmentsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        attachmentDataManager.bulkDeleteAttachmentsByProcessInstanceIds(processInstanceIds);
+    }
+
     public AttachmentDataManager getAttachmentDataManager() {
         return attachmentDataManager;
     }
@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.common.engine.api.FlowableException;
@@ -184,6 +185,11 @@ public class CommentEntityManagerImpl extends AbstractEntityManager<CommentEntit
         }
     }
 
+    @Override
+    public void bulkDeleteCommentsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        commentDataManager.bulkDeleteCommentsByProcessInstanceIds(processInstanceIds);
+    }
+
     public CommentDataManager getCommentDataManager() {
         return commentDataManager;
     }
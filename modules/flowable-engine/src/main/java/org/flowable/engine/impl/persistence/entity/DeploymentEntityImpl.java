@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.flowable.common.engine.api.repository.EngineResource;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.engine.ProcessEngineConfiguration;
 import org.flowable.engine.impl.util.CommandContextUtil;
 
@@ -28,7 +29,7 @@ import org.flowable.engine.impl.util.CommandContextUtil;
  * @author Tom Baeyens
  * @author Joram Barrez
  */
-public class DeploymentEntityImpl extends AbstractBpmnEngineNoRevisionEntity implements DeploymentEntity, Serializable {
+public class DeploymentEntityImpl extends AbstractBpmnEngineNoRevisionEntity implements DeploymentEntity, DirtyTrackingEntity, Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -138,6 +139,7 @@ public class DeploymentEntityImpl extends AbstractBpmnEngineNoRevisionEntity imp
 
     @Override
     public void setCategory(String category) {
+        markDirty();
         this.category = category;
     }
 
@@ -148,6 +150,7 @@ public class DeploymentEntityImpl extends AbstractBpmnEngineNoRevisionEntity imp
 
     @Override
     public void setKey(String key) {
+        markDirty();
         this.key = key;
     }
 
@@ -158,6 +161,7 @@ public class DeploymentEntityImpl extends AbstractBpmnEngineNoRevisionEntity imp
 
     @Override
     public void setTenantId(String tenantId) {
+        markDirty();
         this.tenantId = tenantId;
     }
 
@@ -223,6 +227,7 @@ public class DeploymentEntityImpl extends AbstractBpmnEngineNoRevisionEntity imp
 
     @Override
     public void setParentDeploymentId(String parentDeploymentId) {
+        markDirty();
         this.parentDeploymentId = parentDeploymentId;
     }
 
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -40,4 +41,6 @@ public interface HistoricActivityInstanceEntityManager extends EntityManager<His
 
     void deleteHistoricActivityInstancesByProcessInstanceId(String historicProcessInstanceId);
 
+    void bulkDeleteHistoricActivityInstancesByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
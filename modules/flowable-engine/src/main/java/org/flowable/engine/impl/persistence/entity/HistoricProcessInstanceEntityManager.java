@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -43,4 +45,12 @@ public interface HistoricProcessInstanceEntityManager extends EntityManager<Hist
     
     long findHistoricProcessInstanceCountByNativeQuery(Map<String, Object> parameterMap);
 
+    void bulkDeleteHistoricProcessInstances(Collection<String> processInstanceIds);
+
+    List<String> findHistoricProcessInstanceIdsEndedBefore(Date endedBefore, int maxResults);
+
+    long findHistoricProcessInstanceCountEndedBefore(Date endedBefore);
+
+    List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(Collection<String> superProcessInstanceIds);
+
 }
\ No newline at end of file
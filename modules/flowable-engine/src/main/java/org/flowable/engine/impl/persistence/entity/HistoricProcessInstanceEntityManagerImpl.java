@@ -13,7 +13,9 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -92,6 +94,26 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
         return historicProcessInstanceDataManager.findHistoricProcessInstanceCountByNativeQuery(parameterMap);
     }
 
+    @Override
+    public List<String> findHistoricProcessInstanceIdsEndedBefore(Date endedBefore, int maxResults) {
+        return historicProcessInstanceDataManager.findHistoricProcessInstanceIdsEndedBefore(endedBefore, maxResults);
+    }
+
+    @Override
+    public long findHistoricProcessInstanceCountEndedBefore(Date endedBefore) {
+        return historicProcessInstanceDataManager.findHistoricProcessInstanceCountEndedBefore(endedBefore);
+    }
+
+    @Override
+    public List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(Collection<String> superProcessInstanceIds) {
+        return historicProcessInstanceDataManager.findHistoricProcessInstanceIdsBySuperProcessInstanceIds(superProcessInstanceIds);
+    }
+
+    @Override
+    public void bulkDeleteHistoricProcessInstances(Collection<String> processInstanceIds) {
+        historicProcessInstanceDataManager.bulkDeleteHistoricProcessInstances(processInstanceIds);
+    }
+
     public HistoricProcessInstanceDataManager getHistoricProcessInstanceDataManager() {
         return historicProcessInstanceDataManager;
     }
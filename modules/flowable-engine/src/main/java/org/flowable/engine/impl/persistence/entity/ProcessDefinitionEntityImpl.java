@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.flowable.common.engine.impl.db.SuspensionState;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.engine.ProcessEngineConfiguration;
 import org.flowable.engine.impl.bpmn.data.IOSpecification;
 import org.flowable.engine.impl.util.CommandContextUtil;
@@ -28,7 +29,7 @@ import org.flowable.identitylink.service.impl.persistence.entity.IdentityLinkEnt
  * @author Joram Barrez
  * @author Tijs Rademakers
  */
-public class ProcessDefinitionEntityImpl extends AbstractBpmnEngineEntity implements ProcessDefinitionEntity, Serializable {
+public class ProcessDefinitionEntityImpl extends AbstractBpmnEngineEntity implements ProcessDefinitionEntity, DirtyTrackingEntity, Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -172,6 +173,7 @@ public class ProcessDefinitionEntityImpl extends AbstractBpmnEngineEntity implem
 
     @Override
     public void setCategory(String category) {
+        markDirty();
         this.category = category;
     }
 
@@ -227,6 +229,7 @@ public class ProcessDefinitionEntityImpl extends AbstractBpmnEngineEntity implem
 
     @Override
     public void setSuspensionState(int suspensionState) {
+        markDirty();
         this.suspensionState = suspensionState;
     }
 
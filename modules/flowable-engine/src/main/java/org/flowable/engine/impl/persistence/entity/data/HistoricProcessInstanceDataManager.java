@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -42,4 +44,12 @@ public interface HistoricProcessInstanceDataManager extends DataManager<Historic
 
     long findHistoricProcessInstanceCountByNativeQuery(Map<String, Object> parameterMap);
 
+    void bulkDeleteHistoricProcessInstances(Collection<String> processInstanceIds);
+
+    List<String> findHistoricProcessInstanceIdsEndedBefore(Date endedBefore, int maxResults);
+
+    long findHistoricProcessInstanceCountEndedBefore(Date endedBefore);
+
+    List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(Collection<String> superProcessInstanceIds);
+
 }
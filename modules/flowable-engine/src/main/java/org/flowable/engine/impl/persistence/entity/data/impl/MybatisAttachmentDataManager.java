@@ -12,7 +12,12 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.entity.AttachmentEntity;
@@ -51,4 +56,31 @@ public class MybatisAttachmentDataManager extends AbstractProcessDataManager<Att
         return getDbSqlSession().selectList("selectAttachmentsByTaskId", taskId);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void bulkDeleteAttachmentsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        // The attachments of tasks are found through the historic task instances,
+        // so they are selected now and deleted by id, independent of when the historic task instances are deleted
+        Map<String, Object> parameters = new HashMap<>(1);
+        parameters.put("processInstanceIds", processInstanceIds);
+        List<AttachmentEntity> attachments = getDbSqlSession().selectListWithRawParameterNoCacheCheck("selectAttachmentsByProcessInstanceIds", parameters);
+        if (attachments.isEmpty()) {
+            return;
+        }
+
+        List<String> attachmentIds = new ArrayList<>(attachments.size());
+        List<String> contentIds = new ArrayList<>();
+        for (AttachmentEntity attachment : attachments) {
+            attachmentIds.add(attachment.getId());
+            if (attachment.getContentId() != null) {
+                contentIds.add(attachment.getContentId());
+            }
+        }
+
+        if (!contentIds.isEmpty()) {
+            getDbSqlSession().delete("bulkDeleteAttachmentByteArraysByIds", Collections.singletonMap("contentIds", contentIds), AttachmentEntityImpl.class);
+        }
+        getDbSqlSession().delete("bulkDeleteAttachmentsByIds", Collections.singletonMap("attachmentIds", attachmentIds), AttachmentEntityImpl.class);
+    }
+
 }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -111,4 +113,17 @@ public class MybatisCommentDataManager extends AbstractProcessDataManager<Commen
         return findById(commentId);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void bulkDeleteCommentsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        // The comments of tasks are found through the historic task instances,
+        // so they are selected now and deleted by id, independent of when the historic task instances are deleted
+        Map<String, Object> parameters = new HashMap<>(1);
+        parameters.put("processInstanceIds", processInstanceIds);
+        List<String> commentIds = getDbSqlSession().selectListWithRawParameterNoCacheCheck("selectCommentIdsByProcessInstanceIds", parameters);
+        if (!commentIds.isEmpty()) {
+            getDbSqlSession().delete("bulkDeleteCommentsByIds", Collections.singletonMap("commentIds", commentIds), CommentEntityImpl.class);
+        }
+    }
+
 }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -98,4 +100,12 @@ public class MybatisHistoricDetailDataManager extends AbstractProcessDataManager
         return (Long) getDbSqlSession().selectOne("selectHistoricDetailCountByNativeQuery", parameterMap);
     }
 
+    @Override
+    public void bulkDeleteHistoricDetailsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        Map<String, Object> parameters = new HashMap<>(1);
+        parameters.put("processInstanceIds", processInstanceIds);
+        getDbSqlSession().delete("bulkDeleteHistoricDetailByteArraysByProcessInstanceIds", parameters, HistoricDetailEntityImpl.class);
+        getDbSqlSession().delete("bulkDeleteHistoricDetailsByProcessInstanceIds", parameters, HistoricDetailEntityImpl.class);
+    }
+
 }
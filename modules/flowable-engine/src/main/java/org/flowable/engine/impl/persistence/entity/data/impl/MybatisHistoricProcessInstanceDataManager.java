@@ -12,10 +12,14 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.flowable.common.engine.impl.db.ListQueryParameterObject;
 import org.flowable.engine.history.HistoricProcessInstance;
 import org.flowable.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -119,4 +123,29 @@ public class MybatisHistoricProcessInstanceDataManager extends AbstractProcessDa
         return (Long) getDbSqlSession().selectOne("selectHistoricProcessInstanceCountByNativeQuery", parameterMap);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findHistoricProcessInstanceIdsEndedBefore(Date endedBefore, int maxResults) {
+        return getDbSqlSession().selectList("selectHistoricProcessInstanceIdsEndedBefore", endedBefore, 0, maxResults);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(Collection<String> superProcessInstanceIds) {
+        return getDbSqlSession().selectListWithRawParameterNoCacheCheck("selectHistoricProcessInstanceIdsBySuperProcessInstanceIds",
+                Collections.singletonMap("superProcessInstanceIds", superProcessInstanceIds));
+    }
+
+    @Override
+    public long findHistoricProcessInstanceCountEndedBefore(Date endedBefore) {
+        return (Long) getDbSqlSession().selectOne("selectHistoricProcessInstanceCountEndedBefore", new ListQueryParameterObject(endedBefore, 0, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public void bulkDeleteHistoricProcessInstances(Collection<String> processInstanceIds) {
+        Map<String, Object> parameters = new HashMap<>(1);
+        parameters.put("processInstanceIds", processInstanceIds);
+        getDbSqlSession().delete("bulkDeleteHistoricProcessInstancesByIds", parameters, HistoricProcessInstanceEntityImpl.class);
+    }
+
 }
@@ -19,6 +19,7 @@ import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.impl.scripting.Resolver;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.delegate.IsolatedVariableScope;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.task.service.impl.persistence.entity.TaskEntity;
 import org.flowable.variable.api.delegate.VariableScope;
@@ -54,7 +55,7 @@ public class VariableScopeResolver implements Resolver {
         if (variableScope == null) {
             throw new FlowableIllegalArgumentException("variableScope cannot be null");
         }
-        if (variableScope instanceof ExecutionEntity) {
+        if (variableScope instanceof ExecutionEntity || variableScope instanceof IsolatedVariableScope) {
             variableScopeKey = "execution";
         } else if (variableScope instanceof TaskEntity) {
             variableScopeKey = "task";
@@ -66,13 +67,15 @@ public class VariableScopeResolver implements Resolver {
 
     @Override
     public boolean containsKey(Object key) {
-        return variableScopeKey.equals(key) || KEYS.contains(key) || variableScope.hasVariable((String) key);
+        return variableScopeKey.equals(key) || (KEYS.contains(key) && isServiceAccessAllowed()) || variableScope.hasVariable((String) key);
     }
 
     @Override
     public Object get(Object key) {
         if (variableScopeKey.equals(key)) {
             return variableScope;
+        } else if (!isServiceAccessAllowed()) {
+            return variableScope.getVariable((String) key);
         } else if (processEngineConfigurationKey.equals(key)) {
             return processEngineConfiguration;
         } else if (runtimeServiceKey.equals(key)) {
@@ -93,4 +96,11 @@ public class VariableScopeResolver implements Resolver {
 
         return variableScope.getVariable((String) key);
     }
+
+    /**
+     * The services would start a new transaction when used from an isolated execution, which runs on another thread.
+     */
+    protected boolean isServiceAccessAllowed() {
+        return !(variableScope instanceof IsolatedVariableScope);
+    }
 }
@@ -13,12 +13,15 @@
 package org.flowable.engine.impl.util;
 
 import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.FlowNode;
 import org.flowable.bpmn.model.Process;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableObjectNotFoundException;
 import org.flowable.common.engine.impl.context.Context;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.deploy.DeploymentManager;
+import org.flowable.engine.impl.persistence.deploy.FlowNodeExecutionPlan;
+import org.flowable.engine.impl.persistence.deploy.ProcessExecutionPlan;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntityManager;
@@ -88,6 +91,28 @@ public class ProcessDefinitionUtil {
         return null;
     }
 
+    /**
+     * Returns the precompiled execution plan of the given flow node of the cached process definition,
+     * or null if there is none (e.g. when execution plans are disabled).
+     */
+    public static FlowNodeExecutionPlan getFlowNodeExecutionPlan(String processDefinitionId, FlowNode flowNode) {
+        ProcessExecutionPlan executionPlan = getProcessExecutionPlan(processDefinitionId);
+        return executionPlan != null ? executionPlan.getFlowNodePlan(flowNode) : null;
+    }
+
+    /**
+     * Returns the precompiled execution plan of the cached process definition, or null if there is none (e.g. when execution plans are disabled).
+     */
+    public static ProcessExecutionPlan getProcessExecutionPlan(String processDefinitionId) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        if (processEngineConfiguration == null || processDefinitionId == null || !processEngineConfiguration.getPerformanceSettings().isEnableProcessExecutionPlans()) {
+            return null;
+        }
+
+        ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(processDefinitionId);
+        return cacheEntry != null ? cacheEntry.getExecutionPlan() : null;
+    }
+
     public static boolean isProcessDefinitionSuspended(String processDefinitionId) {
         ProcessDefinitionEntity processDefinition = getProcessDefinitionFromDatabase(processDefinitionId);
         return processDefinition.isSuspended();
@@ -51,6 +51,26 @@ public class ConditionUtil {
 
     }
 
+    /**
+     * Same as {@link #hasTrueCondition(SequenceFlow, DelegateExecution)}, with the condition expression of the sequence flow already parsed (null if it has none).
+     * The condition expression is only parsed again when it's overridden in the process definition info.
+     */
+    public static boolean hasTrueCondition(SequenceFlow sequenceFlow, Expression conditionExpression, DelegateExecution execution) {
+        if (CommandContextUtil.getProcessEngineConfiguration().isEnableProcessDefinitionInfoCache()) {
+            ObjectNode elementProperties = BpmnOverrideContext.getBpmnOverrideElementProperties(sequenceFlow.getId(), execution.getProcessDefinitionId());
+            if (elementProperties != null && elementProperties.has(DynamicBpmnConstants.SEQUENCE_FLOW_CONDITION)) {
+                return hasTrueCondition(sequenceFlow, execution);
+            }
+        }
+
+        if (conditionExpression != null) {
+            Condition condition = new UelExpressionCondition(conditionExpression);
+            return condition.evaluate(sequenceFlow.getId(), execution);
+        } else {
+            return true;
+        }
+    }
+
     protected static String getActiveValue(String originalValue, String propertyName, ObjectNode elementProperties) {
         String activeValue = originalValue;
         if (elementProperties != null) {
@@ -0,0 +1,78 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.bpmn.deployment;
+
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.common.engine.impl.util.CollectionUtil;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.deploy.FlowNodeExecutionPlan;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.impl.persistence.deploy.ProcessExecutionPlan;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.junit.jupiter.api.Test;
+
+public class ProcessExecutionPlanTest extends CustomConfigurationFlowableTestCase {
+
+    public ProcessExecutionPlanTest() {
+        super("processExecutionPlanTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setEnableProcessExecutionPlans(true);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/sequenceflow/DefaultSequenceFlowTest.testDefaultSequenceFlowOnTask.bpmn20.xml")
+    public void testExecutionPlanCompiledOnDeploy() {
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionKey("defaultSeqFlow").singleResult();
+        ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(processDefinition.getId());
+        ProcessExecutionPlan executionPlan = cacheEntry.getExecutionPlan();
+        assertNotNull(executionPlan);
+        assertEquals(processDefinition.getId(), executionPlan.getProcessDefinitionId());
+
+        FlowNode task = (FlowNode) cacheEntry.getProcess().getFlowElement("myTask");
+        FlowNodeExecutionPlan taskPlan = executionPlan.getFlowNodePlan(task);
+        assertNotNull(taskPlan);
+        assertSame(task, taskPlan.getFlowNode());
+        assertEquals(3, taskPlan.getOutgoingFlows().size());
+        assertEquals("flow2", taskPlan.getDefaultFlowId());
+        assertEquals("task1", taskPlan.getDefaultFlow().getTargetRef());
+        for (int i = 0; i < taskPlan.getOutgoingFlows().size(); i++) {
+            boolean hasCondition = !"flow2".equals(taskPlan.getOutgoingFlows().get(i).getId());
+            assertEquals(hasCondition, taskPlan.getConditionExpression(i) != null);
+        }
+        assertTrue(taskPlan.getExecutionListeners("start").isEmpty());
+
+        // The plan is used to select the outgoing sequence flows
+        String processInstanceId = runtimeService.startProcessInstanceByKey("defaultSeqFlow", CollectionUtil.singletonMap("input", 3)).getId();
+        assertNotNull(runtimeService.createExecutionQuery().processInstanceId(processInstanceId).activityId("task3").singleResult());
+
+        processInstanceId = runtimeService.startProcessInstanceByKey("defaultSeqFlow", CollectionUtil.singletonMap("input", 5)).getId();
+        assertNotNull(runtimeService.createExecutionQuery().processInstanceId(processInstanceId).activityId("task1").singleResult());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/sequenceflow/DefaultSequenceFlowTest.testDefaultSequenceFlowOnTask.bpmn20.xml")
+    public void testExecutionPlanCompiledWhenCachedAgain() {
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionKey("defaultSeqFlow").singleResult();
+        processEngineConfiguration.getProcessDefinitionCache().clear();
+
+        String processInstanceId = runtimeService.startProcessInstanceByKey("defaultSeqFlow", CollectionUtil.singletonMap("input", 2)).getId();
+        assertNotNull(runtimeService.createExecutionQuery().processInstanceId(processInstanceId).activityId("task2").singleResult());
+        assertNotNull(processEngineConfiguration.getProcessDefinitionCache().get(processDefinition.getId()).getExecutionPlan());
+    }
+
+}
@@ -13,8 +13,17 @@
 
 package org.flowable.engine.test.bpmn.gateway;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.flowable.bpmn.model.ParallelGateway;
+import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
@@ -37,6 +46,8 @@ import org.junit.jupiter.api.Test;
  */
 public class ParallelGatewayTest extends PluggableFlowableTestCase {
 
+    public static final AtomicInteger FAILING_SCRIPT_INVOCATIONS = new AtomicInteger();
+
     /**
      * Case where there is a parallel gateway that splits into 3 paths of execution, that are immediately joined, without any wait states in between. In the end, no executions should be in the
      * database.
@@ -263,4 +274,67 @@ public class ParallelGatewayTest extends PluggableFlowableTestCase {
 
     }
 
+    @Test
+    @Deployment
+    public void testConcurrentBranches() {
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionKey("concurrentBranches").singleResult();
+        assertTrue(((ParallelGateway) repositoryService.getBpmnModel(processDefinition.getId()).getFlowElement("fork")).isConcurrentBranches());
+
+        String commandThreadName = Thread.currentThread().getName();
+
+        // Without an executor service, all branches are executed on the thread of the command
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("concurrentBranches", Collections.singletonMap("input", "in"));
+        Map<String, Object> variables = runtimeService.getVariables(processInstance.getId());
+        assertEquals("inA", variables.get("a"));
+        assertEquals(commandThreadName, variables.get("threadA"));
+        assertEquals(commandThreadName, variables.get("threadB"));
+        assertEquals(commandThreadName, variables.get("threadD"));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        processEngineConfiguration.setConcurrentBranchExecutorService(executorService);
+        try {
+            processInstance = runtimeService.startProcessInstanceByKey("concurrentBranches", Collections.singletonMap("input", "in"));
+
+            variables = runtimeService.getVariables(processInstance.getId());
+            assertEquals("inA", variables.get("a"));
+            assertEquals("inB", variables.get("b"));
+            assertEquals("inC", variables.get("c"));
+            assertEquals(processInstance.getId() + "D", variables.get("d"));
+
+            // The isolated script tasks are executed on other threads, the one that needs the execution is never executed isolated
+            assertFalse(commandThreadName.equals(variables.get("threadA")));
+            assertFalse(commandThreadName.equals(variables.get("threadB")));
+            assertEquals(commandThreadName, variables.get("threadD"));
+
+            Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+            assertEquals("afterJoin", task.getTaskDefinitionKey());
+            taskService.complete(task.getId());
+            assertProcessEnded(processInstance.getId());
+
+        } finally {
+            processEngineConfiguration.setConcurrentBranchExecutorService(null);
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @Deployment
+    public void testConcurrentBranchFailure() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        processEngineConfiguration.setConcurrentBranchExecutorService(executorService);
+        FAILING_SCRIPT_INVOCATIONS.set(0);
+        try {
+            assertThatThrownBy(() -> runtimeService.startProcessInstanceByKey("concurrentBranchFailure", Collections.singletonMap("input", "in")))
+                    .isInstanceOf(FlowableException.class);
+
+            // The failed isolated script is not executed again on the thread of the command
+            assertEquals(1, FAILING_SCRIPT_INVOCATIONS.get());
+            assertEquals(0, runtimeService.createProcessInstanceQuery().processDefinitionKey("concurrentBranchFailure").count());
+
+        } finally {
+            processEngineConfiguration.setConcurrentBranchExecutorService(null);
+            executorService.shutdownNow();
+        }
+    }
+
 }
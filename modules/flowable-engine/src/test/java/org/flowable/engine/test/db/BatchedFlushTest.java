@@ -0,0 +1,119 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.task.api.Task;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchedFlushTest extends PluggableFlowableTestCase {
+
+    protected boolean oldBatchedFlushEnabled;
+
+    @BeforeEach
+    protected void enableBatchedFlush() {
+        DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+        oldBatchedFlushEnabled = dbSqlSessionFactory.isBatchedFlushEnabled();
+        dbSqlSessionFactory.setBatchedFlushEnabled(true);
+    }
+
+    @AfterEach
+    protected void resetBatchedFlush() {
+        processEngineConfiguration.getDbSqlSessionFactory().setBatchedFlushEnabled(oldBatchedFlushEnabled);
+    }
+
+    @Test
+    public void testBatchedUpdatesAndDeletes() {
+        List<String> taskIds = createTasks(5);
+        List<Task> tasks = getTasks(taskIds);
+
+        updateTaskNames(tasks, "updated");
+
+        for (Task task : getTasks(taskIds)) {
+            assertEquals("updated", task.getName());
+        }
+
+        // The revision is incremented after the batch, so a second batched update with the same objects should succeed too
+        updateTaskNames(tasks, "updated again");
+        assertEquals(5, taskService.createTaskQuery().taskName("updated again").count());
+
+        taskService.deleteTasks(taskIds, true);
+        for (String taskId : taskIds) {
+            assertNull(taskService.createTaskQuery().taskId(taskId).singleResult());
+        }
+    }
+
+    @Test
+    public void testOptimisticLockingWithBatchedUpdates() {
+        List<String> taskIds = createTasks(3);
+        List<Task> staleTasks = getTasks(taskIds);
+
+        Task concurrentlyUpdatedTask = taskService.createTaskQuery().taskId(staleTasks.get(1).getId()).singleResult();
+        concurrentlyUpdatedTask.setName("concurrent update");
+        taskService.saveTask(concurrentlyUpdatedTask);
+
+        try {
+            updateTaskNames(staleTasks, "updated");
+            fail("Expecting exception");
+        } catch (FlowableOptimisticLockingException e) {
+            // Expected exception
+        }
+
+        // Nothing of the failed batch should have been committed
+        assertEquals(0, taskService.createTaskQuery().taskName("updated").count());
+        assertEquals(1, taskService.createTaskQuery().taskName("concurrent update").count());
+
+        taskService.deleteTasks(taskIds, true);
+    }
+
+    protected List<String> createTasks(int nrOfTasks) {
+        List<String> taskIds = new ArrayList<>();
+        for (int i = 0; i < nrOfTasks; i++) {
+            Task task = taskService.newTask();
+            task.setName("task " + i);
+            taskService.saveTask(task);
+            taskIds.add(task.getId());
+        }
+        return taskIds;
+    }
+
+    protected List<Task> getTasks(List<String> taskIds) {
+        List<Task> tasks = new ArrayList<>();
+        for (String taskId : taskIds) {
+            tasks.add(taskService.createTaskQuery().taskId(taskId).singleResult());
+        }
+        return tasks;
+    }
+
+    protected void updateTaskNames(List<Task> tasks, String name) {
+        managementService.executeCommand(commandContext -> {
+            DbSqlSession dbSqlSession = commandContext.getSession(DbSqlSession.class);
+            for (Task task : tasks) {
+                TaskEntity taskEntity = (TaskEntity) task;
+                taskEntity.setName(name);
+                dbSqlSession.update(taskEntity);
+            }
+            return null;
+        });
+    }
+
+}
@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
+import org.flowable.common.engine.impl.persistence.cache.CachedEntity;
+import org.flowable.common.engine.impl.persistence.cache.EntityCache;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EntityDirtyTrackingTest extends PluggableFlowableTestCase {
+
+    protected boolean oldEntityDirtyTrackingEnabled;
+
+    @BeforeEach
+    protected void enableDirtyTracking() {
+        DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+        oldEntityDirtyTrackingEnabled = dbSqlSessionFactory.isEntityDirtyTrackingEnabled();
+        dbSqlSessionFactory.setEntityDirtyTrackingEnabled(true);
+    }
+
+    @AfterEach
+    protected void resetDirtyTracking() {
+        processEngineConfiguration.getDbSqlSessionFactory().setEntityDirtyTrackingEnabled(oldEntityDirtyTrackingEnabled);
+    }
+
+    @Test
+    public void testReadOnlyEntityIsNotChanged() {
+        String processDefinitionId = deployOneTaskTestProcess();
+        ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinitionId);
+
+        managementService.executeCommand(commandContext -> {
+            ExecutionEntityImpl execution = (ExecutionEntityImpl) CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId());
+            assertTrue(execution.isDirtyTrackingEnabled());
+            assertFalse(execution.isDirty());
+            assertNull(execution.getOriginalPersistentState());
+
+            CachedEntity cachedEntity = commandContext.getSession(EntityCache.class).findInCacheAsCachedObjects(ExecutionEntityImpl.class).iterator().next();
+            assertTrue(cachedEntity.isDirtyTracked());
+            assertFalse(cachedEntity.hasChanged());
+
+            // Setting the same parent doesn't change the persistent state
+            execution.setParent(null);
+            assertFalse(execution.isDirty());
+            return null;
+        });
+    }
+
+    @Test
+    public void testChangedEntityIsFlushed() {
+        String processDefinitionId = deployOneTaskTestProcess();
+        ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinitionId);
+
+        setProcessInstanceName(processInstance.getId(), "dirty");
+        assertEquals("dirty", runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getName());
+
+        // Resetting to null relies on the persistent state captured before the first change
+        setProcessInstanceName(processInstance.getId(), null);
+        assertNull(runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getName());
+
+        repositoryService.suspendProcessDefinitionById(processDefinitionId);
+        assertTrue(repositoryService.getProcessDefinition(processDefinitionId).isSuspended());
+        repositoryService.activateProcessDefinitionById(processDefinitionId);
+        assertFalse(repositoryService.getProcessDefinition(processDefinitionId).isSuspended());
+
+        taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId());
+        assertProcessEnded(processInstance.getId());
+    }
+
+    protected void setProcessInstanceName(String processInstanceId, String name) {
+        managementService.executeCommand(commandContext -> {
+            ExecutionEntityImpl execution = (ExecutionEntityImpl) CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstanceId);
+            execution.setName(name);
+            assertTrue(execution.isDirty());
+            assertNotNull(execution.getOriginalPersistentState());
+            return null;
+        });
+    }
+
+}
@@ -0,0 +1,150 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.engine.impl.db.StripedDbIdGenerator;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.junit.jupiter.api.Test;
+
+public class StripedDbIdGeneratorTest extends PluggableFlowableTestCase {
+
+    @Test
+    public void testUniqueIdsFromConcurrentThreads() throws Exception {
+        StripedDbIdGenerator idGenerator = new StripedDbIdGenerator();
+        idGenerator.setIdBlockSize(100);
+        idGenerator.setStripeCount(4);
+        idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+        idGenerator.setCommandConfig(processEngineConfiguration.getDefaultCommandConfig().transactionRequiresNew());
+
+        int nrOfThreads = 8;
+        int nrOfIdsPerThread = 1000;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(nrOfThreads);
+        try {
+            List<Callable<List<String>>> callables = new ArrayList<>();
+            for (int i = 0; i < nrOfThreads; i++) {
+                callables.add(() -> {
+                    List<String> ids = new ArrayList<>(nrOfIdsPerThread);
+                    for (int j = 0; j < nrOfIdsPerThread; j++) {
+                        ids.add(idGenerator.getNextId());
+                    }
+                    return ids;
+                });
+            }
+
+            Set<String> allIds = Collections.synchronizedSet(new HashSet<>());
+            for (Future<List<String>> future : executorService.invokeAll(callables)) {
+                List<String> ids = future.get();
+
+                // Ids within one thread come from one stripe, so they are increasing
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(Long.parseLong(ids.get(i)) > Long.parseLong(ids.get(i - 1)));
+                }
+                allIds.addAll(ids);
+            }
+
+            assertEquals(nrOfThreads * nrOfIdsPerThread, allIds.size());
+            assertTrue(idGenerator.getBlockExhaustionWaitCount() > 0);
+            assertTrue(idGenerator.getPrefetchedBlockCount() > 0);
+
+        } finally {
+            executorService.shutdownNow();
+            idGenerator.shutdown();
+        }
+    }
+
+    @Test
+    public void testSwitchToPrefetchedBlockIsNoWait() throws Exception {
+        ExecutorService prefetchExecutorService = Executors.newSingleThreadExecutor();
+        try {
+            StripedDbIdGenerator idGenerator = new StripedDbIdGenerator();
+            idGenerator.setIdBlockSize(10);
+            idGenerator.setStripeCount(1);
+            idGenerator.setPrefetchExecutorService(prefetchExecutorService);
+            idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+            idGenerator.setCommandConfig(processEngineConfiguration.getDefaultCommandConfig().transactionRequiresNew());
+
+            // The first block is fetched while the thread waits
+            for (int i = 0; i < 10; i++) {
+                idGenerator.getNextId();
+            }
+            assertEquals(1, idGenerator.getBlockExhaustionWaitCount());
+
+            // Once the prefetch has completed, switching to the next block doesn't wait
+            prefetchExecutorService.submit(() -> { }).get();
+            idGenerator.getNextId();
+            assertEquals(1, idGenerator.getBlockExhaustionWaitCount());
+            assertEquals(1, idGenerator.getPrefetchedBlockCount());
+
+        } finally {
+            prefetchExecutorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPrefetchExecutorShutdownWhenEngineClosed() {
+        StripedDbIdGenerator idGenerator = new StripedDbIdGenerator();
+        idGenerator.setIdBlockSize(10);
+        idGenerator.setStripeCount(1);
+
+        ProcessEngineConfiguration configuration = ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+                .setJdbcUrl("jdbc:h2:mem:flowable-striped-id-generator-test")
+                .setEngineName("stripedIdGeneratorEngine");
+        configuration.setIdGenerator(idGenerator);
+        ProcessEngine processEngine = configuration.buildProcessEngine();
+        ExecutorService prefetchExecutorService;
+        try {
+            for (int i = 0; i < 100; i++) {
+                idGenerator.getNextId();
+            }
+            prefetchExecutorService = idGenerator.getPrefetchExecutorService();
+            assertNotNull(prefetchExecutorService);
+            assertFalse(prefetchExecutorService.isShutdown());
+
+        } finally {
+            processEngine.close();
+        }
+
+        assertTrue(prefetchExecutorService.isShutdown());
+        assertNull(idGenerator.getPrefetchExecutorService());
+    }
+
+    @Test
+    public void testProvidedPrefetchExecutorIsNotShutdown() {
+        ExecutorService prefetchExecutorService = Executors.newSingleThreadExecutor();
+        try {
+            StripedDbIdGenerator idGenerator = new StripedDbIdGenerator();
+            idGenerator.setPrefetchExecutorService(prefetchExecutorService);
+            idGenerator.shutdown();
+
+            assertFalse(prefetchExecutorService.isShutdown());
+            assertSame(prefetchExecutorService, idGenerator.getPrefetchExecutorService());
+
+        } finally {
+            prefetchExecutorService.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.test.JobTestHelper;
+import org.flowable.job.service.impl.asyncexecutor.AdaptiveAcquisitionController;
+import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveAcquisitionTest {
+
+    @Test
+    public void testPageSizeAndWaitTime() {
+        AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController("test", 2, 8, 100, 1000);
+
+        // Full pages: grow up to the max page size, without waiting
+        Assert.assertEquals(0L, controller.acquisitionCompleted(2, 2, 0));
+        Assert.assertEquals(4, controller.getPageSize());
+        Assert.assertEquals(0L, controller.acquisitionCompleted(4, 4, 0));
+        Assert.assertEquals(0L, controller.acquisitionCompleted(8, 8, 0));
+        Assert.assertEquals(8, controller.getPageSize());
+
+        // Partially filled page: same page size, minimum wait time
+        Assert.assertEquals(100L, controller.acquisitionCompleted(8, 3, 0));
+        Assert.assertEquals(8, controller.getPageSize());
+
+        // Empty pages: shrink and back off up to the max wait time
+        Assert.assertEquals(200L, controller.acquisitionCompleted(8, 0, 0));
+        Assert.assertEquals(400L, controller.acquisitionCompleted(4, 0, 0));
+        Assert.assertEquals(800L, controller.acquisitionCompleted(2, 0, 0));
+        Assert.assertEquals(1000L, controller.acquisitionCompleted(1, 0, 0));
+        Assert.assertEquals(1, controller.getPageSize());
+
+        // Jobs found again: back to the minimum wait time
+        Assert.assertEquals(0L, controller.acquisitionCompleted(1, 1, 0));
+        Assert.assertEquals(2, controller.getPageSize());
+        Assert.assertEquals(100L, controller.getWaitTimeInMillis());
+
+        // Rejected jobs shrink the page
+        Assert.assertEquals(100L, controller.acquisitionCompleted(2, 2, 1));
+        Assert.assertEquals(1, controller.getPageSize());
+
+        // Optimistic locking failures back off with jitter
+        long millisToWait = controller.optimisticLockingFailure();
+        Assert.assertTrue(millisToWait >= 200L && millisToWait < 300L);
+
+        Assert.assertEquals(11, controller.getAcquisitionCount());
+        Assert.assertEquals(4, controller.getEmptyAcquisitionCount());
+        Assert.assertEquals(20, controller.getAcquiredJobCount());
+        Assert.assertEquals(1, controller.getRejectedJobCount());
+        Assert.assertEquals(1, controller.getOptimisticLockingFailureCount());
+    }
+
+    @Test
+    public void testExecuteJobsWithAdaptiveAcquisition() {
+        ProcessEngine processEngine = createProcessEngine();
+        try {
+            processEngine.getRepositoryService().createDeployment()
+                    .addClasspathResource("org/flowable/engine/test/jobexecutor/AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml")
+                    .deploy();
+
+            // The async executor isn't active yet, so all jobs need to be acquired
+            int nrOfProcessInstances = 20;
+            for (int i = 0; i < nrOfProcessInstances; i++) {
+                processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            }
+
+            JobTestHelper.waitForJobExecutorToProcessAllJobs(processEngine.getProcessEngineConfiguration(), processEngine.getManagementService(), 20000L, 100L, false);
+            Assert.assertEquals(nrOfProcessInstances, processEngine.getTaskService().createTaskQuery().taskName("Task after script").count());
+
+            DefaultAsyncJobExecutor asyncExecutor = (DefaultAsyncJobExecutor) processEngine.getProcessEngineConfiguration().getAsyncExecutor();
+            AdaptiveAcquisitionController controller = asyncExecutor.getAsyncJobAcquisitionController();
+            Assert.assertNotNull(controller);
+            Assert.assertNotNull(asyncExecutor.getTimerJobAcquisitionController());
+            Assert.assertTrue(controller.getAcquisitionCount() > 0);
+            Assert.assertEquals(nrOfProcessInstances, controller.getAcquiredJobCount());
+
+        } finally {
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            processEngine.close();
+        }
+    }
+
+    protected ProcessEngine createProcessEngine() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AdaptiveAcquisitionTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncExecutorAdaptiveAcquisitionEnabled(true);
+        return processEngineConfiguration.buildProcessEngine();
+    }
+
+}
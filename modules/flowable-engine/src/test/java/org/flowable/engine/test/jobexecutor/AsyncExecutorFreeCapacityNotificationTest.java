@@ -0,0 +1,69 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.test.JobTestHelper;
+import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class AsyncExecutorFreeCapacityNotificationTest {
+
+    @Test
+    public void testRejectedJobsAreAcquiredWhenWorkerIsAvailable() {
+        ProcessEngine processEngine = createProcessEngine();
+        try {
+            processEngine.getRepositoryService().createDeployment()
+                    .addClasspathResource("org/flowable/engine/test/jobexecutor/AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml")
+                    .deploy();
+
+            // With one worker and a queue of one, most of these jobs can't be handed off after the transaction and are unacquired again
+            int nrOfProcessInstances = 10;
+            for (int i = 0; i < nrOfProcessInstances; i++) {
+                processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            }
+
+            // The acquire wait times are one minute, so this only succeeds when the workers wake up the acquisition thread
+            JobTestHelper.waitForJobExecutorToProcessAllJobs(processEngine.getProcessEngineConfiguration(), processEngine.getManagementService(), 20000L, 100L, false);
+            Assert.assertEquals(nrOfProcessInstances, processEngine.getTaskService().createTaskQuery().taskName("Task after script").count());
+
+        } finally {
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            processEngine.close();
+        }
+    }
+
+    protected ProcessEngine createProcessEngine() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AsyncExecutorFreeCapacityNotificationTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncExecutorActivate(true);
+
+        DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor();
+        asyncExecutor.setCorePoolSize(1);
+        asyncExecutor.setMaxPoolSize(1);
+        asyncExecutor.setQueueSize(1);
+        asyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(60000);
+        asyncExecutor.setDefaultQueueSizeFullWaitTimeInMillis(60000);
+        asyncExecutor.setFreeCapacityNotificationEnabled(true);
+        processEngineConfiguration.setAsyncExecutor(asyncExecutor);
+
+        return processEngineConfiguration.buildProcessEngine();
+    }
+
+}
@@ -0,0 +1,162 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.test.Deployment;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.asyncexecutor.AcquiredJobEntities;
+import org.flowable.job.service.impl.asyncexecutor.AcquiredTimerJobEntities;
+import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.cmd.AcquireJobsCmd;
+import org.flowable.job.service.impl.cmd.AcquireTimerJobsCmd;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
+import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BulkJobLockTest extends PluggableFlowableTestCase {
+
+    protected boolean oldBulkJobLockEnabled;
+    protected int oldMaxAsyncJobsDuePerAcquisition;
+
+    @BeforeEach
+    protected void enableBulkJobLock() {
+        AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+        oldBulkJobLockEnabled = asyncExecutor.isBulkJobLockEnabled();
+        oldMaxAsyncJobsDuePerAcquisition = asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
+        asyncExecutor.setBulkJobLockEnabled(true);
+        asyncExecutor.setMaxAsyncJobsDuePerAcquisition(5);
+    }
+
+    @AfterEach
+    protected void resetBulkJobLock() {
+        AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+        asyncExecutor.setBulkJobLockEnabled(oldBulkJobLockEnabled);
+        asyncExecutor.setMaxAsyncJobsDuePerAcquisition(oldMaxAsyncJobsDuePerAcquisition);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+    public void testAcquireJobs() {
+        for (int i = 0; i < 3; i++) {
+            runtimeService.startProcessInstanceByKey("myProcess");
+        }
+        List<Job> jobs = managementService.createJobQuery().list();
+        assertEquals(3, jobs.size());
+
+        AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+        AcquiredJobEntities acquiredJobs = managementService.executeCommand(new AcquireJobsCmd(asyncExecutor));
+        assertEquals(3, acquiredJobs.size());
+        for (JobInfoEntity job : acquiredJobs.getJobs()) {
+            assertEquals(asyncExecutor.getLockOwner(), job.getLockOwner());
+            assertNotNull(job.getLockExpirationTime());
+            assertEquals(((JobEntity) findJob(jobs, job.getId())).getRevision() + 1, job.getRevision());
+        }
+        assertEquals(3, managementService.createJobQuery().locked().count());
+
+        // All jobs are locked now, so nothing is acquired anymore
+        assertEquals(0, managementService.executeCommand(new AcquireJobsCmd(asyncExecutor)).size());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+    public void testBulkLockSkipsJobsLockedByOtherOwner() {
+        for (int i = 0; i < 3; i++) {
+            runtimeService.startProcessInstanceByKey("myProcess");
+        }
+        List<String> jobIds = new ArrayList<>();
+        for (Job job : managementService.createJobQuery().list()) {
+            jobIds.add(job.getId());
+        }
+
+        // Mimics another executor locking one of the jobs between selecting and locking them
+        assertEquals(1, bulkLockJobs(Collections.singletonList(jobIds.get(1)), "otherOwner"));
+        assertEquals(2, bulkLockJobs(jobIds, "myOwner"));
+
+        List<JobEntity> lockedJobs = managementService.executeCommand(commandContext -> {
+            Map<String, Object> params = new HashMap<>();
+            params.put("ids", jobIds);
+            params.put("lockOwner", "myOwner");
+            return commandContext.getSession(DbSqlSession.class).selectList("selectJobsLockedByOwner", params);
+        });
+        assertEquals(2, lockedJobs.size());
+        for (JobEntity job : lockedJobs) {
+            assertFalse(job.getId().equals(jobIds.get(1)));
+        }
+        assertEquals("otherOwner", ((JobEntity) managementService.createJobQuery().jobId(jobIds.get(1)).singleResult()).getLockOwner());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+    public void testExecuteBulkLockedJobs() {
+        for (int i = 0; i < 3; i++) {
+            runtimeService.startProcessInstanceByKey("myProcess");
+        }
+
+        waitForJobExecutorToProcessAllJobs(10000L, 200L);
+        assertEquals(0, managementService.createJobQuery().count());
+        assertEquals(3, taskService.createTaskQuery().taskName("A").count());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/jobexecutor/JobProcessorTest.testIntermediateTimer.bpmn20.xml")
+    public void testAcquireTimerJobs() {
+        Date startTime = new Date();
+        processEngineConfiguration.getClock().setCurrentTime(startTime);
+        runtimeService.startProcessInstanceByKey("intermediateTimer");
+        runtimeService.startProcessInstanceByKey("intermediateTimer");
+
+        AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+        assertEquals(0, managementService.executeCommand(new AcquireTimerJobsCmd(asyncExecutor)).size());
+
+        processEngineConfiguration.getClock().setCurrentTime(new Date(startTime.getTime() + 10000L));
+        AcquiredTimerJobEntities acquiredJobs = managementService.executeCommand(new AcquireTimerJobsCmd(asyncExecutor));
+        assertEquals(2, acquiredJobs.size());
+        for (TimerJobEntity job : acquiredJobs.getJobs()) {
+            assertEquals(asyncExecutor.getLockOwner(), job.getLockOwner());
+            assertNotNull(job.getLockExpirationTime());
+        }
+        assertEquals(0, managementService.executeCommand(new AcquireTimerJobsCmd(asyncExecutor)).size());
+    }
+
+    protected int bulkLockJobs(List<String> jobIds, String lockOwner) {
+        return managementService.executeCommand(commandContext -> {
+            Map<String, Object> params = new HashMap<>();
+            params.put("ids", jobIds);
+            params.put("lockOwner", lockOwner);
+            params.put("lockExpirationTime", new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + 60000L));
+            return commandContext.getSession(DbSqlSession.class).update("bulkLockJobs", params);
+        });
+    }
+
+    protected Job findJob(List<Job> jobs, String jobId) {
+        for (Job job : jobs) {
+            if (job.getId().equals(jobId)) {
+                return job;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.delegate.JavaDelegate;
+
+public class ConcurrencyTrackingDelegate implements JavaDelegate {
+
+    public static final AtomicInteger currentExecutions = new AtomicInteger();
+    public static final AtomicInteger maxConcurrentExecutions = new AtomicInteger();
+
+    public static void reset() {
+        currentExecutions.set(0);
+        maxConcurrentExecutions.set(0);
+    }
+
+    @Override
+    public void execute(DelegateExecution execution) {
+        int concurrentExecutions = currentExecutions.incrementAndGet();
+        maxConcurrentExecutions.accumulateAndGet(concurrentExecutions, Math::max);
+        try {
+            // Keeps the job running long enough for other jobs to be executed at the same time, if they could be
+            Thread.sleep(100L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlowableException("Interrupted while executing", e);
+        } finally {
+            currentExecutions.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.test.JobTestHelper;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.job.api.JobInfo;
+import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class ExclusiveJobGroupingTest {
+
+    @Test
+    public void testParallelExclusiveAsyncTasks() {
+        GroupRecordingAsyncExecutor asyncExecutor = new GroupRecordingAsyncExecutor();
+        ProcessEngine processEngine = createProcessEngine(asyncExecutor);
+        try {
+            processEngine.getRepositoryService().createDeployment()
+                    .addClasspathResource("org/flowable/engine/test/jobexecutor/ExclusiveJobGroupingTest.testParallelExclusiveAsyncTasks.bpmn20.xml")
+                    .deploy();
+
+            // The async executor isn't active yet, so all jobs need to be acquired
+            int nrOfProcessInstances = 5;
+            for (int i = 0; i < nrOfProcessInstances; i++) {
+                processEngine.getRuntimeService().startProcessInstanceByKey("parallelExclusiveAsyncTasks");
+            }
+            Assert.assertEquals(4 * nrOfProcessInstances, processEngine.getManagementService().createJobQuery().count());
+
+            JobTestHelper.waitForJobExecutorToProcessAllJobs(processEngine.getProcessEngineConfiguration(), processEngine.getManagementService(), 20000L, 100L, false);
+            Assert.assertEquals(nrOfProcessInstances, processEngine.getTaskService().createTaskQuery().taskName("Task after join").count());
+            for (ProcessInstance processInstance : processEngine.getRuntimeService().createProcessInstanceQuery().list()) {
+                Assert.assertEquals(4, processEngine.getRuntimeService().getVariables(processInstance.getId()).size());
+            }
+
+            // All jobs of an instance were acquired at once, so they were executed as one group
+            Assert.assertEquals(nrOfProcessInstances, asyncExecutor.groups.size());
+            for (List<? extends JobInfo> group : asyncExecutor.groups) {
+                Assert.assertEquals(4, group.size());
+            }
+
+        } finally {
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            processEngine.close();
+        }
+    }
+
+    protected ProcessEngine createProcessEngine(DefaultAsyncJobExecutor asyncExecutor) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-ExclusiveJobGroupingTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        asyncExecutor.setExclusiveJobGroupingEnabled(true);
+        asyncExecutor.setMaxAsyncJobsDuePerAcquisition(100);
+        processEngineConfiguration.setAsyncExecutor(asyncExecutor);
+        return processEngineConfiguration.buildProcessEngine();
+    }
+
+    protected static class GroupRecordingAsyncExecutor extends DefaultAsyncJobExecutor {
+
+        protected List<List<? extends JobInfo>> groups = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected boolean executeAsyncJobs(List<? extends JobInfo> jobs, Runnable runnable) {
+            groups.add(jobs);
+            return super.executeAsyncJobs(jobs, runnable);
+        }
+
+    }
+
+}
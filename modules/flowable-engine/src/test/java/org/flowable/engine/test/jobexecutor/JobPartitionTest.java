@@ -0,0 +1,133 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.common.engine.impl.Page;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.test.JobTestHelper;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.asyncexecutor.AcquireJobPartitionLeasesCmd;
+import org.flowable.job.service.impl.asyncexecutor.JobPartitionManager;
+import org.flowable.job.service.impl.asyncexecutor.ReleaseJobPartitionLeasesCmd;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.job.service.impl.util.CommandContextUtil;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class JobPartitionTest {
+
+    @Test
+    public void testPartitionLeasesAreBalanced() {
+        ProcessEngine processEngine = createProcessEngine("testPartitionLeasesAreBalanced");
+        ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+        JobPartitionManager jobPartitionManager = processEngineConfiguration.getJobServiceConfiguration().getJobPartitionManager();
+        try {
+            // A single node owns all partitions
+            Assert.assertEquals(Arrays.asList(0, 1, 2, 3), acquireLeases(processEngine, jobPartitionManager, "node1"));
+
+            // A second node joins: no partitions are free yet, the first node gives half of them back
+            Assert.assertEquals(Collections.emptyList(), acquireLeases(processEngine, jobPartitionManager, "node2"));
+            Assert.assertEquals(2, acquireLeases(processEngine, jobPartitionManager, "node1").size());
+            List<Integer> node2Partitions = acquireLeases(processEngine, jobPartitionManager, "node2");
+            Assert.assertEquals(2, node2Partitions.size());
+            List<Integer> node1Partitions = acquireLeases(processEngine, jobPartitionManager, "node1");
+            Assert.assertEquals(2, node1Partitions.size());
+            Assert.assertTrue(Collections.disjoint(node1Partitions, node2Partitions));
+
+            // The second node goes down: its partitions are taken over when the leases expire
+            processEngineConfiguration.getClock().setCurrentTime(new Date(System.currentTimeMillis() + jobPartitionManager.getLeaseTimeInMillis() / 2));
+            Assert.assertEquals(node1Partitions, acquireLeases(processEngine, jobPartitionManager, "node1"));
+            processEngineConfiguration.getClock().setCurrentTime(new Date(System.currentTimeMillis() + jobPartitionManager.getLeaseTimeInMillis() * 2));
+            Assert.assertEquals(Arrays.asList(0, 1, 2, 3), acquireLeases(processEngine, jobPartitionManager, "node1"));
+
+            // Released partitions can be claimed immediately
+            processEngine.getManagementService().executeCommand(new ReleaseJobPartitionLeasesCmd(jobPartitionManager, "node1"));
+            Assert.assertEquals(Arrays.asList(0, 1, 2, 3), acquireLeases(processEngine, jobPartitionManager, "node2"));
+
+        } finally {
+            processEngineConfiguration.getClock().reset();
+            processEngine.close();
+        }
+    }
+
+    @Test
+    public void testOnlyJobsOfOwnedPartitionsAreAcquired() {
+        ProcessEngine processEngine = createProcessEngine("testOnlyJobsOfOwnedPartitionsAreAcquired");
+        ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+        JobPartitionManager jobPartitionManager = processEngineConfiguration.getJobServiceConfiguration().getJobPartitionManager();
+        try {
+            processEngine.getRepositoryService().createDeployment()
+                    .addClasspathResource("org/flowable/engine/test/jobexecutor/AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml")
+                    .deploy();
+
+            int nrOfProcessInstances = 20;
+            for (int i = 0; i < nrOfProcessInstances; i++) {
+                processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            }
+
+            List<Job> jobs = processEngine.getManagementService().createJobQuery().list();
+            Assert.assertEquals(nrOfProcessInstances, jobs.size());
+            for (Job job : jobs) {
+                JobEntity jobEntity = (JobEntity) job;
+                Assert.assertEquals(Integer.valueOf(Math.floorMod(job.getProcessInstanceId().hashCode(), 4)), jobEntity.getPartition());
+            }
+
+            Integer partition = ((JobEntity) jobs.get(0)).getPartition();
+            jobPartitionManager.setOwnedPartitions(Collections.singletonList(partition));
+            for (JobEntity job : findJobsToExecute(processEngine)) {
+                Assert.assertEquals(partition, job.getPartition());
+            }
+
+            jobPartitionManager.setOwnedPartitions(Collections.<Integer>emptyList());
+            Assert.assertEquals(0, findJobsToExecute(processEngine).size());
+
+            // The async executor leases all partitions, as it's the only one
+            processEngineConfiguration.getAsyncExecutor().start();
+            JobTestHelper.waitForJobExecutorToProcessAllJobs(processEngineConfiguration, processEngine.getManagementService(), 20000L, 100L, false);
+            Assert.assertEquals(nrOfProcessInstances, processEngine.getTaskService().createTaskQuery().taskName("Task after script").count());
+            Assert.assertEquals(Arrays.asList(0, 1, 2, 3), jobPartitionManager.getOwnedPartitions());
+
+        } finally {
+            processEngineConfiguration.getAsyncExecutor().shutdown();
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            processEngine.close();
+        }
+    }
+
+    protected List<Integer> acquireLeases(ProcessEngine processEngine, JobPartitionManager jobPartitionManager, String lockOwner) {
+        return processEngine.getManagementService().executeCommand(new AcquireJobPartitionLeasesCmd(jobPartitionManager, lockOwner));
+    }
+
+    protected List<JobEntity> findJobsToExecute(ProcessEngine processEngine) {
+        return processEngine.getManagementService().executeCommand(commandContext -> CommandContextUtil.getJobServiceConfiguration(commandContext)
+                .getJobEntityManager().findJobsToExecute(new Page(0, 100)));
+    }
+
+    protected ProcessEngine createProcessEngine(String name) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-JobPartitionTest-" + name + ";DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncExecutorJobPartitionCount(4);
+        return processEngineConfiguration.buildProcessEngine();
+    }
+
+}
@@ -0,0 +1,121 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.agenda;
+
+import java.util.Collections;
+
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.EndEvent;
+import org.flowable.bpmn.model.ImplementationType;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.bpmn.model.ServiceTask;
+import org.flowable.bpmn.model.StartEvent;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.repository.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the throughput of a chain of service tasks with agenda operation pooling disabled and enabled.
+ * Not part of the unit test suite (the class name doesn't match the surefire includes), run it with <code>-Dtest=AgendaOperationPoolingBenchmark</code>.
+ */
+public class AgendaOperationPoolingBenchmark extends CustomConfigurationFlowableTestCase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AgendaOperationPoolingBenchmark.class);
+
+    protected static final int NUMBER_OF_SERVICE_TASKS = 100;
+    protected static final int NUMBER_OF_PROCESS_INSTANCES = 100;
+
+    public AgendaOperationPoolingBenchmark() {
+        super("agendaOperationPoolingBenchmark");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setEnableAgendaOperationPooling(true);
+    }
+
+    @Test
+    public void serviceTaskChainThroughput() {
+        deployChainProcess();
+
+        try {
+            // Warm up both ways, so the first measurement doesn't include the warm up of the engine
+            for (boolean pooling : new boolean[] { false, true }) {
+                processEngineConfiguration.setEnableAgendaOperationPooling(pooling);
+                startProcessInstances(10);
+            }
+
+            long durationWithoutPooling = measure(false);
+            long durationWithPooling = measure(true);
+            LOGGER.info("Agenda operation pooling changed the duration from {} ms to {} ms ({}%)", durationWithoutPooling / 1000000,
+                    durationWithPooling / 1000000, (durationWithPooling - durationWithoutPooling) * 100 / Math.max(durationWithoutPooling, 1));
+
+        } finally {
+            processEngineConfiguration.setEnableAgendaOperationPooling(true);
+        }
+    }
+
+    protected long measure(boolean pooling) {
+        processEngineConfiguration.setEnableAgendaOperationPooling(pooling);
+
+        long start = System.nanoTime();
+        startProcessInstances(NUMBER_OF_PROCESS_INSTANCES);
+        long duration = System.nanoTime() - start;
+
+        // Every service task needs a continue process and a take outgoing sequence flows operation
+        long numberOfOperations = 2L * (NUMBER_OF_SERVICE_TASKS + 2) * NUMBER_OF_PROCESS_INSTANCES;
+        LOGGER.info("Executed {} operations with pooling {} in {} ms ({} operations/second)", numberOfOperations, pooling ? "enabled" : "disabled",
+                duration / 1000000, numberOfOperations * 1000000000L / Math.max(duration, 1));
+        return duration;
+    }
+
+    protected void startProcessInstances(int numberOfProcessInstances) {
+        for (int i = 0; i < numberOfProcessInstances; i++) {
+            runtimeService.startProcessInstanceByKey("chain", Collections.singletonMap("counter", 0));
+        }
+    }
+
+    protected void deployChainProcess() {
+        BpmnModel model = new BpmnModel();
+        org.flowable.bpmn.model.Process process = new org.flowable.bpmn.model.Process();
+        model.addProcess(process);
+        process.setId("chain");
+
+        StartEvent startEvent = new StartEvent();
+        startEvent.setId("start");
+        process.addFlowElement(startEvent);
+
+        String previousElementId = "start";
+        for (int i = 0; i < NUMBER_OF_SERVICE_TASKS; i++) {
+            ServiceTask serviceTask = new ServiceTask();
+            serviceTask.setId("serviceTask" + i);
+            serviceTask.setImplementationType(ImplementationType.IMPLEMENTATION_TYPE_EXPRESSION);
+            serviceTask.setImplementation("${execution.setVariable('counter', counter + 1)}");
+            process.addFlowElement(serviceTask);
+            process.addFlowElement(new SequenceFlow(previousElementId, serviceTask.getId()));
+            previousElementId = serviceTask.getId();
+        }
+
+        EndEvent endEvent = new EndEvent();
+        endEvent.setId("end");
+        process.addFlowElement(endEvent);
+        process.addFlowElement(new SequenceFlow(previousElementId, "end"));
+
+        Deployment deployment = repositoryService.createDeployment().addBpmnModel("chain.bpmn20.xml", model).deploy();
+        deploymentIdsForAutoCleanup.add(deployment.getId());
+    }
+
+}
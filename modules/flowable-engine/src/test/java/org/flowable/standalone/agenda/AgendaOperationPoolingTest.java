@@ -0,0 +1,202 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.agenda;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.EndEvent;
+import org.flowable.bpmn.model.ImplementationType;
+import org.flowable.bpmn.model.ParallelGateway;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.bpmn.model.ServiceTask;
+import org.flowable.bpmn.model.StartEvent;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.agenda.ContinueProcessOperation;
+import org.flowable.engine.impl.agenda.DefaultFlowableEngineAgenda;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.repository.Deployment;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.junit.jupiter.api.Test;
+
+public class AgendaOperationPoolingTest extends CustomConfigurationFlowableTestCase {
+
+    protected static final int NUMBER_OF_SERVICE_TASKS = 100;
+
+    public AgendaOperationPoolingTest() {
+        super("agendaOperationPoolingTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setEnableAgendaOperationPooling(true);
+
+        Map<Object, Object> beans = new HashMap<>();
+        beans.put("chainStarter", new ChainStarter());
+        processEngineConfiguration.setBeans(beans);
+    }
+
+    @Test
+    public void testServiceTaskChain() {
+        deployChainProcess("chain", NUMBER_OF_SERVICE_TASKS, false);
+        String processInstanceId = startChainProcess("chain");
+
+        assertChainProcessCompleted(processInstanceId, NUMBER_OF_SERVICE_TASKS);
+    }
+
+    @Test
+    public void testServiceTaskChainWithNestedCommand() {
+        deployChainProcess("chain", NUMBER_OF_SERVICE_TASKS, false);
+        deployChainProcess("outerChain", NUMBER_OF_SERVICE_TASKS, true);
+
+        // The nested process instance is started while the operation of the first service task is still being executed,
+        // so the agenda is run by the nested command before that operation is completed
+        String processInstanceId = startChainProcess("outerChain");
+
+        assertChainProcessCompleted(processInstanceId, NUMBER_OF_SERVICE_TASKS);
+        assertEquals(1, historyService.createHistoricProcessInstanceQuery().processDefinitionKey("chain").finished().count());
+        String nestedProcessInstanceId = historyService.createHistoricProcessInstanceQuery().processDefinitionKey("chain").singleResult().getId();
+        assertChainProcessCompleted(nestedProcessInstanceId, NUMBER_OF_SERVICE_TASKS);
+    }
+
+    @Test
+    public void testOperationsAreReleasedAndReused() {
+        deployChainProcess("chain", NUMBER_OF_SERVICE_TASKS, false);
+
+        managementService.executeCommand(commandContext -> {
+            DefaultFlowableEngineAgenda agenda = (DefaultFlowableEngineAgenda) CommandContextUtil.getAgenda(commandContext);
+            assertTrue(agenda.isOperationPoolingEnabled());
+            Deque<ContinueProcessOperation> continueProcessOperationPool = agenda.getContinueProcessOperationPool();
+            assertTrue(continueProcessOperationPool.isEmpty());
+            assertTrue(agenda.getTakeOutgoingSequenceFlowsOperationPool().isEmpty());
+
+            // The nested command uses the same agenda, which releases the executed operations into its pools
+            runtimeService.startProcessInstanceByKey("chain", Collections.singletonMap("counter", 0));
+            assertFalse(continueProcessOperationPool.isEmpty());
+            assertFalse(agenda.getTakeOutgoingSequenceFlowsOperationPool().isEmpty());
+            for (ContinueProcessOperation pooledOperation : continueProcessOperationPool) {
+                assertNull(pooledOperation.getExecution());
+            }
+
+            // A newly planned operation is taken from the pool
+            int numberOfPooledOperations = continueProcessOperationPool.size();
+            ContinueProcessOperation pooledOperation = continueProcessOperationPool.peek();
+            agenda.planContinueProcessOperation(null);
+            Runnable plannedOperation = agenda.getNextOperation();
+            assertSame(pooledOperation, plannedOperation);
+            assertEquals(numberOfPooledOperations - 1, continueProcessOperationPool.size());
+
+            // and is put back once it's released
+            agenda.releaseOperation(plannedOperation);
+            assertEquals(numberOfPooledOperations, continueProcessOperationPool.size());
+            assertSame(pooledOperation, continueProcessOperationPool.peek());
+            return null;
+        });
+
+        assertEquals(1, historyService.createHistoricProcessInstanceQuery().processDefinitionKey("chain").finished().count());
+    }
+
+    protected String startChainProcess(String processDefinitionKey) {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(processDefinitionKey, Collections.singletonMap("counter", 0));
+        assertTrue(processInstance.isEnded());
+        return processInstance.getId();
+    }
+
+    protected void assertChainProcessCompleted(String processInstanceId, int numberOfServiceTasks) {
+        assertEquals(numberOfServiceTasks, ((Number) historyService.createHistoricVariableInstanceQuery()
+                .processInstanceId(processInstanceId).variableName("counter").singleResult().getValue()).intValue());
+        // Including the service task on the parallel branch
+        assertEquals(numberOfServiceTasks + 1, historyService.createHistoricActivityInstanceQuery()
+                .processInstanceId(processInstanceId).activityType("serviceTask").finished().count());
+    }
+
+    /**
+     * A chain of service tasks that each increment the counter variable, with a parallel gateway in the middle
+     * so that the pooled operations are also used for concurrent executions.
+     * When the nested chain is started, the first service task starts a process instance of the 'chain' process.
+     */
+    protected void deployChainProcess(String processDefinitionKey, int numberOfServiceTasks, boolean startNestedChain) {
+        BpmnModel model = new BpmnModel();
+        org.flowable.bpmn.model.Process process = new org.flowable.bpmn.model.Process();
+        model.addProcess(process);
+        process.setId(processDefinitionKey);
+
+        StartEvent startEvent = new StartEvent();
+        startEvent.setId("start");
+        process.addFlowElement(startEvent);
+
+        String previousElementId = "start";
+        for (int i = 0; i < numberOfServiceTasks; i++) {
+            String serviceTaskId = "serviceTask" + i;
+            ServiceTask serviceTask = new ServiceTask();
+            serviceTask.setId(serviceTaskId);
+            serviceTask.setImplementationType(ImplementationType.IMPLEMENTATION_TYPE_EXPRESSION);
+            if (startNestedChain && i == 0) {
+                serviceTask.setImplementation("${chainStarter.start(execution)}");
+            } else {
+                serviceTask.setImplementation("${execution.setVariable('counter', counter + 1)}");
+            }
+            process.addFlowElement(serviceTask);
+
+            if (i == numberOfServiceTasks / 2) {
+                ParallelGateway fork = new ParallelGateway();
+                fork.setId("fork");
+                process.addFlowElement(fork);
+                ParallelGateway join = new ParallelGateway();
+                join.setId("join");
+                process.addFlowElement(join);
+
+                ServiceTask parallelServiceTask = new ServiceTask();
+                parallelServiceTask.setId("parallelServiceTask");
+                parallelServiceTask.setImplementationType(ImplementationType.IMPLEMENTATION_TYPE_EXPRESSION);
+                parallelServiceTask.setImplementation("${true}");
+                process.addFlowElement(parallelServiceTask);
+
+                process.addFlowElement(new SequenceFlow(previousElementId, "fork"));
+                process.addFlowElement(new SequenceFlow("fork", serviceTaskId));
+                process.addFlowElement(new SequenceFlow("fork", "parallelServiceTask"));
+                process.addFlowElement(new SequenceFlow(serviceTaskId, "join"));
+                process.addFlowElement(new SequenceFlow("parallelServiceTask", "join"));
+                previousElementId = "join";
+
+            } else {
+                process.addFlowElement(new SequenceFlow(previousElementId, serviceTaskId));
+                previousElementId = serviceTaskId;
+            }
+        }
+
+        EndEvent endEvent = new EndEvent();
+        endEvent.setId("end");
+        process.addFlowElement(endEvent);
+        process.addFlowElement(new SequenceFlow(previousElementId, "end"));
+
+        Deployment deployment = repositoryService.createDeployment().addBpmnModel(processDefinitionKey + ".bpmn20.xml", model).deploy();
+        deploymentIdsForAutoCleanup.add(deployment.getId());
+    }
+
+    public static class ChainStarter {
+
+        public void start(DelegateExecution execution) {
+            CommandContextUtil.getProcessEngineConfiguration().getRuntimeService()
+                    .startProcessInstanceByKey("chain", Collections.singletonMap("counter", 0));
+            execution.setVariable("counter", ((Number) execution.getVariable("counter")).intValue() + 1);
+        }
+
+    }
+
+}
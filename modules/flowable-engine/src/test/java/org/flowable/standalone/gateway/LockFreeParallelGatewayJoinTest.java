@@ -0,0 +1,135 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.gateway;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.jobexecutor.ParallelGatewayJoinJobHandler;
+import org.flowable.engine.impl.test.JobTestHelper;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.task.api.Task;
+import org.flowable.task.api.TaskQuery;
+import org.junit.jupiter.api.Test;
+
+public class LockFreeParallelGatewayJoinTest extends CustomConfigurationFlowableTestCase {
+
+    public LockFreeParallelGatewayJoinTest() {
+        super("lockFreeParallelGatewayJoinTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setEnableLockFreeParallelGatewayJoin(true);
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+        processEngineConfiguration.setAsyncExecutorNumberOfRetries(10);
+        processEngineConfiguration.setAsyncFailedJobWaitTime(1);
+        processEngineConfiguration.setDefaultFailedJobWaitTime(1);
+        processEngineConfiguration.setAsyncExecutorDefaultTimerJobAcquireWaitTime(100);
+        processEngineConfiguration.setAsyncExecutorDefaultAsyncJobAcquireWaitTime(100);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/gateway/ParallelGatewayTest.testNestedForkJoin.bpmn20.xml")
+    public void testNestedForkJoin() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("nestedForkJoin").getId();
+        TaskQuery query = taskService.createTaskQuery().orderByTaskName().asc();
+        taskService.complete(query.singleResult().getId());
+
+        // The first arrival in the join schedules a check of the join
+        List<Task> tasks = query.list();
+        assertEquals("Task A", tasks.get(0).getName());
+        taskService.complete(tasks.get(0).getId());
+        Job joinJob = managementService.createJobQuery().singleResult();
+        assertEquals(ParallelGatewayJoinJobHandler.TYPE, joinJob.getJobHandlerType());
+
+        // Checking the join before the other executions arrived doesn't activate it
+        managementService.executeJob(joinJob.getId());
+        assertEquals(0, managementService.createJobQuery().count());
+        assertEquals("Task B", query.singleResult().getName());
+
+        taskService.complete(query.singleResult().getId());
+        tasks = query.list();
+        assertEquals("Task B1", tasks.get(0).getName());
+        assertEquals("Task B2", tasks.get(1).getName());
+
+        // The last arrival activates the join, which removes the pending check of the other arrival
+        taskService.complete(tasks.get(0).getId());
+        assertEquals(1, managementService.createJobQuery().count());
+        taskService.complete(tasks.get(1).getId());
+        assertEquals(0, managementService.createJobQuery().count());
+        assertEquals("Task C", query.singleResult().getName());
+
+        taskService.complete(query.singleResult().getId());
+        assertProcessEnded(processInstanceId);
+    }
+
+    @Test
+    @Deployment
+    public void testPendingChecksAreRemoved() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("pendingChecks").getId();
+        TaskQuery query = taskService.createTaskQuery().processInstanceId(processInstanceId).orderByTaskName().asc();
+        List<Task> tasks = query.list();
+        assertEquals(3, tasks.size());
+
+        // Every arrival that doesn't activate the join schedules a non exclusive check
+        taskService.complete(tasks.get(0).getId());
+        taskService.complete(tasks.get(1).getId());
+        List<Job> joinJobs = managementService.createJobQuery().processInstanceId(processInstanceId).list();
+        assertEquals(2, joinJobs.size());
+        for (Job joinJob : joinJobs) {
+            assertEquals(ParallelGatewayJoinJobHandler.TYPE, joinJob.getJobHandlerType());
+            assertFalse(((JobEntity) joinJob).isExclusive());
+        }
+
+        // The first check has seen both arrivals, so it removes the other pending check
+        managementService.executeJob(joinJobs.get(0).getId());
+        assertEquals(0, managementService.createJobQuery().processInstanceId(processInstanceId).count());
+        assertEquals("Task 3", query.singleResult().getName());
+
+        taskService.complete(query.singleResult().getId());
+        assertEquals(0, managementService.createJobQuery().processInstanceId(processInstanceId).count());
+        assertEquals("afterJoin", query.singleResult().getTaskDefinitionKey());
+
+        taskService.complete(query.singleResult().getId());
+        assertProcessEnded(processInstanceId);
+    }
+
+    @Test
+    @Deployment
+    public void testConcurrentArrivals() {
+        List<String> processInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            processInstanceIds.add(runtimeService.startProcessInstanceByKey("concurrentArrivals").getId());
+        }
+
+        // The branches arrive concurrently, the join is activated exactly once for every process instance
+        JobTestHelper.waitForJobExecutorToProcessAllJobsAndTimerJobs(processEngineConfiguration, managementService, 20000L, 200L);
+        for (String processInstanceId : processInstanceIds) {
+            assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstanceId).taskDefinitionKey("afterJoin").count());
+            assertEquals(2, runtimeService.createExecutionQuery().processInstanceId(processInstanceId).count());
+        }
+
+        for (Task task : taskService.createTaskQuery().list()) {
+            taskService.complete(task.getId());
+        }
+        for (String processInstanceId : processInstanceIds) {
+            assertProcessEnded(processInstanceId);
+        }
+    }
+
+}
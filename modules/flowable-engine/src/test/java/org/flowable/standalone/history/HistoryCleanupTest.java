@@ -0,0 +1,198 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.BpmnHistoryCleaner;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.task.Attachment;
+import org.flowable.engine.task.Comment;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.cmd.HandleHistoryCleanupTimerJobCmd;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleanupJobHandler;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleanupMetrics;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class HistoryCleanupTest extends CustomConfigurationFlowableTestCase {
+
+    protected List<String> archivedProcessInstanceIds = new ArrayList<>();
+
+    public HistoryCleanupTest() {
+        super("historyCleanupTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setEnableHistoryCleaning(true);
+        processEngineConfiguration.setHistoryCleaningTimeCycleConfig("0 0 1 * * ?");
+        processEngineConfiguration.setCleanInstancesEndedAfterNumberOfDays(30);
+        processEngineConfiguration.setHistoryCleaningBatchSize(3);
+        processEngineConfiguration.setHistoryCleaningMaxBatchesPerRun(2);
+        processEngineConfiguration.setHistoryArchiver((historyCleanerName, instanceIds, commandContext) -> archivedProcessInstanceIds.addAll(instanceIds));
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+    }
+
+    @AfterEach
+    protected void tearDown() {
+        processEngineConfiguration.getClock().reset();
+        for (Job timerJob : getCleanupTimerJobs()) {
+            managementService.deleteTimerJob(timerJob.getId());
+        }
+    }
+
+    @Test
+    public void testCleanupTimerJob() {
+        managementService.executeCommand(new HandleHistoryCleanupTimerJobCmd("0 0 1 * * ?", null));
+        managementService.executeCommand(new HandleHistoryCleanupTimerJobCmd("0 0 1 * * ?", null));
+        List<Job> timerJobs = getCleanupTimerJobs();
+        assertEquals(1, timerJobs.size());
+
+        // A changed cycle replaces the timer job
+        managementService.executeCommand(new HandleHistoryCleanupTimerJobCmd("0 0 2 * * ?", null));
+        List<Job> changedTimerJobs = getCleanupTimerJobs();
+        assertEquals(1, changedTimerJobs.size());
+        assertFalse(timerJobs.get(0).getId().equals(changedTimerJobs.get(0).getId()));
+
+        // Disabling the cleanup removes the timer job
+        managementService.executeCommand(new HandleHistoryCleanupTimerJobCmd(null, null));
+        assertEquals(0, getCleanupTimerJobs().size());
+    }
+
+    @Test
+    public void testCleanHistoryInBatches() {
+        managementService.executeCommand(new HandleHistoryCleanupTimerJobCmd("0 0 1 * * ?", null));
+        deployOneTaskTestProcess();
+
+        List<String> oldProcessInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.singletonMap("var", "value" + i)).getId();
+            Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+            taskService.addCandidateUser(task.getId(), "kermit");
+            taskService.addComment(task.getId(), processInstanceId, "comment " + i);
+            taskService.createAttachment("text", task.getId(), processInstanceId, "attachment", null, new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+            runtimeService.setVariable(processInstanceId, "bytes", new byte[] { 1, 2, 3 });
+            taskService.complete(task.getId());
+            oldProcessInstanceIds.add(processInstanceId);
+        }
+        String runningProcessInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+        Date now = new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + TimeUnit.DAYS.toMillis(31));
+        processEngineConfiguration.getClock().setCurrentTime(now);
+        String recentProcessInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+        taskService.complete(taskService.createTaskQuery().processInstanceId(recentProcessInstanceId).singleResult().getId());
+
+        // The first run stops after 2 batches of 3 instances
+        executeCleanupTimerJob();
+        HistoryCleanupMetrics metrics = processEngineConfiguration.getHistoryCleanupJobHandler().getMetrics(BpmnHistoryCleaner.NAME);
+        assertEquals(1, metrics.getNumberOfRuns());
+        assertEquals(6, metrics.getLastRunCleanedInstances());
+        assertEquals(2, metrics.getLastRunBatches());
+        assertEquals(1, metrics.getBacklog());
+        assertEquals(1, historyService.createHistoricProcessInstanceQuery().processInstanceIds(new HashSet<>(oldProcessInstanceIds)).count());
+
+        // The timer job is repeating, the next run cleans the backlog
+        executeCleanupTimerJob();
+        assertEquals(2, metrics.getNumberOfRuns());
+        assertEquals(1, metrics.getLastRunCleanedInstances());
+        assertEquals(0, metrics.getBacklog());
+        assertEquals(7, metrics.getTotalCleanedInstances());
+        assertEquals(7, archivedProcessInstanceIds.size());
+        assertTrue(archivedProcessInstanceIds.containsAll(oldProcessInstanceIds));
+
+        for (String processInstanceId : oldProcessInstanceIds) {
+            assertEquals(0, historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).count());
+            assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count());
+            assertEquals(0, historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).count());
+            assertEquals(0, historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).count());
+            assertEquals(0, historyService.createHistoricDetailQuery().processInstanceId(processInstanceId).count());
+            assertEquals(0, historyService.getHistoricIdentityLinksForProcessInstance(processInstanceId).size());
+            assertEquals(0, taskService.getProcessInstanceComments(processInstanceId).size());
+            assertEquals(0, taskService.getProcessInstanceAttachments(processInstanceId).size());
+        }
+
+        // Running and recently ended instances are kept
+        assertEquals(1, historyService.createHistoricProcessInstanceQuery().processInstanceId(runningProcessInstanceId).count());
+        assertEquals(1, historyService.createHistoricProcessInstanceQuery().processInstanceId(recentProcessInstanceId).count());
+        assertEquals(2, historyService.createHistoricTaskInstanceQuery().count());
+    }
+
+    @Test
+    @Deployment
+    public void testCleanSubProcessInstancesThroughRoot() {
+        managementService.executeCommand(new HandleHistoryCleanupTimerJobCmd("0 0 1 * * ?", null));
+
+        String processInstanceId = runtimeService.startProcessInstanceByKey("callingProcess").getId();
+        String subProcessInstanceId = runtimeService.createProcessInstanceQuery().superProcessInstanceId(processInstanceId).singleResult().getId();
+        Task subTask = taskService.createTaskQuery().processInstanceId(subProcessInstanceId).singleResult();
+
+        // Comments and attachments that only refer to the task are found through the historic task instance
+        Comment comment = taskService.addComment(subTask.getId(), null, "task comment");
+        Attachment attachment = taskService.createAttachment("text", subTask.getId(), null, "attachment", null, new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+        String contentId = attachment.getContentId();
+        assertNotNull(contentId);
+        taskService.complete(subTask.getId());
+
+        // The sub process instance has ended long ago, but it is kept as long as its root process instance is running
+        long start = processEngineConfiguration.getClock().getCurrentTime().getTime();
+        processEngineConfiguration.getClock().setCurrentTime(new Date(start + TimeUnit.DAYS.toMillis(31)));
+        executeCleanupTimerJob();
+        assertEquals(1, historyService.createHistoricProcessInstanceQuery().processInstanceId(subProcessInstanceId).count());
+        assertNotNull(taskService.getAttachment(attachment.getId()));
+
+        taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+        processEngineConfiguration.getClock().setCurrentTime(new Date(start + TimeUnit.DAYS.toMillis(62)));
+        executeCleanupTimerJob();
+
+        // Only the root process instance is counted, its sub process instance is deleted with it
+        HistoryCleanupMetrics metrics = processEngineConfiguration.getHistoryCleanupJobHandler().getMetrics(BpmnHistoryCleaner.NAME);
+        assertEquals(1, metrics.getLastRunCleanedInstances());
+        assertTrue(archivedProcessInstanceIds.containsAll(Arrays.asList(processInstanceId, subProcessInstanceId)));
+        assertEquals(0, historyService.createHistoricProcessInstanceQuery().processInstanceIds(new HashSet<>(Arrays.asList(processInstanceId, subProcessInstanceId))).count());
+        assertEquals(0, historyService.createHistoricTaskInstanceQuery().processInstanceId(subProcessInstanceId).count());
+        assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(subProcessInstanceId).count());
+        assertNull(taskService.getComment(comment.getId()));
+        assertNull(taskService.getAttachment(attachment.getId()));
+        assertNull(managementService.executeCommand(commandContext -> CommandContextUtil.getByteArrayEntityManager(commandContext).findById(contentId)));
+    }
+
+    protected void executeCleanupTimerJob() {
+        List<Job> timerJobs = getCleanupTimerJobs();
+        assertEquals(1, timerJobs.size());
+        Job job = managementService.moveTimerToExecutableJob(timerJobs.get(0).getId());
+        managementService.executeJob(job.getId());
+    }
+
+    protected List<Job> getCleanupTimerJobs() {
+        List<Job> timerJobs = new ArrayList<>();
+        for (Job timerJob : managementService.createTimerJobQuery().list()) {
+            if (HistoryCleanupJobHandler.TYPE.equals(timerJob.getJobHandlerType())) {
+                timerJobs.add(timerJob);
+            }
+        }
+        return timerJobs;
+    }
+
+}
@@ -0,0 +1,141 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.HistoryJob;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.history.async.codec.BinaryAsyncHistoryPayloadCodec;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.flowable.task.api.history.HistoricTaskInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class AsyncHistoryBinaryPayloadTest extends CustomConfigurationFlowableTestCase {
+
+    protected BinaryAsyncHistoryPayloadCodec codec = new BinaryAsyncHistoryPayloadCodec();
+
+    public AsyncHistoryBinaryPayloadTest() {
+        super("asyncHistoryBinaryPayloadTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncHistoryJsonGroupingEnabled(true);
+        processEngineConfiguration.setAsyncHistoryJsonGroupingThreshold(1);
+        processEngineConfiguration.setAsyncHistoryPayloadCodec(codec);
+        processEngineConfiguration.setAsyncFailedJobWaitTime(100);
+        processEngineConfiguration.setDefaultFailedJobWaitTime(100);
+        processEngineConfiguration.setAsyncHistoryExecutorNumberOfRetries(10);
+        processEngineConfiguration.setAsyncHistoryExecutorDefaultAsyncJobAcquireWaitTime(100);
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+    }
+
+    @AfterEach
+    protected void tearDown() throws Exception {
+        for (String autoDeletedDeploymentId : deploymentIdsForAutoCleanup) {
+            repositoryService.deleteDeployment(autoDeletedDeploymentId, true);
+        }
+        deploymentIdsForAutoCleanup.clear();
+
+        waitForHistoryJobExecutorToProcessAllJobs(10000, 100);
+        for (Job job : managementService.createJobQuery().list()) {
+            if (job.getJobHandlerType().equals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY)
+                    || job.getJobHandlerType().equals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED)) {
+                managementService.deleteJob(job.getId());
+            }
+        }
+    }
+
+    @Test
+    public void testOneTaskProcess() {
+        deployOneTaskTestProcess();
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+        taskService.complete(taskService.createTaskQuery().singleResult().getId());
+
+        List<HistoryJob> jobs = managementService.createHistoryJobQuery().list();
+        assertEquals(2, jobs.size());
+        for (HistoryJob job : jobs) {
+            byte[] bytes = managementService.executeCommand(commandContext -> ((HistoryJobEntity) job).getAdvancedJobHandlerConfigurationByteArrayRef().getBytes());
+            assertTrue(codec.isBinaryPayload(bytes));
+        }
+
+        waitForHistoryJobExecutorToProcessAllJobs(7000L, 100L);
+
+        HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).singleResult();
+        assertNotNull(historicProcessInstance);
+        assertNotNull(historicProcessInstance.getStartTime());
+        assertNotNull(historicProcessInstance.getEndTime());
+
+        HistoricTaskInstance historicTaskInstance = historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals("The Task", historicTaskInstance.getName());
+        assertNotNull(historicTaskInstance.getEndTime());
+        assertNotNull(historicTaskInstance.getDurationInMillis());
+
+        assertEquals(3, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).finished().count());
+    }
+
+    @Test
+    public void testEncodeDecode() throws Exception {
+        ObjectMapper objectMapper = processEngineConfiguration.getObjectMapper();
+        ArrayNode historyNode = objectMapper.createArrayNode();
+        for (int i = 0; i < 3; i++) {
+            ObjectNode eventNode = historyNode.addObject();
+            eventNode.put("type", "activity-start");
+            ObjectNode dataNode = eventNode.putObject("data");
+            dataNode.put("processInstanceId", "12345");
+            dataNode.put("activityId", "activity" + i);
+            dataNode.put("counter", -i);
+            dataNode.put("timestamp", Long.MAX_VALUE - i);
+            dataNode.put("ratio", 0.5 * i);
+            dataNode.put("amount", new BigDecimal("12.30"));
+            dataNode.put("active", i % 2 == 0);
+            dataNode.put("bytes", new byte[] { 1, 2, (byte) i });
+            dataNode.putNull("parentId");
+            dataNode.put("description", "\u00dcn\u00efc\u00f6d\u00e9 description that is longer than the strings that are shared between the events of a payload");
+            dataNode.putArray("tags").add("a").add(i);
+        }
+
+        byte[] bytes = codec.encode(historyNode, objectMapper);
+        assertTrue(codec.isBinaryPayload(bytes));
+        JsonNode decodedNode = codec.decode(bytes, objectMapper);
+        assertEquals(historyNode, decodedNode);
+        assertTrue(decodedNode.get(0).get("data").get("timestamp").isLong());
+        assertTrue(decodedNode.get(0).get("data").get("bytes").isBinary());
+
+        // Repeated field names and values are only written once
+        assertTrue(bytes.length < objectMapper.writeValueAsBytes(historyNode).length);
+
+        // The payload is decoded with the maximum shared string length it was written with
+        BinaryAsyncHistoryPayloadCodec otherCodec = new BinaryAsyncHistoryPayloadCodec();
+        otherCodec.setMaxSharedStringLength(1);
+        assertEquals(historyNode, otherCodec.decode(bytes, objectMapper));
+        assertEquals(historyNode, codec.decode(otherCodec.encode(historyNode, objectMapper), objectMapper));
+
+        // Json payloads (from jobs created before switching codecs) can still be decoded
+        assertEquals(historyNode.get(0).get("type"), codec.decode(historyNode.toString().getBytes(), objectMapper).get(0).get("type"));
+    }
+
+}
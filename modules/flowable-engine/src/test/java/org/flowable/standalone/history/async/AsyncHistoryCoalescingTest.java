@@ -0,0 +1,161 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.HistoryJob;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.flowable.task.api.Task;
+import org.flowable.task.api.history.HistoricTaskInstance;
+import org.flowable.variable.api.history.HistoricVariableInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class AsyncHistoryCoalescingTest extends CustomConfigurationFlowableTestCase {
+
+    public AsyncHistoryCoalescingTest() {
+        super("asyncHistoryCoalescingTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncFailedJobWaitTime(100);
+        processEngineConfiguration.setDefaultFailedJobWaitTime(100);
+        processEngineConfiguration.setAsyncHistoryExecutorNumberOfRetries(10);
+        processEngineConfiguration.setAsyncHistoryExecutorDefaultAsyncJobAcquireWaitTime(100);
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+    }
+
+    @AfterEach
+    protected void tearDown() throws Exception {
+        for (String autoDeletedDeploymentId : deploymentIdsForAutoCleanup) {
+            repositoryService.deleteDeployment(autoDeletedDeploymentId, true);
+        }
+        deploymentIdsForAutoCleanup.clear();
+
+        waitForHistoryJobExecutorToProcessAllJobs(10000, 100);
+        for (Job job : managementService.createJobQuery().list()) {
+            if (job.getJobHandlerType().equals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY)
+                    || job.getJobHandlerType().equals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED)) {
+                managementService.deleteJob(job.getId());
+            }
+        }
+    }
+
+    @Test
+    public void testActivityStartAndEnd() {
+        deployOneTaskTestProcess();
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+        // The start event is started and ended in the same transaction, the user task only started
+        List<String> types = getHistoryJobTypes();
+        assertTrue(types.contains(HistoryJsonConstants.TYPE_ACTIVITY_FULL));
+        assertTrue(types.contains(HistoryJsonConstants.TYPE_ACTIVITY_START));
+        assertFalse(types.contains(HistoryJsonConstants.TYPE_ACTIVITY_END));
+
+        waitForHistoryJobExecutorToProcessAllJobs(7000L, 100L);
+        assertEquals(1, historyService.createHistoricActivityInstanceQuery().activityId("start").finished().count());
+        assertEquals(1, historyService.createHistoricActivityInstanceQuery().activityId("theTask").unfinished().count());
+    }
+
+    @Test
+    public void testVariableCreateAndUpdate() {
+        deployOneTaskTestProcess();
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+        waitForHistoryJobExecutorToProcessAllJobs(7000L, 100L);
+
+        managementService.executeCommand(commandContext -> {
+            runtimeService.setVariable(processInstanceId, "myVariable", "first");
+            runtimeService.setVariable(processInstanceId, "myVariable", "second");
+            runtimeService.setVariable(processInstanceId, "myVariable", 123);
+            return null;
+        });
+
+        List<String> types = getHistoryJobTypes();
+        assertEquals(1, Collections.frequency(types, HistoryJsonConstants.TYPE_VARIABLE_CREATED));
+        assertFalse(types.contains(HistoryJsonConstants.TYPE_VARIABLE_UPDATED));
+
+        waitForHistoryJobExecutorToProcessAllJobs(7000L, 100L);
+        HistoricVariableInstance historicVariableInstance = historyService.createHistoricVariableInstanceQuery()
+                .processInstanceId(processInstanceId).variableName("myVariable").singleResult();
+        assertEquals(123, historicVariableInstance.getValue());
+        assertEquals("integer", historicVariableInstance.getVariableTypeName());
+    }
+
+    @Test
+    public void testVariableCreateAndRemove() {
+        deployOneTaskTestProcess();
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+        waitForHistoryJobExecutorToProcessAllJobs(7000L, 100L);
+
+        managementService.executeCommand(commandContext -> {
+            runtimeService.setVariable(processInstanceId, "myVariable", "value");
+            runtimeService.removeVariable(processInstanceId, "myVariable");
+            return null;
+        });
+
+        List<String> types = getHistoryJobTypes();
+        assertFalse(types.contains(HistoryJsonConstants.TYPE_VARIABLE_CREATED));
+        assertFalse(types.contains(HistoryJsonConstants.TYPE_VARIABLE_REMOVED));
+
+        waitForHistoryJobExecutorToProcessAllJobs(7000L, 100L);
+        assertEquals(0, historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).count());
+    }
+
+    @Test
+    public void testTaskCreateAndPropertyChanges() {
+        String taskId = managementService.executeCommand(commandContext -> {
+            Task task = taskService.newTask();
+            task.setName("The task");
+            task.setOwner("kermit");
+            taskService.saveTask(task);
+
+            taskService.setAssignee(task.getId(), "fozzie");
+            taskService.setOwner(task.getId(), null);
+            taskService.setPriority(task.getId(), 10);
+            return task.getId();
+        });
+
+        List<String> types = getHistoryJobTypes();
+        assertEquals(1, Collections.frequency(types, HistoryJsonConstants.TYPE_TASK_CREATED));
+        assertFalse(types.contains(HistoryJsonConstants.TYPE_TASK_PROPERTY_CHANGED));
+
+        waitForHistoryJobExecutorToProcessAllJobs(7000L, 100L);
+        HistoricTaskInstance historicTaskInstance = historyService.createHistoricTaskInstanceQuery().taskId(taskId).singleResult();
+        assertEquals("The task", historicTaskInstance.getName());
+        assertEquals("fozzie", historicTaskInstance.getAssignee());
+        assertNull(historicTaskInstance.getOwner());
+        assertEquals(10, historicTaskInstance.getPriority());
+
+        taskService.deleteTask(taskId, true);
+    }
+
+    protected List<String> getHistoryJobTypes() {
+        List<String> types = new ArrayList<>();
+        for (HistoryJob job : managementService.createHistoryJobQuery().list()) {
+            byte[] bytes = managementService.executeCommand(commandContext -> ((HistoryJobEntity) job).getAdvancedJobHandlerConfigurationByteArrayRef().getBytes());
+            types.add(processEngineConfiguration.getJobServiceConfiguration().getAsyncHistoryPayloadCodec()
+                    .decode(bytes, processEngineConfiguration.getObjectMapper()).get(HistoryJsonConstants.TYPE).asText());
+        }
+        return types;
+    }
+
+}
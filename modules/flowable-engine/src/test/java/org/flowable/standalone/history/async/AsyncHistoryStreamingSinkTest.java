@@ -0,0 +1,208 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.HistoryJob;
+import org.flowable.job.service.impl.history.async.sink.AsyncHistorySinkRecord;
+import org.flowable.job.service.impl.history.async.sink.MappedFileAsyncHistorySink;
+import org.flowable.job.service.impl.history.async.sink.StreamingAsyncHistoryListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class AsyncHistoryStreamingSinkTest extends CustomConfigurationFlowableTestCase {
+
+    protected File sinkDirectory;
+    protected MappedFileAsyncHistorySink sink;
+    protected StreamingAsyncHistoryListener asyncHistoryListener;
+    protected boolean sinkUnavailable;
+
+    public AsyncHistoryStreamingSinkTest() {
+        super("asyncHistoryStreamingSinkTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        try {
+            sinkDirectory = Files.createTempDirectory("flowable-async-history-sink").toFile();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        sink = new MappedFileAsyncHistorySink(sinkDirectory, 4096, false);
+
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        asyncHistoryListener = new StreamingAsyncHistoryListener(records -> {
+            if (sinkUnavailable) {
+                throw new FlowableException("sink unavailable");
+            }
+            sink.append(records);
+        });
+        processEngineConfiguration.setAsyncHistoryListener(asyncHistoryListener);
+        processEngineConfiguration.setAsyncHistoryExecutorActivate(false);
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+    }
+
+    @AfterEach
+    protected void tearDown() throws Exception {
+        for (String autoDeletedDeploymentId : deploymentIdsForAutoCleanup) {
+            repositoryService.deleteDeployment(autoDeletedDeploymentId, true);
+        }
+        deploymentIdsForAutoCleanup.clear();
+
+        sink.close();
+        File[] files = sinkDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        sinkDirectory.delete();
+    }
+
+    @Test
+    public void testHistoryIsShippedToSink() {
+        deployOneTaskTestProcess();
+        long startOffset = sink.getNextOffset();
+
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+        taskService.complete(taskService.createTaskQuery().singleResult().getId());
+        asyncHistoryListener.flush();
+
+        // The history jobs of the records are deleted once the records are appended, no historic data is stored
+        assertEquals(0, managementService.createHistoryJobQuery().count());
+        assertEquals(0, historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).count());
+
+        // One record per transaction
+        List<AsyncHistorySinkRecord> records = sink.read(startOffset, 100);
+        assertEquals(2, records.size());
+        assertTrue(getTypes(records.get(0)).containsAll(Arrays.asList(HistoryJsonConstants.TYPE_PROCESS_INSTANCE_START, HistoryJsonConstants.TYPE_TASK_CREATED)));
+        assertTrue(getTypes(records.get(1)).contains(HistoryJsonConstants.TYPE_PROCESS_INSTANCE_END));
+        assertEquals(processInstanceId, decode(records.get(1)).get(0).get(HistoryJsonConstants.DATA).get(HistoryJsonConstants.PROCESS_INSTANCE_ID).asText());
+    }
+
+    @Test
+    public void testRecordsAreAppendedByHistoryJobWhenAppendFails() {
+        deployOneTaskTestProcess();
+        long startOffset = sink.getNextOffset();
+
+        sinkUnavailable = true;
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        asyncHistoryListener.flush();
+        assertEquals(startOffset, sink.getNextOffset());
+
+        // The record was stored as a history job in the transaction, which is unlocked so the async history executor appends it
+        HistoryJob historyJob = managementService.createHistoryJobQuery().unlocked().singleResult();
+        assertNotNull(historyJob);
+
+        sinkUnavailable = false;
+        managementService.executeHistoryJob(historyJob.getId());
+        assertEquals(0, managementService.createHistoryJobQuery().count());
+
+        List<AsyncHistorySinkRecord> records = sink.read(startOffset, 100);
+        assertEquals(1, records.size());
+        assertTrue(getTypes(records.get(0)).contains(HistoryJsonConstants.TYPE_PROCESS_INSTANCE_START));
+    }
+
+    @Test
+    public void testRecordsOfCommittedTransactionsAreDeliveredAsOneBatch() throws Exception {
+        deployOneTaskTestProcess();
+        long startOffset = sink.getNextOffset();
+
+        // Keep the delivery thread busy, so the records of the transactions committed in the meantime are delivered together
+        CountDownLatch deliveryBlocked = new CountDownLatch(1);
+        CountDownLatch releaseDelivery = new CountDownLatch(1);
+        asyncHistoryListener.flush();
+        asyncHistoryListener.getDeliveryExecutorService().execute(() -> {
+            deliveryBlocked.countDown();
+            try {
+                releaseDelivery.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        deliveryBlocked.await();
+
+        for (int i = 0; i < 3; i++) {
+            runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        }
+        assertEquals(startOffset, sink.getNextOffset());
+        assertEquals(3, managementService.createHistoryJobQuery().count());
+
+        releaseDelivery.countDown();
+        asyncHistoryListener.flush();
+        assertEquals(3, sink.read(startOffset, 100).size());
+        assertEquals(0, managementService.createHistoryJobQuery().count());
+    }
+
+    @Test
+    public void testAcknowledgeAndReplay() {
+        deployOneTaskTestProcess();
+        for (int i = 0; i < 20; i++) {
+            runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        }
+        asyncHistoryListener.flush();
+
+        // The small segment size makes the log rotate
+        assertTrue(sink.getNumberOfSegments() > 1);
+        long lastOffset = sink.getNextOffset() - 1;
+
+        List<AsyncHistorySinkRecord> records = sink.readUnacknowledged(5);
+        assertEquals(5, records.size());
+        assertEquals(records.get(0).getOffset() + 4, records.get(4).getOffset());
+        sink.acknowledge(records.get(4).getOffset());
+
+        // The records that were not acknowledged are replayed after a restart
+        sink.close();
+        sink = new MappedFileAsyncHistorySink(sinkDirectory, 4096, false);
+        assertEquals(records.get(4).getOffset(), sink.getAcknowledgedOffset());
+        assertEquals(lastOffset + 1, sink.getNextOffset());
+        List<AsyncHistorySinkRecord> replayedRecords = sink.readUnacknowledged(1000);
+        assertEquals(lastOffset - records.get(4).getOffset(), replayedRecords.size());
+        assertTrue(getTypes(replayedRecords.get(0)).contains(HistoryJsonConstants.TYPE_PROCESS_INSTANCE_START));
+
+        // Fully acknowledged segments are deleted
+        sink.acknowledge(lastOffset);
+        assertEquals(1, sink.getNumberOfSegments());
+        assertEquals(0, sink.readUnacknowledged(1000).size());
+
+        sink.append(Arrays.asList(new byte[] { 1, 2, 3 }));
+        assertEquals(lastOffset + 1, sink.readUnacknowledged(1000).get(0).getOffset());
+    }
+
+    protected JsonNode decode(AsyncHistorySinkRecord record) {
+        return processEngineConfiguration.getJobServiceConfiguration().getAsyncHistoryPayloadCodec()
+                .decode(record.getBytes(), processEngineConfiguration.getObjectMapper());
+    }
+
+    protected List<String> getTypes(AsyncHistorySinkRecord record) {
+        List<String> types = new ArrayList<>();
+        for (JsonNode historyNode : decode(record)) {
+            types.add(historyNode.get(HistoryJsonConstants.TYPE).asText());
+        }
+        return types;
+    }
+
+}
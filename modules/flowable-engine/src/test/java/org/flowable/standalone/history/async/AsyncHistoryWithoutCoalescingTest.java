@@ -0,0 +1,80 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.HistoryJob;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class AsyncHistoryWithoutCoalescingTest extends CustomConfigurationFlowableTestCase {
+
+    public AsyncHistoryWithoutCoalescingTest() {
+        super("asyncHistoryWithoutCoalescingTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncHistoryCoalescingEnabled(false);
+        processEngineConfiguration.setAsyncFailedJobWaitTime(100);
+        processEngineConfiguration.setDefaultFailedJobWaitTime(100);
+        processEngineConfiguration.setAsyncHistoryExecutorNumberOfRetries(10);
+        processEngineConfiguration.setAsyncHistoryExecutorDefaultAsyncJobAcquireWaitTime(100);
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+    }
+
+    @AfterEach
+    protected void tearDown() throws Exception {
+        for (String autoDeletedDeploymentId : deploymentIdsForAutoCleanup) {
+            repositoryService.deleteDeployment(autoDeletedDeploymentId, true);
+        }
+        deploymentIdsForAutoCleanup.clear();
+
+        waitForHistoryJobExecutorToProcessAllJobs(10000, 100);
+        for (Job job : managementService.createJobQuery().list()) {
+            if (job.getJobHandlerType().equals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY)
+                    || job.getJobHandlerType().equals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED)) {
+                managementService.deleteJob(job.getId());
+            }
+        }
+    }
+
+    @Test
+    public void testActivityStartAndEnd() {
+        deployOneTaskTestProcess();
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+        // The start and end of the start event are still merged into an activity-full by the history manager
+        List<String> types = new ArrayList<>();
+        for (HistoryJob job : managementService.createHistoryJobQuery().list()) {
+            byte[] bytes = managementService.executeCommand(commandContext -> ((HistoryJobEntity) job).getAdvancedJobHandlerConfigurationByteArrayRef().getBytes());
+            types.add(processEngineConfiguration.getJobServiceConfiguration().getAsyncHistoryPayloadCodec()
+                    .decode(bytes, processEngineConfiguration.getObjectMapper()).get(HistoryJsonConstants.TYPE).asText());
+        }
+        assertTrue(types.contains(HistoryJsonConstants.TYPE_ACTIVITY_FULL));
+        assertTrue(types.contains(HistoryJsonConstants.TYPE_ACTIVITY_START));
+        assertFalse(types.contains(HistoryJsonConstants.TYPE_ACTIVITY_END));
+
+        waitForHistoryJobExecutorToProcessAllJobs(7000L, 100L);
+        assertEquals(1, historyService.createHistoricActivityInstanceQuery().activityId("start").finished().count());
+        assertEquals(1, historyService.createHistoricActivityInstanceQuery().activityId("theTask").unfinished().count());
+    }
+
+}
@@ -0,0 +1,123 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.multiinstance;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.flowable.common.engine.impl.util.CollectionUtil;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceCreationJobHandler;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.Job;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.Test;
+
+public class ParallelMultiInstanceBatchCreationTest extends CustomConfigurationFlowableTestCase {
+
+    public ParallelMultiInstanceBatchCreationTest() {
+        super("parallelMultiInstanceBatchCreationTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setParallelMultiInstanceCreationBatchSize(3);
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasksBasedOnCollection.bpmn20.xml")
+    public void testCollectionInBatches() {
+        List<String> assigneeList = Arrays.asList("kermit", "gonzo", "mispiggy", "fozzie", "bubba", "animal", "beaker");
+        String processInstanceId = runtimeService.startProcessInstanceByKey("miParallelUserTasksBasedOnCollection",
+                CollectionUtil.singletonMap("assigneeList", assigneeList)).getId();
+
+        // Only the first batch is created, the next batch is created by a job
+        assertEquals(3, taskService.createTaskQuery().count());
+        assertEquals(new HashSet<>(assigneeList.subList(0, 3)), getAssignees());
+
+        executeCreationJob();
+        assertEquals(6, taskService.createTaskQuery().count());
+        assertEquals(new HashSet<>(assigneeList.subList(0, 6)), getAssignees());
+
+        executeCreationJob();
+        assertEquals(7, taskService.createTaskQuery().count());
+        assertEquals(new HashSet<>(assigneeList), getAssignees());
+        assertEquals(0, managementService.createJobQuery().count());
+
+        // The completion condition is 60% of the instances completed
+        List<Task> tasks = taskService.createTaskQuery().list();
+        for (int i = 0; i < 4; i++) {
+            taskService.complete(tasks.get(i).getId());
+        }
+        assertEquals(3, taskService.createTaskQuery().count());
+
+        taskService.complete(tasks.get(4).getId());
+        assertProcessEnded(processInstanceId);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasksCompletionCondition.bpmn20.xml")
+    public void testCompletionConditionBeforeAllInstancesCreated() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("miParallelUserTasksCompletionCondition").getId();
+        List<Task> tasks = taskService.createTaskQuery().list();
+        assertEquals(3, tasks.size());
+        assertEquals(1, managementService.createJobQuery().count());
+
+        // Not created instances are not completed
+        taskService.complete(tasks.get(0).getId());
+        taskService.complete(tasks.get(1).getId());
+        assertEquals(1, taskService.createTaskQuery().count());
+
+        // 3 out of 5 instances completed satisfies the completion condition, the creation of the other instances is cancelled
+        taskService.complete(tasks.get(2).getId());
+        assertProcessEnded(processInstanceId);
+        assertEquals(0, managementService.createJobQuery().count());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelScriptTasks.bpmn20.xml")
+    public void testAutomaticInstancesInBatches() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("miParallelScriptTask", CollectionUtil.map("nrOfLoops", 10, "sum", 0)).getId();
+        assertEquals(0 + 1 + 2, runtimeService.getVariable(processInstanceId, "sum"));
+        assertEquals(0, runtimeService.createExecutionQuery().processInstanceId(processInstanceId).activityId("waitState").count());
+
+        for (int i = 0; i < 3; i++) {
+            executeCreationJob();
+        }
+        assertEquals(45, runtimeService.getVariable(processInstanceId, "sum"));
+        assertEquals(0, managementService.createJobQuery().count());
+
+        String waitStateExecutionId = runtimeService.createExecutionQuery().processInstanceId(processInstanceId).activityId("waitState").singleResult().getId();
+        runtimeService.trigger(waitStateExecutionId);
+        assertProcessEnded(processInstanceId);
+    }
+
+    protected void executeCreationJob() {
+        Job job = managementService.createJobQuery().singleResult();
+        assertEquals(ParallelMultiInstanceCreationJobHandler.TYPE, job.getJobHandlerType());
+        managementService.executeJob(job.getId());
+    }
+
+    protected Set<String> getAssignees() {
+        Set<String> assignees = new HashSet<>();
+        for (Task task : taskService.createTaskQuery().list()) {
+            assignees.add(task.getAssignee());
+        }
+        return assignees;
+    }
+
+}
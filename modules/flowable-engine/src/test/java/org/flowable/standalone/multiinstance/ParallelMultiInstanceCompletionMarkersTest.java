@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.multiinstance;
+
+import java.util.List;
+
+import org.flowable.common.engine.impl.util.CollectionUtil;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.test.JobTestHelper;
+import org.flowable.engine.runtime.Execution;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.Job;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.Test;
+
+public class ParallelMultiInstanceCompletionMarkersTest extends CustomConfigurationFlowableTestCase {
+
+    public ParallelMultiInstanceCompletionMarkersTest() {
+        super("parallelMultiInstanceCompletionMarkersTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setEnableParallelMultiInstanceCompletionMarkers(true);
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+        processEngineConfiguration.setAsyncExecutorNumberOfRetries(10);
+        processEngineConfiguration.setAsyncFailedJobWaitTime(1);
+        processEngineConfiguration.setDefaultFailedJobWaitTime(1);
+        processEngineConfiguration.setAsyncExecutorDefaultTimerJobAcquireWaitTime(100);
+        processEngineConfiguration.setAsyncExecutorDefaultAsyncJobAcquireWaitTime(100);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasksCompletionCondition.bpmn20.xml")
+    public void testCompletionCondition() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("miParallelUserTasksCompletionCondition").getId();
+        List<Task> tasks = taskService.createTaskQuery().list();
+        assertEquals(5, tasks.size());
+
+        taskService.complete(tasks.get(0).getId());
+        taskService.complete(tasks.get(1).getId());
+        assertEquals(3, taskService.createTaskQuery().count());
+
+        // The completed instances don't update the counters of the multi instance root execution themselves,
+        // they are updated by the checks of the completion that run after their transactions
+        List<Job> completionCheckJobs = managementService.createJobQuery().processInstanceId(processInstanceId).list();
+        assertEquals(2, completionCheckJobs.size());
+
+        // A check deletes the pending checks of the completions it sees
+        managementService.executeJob(completionCheckJobs.get(0).getId());
+        assertEquals(0, managementService.createJobQuery().processInstanceId(processInstanceId).count());
+        assertEquals(3, taskService.createTaskQuery().count());
+        String miRootExecutionId = runtimeService.createExecutionQuery().executionId(tasks.get(2).getExecutionId()).singleResult().getParentId();
+        assertEquals(2, runtimeService.getVariableLocal(miRootExecutionId, "nrOfCompletedInstances"));
+        assertEquals(3, runtimeService.getVariableLocal(miRootExecutionId, "nrOfActiveInstances"));
+
+        // Completing 3 tasks gives 60% of tasks completed, which triggers the completion condition
+        taskService.complete(tasks.get(2).getId());
+        assertProcessEnded(processInstanceId);
+        assertEquals(0, managementService.createJobQuery().processInstanceId(processInstanceId).count());
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testNestedParallelSubProcess.bpmn20.xml")
+    public void testNestedParallelSubProcess() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("miNestedParallelSubProcess").getId();
+        List<Task> tasks = taskService.createTaskQuery().list();
+        assertEquals(8, tasks.size());
+
+        for (Task task : tasks) {
+            taskService.complete(task.getId());
+        }
+        assertProcessEnded(processInstanceId);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelScriptTasks.bpmn20.xml")
+    public void testInstancesCompletedInSameTransaction() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("miParallelScriptTask", CollectionUtil.map("nrOfLoops", 10, "sum", 0)).getId();
+
+        Execution waitStateExecution = runtimeService.createExecutionQuery().processInstanceId(processInstanceId).activityId("waitState").singleResult();
+        assertNotNull(waitStateExecution);
+        assertEquals(45, runtimeService.getVariable(processInstanceId, "sum"));
+        runtimeService.trigger(waitStateExecution.getId());
+        assertProcessEnded(processInstanceId);
+    }
+
+    @Test
+    @Deployment
+    public void testConcurrentAsyncInstances() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("miConcurrentAsyncInstances", CollectionUtil.singletonMap("nrOfLoops", 20)).getId();
+        assertEquals(20, managementService.createJobQuery().processInstanceId(processInstanceId).count());
+
+        // The non exclusive jobs are executed concurrently, an instance that completes at the same time as another one is retried by a timer job
+        JobTestHelper.waitForJobExecutorToProcessAllJobsAndTimerJobs(processEngineConfiguration, managementService, 20000L, 200L);
+
+        Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals("afterMi", task.getTaskDefinitionKey());
+        assertEquals(1, runtimeService.createExecutionQuery().processInstanceId(processInstanceId).onlyChildExecutions().count());
+
+        taskService.complete(task.getId());
+        assertProcessEnded(processInstanceId);
+    }
+
+}
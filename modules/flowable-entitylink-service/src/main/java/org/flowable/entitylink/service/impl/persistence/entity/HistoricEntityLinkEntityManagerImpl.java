@@ -13,6 +13,7 @@
 
 package org.flowable.entitylink.service.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.common.engine.impl.persistence.entity.data.DataManager;
@@ -68,6 +69,11 @@ public class HistoricEntityLinkEntityManagerImpl extends AbstractEntityManager<H
         historicEntityLinkDataManager.deleteHistoricEntityLinksByScopeDefinitionIdAndType(scopeDefinitionId, scopeType);
     }
 
+    @Override
+    public void bulkDeleteHistoricEntityLinksByScopeIdsAndScopeType(Collection<String> scopeIds, String scopeType) {
+        historicEntityLinkDataManager.bulkDeleteHistoricEntityLinksByScopeIdsAndScopeType(scopeIds, scopeType);
+    }
+
     public HistoricEntityLinkDataManager getHistoricEntityLinkDataManager() {
         return historicEntityLinkDataManager;
     }
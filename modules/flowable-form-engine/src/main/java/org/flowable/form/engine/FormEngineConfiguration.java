@@ -293,6 +293,8 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration
             dbSqlSessionFactory.setTablePrefixIsSchema(tablePrefixIsSchema);
             dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
             dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
+            dbSqlSessionFactory.setBatchedFlushEnabled(isBatchedFlushEnabled);
+            dbSqlSessionFactory.setEntityDirtyTrackingEnabled(isEntityDirtyTrackingEnabled);
             addSessionFactory(dbSqlSessionFactory);
         }
         initDbSqlSessionFactoryEntitySettings();
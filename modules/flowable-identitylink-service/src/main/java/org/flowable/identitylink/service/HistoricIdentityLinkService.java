@@ -12,6 +12,7 @@
  */
 package org.flowable.identitylink.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.identitylink.service.impl.persistence.entity.HistoricIdentityLinkEntity;
@@ -44,4 +45,8 @@ public interface HistoricIdentityLinkService {
     void deleteHistoricIdentityLinksByTaskId(String taskId);
     
     void deleteHistoricIdentityLinksByScopeIdAndScopeType(String scopeId, String scopeType);
+
+    void bulkDeleteHistoricIdentityLinksByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    void bulkDeleteHistoricIdentityLinksByScopeIdsAndScopeType(Collection<String> scopeIds, String scopeType);
 }
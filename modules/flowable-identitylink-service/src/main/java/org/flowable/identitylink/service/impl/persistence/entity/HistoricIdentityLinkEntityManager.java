@@ -12,6 +12,7 @@
  */
 package org.flowable.identitylink.service.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.common.engine.impl.persistence.entity.EntityManager;
@@ -35,4 +36,8 @@ public interface HistoricIdentityLinkEntityManager extends EntityManager<Histori
     
     void deleteHistoricIdentityLinksByScopeDefinitionIdAndScopeType(String scopeDefinitionId, String scopeType);
 
+    void bulkDeleteHistoricIdentityLinksByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    void bulkDeleteHistoricIdentityLinksByScopeIdsAndScopeType(Collection<String> scopeIds, String scopeType);
+
 }
\ No newline at end of file
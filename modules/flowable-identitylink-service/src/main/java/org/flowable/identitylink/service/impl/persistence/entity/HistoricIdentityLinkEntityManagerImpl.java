@@ -13,6 +13,7 @@
 
 package org.flowable.identitylink.service.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.common.engine.impl.persistence.entity.data.DataManager;
@@ -87,6 +88,16 @@ public class HistoricIdentityLinkEntityManagerImpl extends AbstractEntityManager
         historicIdentityLinkDataManager.deleteHistoricIdentityLinksByScopeDefinitionIdAndType(scopeDefinitionId, scopeType);
     }
 
+    @Override
+    public void bulkDeleteHistoricIdentityLinksByProcessInstanceIds(Collection<String> processInstanceIds) {
+        historicIdentityLinkDataManager.bulkDeleteHistoricIdentityLinksByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public void bulkDeleteHistoricIdentityLinksByScopeIdsAndScopeType(Collection<String> scopeIds, String scopeType) {
+        historicIdentityLinkDataManager.bulkDeleteHistoricIdentityLinksByScopeIdsAndScopeType(scopeIds, scopeType);
+    }
+
     public HistoricIdentityLinkDataManager getHistoricIdentityLinkDataManager() {
         return historicIdentityLinkDataManager;
     }
@@ -302,6 +302,8 @@ public class IdmEngineConfiguration extends AbstractEngineConfiguration implemen
             dbSqlSessionFactory.setTablePrefixIsSchema(tablePrefixIsSchema);
             dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
             dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
+            dbSqlSessionFactory.setBatchedFlushEnabled(isBatchedFlushEnabled);
+            dbSqlSessionFactory.setEntityDirtyTrackingEnabled(isEntityDirtyTrackingEnabled);
             addSessionFactory(dbSqlSessionFactory);
         }
         initDbSqlSessionFactoryEntitySettings();
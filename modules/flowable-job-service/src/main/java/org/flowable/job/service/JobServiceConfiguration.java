@@ -30,7 +30,10 @@ import org.flowable.job.service.impl.asyncexecutor.AsyncRunnableExecutionExcepti
 import org.flowable.job.service.impl.asyncexecutor.DefaultJobManager;
 import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
 import org.flowable.job.service.impl.asyncexecutor.JobManager;
+import org.flowable.job.service.impl.asyncexecutor.JobPartitionManager;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobHandler;
+import org.flowable.job.service.impl.history.async.codec.AsyncHistoryPayloadCodec;
+import org.flowable.job.service.impl.history.async.codec.JsonAsyncHistoryPayloadCodec;
 import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
 import org.flowable.job.service.impl.persistence.entity.DeadLetterJobEntityManager;
 import org.flowable.job.service.impl.persistence.entity.DeadLetterJobEntityManagerImpl;
@@ -111,6 +114,7 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     protected int asyncExecutorResetExpiredJobsMaxTimeout;
     
     protected String jobExecutionScope;
+    protected JobPartitionManager jobPartitionManager;
     protected Map<String, JobHandler> jobHandlers;
     protected FailedJobCommandFactory failedJobCommandFactory;
     protected List<AsyncRunnableExecutionExceptionHandler> asyncRunnableExecutionExceptionHandlers;
@@ -130,6 +134,7 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     protected boolean asyncHistoryJsonGroupingEnabled;
     protected boolean asyncHistoryExecutorMessageQueueMode;
     protected int asyncHistoryJsonGroupingThreshold = 10;
+    protected AsyncHistoryPayloadCodec asyncHistoryPayloadCodec;
 
     // init
     // /////////////////////////////////////////////////////////////////////
@@ -138,6 +143,7 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
         initJobManager();
         initDataManagers();
         initEntityManagers();
+        initAsyncHistoryPayloadCodec();
     }
 
     @Override
@@ -212,6 +218,12 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
         }
     }
 
+    public void initAsyncHistoryPayloadCodec() {
+        if (asyncHistoryPayloadCodec == null) {
+            asyncHistoryPayloadCodec = new JsonAsyncHistoryPayloadCodec();
+        }
+    }
+
     // getters and setters
     // //////////////////////////////////////////////////////
 
@@ -422,6 +434,15 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
         return this;
     }
     
+    public JobPartitionManager getJobPartitionManager() {
+        return jobPartitionManager;
+    }
+
+    public JobServiceConfiguration setJobPartitionManager(JobPartitionManager jobPartitionManager) {
+        this.jobPartitionManager = jobPartitionManager;
+        return this;
+    }
+
     public String getHistoryJobExecutionScope() {
         return historyJobExecutionScope;
     }
@@ -642,5 +663,14 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     public void setAsyncHistoryJsonGroupingThreshold(int asyncHistoryJsonGroupingThreshold) {
         this.asyncHistoryJsonGroupingThreshold = asyncHistoryJsonGroupingThreshold;
     }
+
+    public AsyncHistoryPayloadCodec getAsyncHistoryPayloadCodec() {
+        return asyncHistoryPayloadCodec;
+    }
+
+    public JobServiceConfiguration setAsyncHistoryPayloadCodec(AsyncHistoryPayloadCodec asyncHistoryPayloadCodec) {
+        this.asyncHistoryPayloadCodec = asyncHistoryPayloadCodec;
+        return this;
+    }
     
 }
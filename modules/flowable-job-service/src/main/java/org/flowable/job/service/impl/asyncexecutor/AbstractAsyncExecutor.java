@@ -13,11 +13,13 @@
 package org.flowable.job.service.impl.asyncexecutor;
 
 import java.util.LinkedList;
+import java.util.List;
 import java.util.UUID;
 
 import org.flowable.job.api.JobInfo;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.cmd.UnacquireOwnedJobsCmd;
+import org.flowable.job.service.impl.persistence.entity.JobEntityManager;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntityManager;
 import org.flowable.job.service.impl.util.CommandContextUtil;
@@ -40,6 +42,7 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
     protected AcquireAsyncJobsDueRunnable asyncJobsDueRunnable;
     protected String resetExpiredRunnableName;
     protected ResetExpiredJobsRunnable resetExpiredJobsRunnable;
+    protected JobPartitionLeaseRunnable jobPartitionLeaseRunnable;
 
     protected ExecuteAsyncRunnableFactory executeAsyncRunnableFactory;
     
@@ -60,6 +63,29 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
     protected int asyncJobLockTimeInMillis = 5 * 60 * 1000;
     protected int retryWaitTimeInMillis = 500;
 
+    /**
+     * When enabled, acquired jobs are locked with one update statement per acquisition instead of one optimistic locking update per job.
+     * Jobs that are locked concurrently by another executor are then skipped instead of failing the acquisition.
+     */
+    protected boolean bulkJobLockEnabled;
+
+    /**
+     * When enabled, the number of jobs per acquisition and the wait times between acquisitions adapt to the acquisition results,
+     * the optimistic locking failures and the free capacity of the workers, see {@link AdaptiveAcquisitionController}.
+     * The configured max jobs per acquisition are then the initial page sizes and the configured acquire wait times the maximum wait times.
+     */
+    protected boolean adaptiveAcquisitionEnabled;
+    protected int adaptiveAcquisitionMaxJobsPerAcquisition = 64;
+    protected int adaptiveAcquisitionMinWaitTimeInMillis = 100;
+    protected AdaptiveAcquisitionController asyncJobAcquisitionController;
+    protected AdaptiveAcquisitionController timerJobAcquisitionController;
+
+    /**
+     * When enabled, acquired exclusive jobs of the same process (or case) instance are executed one after the other by one worker,
+     * locking the instance once for all of them, instead of every job locking and unlocking the instance (and being retried later when the lock fails).
+     */
+    protected boolean exclusiveJobGroupingEnabled;
+
     protected int resetExpiredJobsInterval = 60 * 1000;
     protected int resetExpiredJobsPageSize = 3;
 
@@ -90,6 +116,45 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
 
     protected abstract boolean executeAsyncJob(final JobInfo job, Runnable runnable);
 
+    /**
+     * Offers exclusive jobs of the same process (or case) instance, to be executed one after the other under a single lock of the instance.
+     * Returns false when the jobs couldn't be offered, in which case they have been unacquired.
+     */
+    public boolean executeExclusiveAsyncJobs(List<? extends JobInfo> jobs) {
+        if (jobs.size() == 1 || !isMultipleJobRunnableApplicable()) {
+            return executeAsyncJobsSeparately(jobs);
+        }
+
+        Runnable runnable = new ExecuteExclusiveAsyncJobsRunnable(jobs, jobServiceConfiguration, jobEntityManager, asyncRunnableExecutionExceptionHandler);
+        return executeAsyncJobs(jobs, runnable);
+    }
+
+    /**
+     * Jobs can only be executed together by one runnable when they are executed by this executor, with the default runnables.
+     */
+    protected boolean isMultipleJobRunnableApplicable() {
+        return executeAsyncRunnableFactory == null && !isMessageQueueMode && isActive;
+    }
+
+    protected boolean executeAsyncJobsSeparately(List<? extends JobInfo> jobs) {
+        boolean allJobsOffered = true;
+        for (JobInfo job : jobs) {
+            allJobsOffered &= executeAsyncJob(job);
+        }
+        return allJobsOffered;
+    }
+
+    /**
+     * Hands a runnable executing multiple jobs to the workers. By default the jobs are executed separately, executors that support it execute the runnable.
+     */
+    protected boolean executeAsyncJobs(List<? extends JobInfo> jobs, Runnable runnable) {
+        boolean allJobsOffered = true;
+        for (JobInfo job : jobs) {
+            allJobsOffered &= executeAsyncJob(job, createRunnableForJob(job));
+        }
+        return allJobsOffered;
+    }
+
     protected void unlockOwnedJobs() {
         jobServiceConfiguration.getCommandExecutor().execute(new UnacquireOwnedJobsCmd(lockOwner, null));
     }
@@ -130,6 +195,14 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
             timerJobRunnable = new AcquireTimerJobsRunnable(this, jobServiceConfiguration.getJobManager());
         }
 
+        if (adaptiveAcquisitionEnabled && timerJobRunnable != null && timerJobRunnable.getAcquisitionController() == null) {
+            if (timerJobAcquisitionController == null) {
+                timerJobAcquisitionController = new AdaptiveAcquisitionController("flowable-acquire-timer-jobs", maxTimerJobsPerAcquisition,
+                        adaptiveAcquisitionMaxJobsPerAcquisition, adaptiveAcquisitionMinWaitTimeInMillis, defaultTimerJobAcquireWaitTimeInMillis);
+            }
+            timerJobRunnable.setAcquisitionController(timerJobAcquisitionController);
+        }
+
         JobInfoEntityManager<? extends JobInfoEntity> jobEntityManagerToUse = jobEntityManager != null
                 ? jobEntityManager : CommandContextUtil.getJobServiceConfiguration().getJobEntityManager();
 
@@ -138,10 +211,25 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
             resetExpiredJobsRunnable = new ResetExpiredJobsRunnable(resetRunnableName, this, jobEntityManagerToUse);
         }
 
+        // Partitions only apply to the async and timer jobs, not to the history jobs
+        JobPartitionManager jobPartitionManager = jobServiceConfiguration.getJobPartitionManager();
+        if (jobPartitionManager != null && jobPartitionLeaseRunnable == null && jobEntityManagerToUse instanceof JobEntityManager) {
+            jobPartitionLeaseRunnable = new JobPartitionLeaseRunnable("flowable-job-partition-lease", this, jobPartitionManager);
+        }
+
         if (!isMessageQueueMode && asyncJobsDueRunnable == null) {
             String acquireJobsRunnableName = acquireRunnableThreadName != null ? acquireRunnableThreadName : "flowable-acquire-async-jobs";
             asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(acquireJobsRunnableName, this, jobEntityManagerToUse);
         }
+
+        if (adaptiveAcquisitionEnabled && asyncJobsDueRunnable != null && asyncJobsDueRunnable.getAcquisitionController() == null) {
+            if (asyncJobAcquisitionController == null) {
+                String controllerName = acquireRunnableThreadName != null ? acquireRunnableThreadName : "flowable-acquire-async-jobs";
+                asyncJobAcquisitionController = new AdaptiveAcquisitionController(controllerName, maxAsyncJobsDuePerAcquisition,
+                        adaptiveAcquisitionMaxJobsPerAcquisition, adaptiveAcquisitionMinWaitTimeInMillis, defaultAsyncJobAcquireWaitTimeInMillis);
+            }
+            asyncJobsDueRunnable.setAcquisitionController(asyncJobAcquisitionController);
+        }
     }
 
     protected abstract void startAdditionalComponents();
@@ -177,10 +265,14 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         if (resetExpiredJobsRunnable != null) {
             resetExpiredJobsRunnable.stop();
         }
+        if (jobPartitionLeaseRunnable != null) {
+            jobPartitionLeaseRunnable.stop();
+        }
 
         timerJobRunnable = null;
         asyncJobsDueRunnable = null;
         resetExpiredJobsRunnable = null;
+        jobPartitionLeaseRunnable = null;
     }
 
     protected abstract void shutdownAdditionalComponents();
@@ -269,6 +361,64 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         this.maxAsyncJobsDuePerAcquisition = maxAsyncJobsDuePerAcquisition;
     }
 
+    @Override
+    public boolean isBulkJobLockEnabled() {
+        return bulkJobLockEnabled;
+    }
+
+    @Override
+    public void setBulkJobLockEnabled(boolean bulkJobLockEnabled) {
+        this.bulkJobLockEnabled = bulkJobLockEnabled;
+    }
+
+    public boolean isAdaptiveAcquisitionEnabled() {
+        return adaptiveAcquisitionEnabled;
+    }
+
+    public void setAdaptiveAcquisitionEnabled(boolean adaptiveAcquisitionEnabled) {
+        this.adaptiveAcquisitionEnabled = adaptiveAcquisitionEnabled;
+    }
+
+    public boolean isExclusiveJobGroupingEnabled() {
+        return exclusiveJobGroupingEnabled;
+    }
+
+    public void setExclusiveJobGroupingEnabled(boolean exclusiveJobGroupingEnabled) {
+        this.exclusiveJobGroupingEnabled = exclusiveJobGroupingEnabled;
+    }
+
+    public int getAdaptiveAcquisitionMaxJobsPerAcquisition() {
+        return adaptiveAcquisitionMaxJobsPerAcquisition;
+    }
+
+    public void setAdaptiveAcquisitionMaxJobsPerAcquisition(int adaptiveAcquisitionMaxJobsPerAcquisition) {
+        this.adaptiveAcquisitionMaxJobsPerAcquisition = adaptiveAcquisitionMaxJobsPerAcquisition;
+    }
+
+    public int getAdaptiveAcquisitionMinWaitTimeInMillis() {
+        return adaptiveAcquisitionMinWaitTimeInMillis;
+    }
+
+    public void setAdaptiveAcquisitionMinWaitTimeInMillis(int adaptiveAcquisitionMinWaitTimeInMillis) {
+        this.adaptiveAcquisitionMinWaitTimeInMillis = adaptiveAcquisitionMinWaitTimeInMillis;
+    }
+
+    public AdaptiveAcquisitionController getAsyncJobAcquisitionController() {
+        return asyncJobAcquisitionController;
+    }
+
+    public void setAsyncJobAcquisitionController(AdaptiveAcquisitionController asyncJobAcquisitionController) {
+        this.asyncJobAcquisitionController = asyncJobAcquisitionController;
+    }
+
+    public AdaptiveAcquisitionController getTimerJobAcquisitionController() {
+        return timerJobAcquisitionController;
+    }
+
+    public void setTimerJobAcquisitionController(AdaptiveAcquisitionController timerJobAcquisitionController) {
+        this.timerJobAcquisitionController = timerJobAcquisitionController;
+    }
+
     @Override
     public int getDefaultTimerJobAcquireWaitTimeInMillis() {
         return defaultTimerJobAcquireWaitTimeInMillis;
@@ -384,5 +534,13 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
     public ResetExpiredJobsRunnable getResetExpiredJobsRunnable() {
         return resetExpiredJobsRunnable;
     }
+
+    public JobPartitionLeaseRunnable getJobPartitionLeaseRunnable() {
+        return jobPartitionLeaseRunnable;
+    }
+
+    public void setJobPartitionLeaseRunnable(JobPartitionLeaseRunnable jobPartitionLeaseRunnable) {
+        this.jobPartitionLeaseRunnable = jobPartitionLeaseRunnable;
+    }
     
 }
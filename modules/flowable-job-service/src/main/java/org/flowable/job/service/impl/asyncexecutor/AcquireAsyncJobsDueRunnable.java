@@ -13,11 +13,14 @@
 package org.flowable.job.service.impl.asyncexecutor;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.job.api.Job;
 import org.flowable.job.service.impl.cmd.AcquireJobsCmd;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntityManager;
@@ -40,6 +43,13 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     protected final Object MONITOR = new Object();
     protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
 
+    // Set when the acquisition is waiting for free capacity in the executor, see wakeUp()
+    protected volatile boolean waitingForCapacity;
+    protected boolean wakeUpRequested; // guarded by MONITOR
+
+    // When set, the page size and wait times are determined by the controller instead of the static settings of the async executor
+    protected AdaptiveAcquisitionController acquisitionController;
+
     public AcquireAsyncJobsDueRunnable(String name, AsyncExecutor asyncExecutor, 
             JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
         this.name = name;
@@ -55,7 +65,8 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         CommandExecutor commandExecutor = asyncExecutor.getJobServiceConfiguration().getCommandExecutor();
 
         while (!isInterrupted) {
-            final long millisToWait;
+            long millisToWait;
+            waitingForCapacity = false;
 
             int remainingCapacity = asyncExecutor.getRemainingCapacity();
             if (remainingCapacity > 0) {
@@ -65,13 +76,19 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
                     LOGGER.debug("acquired and queued new jobs; sleeping for {} ms", millisToWait);
                 }
             } else {
-                millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+                millisToWait = acquisitionController != null ? acquisitionController.queueFull() : asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+                waitingForCapacity = true;
 
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("queue is full; sleeping for {} ms", millisToWait);
                 }
             }
 
+            // Capacity could have been freed before the flag was set, in which case no wake up will come
+            if (waitingForCapacity && asyncExecutor.getRemainingCapacity() > 0) {
+                millisToWait = 0L;
+            }
+
             if (millisToWait > 0) {
                 sleep(millisToWait);
             }
@@ -81,6 +98,10 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
     protected long acquireAndExecuteJobs(CommandExecutor commandExecutor, int remainingCapacity) {
         try {
+            if (acquisitionController != null) {
+                return adaptivelyAcquireAndExecuteJobs(commandExecutor, remainingCapacity);
+            }
+
             AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, jobEntityManager));
 
             List<JobInfoEntity> rejectedJobs = offerJobs(acquiredJobs);
@@ -88,6 +109,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
             LOGGER.debug("Jobs acquired: {}, rejected: {}", acquiredJobs.size(), rejectedJobs.size());
             if (rejectedJobs.size() > 0) {
                 // some jobs were rejected, so the queue was full; wait until attempting to acquire more.
+                waitingForCapacity = true;
                 return asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
             }
             if (acquiredJobs.size() >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
@@ -103,6 +125,9 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
                         + "You can ignore this message if you indeed have multiple async executor acquisition threads running against the same database. " + "Exception message: {}",
                         optimisticLockingException.getMessage());
             }
+            if (acquisitionController != null) {
+                return acquisitionController.optimisticLockingFailure();
+            }
         } catch (Throwable e) {
             LOGGER.error("exception during async job acquisition: {}", e.getMessage(), e);
         }
@@ -110,7 +135,27 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         return asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
     }
 
+    protected long adaptivelyAcquireAndExecuteJobs(CommandExecutor commandExecutor, int remainingCapacity) {
+        int pageSize = acquisitionController.getPageSize();
+        AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, pageSize, jobEntityManager));
+
+        List<JobInfoEntity> rejectedJobs = offerJobs(acquiredJobs);
+
+        LOGGER.debug("Jobs acquired: {}, rejected: {}", acquiredJobs.size(), rejectedJobs.size());
+        if (rejectedJobs.size() > 0) {
+            waitingForCapacity = true;
+        }
+        return acquisitionController.acquisitionCompleted(Math.min(remainingCapacity, pageSize), acquiredJobs.size(), rejectedJobs.size());
+    }
+
     protected List<JobInfoEntity> offerJobs(AcquiredJobEntities acquiredJobs) {
+        if (asyncExecutor instanceof AbstractAsyncExecutor && ((AbstractAsyncExecutor) asyncExecutor).isExclusiveJobGroupingEnabled()) {
+            return offerJobsGroupedByExclusiveScope((AbstractAsyncExecutor) asyncExecutor, acquiredJobs);
+        }
+        if (asyncExecutor instanceof DefaultAsyncHistoryJobExecutor && ((DefaultAsyncHistoryJobExecutor) asyncExecutor).isHistoryJobBatchingEnabled()) {
+            return offerHistoryJobBatches((DefaultAsyncHistoryJobExecutor) asyncExecutor, acquiredJobs);
+        }
+
         List<JobInfoEntity> rejected = new ArrayList<>();
         for (JobInfoEntity job : acquiredJobs.getJobs()) {
             boolean jobSuccessFullyOffered = asyncExecutor.executeAsyncJob(job);
@@ -121,6 +166,95 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         return rejected;
     }
 
+    protected List<JobInfoEntity> offerJobsGroupedByExclusiveScope(AbstractAsyncExecutor groupingAsyncExecutor, AcquiredJobEntities acquiredJobs) {
+        List<JobInfoEntity> rejected = new ArrayList<>();
+        Map<String, List<JobInfoEntity>> exclusiveJobsByScope = new LinkedHashMap<>();
+        for (JobInfoEntity job : acquiredJobs.getJobs()) {
+            String exclusiveScope = getExclusiveScope(job);
+            if (exclusiveScope != null) {
+                exclusiveJobsByScope.computeIfAbsent(exclusiveScope, key -> new ArrayList<>()).add(job);
+
+            } else if (!asyncExecutor.executeAsyncJob(job)) {
+                rejected.add(job);
+            }
+        }
+
+        for (List<JobInfoEntity> exclusiveJobs : exclusiveJobsByScope.values()) {
+            if (!groupingAsyncExecutor.executeExclusiveAsyncJobs(exclusiveJobs)) {
+                rejected.addAll(exclusiveJobs);
+            }
+        }
+        return rejected;
+    }
+
+    protected List<JobInfoEntity> offerHistoryJobBatches(DefaultAsyncHistoryJobExecutor historyAsyncExecutor, AcquiredJobEntities acquiredJobs) {
+        List<JobInfoEntity> rejected = new ArrayList<>();
+        int batchSize = historyAsyncExecutor.getHistoryJobBatchSize();
+        List<JobInfoEntity> batch = new ArrayList<>(batchSize);
+        for (JobInfoEntity job : acquiredJobs.getJobs()) {
+            batch.add(job);
+            if (batch.size() == batchSize) {
+                offerHistoryJobBatch(historyAsyncExecutor, batch, rejected);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            offerHistoryJobBatch(historyAsyncExecutor, batch, rejected);
+        }
+        return rejected;
+    }
+
+    protected void offerHistoryJobBatch(DefaultAsyncHistoryJobExecutor historyAsyncExecutor, List<JobInfoEntity> batch, List<JobInfoEntity> rejected) {
+        if (!historyAsyncExecutor.executeAsyncHistoryJobBatch(batch)) {
+            rejected.addAll(batch);
+        }
+    }
+
+    /**
+     * Returns the instance that is locked when executing the job, or null when the job isn't exclusive.
+     */
+    protected String getExclusiveScope(JobInfoEntity job) {
+        if (job instanceof Job && ((Job) job).isExclusive()) {
+            Job exclusiveJob = (Job) job;
+            if (exclusiveJob.getProcessInstanceId() != null) {
+                return exclusiveJob.getProcessInstanceId();
+            } else if (exclusiveJob.getScopeId() != null) {
+                return exclusiveJob.getScopeType() + ":" + exclusiveJob.getScopeId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Wakes up the acquisition thread when it is waiting for the executor to have free capacity again.
+     * Used by executors that hand off jobs to their workers directly, so that jobs that couldn't be handed off are acquired
+     * as soon as a worker is available, instead of after the acquire wait time.
+     */
+    public void wakeUp() {
+        synchronized (MONITOR) {
+            wakeUpRequested = true;
+            if (isWaiting.compareAndSet(true, false)) {
+                MONITOR.notifyAll();
+            }
+        }
+    }
+
+    public AdaptiveAcquisitionController getAcquisitionController() {
+        return acquisitionController;
+    }
+
+    public void setAcquisitionController(AdaptiveAcquisitionController acquisitionController) {
+        this.acquisitionController = acquisitionController;
+    }
+
+    public boolean isWaitingForCapacity() {
+        return waitingForCapacity;
+    }
+
+    public void setWaitingForCapacity(boolean waitingForCapacity) {
+        this.waitingForCapacity = waitingForCapacity;
+    }
+
     public void stop() {
         synchronized (MONITOR) {
             isInterrupted = true;
@@ -137,10 +271,11 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
                     LOGGER.debug("async job acquisition thread sleeping for {} millis", millisToWait);
                 }
                 synchronized (MONITOR) {
-                    if (!isInterrupted) {
+                    if (!isInterrupted && !wakeUpRequested) {
                         isWaiting.set(true);
                         MONITOR.wait(millisToWait);
                     }
+                    wakeUpRequested = false;
                 }
 
                 if (LOGGER.isDebugEnabled()) {
@@ -0,0 +1,140 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.util.CommandContextUtil;
+
+/**
+ * Renews the heartbeat of this node and the leases of the partitions it owns, and rebalances the partitions over the active nodes:
+ * a node that owns more than its share releases partitions, a node that owns less claims the partitions that aren't owned (anymore).
+ *
+ * Returns the partitions this node owns after the rebalancing.
+ */
+public class AcquireJobPartitionLeasesCmd implements Command<List<Integer>> {
+
+    protected JobPartitionManager jobPartitionManager;
+    protected String lockOwner;
+
+    public AcquireJobPartitionLeasesCmd(JobPartitionManager jobPartitionManager, String lockOwner) {
+        this.jobPartitionManager = jobPartitionManager;
+        this.lockOwner = lockOwner;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Integer> execute(CommandContext commandContext) {
+        JobServiceConfiguration jobServiceConfiguration = CommandContextUtil.getJobServiceConfiguration(commandContext);
+        DbSqlSession dbSqlSession = CommandContextUtil.getDbSqlSession(commandContext);
+        String jobExecutionScope = jobServiceConfiguration.getJobExecutionScope();
+
+        Date now = jobServiceConfiguration.getClock().getCurrentTime();
+        Date lockExpirationTime = new Date(now.getTime() + jobPartitionManager.getLeaseTimeInMillis());
+
+        Map<String, Object> selectParams = new HashMap<>();
+        selectParams.put("idPrefix", jobPartitionManager.getLeaseIdPrefix(jobExecutionScope) + "%");
+        List<JobLease> leases = dbSqlSession.selectListWithRawParameterNoCacheCheck("selectJobLeasesByIdPrefix", selectParams);
+
+        Map<String, JobLease> leasesById = new HashMap<>();
+        for (JobLease lease : leases) {
+            leasesById.put(lease.getId(), lease);
+        }
+
+        // Heartbeat of this node and the number of nodes sharing the partitions
+        String nodeLeaseId = jobPartitionManager.getNodeLeaseId(jobExecutionScope, lockOwner);
+        if (leasesById.containsKey(nodeLeaseId)) {
+            dbSqlSession.update("renewJobLease", createParams(nodeLeaseId, lockExpirationTime, now));
+        } else {
+            dbSqlSession.update("insertJobLease", createParams(nodeLeaseId, lockExpirationTime, now));
+        }
+
+        int nrOfNodes = 1;
+        String nodeLeaseIdPrefix = jobPartitionManager.getNodeLeaseIdPrefix(jobExecutionScope);
+        for (JobLease lease : leases) {
+            if (lease.getId().startsWith(nodeLeaseIdPrefix) && !lease.getId().equals(nodeLeaseId)) {
+                if (lease.isExpired(now)) {
+                    dbSqlSession.update("deleteJobLease", createParams(lease.getId(), null, now));
+                } else {
+                    nrOfNodes++;
+                }
+            }
+        }
+
+        int partitionCount = jobPartitionManager.getPartitionCount();
+        int share = (partitionCount + nrOfNodes - 1) / nrOfNodes;
+
+        List<Integer> ownedPartitions = new ArrayList<>();
+        List<Integer> claimablePartitions = new ArrayList<>();
+        for (int partition = 0; partition < partitionCount; partition++) {
+            String partitionLeaseId = jobPartitionManager.getPartitionLeaseId(jobExecutionScope, partition);
+            JobLease lease = leasesById.get(partitionLeaseId);
+            if (lease == null) {
+                Map<String, Object> insertParams = createParams(partitionLeaseId, null, now);
+                insertParams.put("lockOwner", null);
+                dbSqlSession.update("insertJobLease", insertParams);
+                claimablePartitions.add(partition);
+
+            } else if (lockOwner.equals(lease.getLockOwner())) {
+                if (dbSqlSession.update("renewJobLease", createParams(partitionLeaseId, lockExpirationTime, now)) > 0) {
+                    ownedPartitions.add(partition);
+                }
+
+            } else if (lease.isExpired(now)) {
+                claimablePartitions.add(partition);
+            }
+        }
+
+        // Give partitions back when more nodes joined
+        while (ownedPartitions.size() > share) {
+            Integer partition = ownedPartitions.remove(ownedPartitions.size() - 1);
+            Map<String, Object> releaseParams = createParams(jobPartitionManager.getPartitionLeaseId(jobExecutionScope, partition), null, now);
+            dbSqlSession.update("releaseJobLeases", releaseParams);
+        }
+
+        // Shuffled, so that nodes claiming at the same time don't all go for the same partitions
+        Collections.shuffle(claimablePartitions);
+        for (Integer partition : claimablePartitions) {
+            if (ownedPartitions.size() >= share) {
+                break;
+            }
+            String partitionLeaseId = jobPartitionManager.getPartitionLeaseId(jobExecutionScope, partition);
+            if (dbSqlSession.update("claimJobLease", createParams(partitionLeaseId, lockExpirationTime, now)) > 0) {
+                ownedPartitions.add(partition);
+            }
+        }
+
+        Collections.sort(ownedPartitions);
+        return ownedPartitions;
+    }
+
+    protected Map<String, Object> createParams(String id, Date lockExpirationTime, Date now) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", id);
+        params.put("idPrefix", null);
+        params.put("lockOwner", lockOwner);
+        params.put("lockExpirationTime", lockExpirationTime);
+        params.put("now", now);
+        return params;
+    }
+
+}
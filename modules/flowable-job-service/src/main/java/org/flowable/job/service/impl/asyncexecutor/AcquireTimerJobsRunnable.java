@@ -40,6 +40,9 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
     protected long millisToWait;
 
+    // When set, the page size and wait times are determined by the controller instead of the static settings of the async executor
+    protected AdaptiveAcquisitionController acquisitionController;
+
     public AcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, JobManager jobManager) {
         this.asyncExecutor = asyncExecutor;
         this.jobManager = jobManager;
@@ -55,7 +58,8 @@ public class AcquireTimerJobsRunnable implements Runnable {
         while (!isInterrupted) {
 
             try {
-                final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+                Integer pageSize = acquisitionController != null ? acquisitionController.getPageSize() : null;
+                final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor, pageSize));
 
                 commandExecutor.execute(new Command<Void>() {
 
@@ -68,11 +72,16 @@ public class AcquireTimerJobsRunnable implements Runnable {
                     }
                 });
 
-                // if all jobs were executed
-                millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
                 int jobsAcquired = acquiredJobs.size();
-                if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
-                    millisToWait = 0;
+                if (acquisitionController != null) {
+                    millisToWait = acquisitionController.acquisitionCompleted(pageSize, jobsAcquired, 0);
+
+                } else {
+                    // if all jobs were executed
+                    millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
+                    if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
+                        millisToWait = 0;
+                    }
                 }
 
             } catch (FlowableOptimisticLockingException optimisticLockingException) {
@@ -83,6 +92,9 @@ public class AcquireTimerJobsRunnable implements Runnable {
                             + "You can ignore this message if you indeed have multiple timer executor acquisition threads running against the same database. " + "Exception message: {}",
                             optimisticLockingException.getMessage());
                 }
+                if (acquisitionController != null) {
+                    millisToWait = acquisitionController.optimisticLockingFailure();
+                }
             } catch (Throwable e) {
                 LOGGER.error("exception during timer job acquisition: {}", e.getMessage(), e);
                 millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
@@ -132,4 +144,12 @@ public class AcquireTimerJobsRunnable implements Runnable {
     public void setMillisToWait(long millisToWait) {
         this.millisToWait = millisToWait;
     }
+
+    public AdaptiveAcquisitionController getAcquisitionController() {
+        return acquisitionController;
+    }
+
+    public void setAcquisitionController(AdaptiveAcquisitionController acquisitionController) {
+        this.acquisitionController = acquisitionController;
+    }
 }
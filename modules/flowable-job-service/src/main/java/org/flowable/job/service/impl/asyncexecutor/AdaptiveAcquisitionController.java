@@ -0,0 +1,189 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Determines the number of jobs to acquire and the time to wait before the next acquisition, based on the outcome of the previous acquisitions.
+ *
+ * <ul>
+ * <li>A full page means more jobs are waiting: the page size is doubled and the next acquisition happens immediately.</li>
+ * <li>An empty page means there's nothing to do: the page size is halved and the wait time doubles, up to the maximum wait time.</li>
+ * <li>Optimistic locking failures mean other executors compete for the same jobs: the page size is halved and the wait time doubles, with some jitter.</li>
+ * <li>Rejected jobs or a full queue mean the workers can't keep up: the page size is halved and the acquisition waits.</li>
+ * </ul>
+ *
+ * One controller is used by one acquisition thread. The decisions are exposed through the getters, so they can be monitored.
+ */
+public class AdaptiveAcquisitionController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveAcquisitionController.class);
+
+    protected final String name;
+    protected final int minPageSize;
+    protected final int maxPageSize;
+    protected final long minWaitTimeInMillis;
+    protected final long maxWaitTimeInMillis;
+
+    protected volatile int pageSize;
+    protected volatile long waitTimeInMillis;
+
+    protected LongAdder acquisitionCount = new LongAdder();
+    protected LongAdder emptyAcquisitionCount = new LongAdder();
+    protected LongAdder acquiredJobCount = new LongAdder();
+    protected LongAdder rejectedJobCount = new LongAdder();
+    protected LongAdder optimisticLockingFailureCount = new LongAdder();
+    protected LongAdder queueFullCount = new LongAdder();
+
+    public AdaptiveAcquisitionController(String name, int initialPageSize, int maxPageSize, long minWaitTimeInMillis, long maxWaitTimeInMillis) {
+        this.name = name;
+        this.minPageSize = 1;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.minWaitTimeInMillis = Math.max(1L, minWaitTimeInMillis);
+        this.maxWaitTimeInMillis = Math.max(this.minWaitTimeInMillis, maxWaitTimeInMillis);
+        this.pageSize = Math.min(Math.max(minPageSize, initialPageSize), this.maxPageSize);
+        this.waitTimeInMillis = this.minWaitTimeInMillis;
+    }
+
+    /**
+     * Returns the number of jobs that should be acquired in the next acquisition.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Registers the outcome of an acquisition and returns the time to wait before the next one.
+     *
+     * @param requestedJobs the number of jobs that were requested
+     * @param acquiredJobs the number of jobs that were acquired
+     * @param rejectedJobs the number of acquired jobs that couldn't be handed to the workers
+     */
+    public long acquisitionCompleted(int requestedJobs, int acquiredJobs, int rejectedJobs) {
+        acquisitionCount.increment();
+        acquiredJobCount.add(acquiredJobs);
+
+        if (rejectedJobs > 0) {
+            rejectedJobCount.add(rejectedJobs);
+            decreasePageSize();
+            waitTimeInMillis = minWaitTimeInMillis;
+            return logDecision("jobs rejected", waitTimeInMillis);
+
+        } else if (acquiredJobs >= requestedJobs) {
+            increasePageSize();
+            waitTimeInMillis = minWaitTimeInMillis;
+            return logDecision("page full", 0L);
+
+        } else if (acquiredJobs > 0) {
+            waitTimeInMillis = minWaitTimeInMillis;
+            return logDecision("page partially filled", waitTimeInMillis);
+        }
+
+        emptyAcquisitionCount.increment();
+        decreasePageSize();
+        increaseWaitTime();
+        return logDecision("page empty", waitTimeInMillis);
+    }
+
+    /**
+     * Registers an acquisition that failed because another executor acquired (some of) the same jobs and returns the time to wait before the next one.
+     */
+    public long optimisticLockingFailure() {
+        acquisitionCount.increment();
+        optimisticLockingFailureCount.increment();
+        decreasePageSize();
+        increaseWaitTime();
+
+        // Jitter, so that competing executors don't keep acquiring at the same moment
+        return logDecision("optimistic locking failure", waitTimeInMillis + ThreadLocalRandom.current().nextLong(minWaitTimeInMillis));
+    }
+
+    /**
+     * Registers that no acquisition was done because the workers have no capacity left and returns the time to wait before checking again.
+     */
+    public long queueFull() {
+        queueFullCount.increment();
+        decreasePageSize();
+        increaseWaitTime();
+        return logDecision("queue full", waitTimeInMillis);
+    }
+
+    protected void increasePageSize() {
+        pageSize = Math.min(maxPageSize, pageSize * 2);
+    }
+
+    protected void decreasePageSize() {
+        pageSize = Math.max(minPageSize, pageSize / 2);
+    }
+
+    protected void increaseWaitTime() {
+        waitTimeInMillis = Math.min(maxWaitTimeInMillis, waitTimeInMillis * 2);
+    }
+
+    protected long logDecision(String reason, long millisToWait) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("{}: {}, next page size {}, waiting {} ms", name, reason, pageSize, millisToWait);
+        }
+        return millisToWait;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWaitTimeInMillis() {
+        return waitTimeInMillis;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public long getMinWaitTimeInMillis() {
+        return minWaitTimeInMillis;
+    }
+
+    public long getMaxWaitTimeInMillis() {
+        return maxWaitTimeInMillis;
+    }
+
+    public long getAcquisitionCount() {
+        return acquisitionCount.sum();
+    }
+
+    public long getEmptyAcquisitionCount() {
+        return emptyAcquisitionCount.sum();
+    }
+
+    public long getAcquiredJobCount() {
+        return acquiredJobCount.sum();
+    }
+
+    public long getRejectedJobCount() {
+        return rejectedJobCount.sum();
+    }
+
+    public long getOptimisticLockingFailureCount() {
+        return optimisticLockingFailureCount.sum();
+    }
+
+    public long getQueueFullCount() {
+        return queueFullCount.sum();
+    }
+
+}
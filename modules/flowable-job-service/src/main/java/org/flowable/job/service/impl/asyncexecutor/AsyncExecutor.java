@@ -81,6 +81,10 @@ public interface AsyncExecutor {
 
     void setMaxTimerJobsPerAcquisition(int maxJobs);
 
+    boolean isBulkJobLockEnabled();
+
+    void setBulkJobLockEnabled(boolean bulkJobLockEnabled);
+
     int getRetryWaitTimeInMillis();
 
     void setRetryWaitTimeInMillis(int retryWaitTimeInMillis);
@@ -12,8 +12,18 @@
  */
 package org.flowable.job.service.impl.asyncexecutor;
 
+import java.util.List;
+
+import org.flowable.job.api.JobInfo;
+
 public class DefaultAsyncHistoryJobExecutor extends DefaultAsyncJobExecutor {
-    
+
+    /**
+     * The number of acquired history jobs that are executed together in one transaction, see {@link ExecuteAsyncHistoryJobBatchRunnable}.
+     * The default of 1 executes every history job in its own transaction.
+     */
+    protected int historyJobBatchSize = 1;
+
     public DefaultAsyncHistoryJobExecutor() {
         setTimerRunnableNeeded(false);
         setAcquireRunnableThreadName("flowable-acquire-history-jobs");
@@ -29,4 +39,29 @@ public class DefaultAsyncHistoryJobExecutor extends DefaultAsyncJobExecutor {
         }
     }
 
+    /**
+     * Offers acquired history jobs, to be executed in one transaction.
+     * Returns false when the jobs couldn't be offered, in which case they have been unacquired.
+     */
+    public boolean executeAsyncHistoryJobBatch(List<? extends JobInfo> jobs) {
+        if (jobs.size() == 1 || !isMultipleJobRunnableApplicable()) {
+            return executeAsyncJobsSeparately(jobs);
+        }
+
+        Runnable runnable = new ExecuteAsyncHistoryJobBatchRunnable(jobs, jobServiceConfiguration, jobEntityManager, asyncRunnableExecutionExceptionHandler);
+        return executeAsyncJobs(jobs, runnable);
+    }
+
+    public boolean isHistoryJobBatchingEnabled() {
+        return historyJobBatchSize > 1;
+    }
+
+    public int getHistoryJobBatchSize() {
+        return historyJobBatchSize;
+    }
+
+    public void setHistoryJobBatchSize(int historyJobBatchSize) {
+        this.historyJobBatchSize = historyJobBatchSize;
+    }
+
 }
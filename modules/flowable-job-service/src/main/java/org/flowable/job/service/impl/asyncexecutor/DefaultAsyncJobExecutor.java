@@ -12,10 +12,15 @@
  */
 package org.flowable.job.service.impl.asyncexecutor;
 
+import java.lang.reflect.Method;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -66,6 +71,11 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
      */
     protected Thread resetExpiredJobThread;
 
+    /**
+     * Thread responsible for leasing the job partitions, only used when the jobs are partitioned.
+     */
+    protected Thread jobPartitionLeaseThread;
+
     /**
      * The minimal number of threads that are kept alive in the threadpool for job execution
      */
@@ -88,6 +98,27 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     /** Whether to unlock jobs that are owned by this executor (have the same lockOwner) at startup */
     protected boolean unlockOwnedJobs;
 
+    /**
+     * If true, a worker thread signals the async job acquisition thread when it takes a job while the acquisition is waiting for free capacity
+     * (because the queue was full or a job couldn't be handed off to the thread pool).
+     * Jobs are then acquired as soon as a worker is available, instead of after the acquire wait time,
+     * which leaves the database polling of the acquisition thread mainly for picking up jobs created by other nodes.
+     */
+    protected boolean freeCapacityNotificationEnabled;
+
+    /**
+     * If true, jobs are not executed on the bounded threadpool, but each job gets its own virtual thread (when running on a JVM that supports them,
+     * otherwise a thread from an unbounded threadpool). The number of jobs executing at the same time is limited by {@link #maxConcurrentJobs} instead
+     * of by the pool and queue sizes, which suits jobs that mostly wait on I/O (http tasks, service calls).
+     */
+    protected boolean virtualThreadsEnabled;
+
+    /** The maximum number of jobs executing at the same time when {@link #virtualThreadsEnabled} is true */
+    protected int maxConcurrentJobs = 100;
+
+    /** Limits the number of concurrently executing jobs when {@link #virtualThreadsEnabled} is true */
+    protected Semaphore concurrentJobsSemaphore;
+
     /** The queue used for job execution work */
     protected BlockingQueue<Runnable> threadPoolQueue;
 
@@ -103,15 +134,81 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
 
     @Override
     protected boolean executeAsyncJob(final JobInfo job, Runnable runnable) {
+        Semaphore semaphore = concurrentJobsSemaphore;
+        if (semaphore != null && !semaphore.tryAcquire()) {
+            return rejectJob(job);
+        }
+
+        try {
+            executorService.execute(wrapRunnable(runnable, semaphore));
+            return true;
+        } catch (RejectedExecutionException e) {
+            if (semaphore != null) {
+                semaphore.release();
+            }
+            return rejectJob(job);
+        }
+    }
+
+    @Override
+    protected boolean executeAsyncJobs(List<? extends JobInfo> jobs, Runnable runnable) {
+        Semaphore semaphore = concurrentJobsSemaphore;
+        if (semaphore != null && !semaphore.tryAcquire()) {
+            return rejectJobs(jobs);
+        }
+
         try {
-            executorService.execute(runnable);
+            executorService.execute(wrapRunnable(runnable, semaphore));
             return true;
         } catch (RejectedExecutionException e) {
-            unacquireJobAfterRejection(job);
+            if (semaphore != null) {
+                semaphore.release();
+            }
+            return rejectJobs(jobs);
+        }
+    }
+
+    protected boolean rejectJobs(List<? extends JobInfo> jobs) {
+        for (JobInfo job : jobs) {
+            rejectJob(job);
+        }
+        return false;
+    }
+
+    protected Runnable wrapRunnable(Runnable runnable, Semaphore semaphore) {
+        if (semaphore != null) {
+            // Capacity is freed when the job is done
+            return () -> {
+                try {
+                    runnable.run();
+                } finally {
+                    semaphore.release();
+                    if (freeCapacityNotificationEnabled) {
+                        notifyFreeCapacity();
+                    }
+                }
+            };
+
+        } else if (freeCapacityNotificationEnabled) {
+            // Capacity is freed when the job is taken from the queue
+            return () -> {
+                notifyFreeCapacity();
+                runnable.run();
+            };
+        }
+        return runnable;
+    }
+
+    protected boolean rejectJob(JobInfo job) {
+        unacquireJobAfterRejection(job);
 
-            // Job queue full, returning false so (if wanted) the acquiring can be throttled
-            return false;
+        if (freeCapacityNotificationEnabled && asyncJobsDueRunnable != null) {
+            // The unacquired job should be acquired again as soon as a worker is available
+            asyncJobsDueRunnable.setWaitingForCapacity(true);
         }
+
+        // Job queue full, returning false so (if wanted) the acquiring can be throttled
+        return false;
     }
 
     protected void unacquireJobAfterRejection(final JobInfo job) {
@@ -140,8 +237,17 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         }
     }
 
+    protected void notifyFreeCapacity() {
+        AcquireAsyncJobsDueRunnable acquireRunnable = asyncJobsDueRunnable;
+        if (acquireRunnable != null && acquireRunnable.isWaitingForCapacity()) {
+            acquireRunnable.wakeUp();
+        }
+    }
+
     @Override
     protected void startAdditionalComponents() {
+        startJobPartitionLeaseThread();
+
         if (!isMessageQueueMode) {
             initAsyncJobExecutionThreadPool();
             startJobAcquisitionThread();
@@ -163,9 +269,15 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         stopTimerAcquisitionThread();
         stopJobAcquisitionThread();
         stopExecutingAsyncJobs();
+        stopJobPartitionLeaseThread();
     }
 
     protected void initAsyncJobExecutionThreadPool() {
+        if (virtualThreadsEnabled) {
+            initVirtualThreadExecution();
+            return;
+        }
+
         if (threadPoolQueue == null) {
             LOGGER.info("Creating thread pool queue of size {}", queueSize);
             threadPoolQueue = new ArrayBlockingQueue<>(queueSize);
@@ -179,6 +291,32 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         }
     }
 
+    protected void initVirtualThreadExecution() {
+        LOGGER.info("Executing async jobs on virtual threads with at most {} concurrent jobs", maxConcurrentJobs);
+        concurrentJobsSemaphore = new Semaphore(maxConcurrentJobs);
+
+        if (executorService == null) {
+            executorService = createVirtualThreadExecutorService();
+        }
+    }
+
+    protected ExecutorService createVirtualThreadExecutorService() {
+        try {
+            // Virtual threads are available as of Java 21, looked up reflectively to stay compatible with older runtimes
+            Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+
+        } catch (NoSuchMethodException e) {
+            LOGGER.info("Virtual threads are not supported by this JVM, using an unbounded threadpool instead");
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warn("Could not create virtual thread executor, using an unbounded threadpool instead", e);
+        }
+
+        // The semaphore limits the concurrency, so threads can be handed the job directly without any queueing
+        BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern(threadPoolNamingPattern).build();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, keepAliveTime, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), threadFactory);
+    }
+
     protected void stopExecutingAsyncJobs() {
         if (executorService != null) {
 
@@ -196,6 +334,7 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
 
             executorService = null;
         }
+        concurrentJobsSemaphore = null;
     }
 
     /** Starts the acquisition thread */
@@ -262,6 +401,30 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
             resetExpiredJobThread = null;
         }
     }
+
+    /** Leases the initial job partitions, before the acquisition starts, and starts the job partition lease thread */
+    protected void startJobPartitionLeaseThread() {
+        if (jobPartitionLeaseRunnable != null) {
+            jobPartitionLeaseRunnable.acquireLeases();
+            if (jobPartitionLeaseThread == null) {
+                jobPartitionLeaseThread = new Thread(jobPartitionLeaseRunnable);
+            }
+            jobPartitionLeaseThread.start();
+        }
+    }
+
+    /** Stops the job partition lease thread, which releases the partitions of this executor */
+    protected void stopJobPartitionLeaseThread() {
+        if (jobPartitionLeaseThread != null) {
+            try {
+                jobPartitionLeaseThread.join();
+            } catch (InterruptedException e) {
+                LOGGER.warn("Interrupted while waiting for the job partition lease thread to terminate", e);
+            }
+
+            jobPartitionLeaseThread = null;
+        }
+    }
     
     public boolean isAsyncJobAcquisitionEnabled() {
         return isAsyncJobAcquisitionEnabled;
@@ -317,7 +480,10 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
 
     @Override
     public int getRemainingCapacity() {
-        if (threadPoolQueue != null) {
+        Semaphore semaphore = concurrentJobsSemaphore;
+        if (semaphore != null) {
+            return semaphore.availablePermits();
+        } else if (threadPoolQueue != null) {
             return threadPoolQueue.remainingCapacity();
         } else {
             // return plenty of remaining capacity if there's no thread pool queue
@@ -329,6 +495,30 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         this.queueSize = queueSize;
     }
 
+    public boolean isFreeCapacityNotificationEnabled() {
+        return freeCapacityNotificationEnabled;
+    }
+
+    public void setFreeCapacityNotificationEnabled(boolean freeCapacityNotificationEnabled) {
+        this.freeCapacityNotificationEnabled = freeCapacityNotificationEnabled;
+    }
+
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    public int getMaxConcurrentJobs() {
+        return maxConcurrentJobs;
+    }
+
+    public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
     public int getCorePoolSize() {
         return corePoolSize;
     }
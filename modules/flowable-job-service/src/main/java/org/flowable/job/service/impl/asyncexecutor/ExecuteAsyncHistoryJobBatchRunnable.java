@@ -0,0 +1,101 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.List;
+
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.api.JobInfo;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.cmd.ExecuteAsyncJobCmd;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes a batch of async history jobs in one transaction.
+ *
+ * All history json of the batch is transformed in the same transaction, so the historic entities of all jobs are flushed together,
+ * using the bulk insert statements of the entities (one multi-row insert per entity type instead of one insert per entity).
+ *
+ * When the batch fails, e.g. because one of the jobs can't be applied yet, the transaction is rolled back and the jobs are executed again one by one,
+ * with the regular exception handling per job.
+ *
+ * History json transformers that query or bulk delete historic data wouldn't see the data of the other jobs of the batch that isn't flushed yet.
+ * They can check {@link #isBatchExecution(CommandContext)} and declare themselves not applicable, so the batch is executed job by job instead.
+ */
+public class ExecuteAsyncHistoryJobBatchRunnable implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecuteAsyncHistoryJobBatchRunnable.class);
+
+    public static final String ATTRIBUTE_BATCH_EXECUTION = "asyncHistoryJobBatchExecution";
+
+    protected List<? extends JobInfo> jobs;
+    protected JobServiceConfiguration jobServiceConfiguration;
+    protected JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
+    protected AsyncRunnableExecutionExceptionHandler asyncRunnableExecutionExceptionHandler;
+
+    public ExecuteAsyncHistoryJobBatchRunnable(List<? extends JobInfo> jobs, JobServiceConfiguration jobServiceConfiguration,
+            JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager,
+            AsyncRunnableExecutionExceptionHandler asyncRunnableExecutionExceptionHandler) {
+
+        this.jobs = jobs;
+        this.jobServiceConfiguration = jobServiceConfiguration;
+        this.jobEntityManager = jobEntityManager;
+        this.asyncRunnableExecutionExceptionHandler = asyncRunnableExecutionExceptionHandler;
+    }
+
+    @Override
+    public void run() {
+        try {
+            jobServiceConfiguration.getCommandExecutor().execute(new Command<Void>() {
+                @Override
+                public Void execute(CommandContext commandContext) {
+                    commandContext.addAttribute(ATTRIBUTE_BATCH_EXECUTION, Boolean.TRUE);
+                    for (JobInfo job : jobs) {
+                        new ExecuteAsyncJobCmd(job.getId(), jobEntityManager).execute(commandContext);
+                    }
+                    return null;
+                }
+            });
+
+        } catch (Throwable exception) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Could not execute batch of {} history jobs, executing them one by one. Exception message: {}", jobs.size(), exception.getMessage());
+            }
+
+            executeJobsSeparately();
+        }
+    }
+
+    protected void executeJobsSeparately() {
+        for (JobInfo job : jobs) {
+            try {
+                new ExecuteAsyncRunnable(job, jobServiceConfiguration, jobEntityManager, asyncRunnableExecutionExceptionHandler).run();
+            } catch (Throwable e) {
+                LOGGER.error("Exception while executing history job {}", job.getId(), e);
+            }
+        }
+    }
+
+    public static boolean isBatchExecution(CommandContext commandContext) {
+        return commandContext.getAttribute(ATTRIBUTE_BATCH_EXECUTION) != null;
+    }
+
+    public List<? extends JobInfo> getJobs() {
+        return jobs;
+    }
+
+}
@@ -0,0 +1,125 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.List;
+
+import org.flowable.job.api.Job;
+import org.flowable.job.api.JobInfo;
+import org.flowable.job.service.InternalJobCompatibilityManager;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the exclusive jobs of one process (or case) instance one after the other, under a single lock of the instance.
+ *
+ * The instance is locked before the first job and unlocked in the transaction of the last job, instead of locking and unlocking it for every job.
+ * When a job fails, the exception handling unlocks the instance and it's locked again for the next job.
+ * When the instance can't be locked, the remaining jobs are unacquired so they can be acquired again later or by another node.
+ */
+public class ExecuteExclusiveAsyncJobsRunnable implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecuteExclusiveAsyncJobsRunnable.class);
+
+    protected List<? extends JobInfo> jobs;
+    protected JobServiceConfiguration jobServiceConfiguration;
+    protected JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
+    protected AsyncRunnableExecutionExceptionHandler asyncRunnableExecutionExceptionHandler;
+
+    public ExecuteExclusiveAsyncJobsRunnable(List<? extends JobInfo> jobs, JobServiceConfiguration jobServiceConfiguration,
+            JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager,
+            AsyncRunnableExecutionExceptionHandler asyncRunnableExecutionExceptionHandler) {
+
+        this.jobs = jobs;
+        this.jobServiceConfiguration = jobServiceConfiguration;
+        this.jobEntityManager = jobEntityManager;
+        this.asyncRunnableExecutionExceptionHandler = asyncRunnableExecutionExceptionHandler;
+    }
+
+    @Override
+    public void run() {
+        boolean locked = false;
+        for (int i = 0; i < jobs.size(); i++) {
+            JobInfo job = jobs.get(i);
+            GroupedExecuteAsyncRunnable jobRunnable = createJobRunnable(job);
+
+            if (isFlowable5Job(job)) {
+                // Flowable 5 jobs have their own locking
+                jobRunnable.run();
+                continue;
+            }
+
+            if (!locked) {
+                locked = jobRunnable.lockJob();
+                if (!locked) {
+                    // The instance is locked by another executor, the remaining jobs would fail to lock as well
+                    for (int j = i + 1; j < jobs.size(); j++) {
+                        createJobRunnable(jobs.get(j)).unacquireJob();
+                    }
+
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("Could not lock the instance of exclusive job {}, unacquired {} jobs", job.getId(), jobs.size() - i);
+                    }
+                    return;
+                }
+            }
+
+            boolean lastJob = i == jobs.size() - 1;
+            try {
+                jobRunnable.executeJob(lastJob);
+            } catch (Throwable e) {
+                LOGGER.error("Exception while executing exclusive job {}", job.getId(), e);
+            }
+
+            // A failed job unlocks the instance through the exception handling
+            if (jobRunnable.failed) {
+                locked = false;
+            }
+        }
+    }
+
+    protected boolean isFlowable5Job(JobInfo job) {
+        InternalJobCompatibilityManager internalJobCompatibilityManager = jobServiceConfiguration.getInternalJobCompatibilityManager();
+        return job instanceof Job && internalJobCompatibilityManager != null && internalJobCompatibilityManager.isFlowable5Job((Job) job);
+    }
+
+    public List<? extends JobInfo> getJobs() {
+        return jobs;
+    }
+
+    protected GroupedExecuteAsyncRunnable createJobRunnable(JobInfo job) {
+        return new GroupedExecuteAsyncRunnable(job, jobServiceConfiguration, jobEntityManager, asyncRunnableExecutionExceptionHandler);
+    }
+
+    protected static class GroupedExecuteAsyncRunnable extends ExecuteAsyncRunnable {
+
+        protected boolean failed;
+
+        public GroupedExecuteAsyncRunnable(JobInfo job, JobServiceConfiguration jobServiceConfiguration,
+                JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager,
+                AsyncRunnableExecutionExceptionHandler asyncRunnableExecutionExceptionHandler) {
+            super(job, jobServiceConfiguration, jobEntityManager, asyncRunnableExecutionExceptionHandler);
+        }
+
+        @Override
+        protected void handleFailedJob(Throwable exception) {
+            failed = true;
+            super.handleFailedJob(exception);
+        }
+
+    }
+
+}
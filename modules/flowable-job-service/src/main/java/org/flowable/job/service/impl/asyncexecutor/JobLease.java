@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.Date;
+
+/**
+ * A row of the job lease table: either the lease of a job partition or the heartbeat of an async executor node, see {@link JobPartitionManager}.
+ */
+public class JobLease {
+
+    protected String id;
+    protected int revision;
+    protected String lockOwner;
+    protected Date lockExpirationTime;
+
+    public boolean isExpired(Date now) {
+        return lockOwner == null || lockExpirationTime == null || lockExpirationTime.before(now);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+
+    public void setRevision(int revision) {
+        this.revision = revision;
+    }
+
+    public String getLockOwner() {
+        return lockOwner;
+    }
+
+    public void setLockOwner(String lockOwner) {
+        this.lockOwner = lockOwner;
+    }
+
+    public Date getLockExpirationTime() {
+        return lockExpirationTime;
+    }
+
+    public void setLockExpirationTime(Date lockExpirationTime) {
+        this.lockExpirationTime = lockExpirationTime;
+    }
+
+    @Override
+    public String toString() {
+        return "JobLease[id=" + id + ", lockOwner=" + lockOwner + ", lockExpirationTime=" + lockExpirationTime + "]";
+    }
+
+}
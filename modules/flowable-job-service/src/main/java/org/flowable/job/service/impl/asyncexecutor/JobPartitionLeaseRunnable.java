@@ -0,0 +1,121 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runnable that periodically renews the partition leases of this async executor and rebalances the partitions over the active nodes, see {@link JobPartitionManager}.
+ *
+ * When stopped, the partitions are released so that the other nodes can take them over immediately.
+ */
+public class JobPartitionLeaseRunnable implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobPartitionLeaseRunnable.class);
+
+    protected final String name;
+    protected final AsyncExecutor asyncExecutor;
+    protected final JobPartitionManager jobPartitionManager;
+
+    protected volatile boolean isInterrupted;
+    protected final Object MONITOR = new Object();
+    protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
+
+    public JobPartitionLeaseRunnable(String name, AsyncExecutor asyncExecutor, JobPartitionManager jobPartitionManager) {
+        this.name = name;
+        this.asyncExecutor = asyncExecutor;
+        this.jobPartitionManager = jobPartitionManager;
+    }
+
+    @Override
+    public synchronized void run() {
+        LOGGER.info("starting to lease job partitions");
+        Thread.currentThread().setName(name);
+
+        while (!isInterrupted) {
+
+            acquireLeases();
+
+            // Sleep
+            try {
+
+                synchronized (MONITOR) {
+                    if (!isInterrupted) {
+                        isWaiting.set(true);
+                        MONITOR.wait(jobPartitionManager.getLeaseRenewalIntervalInMillis());
+                    }
+                }
+
+            } catch (InterruptedException e) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("job partition lease wait interrupted");
+                }
+            } finally {
+                isWaiting.set(false);
+            }
+
+        }
+
+        releaseLeases();
+
+        LOGGER.info("stopped leasing job partitions");
+    }
+
+    public void acquireLeases() {
+        try {
+            List<Integer> ownedPartitions = asyncExecutor.getJobServiceConfiguration().getCommandExecutor()
+                    .execute(new AcquireJobPartitionLeasesCmd(jobPartitionManager, asyncExecutor.getLockOwner()));
+            jobPartitionManager.setOwnedPartitions(ownedPartitions);
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("{} owns job partitions {}", asyncExecutor.getLockOwner(), ownedPartitions);
+            }
+
+        } catch (Throwable e) {
+            // Another node may have inserted or claimed the same lease concurrently, the next round will sort this out.
+            // The owned partitions are kept until then, the leases are only lost when they expire.
+            if (e instanceof FlowableOptimisticLockingException) {
+                LOGGER.debug("Optimistic lock exception while leasing job partitions", e);
+            } else {
+                LOGGER.warn("exception during leasing job partitions: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    public void releaseLeases() {
+        try {
+            jobPartitionManager.setOwnedPartitions(Collections.<Integer>emptyList());
+            asyncExecutor.getJobServiceConfiguration().getCommandExecutor()
+                    .execute(new ReleaseJobPartitionLeasesCmd(jobPartitionManager, asyncExecutor.getLockOwner()));
+
+        } catch (Throwable e) {
+            LOGGER.warn("exception during releasing job partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    public void stop() {
+        synchronized (MONITOR) {
+            isInterrupted = true;
+            if (isWaiting.compareAndSet(true, false)) {
+                MONITOR.notifyAll();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.flowable.job.service.impl.persistence.entity.AbstractRuntimeJobEntity;
+
+/**
+ * Divides the async and timer jobs over a fixed number of partitions, so that the async executors of a cluster don't all compete for the same jobs.
+ *
+ * Each job gets a partition when it is created, based on the hash of its process instance (or scope) id. This keeps all jobs of one process instance in the same partition.
+ * The async executor nodes lease partitions through the job lease table (see {@link JobPartitionLeaseRunnable}) and only acquire jobs of the partitions they own,
+ * and jobs without a partition (e.g. created before partitioning was enabled).
+ *
+ * The partitions only limit which jobs a node tries to acquire. The jobs are still locked as before, so a partition being owned by two nodes for a short time,
+ * e.g. while rebalancing, doesn't lead to a job being executed twice.
+ *
+ * The partition count needs to be the same on all nodes.
+ */
+public class JobPartitionManager {
+
+    protected static final String PARTITION_LEASE_PREFIX = "partition.";
+    protected static final String NODE_LEASE_PREFIX = "node.";
+
+    protected int partitionCount;
+
+    /**
+     * The time a node owns a partition without renewing the lease. When a node goes down, its partitions are taken over by the other nodes after this time.
+     */
+    protected int leaseTimeInMillis = 60 * 1000;
+
+    /**
+     * The interval at which the leases are renewed and the partitions are rebalanced. Needs to be lower than the lease time.
+     */
+    protected int leaseRenewalIntervalInMillis = 15 * 1000;
+
+    protected volatile List<Integer> ownedPartitions = Collections.emptyList();
+
+    public JobPartitionManager(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    public int determinePartition(AbstractRuntimeJobEntity job) {
+        String partitionKey = job.getProcessInstanceId() != null ? job.getProcessInstanceId() : job.getScopeId();
+        if (partitionKey == null) {
+            return ThreadLocalRandom.current().nextInt(partitionCount);
+        }
+        return Math.floorMod(partitionKey.hashCode(), partitionCount);
+    }
+
+    public String getLeaseIdPrefix(String jobExecutionScope) {
+        return (jobExecutionScope != null ? jobExecutionScope : "bpmn") + ".";
+    }
+
+    public String getPartitionLeaseIdPrefix(String jobExecutionScope) {
+        return getLeaseIdPrefix(jobExecutionScope) + PARTITION_LEASE_PREFIX;
+    }
+
+    public String getPartitionLeaseId(String jobExecutionScope, int partition) {
+        return getPartitionLeaseIdPrefix(jobExecutionScope) + partition;
+    }
+
+    public String getNodeLeaseIdPrefix(String jobExecutionScope) {
+        return getLeaseIdPrefix(jobExecutionScope) + NODE_LEASE_PREFIX;
+    }
+
+    public String getNodeLeaseId(String jobExecutionScope, String lockOwner) {
+        return getNodeLeaseIdPrefix(jobExecutionScope) + lockOwner;
+    }
+
+    /**
+     * Returns the partitions owned by this node, for which jobs are acquired.
+     */
+    public List<Integer> getOwnedPartitions() {
+        return ownedPartitions;
+    }
+
+    public void setOwnedPartitions(List<Integer> ownedPartitions) {
+        this.ownedPartitions = Collections.unmodifiableList(ownedPartitions);
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public void setPartitionCount(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    public int getLeaseTimeInMillis() {
+        return leaseTimeInMillis;
+    }
+
+    public void setLeaseTimeInMillis(int leaseTimeInMillis) {
+        this.leaseTimeInMillis = leaseTimeInMillis;
+    }
+
+    public int getLeaseRenewalIntervalInMillis() {
+        return leaseRenewalIntervalInMillis;
+    }
+
+    public void setLeaseRenewalIntervalInMillis(int leaseRenewalIntervalInMillis) {
+        this.leaseRenewalIntervalInMillis = leaseRenewalIntervalInMillis;
+    }
+
+}
@@ -0,0 +1,54 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.impl.util.CommandContextUtil;
+
+/**
+ * Releases the partitions owned by a node and removes its heartbeat, so the other nodes can take over the partitions without waiting for the leases to expire.
+ */
+public class ReleaseJobPartitionLeasesCmd implements Command<Void> {
+
+    protected JobPartitionManager jobPartitionManager;
+    protected String lockOwner;
+
+    public ReleaseJobPartitionLeasesCmd(JobPartitionManager jobPartitionManager, String lockOwner) {
+        this.jobPartitionManager = jobPartitionManager;
+        this.lockOwner = lockOwner;
+    }
+
+    @Override
+    public Void execute(CommandContext commandContext) {
+        DbSqlSession dbSqlSession = CommandContextUtil.getDbSqlSession(commandContext);
+        String jobExecutionScope = CommandContextUtil.getJobServiceConfiguration(commandContext).getJobExecutionScope();
+
+        Map<String, Object> releaseParams = new HashMap<>();
+        releaseParams.put("id", null);
+        releaseParams.put("idPrefix", jobPartitionManager.getPartitionLeaseIdPrefix(jobExecutionScope) + "%");
+        releaseParams.put("lockOwner", lockOwner);
+        dbSqlSession.update("releaseJobLeases", releaseParams);
+
+        Map<String, Object> deleteParams = new HashMap<>();
+        deleteParams.put("id", jobPartitionManager.getNodeLeaseId(jobExecutionScope, lockOwner));
+        dbSqlSession.update("deleteJobLease", deleteParams);
+
+        return null;
+    }
+
+}
@@ -260,6 +260,18 @@ public class ExecutorPerTenantAsyncExecutor implements TenantAwareAsyncExecutor
         }
     }
 
+    @Override
+    public boolean isBulkJobLockEnabled() {
+        return determineAsyncExecutor().isBulkJobLockEnabled();
+    }
+
+    @Override
+    public void setBulkJobLockEnabled(boolean bulkJobLockEnabled) {
+        for (AsyncExecutor asyncExecutor : tenantExecutors.values()) {
+            asyncExecutor.setBulkJobLockEnabled(bulkJobLockEnabled);
+        }
+    }
+
     @Override
     public int getRetryWaitTimeInMillis() {
         return determineAsyncExecutor().getRetryWaitTimeInMillis();
@@ -13,6 +13,7 @@
 package org.flowable.job.service.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -30,16 +31,37 @@ import org.flowable.job.service.impl.util.CommandContextUtil;
 public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
 
     private final AsyncExecutor asyncExecutor;
+    private final Integer maxJobsPerAcquisition;
 
     public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor) {
+        this(asyncExecutor, null);
+    }
+
+    /**
+     * @param maxJobsPerAcquisition overrides the max async jobs due per acquisition of the async executor, when not null
+     */
+    public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor, Integer maxJobsPerAcquisition) {
         this.asyncExecutor = asyncExecutor;
+        this.maxJobsPerAcquisition = maxJobsPerAcquisition;
     }
 
     @Override
     public AcquiredTimerJobEntities execute(CommandContext commandContext) {
         AcquiredTimerJobEntities acquiredJobs = new AcquiredTimerJobEntities();
+        int maxResults = maxJobsPerAcquisition != null ? maxJobsPerAcquisition : asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
+
+        if (asyncExecutor.isBulkJobLockEnabled()) {
+            List<TimerJobEntity> lockedTimerJobs = CommandContextUtil.getTimerJobEntityManager(commandContext)
+                    .findAndLockTimerJobsToExecute(new Page(0, maxResults),
+                            asyncExecutor.getLockOwner(), getLockExpirationTime(commandContext, asyncExecutor.getAsyncJobLockTimeInMillis()));
+            for (TimerJobEntity job : lockedTimerJobs) {
+                acquiredJobs.addJob(job);
+            }
+            return acquiredJobs;
+        }
+
         List<TimerJobEntity> timerJobs = CommandContextUtil.getTimerJobEntityManager(commandContext)
-                .findTimerJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
+                .findTimerJobsToExecute(new Page(0, maxResults));
         
         for (TimerJobEntity job : timerJobs) {
             lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
@@ -54,10 +76,14 @@ public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
         // This will trigger an optimistic locking exception when two concurrent executors
         // try to lock, as the revision will not match.
 
+        job.setLockOwner(asyncExecutor.getLockOwner());
+        job.setLockExpirationTime(getLockExpirationTime(commandContext, lockTimeInMillis));
+    }
+
+    protected Date getLockExpirationTime(CommandContext commandContext, int lockTimeInMillis) {
         GregorianCalendar gregorianCalendar = new GregorianCalendar();
         gregorianCalendar.setTime(CommandContextUtil.getJobServiceConfiguration(commandContext).getClock().getCurrentTime());
         gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
-        job.setLockOwner(asyncExecutor.getLockOwner());
-        job.setLockExpirationTime(gregorianCalendar.getTime());
+        return gregorianCalendar.getTime();
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.flowable.common.engine.impl.calendar.BusinessCalendar;
+import org.flowable.common.engine.impl.calendar.CycleBusinessCalendar;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.JobQueryImpl;
+import org.flowable.job.service.impl.TimerJobQueryImpl;
+import org.flowable.job.service.impl.history.cleanup.HistoryCleanupJobHandler;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
+import org.flowable.job.service.impl.persistence.entity.TimerJobEntityManager;
+import org.flowable.job.service.impl.util.CommandContextUtil;
+
+/**
+ * Makes sure there is exactly one repeating history cleanup timer job for the given scope type (null for the process engine)
+ * when the time cycle is set, or none at all when the history cleanup is disabled (time cycle null).
+ * The timer job is recreated when the time cycle has changed.
+ */
+public class HandleHistoryCleanupTimerJobCmd implements Command<Object>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String timeCycleConfig;
+    protected String scopeType;
+
+    public HandleHistoryCleanupTimerJobCmd(String timeCycleConfig, String scopeType) {
+        this.timeCycleConfig = timeCycleConfig;
+        this.scopeType = scopeType;
+    }
+
+    @Override
+    public Object execute(CommandContext commandContext) {
+        TimerJobEntityManager timerJobEntityManager = CommandContextUtil.getTimerJobEntityManager(commandContext);
+
+        boolean scheduled = false;
+        List<Job> timerJobs = filterByScopeType(timerJobEntityManager.findJobsByQueryCriteria(
+                new TimerJobQueryImpl(commandContext).handlerType(HistoryCleanupJobHandler.TYPE)));
+        for (Job job : timerJobs) {
+            TimerJobEntity timerJob = (TimerJobEntity) job;
+            if (!scheduled && timeCycleConfig != null && timeCycleConfig.equals(timerJob.getRepeat())) {
+                scheduled = true;
+
+            } else if (timerJob.getLockOwner() == null) {
+                timerJobEntityManager.delete(timerJob);
+            }
+        }
+
+        if (!scheduled && timeCycleConfig != null) {
+            // A cleanup that is running at the moment schedules the next run itself
+            List<Job> runningJobs = filterByScopeType(CommandContextUtil.getJobEntityManager(commandContext).findJobsByQueryCriteria(
+                    new JobQueryImpl(commandContext).handlerType(HistoryCleanupJobHandler.TYPE)));
+            if (runningJobs.isEmpty()) {
+                scheduleTimerJob(commandContext, timerJobEntityManager);
+            }
+        }
+
+        return null;
+    }
+
+    protected void scheduleTimerJob(CommandContext commandContext, TimerJobEntityManager timerJobEntityManager) {
+        JobServiceConfiguration jobServiceConfiguration = CommandContextUtil.getJobServiceConfiguration(commandContext);
+
+        TimerJobEntity timerJob = timerJobEntityManager.create();
+        timerJob.setJobType(JobEntity.JOB_TYPE_TIMER);
+        timerJob.setRevision(1);
+        timerJob.setJobHandlerType(HistoryCleanupJobHandler.TYPE);
+        timerJob.setScopeType(scopeType);
+        timerJob.setExclusive(false);
+        timerJob.setRetries(jobServiceConfiguration.getAsyncExecutorNumberOfRetries());
+        timerJob.setRepeat(timeCycleConfig);
+
+        BusinessCalendar businessCalendar = jobServiceConfiguration.getBusinessCalendarManager().getBusinessCalendar(CycleBusinessCalendar.NAME);
+        timerJob.setDuedate(businessCalendar.resolveDuedate(timeCycleConfig));
+
+        jobServiceConfiguration.getJobManager().scheduleTimerJob(timerJob);
+    }
+
+    protected List<Job> filterByScopeType(List<Job> jobs) {
+        List<Job> filteredJobs = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            if (Objects.equals(scopeType, job.getScopeType())) {
+                filteredJobs.add(job);
+            }
+        }
+        return filteredJobs;
+    }
+
+}
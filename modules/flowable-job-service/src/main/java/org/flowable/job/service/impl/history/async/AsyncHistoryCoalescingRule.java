@@ -0,0 +1,109 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes how a historic event is merged into an earlier event for the same entity that was added in the same transaction
+ * (e.g. a variable update into the variable creation), so only one event needs to be transformed and only one row is written.
+ *
+ * The rule applies when an event of the source type is added while there is an event of the target type
+ * with the same values for all key fields. Both events are then replaced by one event of the result type,
+ * or are both dropped when there is no result type (e.g. a variable that is created and removed again).
+ */
+public class AsyncHistoryCoalescingRule {
+
+    protected final String targetType;
+    protected final String sourceType;
+    protected final String resultType;
+    protected final List<String> keyFields;
+    protected final Collection<String> replacedFields;
+
+    /**
+     * @param targetType
+     *            the type of the earlier event
+     * @param sourceType
+     *            the type of the later event, that is merged into the earlier event
+     * @param resultType
+     *            the type of the merged event, or null if both events cancel each other out
+     * @param keyFields
+     *            the fields that identify the entity of the events
+     */
+    public AsyncHistoryCoalescingRule(String targetType, String sourceType, String resultType, String... keyFields) {
+        this(targetType, sourceType, resultType, Arrays.asList(keyFields), Collections.emptyList());
+    }
+
+    protected AsyncHistoryCoalescingRule(String targetType, String sourceType, String resultType, List<String> keyFields, Collection<String> replacedFields) {
+        this.targetType = targetType;
+        this.sourceType = sourceType;
+        this.resultType = resultType;
+        this.keyFields = keyFields;
+        this.replacedFields = replacedFields;
+    }
+
+    /**
+     * Returns a copy of this rule for which the given fields of the earlier event are replaced by the fields of the later event,
+     * also when the later event doesn't have a value for them. This is needed when a missing field means the value was set to null
+     * (e.g. a variable value that changed type or a task property that was cleared).
+     */
+    public AsyncHistoryCoalescingRule replacing(String... fields) {
+        return new AsyncHistoryCoalescingRule(targetType, sourceType, resultType, keyFields, Arrays.asList(fields));
+    }
+
+    /**
+     * Merges the data of the later event into the data of the earlier event.
+     * Fields that are in both events get the value of the later event, including the timestamp of the event.
+     */
+    public Map<String, String> merge(Map<String, String> targetData, Map<String, String> sourceData) {
+        Map<String, String> mergedData = new HashMap<>(targetData);
+        mergeInto(mergedData, sourceData);
+        return mergedData;
+    }
+
+    /**
+     * Merges the data of the later event into the data of the earlier event itself, in the same way as {@link #merge(Map, Map)}.
+     */
+    public void mergeInto(Map<String, String> targetData, Map<String, String> sourceData) {
+        for (String replacedField : replacedFields) {
+            targetData.remove(replacedField);
+        }
+        targetData.putAll(sourceData);
+    }
+
+    public String getTargetType() {
+        return targetType;
+    }
+
+    public String getSourceType() {
+        return sourceType;
+    }
+
+    public String getResultType() {
+        return resultType;
+    }
+
+    public List<String> getKeyFields() {
+        return keyFields;
+    }
+
+    public Collection<String> getReplacedFields() {
+        return replacedFields;
+    }
+
+}
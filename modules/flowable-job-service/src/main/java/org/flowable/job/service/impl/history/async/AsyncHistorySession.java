@@ -13,10 +13,14 @@
 package org.flowable.job.service.impl.history.async;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.flowable.common.engine.impl.cfg.TransactionContext;
 import org.flowable.common.engine.impl.context.Context;
@@ -39,6 +43,10 @@ public class AsyncHistorySession implements Session {
     // Note that the ordering of the types is important, as it will define the order of job creation.
     protected List<String> jobDataTypes;
     
+    // The rules to merge events for the same entity, by the type of the later event
+    protected Map<String, List<AsyncHistoryCoalescingRule>> coalescingRules;
+    protected Map<String, List<AsyncHistoryCoalescingRule>> coalescingRulesByTargetType;
+    
     protected TransactionContext transactionContext;
     protected String tenantId;
     protected Map<JobServiceConfiguration, AsyncHistorySessionData> sessionData;
@@ -50,11 +58,9 @@ public class AsyncHistorySession implements Session {
         // A command context close listener is registered to avoid creating the async history data if it wouldn't be needed 
         initCommandContextCloseListener();
         
-        if (isAsyncHistoryExecutorEnabled()) {
-            // The transaction context is captured now, as it might be gone by the time 
-            // the history job entities are created in the command context close listener
-            this.transactionContext = Context.getTransactionContext();
-        }
+        // The transaction context is captured now, as it might be gone by the time 
+        // the history job entities are created (or the history data is shipped) in the command context close listener
+        this.transactionContext = Context.getTransactionContext();
     }
     
     public AsyncHistorySession(CommandContext commandContext, AsyncHistoryListener asyncHistoryJobListener, List<String> jobDataTypes) {
@@ -62,6 +68,12 @@ public class AsyncHistorySession implements Session {
         this.jobDataTypes = jobDataTypes;
     }
     
+    public AsyncHistorySession(CommandContext commandContext, AsyncHistoryListener asyncHistoryJobListener, List<String> jobDataTypes, 
+            Map<String, List<AsyncHistoryCoalescingRule>> coalescingRules) {
+        this(commandContext, asyncHistoryJobListener, jobDataTypes);
+        this.coalescingRules = coalescingRules;
+    }
+    
     protected boolean isAsyncHistoryExecutorEnabled() {
         AsyncExecutor asyncHistoryExecutor = CommandContextUtil.getJobServiceConfiguration(commandContext).getAsyncHistoryExecutor();
         return asyncHistoryExecutor != null && asyncHistoryExecutor.isActive();
@@ -108,7 +120,118 @@ public class AsyncHistorySession implements Session {
             this.tenantId = tenantId;
         }
         
+        if (!coalesce(asyncHistorySessionData, type, data)) {
+            addJobData(asyncHistorySessionData, type, data);
+        }
+    }
+    
+    /**
+     * Adds the data and, when it can be the earlier event of a coalescing rule, indexes it by the key fields of that rule.
+     */
+    protected void addJobData(AsyncHistorySessionData asyncHistorySessionData, String type, Map<String, String> data) {
         asyncHistorySessionData.addJobData(type, data);
+        
+        List<AsyncHistoryCoalescingRule> rules = getCoalescingRulesByTargetType().get(type);
+        if (rules != null) {
+            for (AsyncHistoryCoalescingRule rule : rules) {
+                List<String> key = getCoalescingKey(rule, data);
+                if (key != null) {
+                    asyncHistorySessionData.getCoalescingIndex().computeIfAbsent(key, k -> new ArrayList<>(1)).add(data);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Merges the data into an earlier event for the same entity in this transaction, if a coalescing rule applies.
+     * The earlier event is found through the index of the pending events, so this doesn't depend on the number of events in the transaction.
+     * 
+     * @return true if the data was merged (or cancelled out an earlier event) and doesn't need to be added anymore
+     */
+    protected boolean coalesce(AsyncHistorySessionData asyncHistorySessionData, String type, Map<String, String> data) {
+        if (coalescingRules == null) {
+            return false;
+        }
+        List<AsyncHistoryCoalescingRule> rules = coalescingRules.get(type);
+        if (rules == null) {
+            return false;
+        }
+        
+        Map<List<String>, List<Map<String, String>>> coalescingIndex = asyncHistorySessionData.getCoalescingIndex();
+        for (AsyncHistoryCoalescingRule rule : rules) {
+            List<String> key = getCoalescingKey(rule, data);
+            List<Map<String, String>> targetDataList = key != null ? coalescingIndex.get(key) : null;
+            if (targetDataList == null) {
+                continue;
+            }
+            
+            Map<String, String> targetData = targetDataList.get(0);
+            if (rule.getResultType() == null) {
+                removeJobData(asyncHistorySessionData, rule.getTargetType(), targetData);
+                
+            } else if (rule.getResultType().equals(rule.getTargetType())) {
+                // Merged into the earlier event itself, which keeps its position as that's where the entity was created
+                rule.mergeInto(targetData, data);
+                
+            } else {
+                removeJobData(asyncHistorySessionData, rule.getTargetType(), targetData);
+                addJobData(asyncHistorySessionData, rule.getResultType(), rule.merge(targetData, data));
+            }
+            return true;
+        }
+        return false;
+    }
+    
+    protected void removeJobData(AsyncHistorySessionData asyncHistorySessionData, String type, Map<String, String> data) {
+        asyncHistorySessionData.removeJobData(data);
+        
+        List<AsyncHistoryCoalescingRule> rules = getCoalescingRulesByTargetType().get(type);
+        if (rules != null) {
+            Map<List<String>, List<Map<String, String>>> coalescingIndex = asyncHistorySessionData.getCoalescingIndex();
+            for (AsyncHistoryCoalescingRule rule : rules) {
+                List<String> key = getCoalescingKey(rule, data);
+                List<Map<String, String>> indexedDataList = key != null ? coalescingIndex.get(key) : null;
+                if (indexedDataList != null) {
+                    indexedDataList.removeIf(indexedData -> indexedData == data);
+                    if (indexedDataList.isEmpty()) {
+                        coalescingIndex.remove(key);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns the key of the entity of the event for the given rule (the rule's target type and key fields with their values),
+     * or null if the event doesn't have a value for all key fields.
+     */
+    protected List<String> getCoalescingKey(AsyncHistoryCoalescingRule rule, Map<String, String> data) {
+        List<String> keyFields = rule.getKeyFields();
+        List<String> key = new ArrayList<>(1 + 2 * keyFields.size());
+        key.add(rule.getTargetType());
+        for (String keyField : keyFields) {
+            String value = data.get(keyField);
+            if (value == null) {
+                return null;
+            }
+            key.add(keyField);
+            key.add(value);
+        }
+        return key;
+    }
+    
+    protected Map<String, List<AsyncHistoryCoalescingRule>> getCoalescingRulesByTargetType() {
+        if (coalescingRulesByTargetType == null) {
+            coalescingRulesByTargetType = new HashMap<>();
+            if (coalescingRules != null) {
+                for (List<AsyncHistoryCoalescingRule> rules : coalescingRules.values()) {
+                    for (AsyncHistoryCoalescingRule rule : rules) {
+                        coalescingRulesByTargetType.computeIfAbsent(rule.getTargetType(), targetType -> new ArrayList<>()).add(rule);
+                    }
+                }
+            }
+        }
+        return coalescingRulesByTargetType;
     }
     
     @Override
@@ -145,6 +268,15 @@ public class AsyncHistorySession implements Session {
         this.jobDataTypes = jobDataTypes;
     }
 
+    public Map<String, List<AsyncHistoryCoalescingRule>> getCoalescingRules() {
+        return coalescingRules;
+    }
+
+    public void setCoalescingRules(Map<String, List<AsyncHistoryCoalescingRule>> coalescingRules) {
+        this.coalescingRules = coalescingRules;
+        this.coalescingRulesByTargetType = null;
+    }
+
     public TransactionContext getTransactionContext() {
         return transactionContext;
     }
@@ -160,7 +292,25 @@ public class AsyncHistorySession implements Session {
         
         protected Map<String, List<Map<String, String>>> jobData = new LinkedHashMap<>(); // A map of {type, list of map-data (the historical event)}. Linked because insertion order is important
         
+        // The pending events that coalescing rules can merge into, by the key of their entity (see AsyncHistorySession#getCoalescingKey)
+        protected Map<List<String>, List<Map<String, String>>> coalescingIndex = new HashMap<>();
+        
+        // Events that were merged away, they are only removed from the job data lists when the job data is read
+        protected Set<Map<String, String>> removedJobData;
+        
         public Map<String, List<Map<String, String>>> getJobData() {
+            if (removedJobData != null) {
+                Iterator<List<Map<String, String>>> dataListIterator = jobData.values().iterator();
+                while (dataListIterator.hasNext()) {
+                    List<Map<String, String>> dataList = dataListIterator.next();
+                    dataList.removeIf(removedJobData::contains);
+                    if (dataList.isEmpty()) {
+                        // No empty types, so no job is created when all data is cancelled out
+                        dataListIterator.remove();
+                    }
+                }
+                removedJobData = null;
+            }
             return jobData;
         }
         public void setJobData(Map<String, List<Map<String, String>>> jobData) {
@@ -172,6 +322,15 @@ public class AsyncHistorySession implements Session {
             }
             jobData.get(type).add(data);
         }
+        public void removeJobData(Map<String, String> data) {
+            if (removedJobData == null) {
+                removedJobData = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
+            removedJobData.add(data);
+        }
+        public Map<List<String>, List<Map<String, String>>> getCoalescingIndex() {
+            return coalescingIndex;
+        }
         
     }
 }
@@ -13,7 +13,9 @@
 package org.flowable.job.service.impl.history.async;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.interceptor.Session;
@@ -23,6 +25,7 @@ public class AsyncHistorySessionFactory implements SessionFactory {
 
     protected AsyncHistoryListener asyncHistoryListener;
     protected List<String> registeredJobDataTypes = new ArrayList<>();
+    protected Map<String, List<AsyncHistoryCoalescingRule>> registeredCoalescingRules = new HashMap<>();
 
     @Override
     public Class<?> getSessionType() {
@@ -31,13 +34,19 @@ public class AsyncHistorySessionFactory implements SessionFactory {
 
     @Override
     public Session openSession(CommandContext commandContext) {
-        return new AsyncHistorySession(commandContext, asyncHistoryListener, registeredJobDataTypes);
+        return new AsyncHistorySession(commandContext, asyncHistoryListener, registeredJobDataTypes, registeredCoalescingRules);
     }
     
     public void registerJobDataTypes(List<String> registeredJobDataTypes) {
         this.registeredJobDataTypes.addAll(registeredJobDataTypes);
     }
     
+    public void registerCoalescingRules(List<AsyncHistoryCoalescingRule> coalescingRules) {
+        for (AsyncHistoryCoalescingRule coalescingRule : coalescingRules) {
+            registeredCoalescingRules.computeIfAbsent(coalescingRule.getSourceType(), sourceType -> new ArrayList<>()).add(coalescingRule);
+        }
+    }
+    
     public AsyncHistoryListener getAsyncHistoryListener() {
         return asyncHistoryListener;
     }
@@ -53,5 +62,13 @@ public class AsyncHistorySessionFactory implements SessionFactory {
     public void setRegisteredJobDataTypes(List<String> registeredJobDataTypes) {
         this.registeredJobDataTypes = registeredJobDataTypes;
     }
+
+    public Map<String, List<AsyncHistoryCoalescingRule>> getRegisteredCoalescingRules() {
+        return registeredCoalescingRules;
+    }
+
+    public void setRegisteredCoalescingRules(Map<String, List<AsyncHistoryCoalescingRule>> registeredCoalescingRules) {
+        this.registeredCoalescingRules = registeredCoalescingRules;
+    }
     
 }
@@ -25,7 +25,6 @@ import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -79,15 +78,11 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
     }
 
     protected void addJsonToJob(CommandContext commandContext, JobServiceConfiguration jobServiceConfiguration, HistoryJobEntity jobEntity, JsonNode rootObjectNode, boolean applyCompression) {
-        try {
-            byte[] bytes = jobServiceConfiguration.getObjectMapper().writeValueAsBytes(rootObjectNode);
-            if (applyCompression) {
-                bytes = compress(bytes);
-            }
-            jobEntity.setAdvancedJobHandlerConfigurationBytes(bytes);
-        } catch (JsonProcessingException e) {
-            throw new FlowableException("Could not serialize historic data for async history", e);
+        byte[] bytes = jobServiceConfiguration.getAsyncHistoryPayloadCodec().encode(rootObjectNode, jobServiceConfiguration.getObjectMapper());
+        if (applyCompression) {
+            bytes = compress(bytes);
         }
+        jobEntity.setAdvancedJobHandlerConfigurationBytes(bytes);
     }
 
     protected byte[] compress(final byte[] bytes) {
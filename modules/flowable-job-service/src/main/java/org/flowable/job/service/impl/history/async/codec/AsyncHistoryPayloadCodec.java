@@ -0,0 +1,30 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.codec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Encodes the historical data of an async history job to the bytes that are stored with the job, and decodes them again
+ * into the tree that is passed to the {@link org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer}s.
+ *
+ * The compression of the job types for zipped async history is applied on top of the encoded bytes.
+ */
+public interface AsyncHistoryPayloadCodec {
+
+    byte[] encode(JsonNode historyNode, ObjectMapper objectMapper);
+
+    JsonNode decode(byte[] bytes, ObjectMapper objectMapper);
+
+}
@@ -0,0 +1,376 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.codec;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.api.FlowableException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+
+/**
+ * An {@link AsyncHistoryPayloadCodec} that writes the historical data tree directly to a compact binary form and reads it back into a tree,
+ * without going through json text.
+ *
+ * The header is followed by the maximum length of the shared strings the payload was written with, so a payload can still be decoded
+ * after that setting was changed. Every node is written as a one byte tag followed by its value. Numbers and lengths are variable length encoded.
+ * Field names and short string values are only written the first time they occur in a payload, later occurrences refer back to them.
+ * This pays off for async history, where the same field names, ids and types are repeated for every event of a job.
+ *
+ * Payloads that don't start with the header of this format are decoded as json,
+ * so jobs that were created before switching to this codec can still be executed.
+ */
+public class BinaryAsyncHistoryPayloadCodec implements AsyncHistoryPayloadCodec {
+
+    protected static final byte[] HEADER = new byte[] { (byte) 0xFB, 'F', 'H', 2 };
+
+    protected static final byte TYPE_NULL = 0;
+    protected static final byte TYPE_TRUE = 1;
+    protected static final byte TYPE_FALSE = 2;
+    protected static final byte TYPE_INT = 3;
+    protected static final byte TYPE_LONG = 4;
+    protected static final byte TYPE_DOUBLE = 5;
+    protected static final byte TYPE_FLOAT = 6;
+    protected static final byte TYPE_BIG_INTEGER = 7;
+    protected static final byte TYPE_BIG_DECIMAL = 8;
+    protected static final byte TYPE_STRING = 9;
+    protected static final byte TYPE_STRING_REFERENCE = 10;
+    protected static final byte TYPE_BINARY = 11;
+    protected static final byte TYPE_OBJECT = 12;
+    protected static final byte TYPE_ARRAY = 13;
+
+    /**
+     * Longer strings (e.g. serialized variable values) are rarely repeated and are not kept for back references.
+     */
+    protected int maxSharedStringLength = 64;
+
+    protected JsonAsyncHistoryPayloadCodec jsonCodec = new JsonAsyncHistoryPayloadCodec();
+
+    @Override
+    public byte[] encode(JsonNode historyNode, ObjectMapper objectMapper) {
+        Writer writer = new Writer(objectMapper);
+        writer.writeBytes(HEADER, 0, HEADER.length);
+        writer.writeVarLong(maxSharedStringLength);
+        writer.writeNode(historyNode);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public JsonNode decode(byte[] bytes, ObjectMapper objectMapper) {
+        if (!isBinaryPayload(bytes)) {
+            return jsonCodec.decode(bytes, objectMapper);
+        }
+
+        try {
+            Reader reader = new Reader(bytes, HEADER.length, objectMapper.getNodeFactory());
+            return reader.readNode();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new FlowableException("Could not decode history job data: unexpected end of data", e);
+        }
+    }
+
+    public boolean isBinaryPayload(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER.length; i++) {
+            if (bytes[i] != HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getMaxSharedStringLength() {
+        return maxSharedStringLength;
+    }
+
+    public void setMaxSharedStringLength(int maxSharedStringLength) {
+        this.maxSharedStringLength = maxSharedStringLength;
+    }
+
+    protected class Writer {
+
+        protected ObjectMapper objectMapper;
+        protected Map<String, Integer> sharedStrings = new HashMap<>();
+        protected byte[] buffer = new byte[256];
+        protected int position;
+
+        protected Writer(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        protected void writeNode(JsonNode node) {
+            if (node == null || node.isNull() || node.isMissingNode()) {
+                writeByte(TYPE_NULL);
+
+            } else if (node.isObject()) {
+                writeByte(TYPE_OBJECT);
+                writeVarLong(node.size());
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    writeString(field.getKey());
+                    writeNode(field.getValue());
+                }
+
+            } else if (node.isArray()) {
+                writeByte(TYPE_ARRAY);
+                writeVarLong(node.size());
+                for (JsonNode element : node) {
+                    writeNode(element);
+                }
+
+            } else if (node.isTextual()) {
+                writeString(node.textValue());
+
+            } else if (node.isBoolean()) {
+                writeByte(node.booleanValue() ? TYPE_TRUE : TYPE_FALSE);
+
+            } else if (node.isInt() || node.isShort()) {
+                writeByte(TYPE_INT);
+                writeVarLong(zigZag(node.intValue()));
+
+            } else if (node.isLong()) {
+                writeByte(TYPE_LONG);
+                writeVarLong(zigZag(node.longValue()));
+
+            } else if (node.isDouble()) {
+                writeByte(TYPE_DOUBLE);
+                writeFixedLong(Double.doubleToLongBits(node.doubleValue()));
+
+            } else if (node.isFloat()) {
+                writeByte(TYPE_FLOAT);
+                writeFixedLong(Float.floatToIntBits(node.floatValue()));
+
+            } else if (node.isBigInteger()) {
+                writeByte(TYPE_BIG_INTEGER);
+                writeLiteral(node.bigIntegerValue().toString());
+
+            } else if (node.isBigDecimal()) {
+                writeByte(TYPE_BIG_DECIMAL);
+                writeLiteral(node.decimalValue().toString());
+
+            } else if (node.isBinary()) {
+                byte[] bytes = binaryValue(node);
+                writeByte(TYPE_BINARY);
+                writeVarLong(bytes.length);
+                writeBytes(bytes, 0, bytes.length);
+
+            } else if (node.isPojo()) {
+                writeNode(objectMapper.valueToTree(((POJONode) node).getPojo()));
+
+            } else {
+                throw new FlowableException("Could not encode history job data: unsupported node type " + node.getNodeType());
+            }
+        }
+
+        protected void writeString(String value) {
+            Integer reference = sharedStrings.get(value);
+            if (reference != null) {
+                writeByte(TYPE_STRING_REFERENCE);
+                writeVarLong(reference);
+                return;
+            }
+
+            writeByte(TYPE_STRING);
+            writeLiteral(value);
+            if (value.length() <= maxSharedStringLength) {
+                sharedStrings.put(value, sharedStrings.size());
+            }
+        }
+
+        protected void writeLiteral(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        protected byte[] binaryValue(JsonNode node) {
+            try {
+                return node.binaryValue();
+            } catch (IOException e) {
+                throw new FlowableException("Could not encode binary history job data", e);
+            }
+        }
+
+        protected void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((byte) value);
+        }
+
+        protected void writeFixedLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((byte) (value >>> shift));
+            }
+        }
+
+        protected void writeByte(byte value) {
+            ensureCapacity(1);
+            buffer[position++] = value;
+        }
+
+        protected void writeBytes(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+        }
+
+        protected void ensureCapacity(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+
+        protected byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+    }
+
+    protected class Reader {
+
+        protected byte[] bytes;
+        protected int position;
+        protected JsonNodeFactory nodeFactory;
+        protected List<String> sharedStrings = new ArrayList<>();
+        // the value the payload was written with, not the current setting of the codec
+        protected int maxSharedStringLength;
+
+        protected Reader(byte[] bytes, int position, JsonNodeFactory nodeFactory) {
+            this.bytes = bytes;
+            this.position = position;
+            this.nodeFactory = nodeFactory;
+            this.maxSharedStringLength = (int) readVarLong();
+        }
+
+        protected JsonNode readNode() {
+            byte type = bytes[position++];
+            switch (type) {
+                case TYPE_NULL:
+                    return nodeFactory.nullNode();
+                case TYPE_TRUE:
+                    return nodeFactory.booleanNode(true);
+                case TYPE_FALSE:
+                    return nodeFactory.booleanNode(false);
+                case TYPE_INT:
+                    return nodeFactory.numberNode((int) unZigZag(readVarLong()));
+                case TYPE_LONG:
+                    return nodeFactory.numberNode(unZigZag(readVarLong()));
+                case TYPE_DOUBLE:
+                    return nodeFactory.numberNode(Double.longBitsToDouble(readFixedLong()));
+                case TYPE_FLOAT:
+                    return nodeFactory.numberNode(Float.intBitsToFloat((int) readFixedLong()));
+                case TYPE_BIG_INTEGER:
+                    return nodeFactory.numberNode(new BigInteger(readLiteral()));
+                case TYPE_BIG_DECIMAL:
+                    return nodeFactory.numberNode(new BigDecimal(readLiteral()));
+                case TYPE_STRING:
+                case TYPE_STRING_REFERENCE:
+                    return nodeFactory.textNode(readString(type));
+                case TYPE_BINARY:
+                    int length = (int) readVarLong();
+                    byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+                    position += length;
+                    return nodeFactory.binaryNode(value);
+                case TYPE_OBJECT:
+                    ObjectNode objectNode = nodeFactory.objectNode();
+                    long nrOfFields = readVarLong();
+                    for (long i = 0; i < nrOfFields; i++) {
+                        String fieldName = readString(bytes[position++]);
+                        objectNode.set(fieldName, readNode());
+                    }
+                    return objectNode;
+                case TYPE_ARRAY:
+                    ArrayNode arrayNode = nodeFactory.arrayNode();
+                    long nrOfElements = readVarLong();
+                    for (long i = 0; i < nrOfElements; i++) {
+                        arrayNode.add(readNode());
+                    }
+                    return arrayNode;
+                default:
+                    throw new FlowableException("Could not decode history job data: unknown type " + type + " at position " + (position - 1));
+            }
+        }
+
+        protected String readString(byte type) {
+            if (type == TYPE_STRING_REFERENCE) {
+                return sharedStrings.get((int) readVarLong());
+
+            } else if (type == TYPE_STRING) {
+                String value = readLiteral();
+                if (value.length() <= maxSharedStringLength) {
+                    sharedStrings.add(value);
+                }
+                return value;
+
+            } else {
+                throw new FlowableException("Could not decode history job data: expected a string at position " + (position - 1));
+            }
+        }
+
+        protected String readLiteral() {
+            int length = (int) readVarLong();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        protected long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        protected long readFixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+    }
+
+    protected static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    protected static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
@@ -12,7 +12,6 @@
  */
 package org.flowable.job.service.impl.history.async.message;
 
-import java.io.IOException;
 import java.util.List;
 
 import org.flowable.common.engine.api.FlowableException;
@@ -20,13 +19,13 @@ import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.job.api.HistoryJob;
+import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.HistoryJobQueryImpl;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntityManager;
 import org.flowable.job.service.impl.util.CommandContextUtil;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Experimental.
@@ -92,13 +91,10 @@ public class AsyncHistoryJobMessageReceiver {
     }
     
     protected JsonNode getHistoryJobData(CommandContext commandContext, HistoryJobEntity job) {
-        ObjectMapper objectMapper = CommandContextUtil.getJobServiceConfiguration(commandContext).getObjectMapper();
+        JobServiceConfiguration jobServiceConfiguration = CommandContextUtil.getJobServiceConfiguration(commandContext);
         if (job.getAdvancedJobHandlerConfigurationByteArrayRef() != null) {
-            try {
-                return objectMapper.readTree(job.getAdvancedJobHandlerConfigurationByteArrayRef().getBytes());
-            } catch (IOException e) {
-                throw new FlowableException("Could not deserialize json for history job data", e);
-            }
+            return jobServiceConfiguration.getAsyncHistoryPayloadCodec().decode(job.getAdvancedJobHandlerConfigurationByteArrayRef().getBytes(),
+                    jobServiceConfiguration.getObjectMapper());
         }
         return null;
     }
@@ -0,0 +1,31 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.sink;
+
+import java.util.List;
+
+/**
+ * Destination of the historical data that is shipped by the {@link StreamingAsyncHistoryListener}, instead of storing it as history jobs in the database
+ * (e.g. a message broker, a log shipping agent or the {@link MappedFileAsyncHistorySink}).
+ *
+ * Every record is the encoded historical data of one transaction, in the same form as the data of a grouped async history job.
+ */
+public interface AsyncHistorySink {
+
+    /**
+     * Appends the records of a batch. When this method returns, the records must be delivered or durably stored by the sink.
+     * Throwing an exception signals that (some of) the records were not accepted.
+     */
+    void append(List<byte[]> records);
+
+}
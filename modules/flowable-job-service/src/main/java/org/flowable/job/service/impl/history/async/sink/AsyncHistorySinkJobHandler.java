@@ -0,0 +1,47 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.sink;
+
+import java.util.Collections;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.HistoryJobHandler;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+
+/**
+ * A {@link HistoryJobHandler} that appends the record of a history job created by the {@link StreamingAsyncHistoryListener} to the sink.
+ * 
+ * Such a job is only executed when the record could not be appended right after the transaction was committed
+ * (e.g. the sink was not available or the node stopped in between). Failing to append fails the job, so it's retried like any other history job.
+ */
+public class AsyncHistorySinkJobHandler implements HistoryJobHandler {
+
+    public static final String TYPE = "async-history-sink";
+
+    protected AsyncHistorySink sink;
+
+    public AsyncHistorySinkJobHandler(AsyncHistorySink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(HistoryJobEntity job, String configuration, CommandContext commandContext) {
+        sink.append(Collections.singletonList(job.getAdvancedJobHandlerConfigurationByteArrayRef().getBytes()));
+    }
+
+}
@@ -0,0 +1,36 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.sink;
+
+/**
+ * A record read back from a {@link MappedFileAsyncHistorySink}, with its offset in the log.
+ */
+public class AsyncHistorySinkRecord {
+
+    protected long offset;
+    protected byte[] bytes;
+
+    public AsyncHistorySinkRecord(long offset, byte[] bytes) {
+        this.offset = offset;
+        this.bytes = bytes;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+}
@@ -0,0 +1,429 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.sink;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link AsyncHistorySink} that appends the records to a local log of memory mapped segment files.
+ * It can be used as a stand-in for an external sink (e.g. in tests or on a single node), or as a local buffer that is shipped by a separate process.
+ *
+ * Every record gets a sequential offset. A segment file is named after the offset of its first record and a new segment is started
+ * when a record doesn't fit in the current one. Each record is stored as its length, a crc32 checksum and the record bytes,
+ * so a partially written record at the end of the log (e.g. after a crash) is detected and overwritten when the log is opened again.
+ *
+ * Delivery is at-least-once: a consumer reads the records with {@link #read(long, int)} or {@link #readUnacknowledged(int)}
+ * and calls {@link #acknowledge(long)} after processing them. The acknowledged offset is stored next to the segments,
+ * so after a restart the records that were not acknowledged are replayed. Segments of which all records are acknowledged are deleted,
+ * and their memory mapping is released right away.
+ */
+public class MappedFileAsyncHistorySink implements AsyncHistorySink {
+
+    protected static final String SEGMENT_FILE_SUFFIX = ".log";
+    protected static final String ACKNOWLEDGED_OFFSET_FILE_NAME = "acknowledged.offset";
+
+    /**
+     * Length and checksum of a record.
+     */
+    protected static final int RECORD_HEADER_SIZE = 8;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedFileAsyncHistorySink.class);
+
+    /**
+     * sun.misc.Unsafe#invokeCleaner(ByteBuffer), which unmaps a buffer on Java 9 and later.
+     * On Java 8, the cleaner of the buffer is used instead.
+     */
+    protected static final Object UNSAFE;
+    protected static final Method UNSAFE_INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafeField.setAccessible(true);
+            unsafe = theUnsafeField.get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        UNSAFE_INVOKE_CLEANER = invokeCleaner;
+    }
+
+    protected File directory;
+    protected int segmentSize;
+    protected boolean forceOnAppend;
+
+    protected TreeMap<Long, Segment> segments = new TreeMap<>();
+    protected Segment activeSegment;
+    protected long nextOffset;
+    protected long acknowledgedOffset = -1L;
+
+    public MappedFileAsyncHistorySink(File directory) {
+        this(directory, 64 * 1024 * 1024, false);
+    }
+
+    /**
+     * @param directory
+     *            the directory of the segment files, created if needed
+     * @param segmentSize
+     *            the size of a segment file in bytes, a record can't be bigger than this (minus 8 bytes)
+     * @param forceOnAppend
+     *            whether the appended records are forced to the storage device before returning. Otherwise they are only in the page cache,
+     *            which survives a crash of the process but not of the operating system.
+     */
+    public MappedFileAsyncHistorySink(File directory, int segmentSize, boolean forceOnAppend) {
+        if (segmentSize <= RECORD_HEADER_SIZE) {
+            throw new FlowableIllegalArgumentException("segmentSize must be bigger than " + RECORD_HEADER_SIZE);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnAppend = forceOnAppend;
+        open();
+    }
+
+    protected void open() {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new FlowableException("Could not create async history sink directory " + directory);
+        }
+
+        File[] segmentFiles = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_SUFFIX));
+        if (segmentFiles != null) {
+            for (File segmentFile : segmentFiles) {
+                String name = segmentFile.getName();
+                long baseOffset = Long.parseLong(name.substring(0, name.length() - SEGMENT_FILE_SUFFIX.length()));
+                segments.put(baseOffset, new Segment(segmentFile, baseOffset));
+            }
+        }
+        acknowledgedOffset = readAcknowledgedOffset();
+
+        if (segments.isEmpty()) {
+            nextOffset = acknowledgedOffset + 1;
+            activeSegment = createSegment(nextOffset);
+        } else {
+            activeSegment = segments.lastEntry().getValue();
+            nextOffset = activeSegment.baseOffset + activeSegment.recordCount;
+        }
+    }
+
+    @Override
+    public synchronized void append(List<byte[]> records) {
+        ensureOpen();
+        for (byte[] record : records) {
+            if (record.length + RECORD_HEADER_SIZE > segmentSize) {
+                throw new FlowableIllegalArgumentException("Record of " + record.length + " bytes is too big for segments of " + segmentSize + " bytes");
+            }
+        }
+
+        for (byte[] record : records) {
+            if (!activeSegment.hasRoomFor(record.length)) {
+                activeSegment.force();
+                activeSegment = createSegment(nextOffset);
+            }
+            activeSegment.append(record);
+            nextOffset++;
+        }
+
+        if (forceOnAppend) {
+            activeSegment.force();
+        }
+    }
+
+    /**
+     * Reads at most maxRecords records, starting with the record at the given offset.
+     */
+    public synchronized List<AsyncHistorySinkRecord> read(long fromOffset, int maxRecords) {
+        ensureOpen();
+        List<AsyncHistorySinkRecord> records = new ArrayList<>();
+        Map.Entry<Long, Segment> segmentEntry = segments.floorEntry(fromOffset);
+        if (segmentEntry == null) {
+            // The records before the first segment are acknowledged and deleted already
+            segmentEntry = segments.firstEntry();
+        }
+
+        long offset = Math.max(fromOffset, segmentEntry.getKey());
+        while (segmentEntry != null && records.size() < maxRecords) {
+            segmentEntry.getValue().read(offset, maxRecords - records.size(), records);
+            segmentEntry = segments.higherEntry(segmentEntry.getKey());
+            if (segmentEntry != null) {
+                offset = segmentEntry.getKey();
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Reads at most maxRecords of the records that were not acknowledged yet.
+     */
+    public synchronized List<AsyncHistorySinkRecord> readUnacknowledged(int maxRecords) {
+        return read(acknowledgedOffset + 1, maxRecords);
+    }
+
+    /**
+     * Marks all records up to and including the given offset as processed.
+     */
+    public synchronized void acknowledge(long offset) {
+        ensureOpen();
+        if (offset <= acknowledgedOffset) {
+            return;
+        }
+        if (offset >= nextOffset) {
+            throw new FlowableIllegalArgumentException("Offset " + offset + " is not appended yet, the next offset is " + nextOffset);
+        }
+
+        writeAcknowledgedOffset(offset);
+        acknowledgedOffset = offset;
+        deleteAcknowledgedSegments();
+    }
+
+    protected void deleteAcknowledgedSegments() {
+        Map.Entry<Long, Segment> segmentEntry = segments.firstEntry();
+        while (segmentEntry.getValue() != activeSegment) {
+            Map.Entry<Long, Segment> nextSegmentEntry = segments.higherEntry(segmentEntry.getKey());
+            if (nextSegmentEntry.getKey() - 1 > acknowledgedOffset) {
+                return;
+            }
+            segmentEntry.getValue().delete();
+            segments.remove(segmentEntry.getKey());
+            segmentEntry = nextSegmentEntry;
+        }
+    }
+
+    public synchronized long getAcknowledgedOffset() {
+        return acknowledgedOffset;
+    }
+
+    /**
+     * @return the offset the next appended record will get
+     */
+    public synchronized long getNextOffset() {
+        return nextOffset;
+    }
+
+    public synchronized int getNumberOfSegments() {
+        return segments.size();
+    }
+
+    public synchronized void close() {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+        activeSegment = null;
+    }
+
+    protected void ensureOpen() {
+        if (activeSegment == null) {
+            throw new FlowableException("Async history sink " + directory + " is closed");
+        }
+    }
+
+    protected Segment createSegment(long baseOffset) {
+        Segment segment = new Segment(new File(directory, String.format("%020d", baseOffset) + SEGMENT_FILE_SUFFIX), baseOffset);
+        segments.put(baseOffset, segment);
+        return segment;
+    }
+
+    protected long readAcknowledgedOffset() {
+        File file = new File(directory, ACKNOWLEDGED_OFFSET_FILE_NAME);
+        if (!file.exists()) {
+            return segments.isEmpty() ? -1L : segments.firstKey() - 1;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            throw new FlowableException("Could not read the acknowledged offset of async history sink " + directory, e);
+        }
+    }
+
+    protected void writeAcknowledgedOffset(long offset) {
+        // Written to a temporary file first, so the acknowledged offset is never lost by a partial write
+        File file = new File(directory, ACKNOWLEDGED_OFFSET_FILE_NAME);
+        File temporaryFile = new File(directory, ACKNOWLEDGED_OFFSET_FILE_NAME + ".tmp");
+        try {
+            Files.write(temporaryFile.toPath(), Long.toString(offset).getBytes(StandardCharsets.UTF_8));
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new FlowableException("Could not write the acknowledged offset of async history sink " + directory, e);
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public boolean isForceOnAppend() {
+        return forceOnAppend;
+    }
+
+    /**
+     * Releases the mapping of a buffer of a closed segment. A mapped buffer is otherwise only released when it's garbage collected,
+     * which keeps the address space and the file in use until then. The buffer must not be accessed anymore afterwards.
+     */
+    protected void unmap(MappedByteBuffer buffer) {
+        try {
+            if (UNSAFE_INVOKE_CLEANER != null) {
+                UNSAFE_INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } else {
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Could not unmap async history sink segment buffer, it is released when it's garbage collected", e);
+        }
+    }
+
+    protected class Segment {
+
+        protected File file;
+        protected long baseOffset;
+        protected FileChannel channel;
+        protected MappedByteBuffer buffer;
+        protected int recordCount;
+
+        /**
+         * Positions of the records in the segment, so reading from an offset doesn't need to scan the segment.
+         */
+        protected List<Integer> recordPositions = new ArrayList<>();
+
+        protected Segment(File file, long baseOffset) {
+            this.file = file;
+            this.baseOffset = baseOffset;
+            try {
+                this.channel = new RandomAccessFile(file, "rw").getChannel();
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            } catch (IOException e) {
+                throw new FlowableException("Could not open async history sink segment " + file, e);
+            }
+            recover();
+        }
+
+        /**
+         * Scans the segment for the valid records and positions the buffer after the last one.
+         */
+        protected void recover() {
+            recordPositions.clear();
+            int position = 0;
+            while (position + RECORD_HEADER_SIZE <= segmentSize) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + RECORD_HEADER_SIZE + length > segmentSize) {
+                    break;
+                }
+                int checksum = buffer.getInt(position + 4);
+                if (checksum != checksum(readBytes(position + RECORD_HEADER_SIZE, length))) {
+                    break;
+                }
+                recordPositions.add(position);
+                position += RECORD_HEADER_SIZE + length;
+            }
+            recordCount = recordPositions.size();
+            buffer.position(position);
+        }
+
+        protected boolean hasRoomFor(int length) {
+            return buffer.remaining() >= RECORD_HEADER_SIZE + length;
+        }
+
+        protected void append(byte[] record) {
+            int position = buffer.position();
+            buffer.putInt(record.length);
+            buffer.putInt(checksum(record));
+            buffer.put(record);
+
+            // Marks the end of the log, so the remains of a partially written record (e.g. before a crash) are not read as a record
+            if (buffer.remaining() >= 4) {
+                buffer.putInt(buffer.position(), 0);
+            }
+
+            recordPositions.add(position);
+            recordCount++;
+        }
+
+        protected void read(long fromOffset, int maxRecords, List<AsyncHistorySinkRecord> records) {
+            int index = (int) Math.max(0, fromOffset - baseOffset);
+            for (int i = index; i < recordCount && maxRecords > 0; i++, maxRecords--) {
+                int position = recordPositions.get(i);
+                int length = buffer.getInt(position);
+                records.add(new AsyncHistorySinkRecord(baseOffset + i, readBytes(position + RECORD_HEADER_SIZE, length)));
+            }
+        }
+
+        protected byte[] readBytes(int position, int length) {
+            byte[] bytes = new byte[length];
+            ByteBuffer readBuffer = buffer.duplicate();
+            readBuffer.position(position);
+            readBuffer.get(bytes);
+            return bytes;
+        }
+
+        protected int checksum(byte[] bytes) {
+            CRC32 crc32 = new CRC32();
+            crc32.update(bytes, 0, bytes.length);
+            return (int) crc32.getValue();
+        }
+
+        protected void force() {
+            buffer.force();
+        }
+
+        protected void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                throw new FlowableException("Could not close async history sink segment " + file, e);
+            }
+            unmap(buffer);
+            buffer = null;
+        }
+
+        protected void delete() {
+            close();
+            if (!file.delete()) {
+                throw new FlowableException("Could not delete async history sink segment " + file);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,344 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.sink;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.cfg.TransactionContext;
+import org.flowable.common.engine.impl.cfg.TransactionListener;
+import org.flowable.common.engine.impl.cfg.TransactionPropagation;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.HistoryJobHandler;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.AsyncHistoryListener;
+import org.flowable.job.service.impl.history.async.AsyncHistorySession;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * An {@link AsyncHistoryListener} that ships the historical data to an {@link AsyncHistorySink} instead of storing it as history jobs
+ * that are transformed into the history tables, so the history traffic doesn't go through the history tables of the database.
+ *
+ * The historical data of a transaction is encoded with the async history payload codec as one record
+ * (an array of the history events, like the data of a grouped history job).
+ * 
+ * Delivery is at-least-once: every record is stored as a history job of the {@link AsyncHistorySinkJobHandler} in the transaction itself (an outbox),
+ * locked so the async history executor doesn't pick it up. Once the transaction is committed, its records are handed to a delivery thread,
+ * so the committing thread doesn't wait for the sink. The delivery thread appends the records of all transactions committed in the meantime
+ * as one batch, and deletes their jobs in one new transaction (the jobs are still known, so no query is needed and the deletes are bulk deleted).
+ * When appending fails (after retrying) the jobs are unlocked, and when the node stops in between their lock expires,
+ * after which the async history executor appends the record of the job instead.
+ * The {@link AsyncHistorySinkJobHandler} of {@link #createJobHandler()} must be registered for this (which the process engine does for this listener).
+ */
+public class StreamingAsyncHistoryListener implements AsyncHistoryListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingAsyncHistoryListener.class);
+
+    protected static final String ATTRIBUTE_PENDING_RECORDS = "streamingAsyncHistoryPendingRecords";
+    protected static final String LOCK_OWNER = "streaming-async-history";
+
+    protected AsyncHistorySink sink;
+    protected int numberOfAppendRetries = 3;
+
+    /**
+     * How long the job of a record is locked for the direct append after the transaction, before the async history executor can pick it up.
+     */
+    protected int recordJobLockTimeInMillis = 5 * 60 * 1000;
+
+    protected ExecutorService deliveryExecutorService;
+
+    /**
+     * Whether the delivery executor service was created by this listener, and thus needs to be shut down when the engine is closed.
+     */
+    protected boolean shutdownDeliveryExecutorService;
+
+    protected ConcurrentLinkedQueue<PendingRecords> committedRecords = new ConcurrentLinkedQueue<>();
+
+    public StreamingAsyncHistoryListener(AsyncHistorySink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public List<HistoryJobEntity> historyDataGenerated(JobServiceConfiguration jobServiceConfiguration, List<ObjectNode> historyObjectNodes) {
+        ArrayNode arrayNode = jobServiceConfiguration.getObjectMapper().createArrayNode();
+        arrayNode.addAll(historyObjectNodes);
+        byte[] record = jobServiceConfiguration.getAsyncHistoryPayloadCodec().encode(arrayNode, jobServiceConfiguration.getObjectMapper());
+
+        // The transaction context is already removed when the history data is generated (the command context is closing),
+        // but the async history session has captured it
+        CommandContext commandContext = Context.getCommandContext();
+        AsyncHistorySession asyncHistorySession = null;
+        TransactionContext transactionContext = null;
+        if (commandContext != null) {
+            asyncHistorySession = commandContext.getSession(AsyncHistorySession.class);
+            transactionContext = asyncHistorySession != null ? asyncHistorySession.getTransactionContext() : Context.getTransactionContext();
+        }
+        if (transactionContext == null) {
+            if (!appendRecords(Collections.singletonList(record))) {
+                LOGGER.error("Could not append an async history record to the sink outside of a transaction, the historical data is lost");
+            }
+            return Collections.emptyList();
+        }
+
+        HistoryJobEntity recordJob = createRecordJob(jobServiceConfiguration, asyncHistorySession, record);
+
+        // All records of the transaction (e.g. of the process and the cmmn engine) are appended together
+        PendingRecords pendingRecords = (PendingRecords) commandContext.getAttribute(ATTRIBUTE_PENDING_RECORDS);
+        if (pendingRecords == null) {
+            pendingRecords = new PendingRecords(jobServiceConfiguration);
+            commandContext.addAttribute(ATTRIBUTE_PENDING_RECORDS, pendingRecords);
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, new AppendRecordsTransactionListener(pendingRecords));
+        }
+        pendingRecords.add(record, recordJob);
+
+        return Collections.singletonList(recordJob);
+    }
+
+    /**
+     * Stores the record as a locked history job in the current transaction, so it's never lost once the transaction is committed.
+     */
+    protected HistoryJobEntity createRecordJob(JobServiceConfiguration jobServiceConfiguration, AsyncHistorySession asyncHistorySession, byte[] record) {
+        HistoryJobEntityManager historyJobEntityManager = jobServiceConfiguration.getHistoryJobEntityManager();
+        HistoryJobEntity recordJob = historyJobEntityManager.create();
+        recordJob.setJobHandlerType(AsyncHistorySinkJobHandler.TYPE);
+        recordJob.setRetries(jobServiceConfiguration.getAsyncHistoryExecutorNumberOfRetries());
+        recordJob.setTenantId(asyncHistorySession != null ? asyncHistorySession.getTenantId() : null);
+        Date currentTime = jobServiceConfiguration.getClock().getCurrentTime();
+        recordJob.setCreateTime(currentTime);
+        recordJob.setScopeType(jobServiceConfiguration.getHistoryJobExecutionScope());
+        recordJob.setLockOwner(LOCK_OWNER);
+        recordJob.setLockExpirationTime(new Date(currentTime.getTime() + recordJobLockTimeInMillis));
+        recordJob.setAdvancedJobHandlerConfigurationBytes(record);
+        historyJobEntityManager.insert(recordJob);
+        return recordJob;
+    }
+
+    /**
+     * Returns whether the records were appended.
+     */
+    protected boolean appendRecords(List<byte[]> records) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sink.append(records);
+                return true;
+
+            } catch (RuntimeException e) {
+                if (attempt > numberOfAppendRetries) {
+                    handleAppendFailure(records, e);
+                    return false;
+                }
+                LOGGER.debug("Could not append {} async history records to the sink (attempt {}), retrying", records.size(), attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Called when the records of a transaction could not be appended to the sink, after retrying.
+     * The records of a committed transaction are appended by their history jobs later on.
+     */
+    protected void handleAppendFailure(List<byte[]> records, RuntimeException exception) {
+        LOGGER.warn("Could not append {} async history records to the sink, they are appended by their history jobs", records.size(), exception);
+    }
+
+    /**
+     * Appends the records of all committed transactions that are not delivered yet as one batch. Runs on the delivery thread.
+     */
+    protected void deliverCommittedRecords() {
+        List<PendingRecords> pendingRecordsList = new ArrayList<>();
+        PendingRecords pendingRecords;
+        while ((pendingRecords = committedRecords.poll()) != null) {
+            pendingRecordsList.add(pendingRecords);
+        }
+        if (pendingRecordsList.isEmpty()) {
+            return; // delivered together with the records of an earlier task
+        }
+
+        List<byte[]> records = new ArrayList<>();
+        Map<JobServiceConfiguration, List<HistoryJobEntity>> recordJobsByConfiguration = new LinkedHashMap<>();
+        for (PendingRecords committed : pendingRecordsList) {
+            records.addAll(committed.records);
+            recordJobsByConfiguration.computeIfAbsent(committed.jobServiceConfiguration, key -> new ArrayList<>()).addAll(committed.recordJobs);
+        }
+
+        boolean appended = appendRecords(records);
+        for (Map.Entry<JobServiceConfiguration, List<HistoryJobEntity>> entry : recordJobsByConfiguration.entrySet()) {
+            try {
+                completeRecordJobs(entry.getKey(), entry.getValue(), appended);
+            } catch (RuntimeException e) {
+                // The records are appended again when the lock of their jobs expires
+                LOGGER.warn("Could not complete the history jobs of {} async history records", entry.getValue().size(), e);
+            }
+        }
+    }
+
+    /**
+     * Deletes the jobs of the records that are appended, or unlocks them so the async history executor appends them when they were not.
+     * The jobs of appended records are deleted through the entities that were inserted, which are not changed since
+     * (they are locked), so they don't need to be fetched again. When one of them was appended by the async history executor already
+     * (its lock expired), the optimistic locking check makes the transaction fail and the remaining records are appended again later on.
+     */
+    protected void completeRecordJobs(JobServiceConfiguration jobServiceConfiguration, List<HistoryJobEntity> recordJobs, boolean appended) {
+        jobServiceConfiguration.getCommandExecutor().execute(new CommandConfig(false, TransactionPropagation.REQUIRES_NEW), commandContext -> {
+            HistoryJobEntityManager historyJobEntityManager = jobServiceConfiguration.getHistoryJobEntityManager();
+            for (HistoryJobEntity recordJob : recordJobs) {
+                if (appended) {
+                    historyJobEntityManager.delete(recordJob);
+                    continue;
+                }
+
+                HistoryJobEntity lockedRecordJob = historyJobEntityManager.findById(recordJob.getId());
+                if (lockedRecordJob != null) {
+                    lockedRecordJob.setLockOwner(null);
+                    lockedRecordJob.setLockExpirationTime(null);
+                }
+            }
+            return null;
+        });
+    }
+
+    protected synchronized ExecutorService ensureDeliveryExecutorService() {
+        if (deliveryExecutorService == null) {
+            deliveryExecutorService = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+                    .namingPattern("flowable-async-history-sink-delivery-%d")
+                    .daemon(true)
+                    .build());
+            shutdownDeliveryExecutorService = true;
+        }
+        return deliveryExecutorService;
+    }
+
+    /**
+     * Waits until the records of the transactions that are committed are delivered.
+     */
+    public void flush() {
+        try {
+            ensureDeliveryExecutorService().submit(this::deliverCommittedRecords).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlowableException("Interrupted while waiting for the async history records to be delivered", e);
+        } catch (ExecutionException e) {
+            throw new FlowableException("Could not deliver the async history records", e.getCause());
+        }
+    }
+
+    /**
+     * Shuts down the delivery executor service if it was created by this listener. Called when the engine is closed.
+     * The records of the transactions that are committed already are still delivered.
+     */
+    public synchronized void shutdown() {
+        if (shutdownDeliveryExecutorService && deliveryExecutorService != null) {
+            deliveryExecutorService.shutdown();
+            deliveryExecutorService = null;
+            shutdownDeliveryExecutorService = false;
+        }
+    }
+
+    /**
+     * The handler for the history jobs of the records, which needs to be registered with the async history executor.
+     */
+    public HistoryJobHandler createJobHandler() {
+        return new AsyncHistorySinkJobHandler(sink);
+    }
+
+    public AsyncHistorySink getSink() {
+        return sink;
+    }
+
+    public void setSink(AsyncHistorySink sink) {
+        this.sink = sink;
+    }
+
+    public int getNumberOfAppendRetries() {
+        return numberOfAppendRetries;
+    }
+
+    public void setNumberOfAppendRetries(int numberOfAppendRetries) {
+        this.numberOfAppendRetries = numberOfAppendRetries;
+    }
+
+    public int getRecordJobLockTimeInMillis() {
+        return recordJobLockTimeInMillis;
+    }
+
+    public void setRecordJobLockTimeInMillis(int recordJobLockTimeInMillis) {
+        this.recordJobLockTimeInMillis = recordJobLockTimeInMillis;
+    }
+
+    public ExecutorService getDeliveryExecutorService() {
+        return deliveryExecutorService;
+    }
+
+    public void setDeliveryExecutorService(ExecutorService deliveryExecutorService) {
+        this.deliveryExecutorService = deliveryExecutorService;
+    }
+
+    protected static class PendingRecords {
+
+        protected JobServiceConfiguration jobServiceConfiguration;
+        protected List<byte[]> records = new ArrayList<>();
+        protected List<HistoryJobEntity> recordJobs = new ArrayList<>();
+
+        public PendingRecords(JobServiceConfiguration jobServiceConfiguration) {
+            this.jobServiceConfiguration = jobServiceConfiguration;
+        }
+
+        public void add(byte[] record, HistoryJobEntity recordJob) {
+            records.add(record);
+            recordJobs.add(recordJob);
+        }
+
+    }
+
+    protected class AppendRecordsTransactionListener implements TransactionListener {
+
+        protected PendingRecords pendingRecords;
+
+        public AppendRecordsTransactionListener(PendingRecords pendingRecords) {
+            this.pendingRecords = pendingRecords;
+        }
+
+        @Override
+        public void execute(CommandContext commandContext) {
+            committedRecords.add(pendingRecords);
+            try {
+                ensureDeliveryExecutorService().execute(StreamingAsyncHistoryListener.this::deliverCommittedRecords);
+            } catch (RejectedExecutionException e) {
+                committedRecords.remove(pendingRecords);
+                // The records are appended by their jobs when their lock expires
+                LOGGER.warn("Could not deliver {} async history records, the delivery executor is shut down", pendingRecords.records.size(), e);
+            }
+        }
+
+    }
+
+}
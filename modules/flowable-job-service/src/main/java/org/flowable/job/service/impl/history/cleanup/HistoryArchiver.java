@@ -0,0 +1,36 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.cleanup;
+
+import java.util.List;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+
+/**
+ * Gets the chance to copy the history that is about to be removed by the history cleanup
+ * (e.g. to archive tables or to an external store) before it is deleted.
+ *
+ * The archiver is called in the transaction that deletes the history,
+ * so the history is not deleted when the archiver throws an exception.
+ */
+public interface HistoryArchiver {
+
+    /**
+     * @param historyCleanerName
+     *            the name of the {@link HistoryCleaner} that is cleaning the history, e.g. bpmn, cmmn or dmn
+     * @param instanceIds
+     *            the ids of the root instances (e.g. the historic process instances) that will be deleted together with their related history
+     */
+    void archive(String historyCleanerName, List<String> instanceIds, CommandContext commandContext);
+
+}
@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.cleanup;
+
+import java.util.Date;
+
+/**
+ * Removes the history of one engine (e.g. the historic process instances of the process engine)
+ * that has ended before a given date, on behalf of the {@link HistoryCleanupJobHandler}.
+ *
+ * An implementation cleans one batch per call in its own transaction, so a big backlog of history
+ * never results in one long running transaction holding locks on the history tables.
+ */
+public interface HistoryCleaner {
+
+    /**
+     * The name under which the metrics of this cleaner are kept, e.g. bpmn, cmmn or dmn.
+     */
+    String getName();
+
+    /**
+     * Deletes (after handing them to the archiver, if any) at most batchSize root instances that have ended before the given date,
+     * together with all their related history, in a new transaction.
+     *
+     * @return the number of root instances that were cleaned, a value lower than the batch size means there is nothing left to clean
+     */
+    int cleanHistory(Date endedBefore, int batchSize, HistoryArchiver historyArchiver);
+
+    /**
+     * Returns the number of root instances that have ended before the given date and still need to be cleaned.
+     */
+    long countCleanableHistory(Date endedBefore);
+
+}
@@ -0,0 +1,138 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.cleanup;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.JobHandler;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.job.service.impl.util.CommandContextUtil;
+import org.flowable.variable.api.delegate.VariableScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The handler of the repeating timer job that removes the history that has ended longer than a configured number of days ago.
+ *
+ * The actual deleting is done by the registered {@link HistoryCleaner}s (one per engine), in bounded batches that are each committed separately.
+ * A run stops after a maximum number of batches, the remaining backlog is picked up by the next run.
+ */
+public class HistoryCleanupJobHandler implements JobHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoryCleanupJobHandler.class);
+
+    public static final String TYPE = "history-cleanup";
+
+    protected List<HistoryCleaner> historyCleaners = new CopyOnWriteArrayList<>();
+    protected HistoryArchiver historyArchiver;
+    protected int cleanInstancesEndedAfterNumberOfDays = 365;
+    protected int batchSize = 100;
+    protected int maxBatchesPerRun = 100;
+
+    protected Map<String, HistoryCleanupMetrics> metrics = new ConcurrentHashMap<>();
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(JobEntity job, String configuration, VariableScope variableScope, CommandContext commandContext) {
+        Date now = CommandContextUtil.getJobServiceConfiguration(commandContext).getClock().getCurrentTime();
+        Date endedBefore = new Date(now.getTime() - TimeUnit.DAYS.toMillis(cleanInstancesEndedAfterNumberOfDays));
+
+        for (HistoryCleaner historyCleaner : historyCleaners) {
+            cleanHistory(historyCleaner, now, endedBefore);
+        }
+    }
+
+    protected void cleanHistory(HistoryCleaner historyCleaner, Date now, Date endedBefore) {
+        long startTime = System.currentTimeMillis();
+        int cleanedInstances = 0;
+        int batches = 0;
+        while (batches < maxBatchesPerRun) {
+            int cleanedInBatch = historyCleaner.cleanHistory(endedBefore, batchSize, historyArchiver);
+            cleanedInstances += cleanedInBatch;
+            batches++;
+            if (cleanedInBatch < batchSize) {
+                break;
+            }
+        }
+        long duration = System.currentTimeMillis() - startTime;
+
+        long backlog = batches < maxBatchesPerRun ? 0 : historyCleaner.countCleanableHistory(endedBefore);
+        getMetrics(historyCleaner.getName()).recordRun(now, cleanedInstances, batches, duration, backlog);
+
+        LOGGER.info("History cleanup {}: cleaned {} instances that ended before {} in {} batches ({} ms), {} instances left for the next run",
+                historyCleaner.getName(), cleanedInstances, endedBefore, batches, duration, backlog);
+    }
+
+    public HistoryCleanupMetrics getMetrics(String historyCleanerName) {
+        return metrics.computeIfAbsent(historyCleanerName, HistoryCleanupMetrics::new);
+    }
+
+    public Map<String, HistoryCleanupMetrics> getMetrics() {
+        return metrics;
+    }
+
+    public void addHistoryCleaner(HistoryCleaner historyCleaner) {
+        historyCleaners.add(historyCleaner);
+    }
+
+    public List<HistoryCleaner> getHistoryCleaners() {
+        return historyCleaners;
+    }
+
+    public void setHistoryCleaners(List<HistoryCleaner> historyCleaners) {
+        this.historyCleaners = historyCleaners;
+    }
+
+    public HistoryArchiver getHistoryArchiver() {
+        return historyArchiver;
+    }
+
+    public void setHistoryArchiver(HistoryArchiver historyArchiver) {
+        this.historyArchiver = historyArchiver;
+    }
+
+    public int getCleanInstancesEndedAfterNumberOfDays() {
+        return cleanInstancesEndedAfterNumberOfDays;
+    }
+
+    public void setCleanInstancesEndedAfterNumberOfDays(int cleanInstancesEndedAfterNumberOfDays) {
+        this.cleanInstancesEndedAfterNumberOfDays = cleanInstancesEndedAfterNumberOfDays;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+}
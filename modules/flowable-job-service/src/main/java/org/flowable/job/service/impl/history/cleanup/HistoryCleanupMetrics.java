@@ -0,0 +1,97 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.cleanup;
+
+import java.util.Date;
+
+/**
+ * The throughput and backlog of one {@link HistoryCleaner}, as measured by the history cleanup job of this node.
+ */
+public class HistoryCleanupMetrics {
+
+    protected final String historyCleanerName;
+
+    protected long numberOfRuns;
+    protected long totalCleanedInstances;
+    protected Date lastRunTime;
+    protected int lastRunCleanedInstances;
+    protected int lastRunBatches;
+    protected long lastRunDurationMillis;
+    protected long backlog;
+
+    public HistoryCleanupMetrics(String historyCleanerName) {
+        this.historyCleanerName = historyCleanerName;
+    }
+
+    public synchronized void recordRun(Date runTime, int cleanedInstances, int batches, long durationMillis, long backlog) {
+        this.numberOfRuns++;
+        this.totalCleanedInstances += cleanedInstances;
+        this.lastRunTime = runTime;
+        this.lastRunCleanedInstances = cleanedInstances;
+        this.lastRunBatches = batches;
+        this.lastRunDurationMillis = durationMillis;
+        this.backlog = backlog;
+    }
+
+    public String getHistoryCleanerName() {
+        return historyCleanerName;
+    }
+
+    public synchronized long getNumberOfRuns() {
+        return numberOfRuns;
+    }
+
+    public synchronized long getTotalCleanedInstances() {
+        return totalCleanedInstances;
+    }
+
+    public synchronized Date getLastRunTime() {
+        return lastRunTime;
+    }
+
+    public synchronized int getLastRunCleanedInstances() {
+        return lastRunCleanedInstances;
+    }
+
+    public synchronized int getLastRunBatches() {
+        return lastRunBatches;
+    }
+
+    public synchronized long getLastRunDurationMillis() {
+        return lastRunDurationMillis;
+    }
+
+    /**
+     * The number of instances cleaned per second during the last run.
+     */
+    public synchronized double getLastRunThroughput() {
+        if (lastRunDurationMillis == 0) {
+            return lastRunCleanedInstances;
+        }
+        return lastRunCleanedInstances * 1000.0 / lastRunDurationMillis;
+    }
+
+    /**
+     * The number of instances that were eligible for cleaning but were left for a next run, as counted at the end of the last run.
+     */
+    public synchronized long getBacklog() {
+        return backlog;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "HistoryCleanupMetrics[" + historyCleanerName + ", runs=" + numberOfRuns + ", totalCleaned=" + totalCleanedInstances
+                + ", lastRunCleaned=" + lastRunCleanedInstances + ", lastRunDurationMillis=" + lastRunDurationMillis + ", backlog=" + backlog + "]";
+    }
+
+}
@@ -20,4 +20,11 @@ package org.flowable.job.service.impl.persistence.entity;
  */
 public interface JobEntity extends JobInfoEntity, AbstractRuntimeJobEntity {
 
+    /**
+     * The partition of the job when the jobs are partitioned over the async executors, null otherwise.
+     */
+    Integer getPartition();
+
+    void setPartition(Integer partition);
+
 }
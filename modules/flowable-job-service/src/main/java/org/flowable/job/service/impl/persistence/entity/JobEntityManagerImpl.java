@@ -21,6 +21,7 @@ import org.flowable.common.engine.impl.persistence.entity.data.DataManager;
 import org.flowable.job.api.Job;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.event.impl.FlowableJobEventBuilder;
+import org.flowable.job.service.impl.asyncexecutor.JobPartitionManager;
 import org.flowable.job.service.impl.JobQueryImpl;
 import org.flowable.job.service.impl.persistence.entity.data.JobDataManager;
 
@@ -60,6 +61,12 @@ public class JobEntityManagerImpl extends JobInfoEntityManagerImpl<JobEntity> im
         }
 
         jobEntity.setCreateTime(getJobServiceConfiguration().getClock().getCurrentTime());
+
+        JobPartitionManager jobPartitionManager = getJobServiceConfiguration().getJobPartitionManager();
+        if (jobPartitionManager != null && jobEntity.getPartition() == null) {
+            jobEntity.setPartition(jobPartitionManager.determinePartition(jobEntity));
+        }
+
         super.insert(jobEntity, fireCreateEvent);
         return true;
     }
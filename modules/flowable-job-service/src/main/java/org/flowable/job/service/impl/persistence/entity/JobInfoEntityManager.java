@@ -12,6 +12,7 @@
  */
 package org.flowable.job.service.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.common.engine.impl.Page;
@@ -26,6 +27,13 @@ public interface JobInfoEntityManager <T extends JobInfoEntity> extends EntityMa
      */
     List<T> findJobsToExecute(Page page);
 
+    /**
+     * Returns {@link JobEntity} that are eligible to be executed and locks them for the given lock owner, using one update statement for all jobs.
+     * 
+     * Jobs that were locked concurrently by another executor are not returned, instead of failing with an optimistic locking exception.
+     */
+    List<T> findAndLockJobsToExecute(Page page, String lockOwner, Date lockExpirationTime);
+
     /**
      * Returns all {@link JobEntity} instances related to on ExecutionEntity.
      */
@@ -29,4 +29,8 @@ public interface TimerJobEntity extends AbstractRuntimeJobEntity {
     Date getLockExpirationTime();
 
     void setLockExpirationTime(Date claimedUntil);
+
+    Integer getPartition();
+
+    void setPartition(Integer partition);
 }
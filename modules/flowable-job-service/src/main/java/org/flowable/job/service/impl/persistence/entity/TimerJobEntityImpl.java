@@ -26,6 +26,7 @@ public class TimerJobEntityImpl extends AbstractJobEntityImpl implements TimerJo
 
     protected String lockOwner;
     protected Date lockExpirationTime;
+    protected Integer partition;
 
     @SuppressWarnings("unchecked")
     @Override
@@ -59,6 +60,16 @@ public class TimerJobEntityImpl extends AbstractJobEntityImpl implements TimerJo
         this.lockExpirationTime = claimedUntil;
     }
 
+    @Override
+    public Integer getPartition() {
+        return partition;
+    }
+
+    @Override
+    public void setPartition(Integer partition) {
+        this.partition = partition;
+    }
+
     @Override
     public String toString() {
         return "TimerJobEntity [id=" + id + "]";
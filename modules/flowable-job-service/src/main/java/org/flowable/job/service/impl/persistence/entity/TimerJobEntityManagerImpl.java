@@ -24,6 +24,7 @@ import org.flowable.common.engine.impl.calendar.BusinessCalendar;
 import org.flowable.job.api.Job;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.event.impl.FlowableJobEventBuilder;
+import org.flowable.job.service.impl.asyncexecutor.JobPartitionManager;
 import org.flowable.job.service.impl.TimerJobQueryImpl;
 import org.flowable.job.service.impl.persistence.entity.data.TimerJobDataManager;
 import org.flowable.variable.api.delegate.VariableScope;
@@ -66,6 +67,11 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         return jobDataManager.findTimerJobsToExecute(page);
     }
 
+    @Override
+    public List<TimerJobEntity> findAndLockTimerJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+        return jobDataManager.findAndLockTimerJobsToExecute(page, lockOwner, lockExpirationTime);
+    }
+
     @Override
     public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId) {
         return jobDataManager.findJobsByTypeAndProcessDefinitionId(jobHandlerType, processDefinitionId);
@@ -133,6 +139,12 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         }
 
         jobEntity.setCreateTime(getJobServiceConfiguration().getClock().getCurrentTime());
+
+        JobPartitionManager jobPartitionManager = getJobServiceConfiguration().getJobPartitionManager();
+        if (jobPartitionManager != null && jobEntity.getPartition() == null) {
+            jobEntity.setPartition(jobPartitionManager.determinePartition(jobEntity));
+        }
+
         super.insert(jobEntity, fireCreateEvent);
         return true;
     }
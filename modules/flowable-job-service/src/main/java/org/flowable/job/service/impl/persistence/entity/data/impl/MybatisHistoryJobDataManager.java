@@ -12,6 +12,8 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -66,6 +68,37 @@ public class MybatisHistoryJobDataManager extends AbstractDataManager<HistoryJob
         return getDbSqlSession().selectList("selectHistoryJobsToExecute", params);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<HistoryJobEntity> findAndLockJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+        ListQueryParameterObject params = new ListQueryParameterObject();
+        params.setParameter(jobServiceConfiguration.getHistoryJobExecutionScope());
+        params.setFirstResult(page.getFirstResult());
+        params.setMaxResults(page.getMaxResults());
+        params.setOrderByColumns("CREATE_TIME_ ASC");
+
+        List<HistoryJobEntity> candidateJobs = getDbSqlSession().selectListWithRawParameterNoCacheCheck("selectHistoryJobsToExecute", params);
+        if (candidateJobs.isEmpty()) {
+            return candidateJobs;
+        }
+
+        List<String> jobIds = new ArrayList<>(candidateJobs.size());
+        for (HistoryJobEntity job : candidateJobs) {
+            jobIds.add(job.getId());
+        }
+
+        Map<String, Object> lockParams = new HashMap<>();
+        lockParams.put("ids", jobIds);
+        lockParams.put("lockOwner", lockOwner);
+        lockParams.put("lockExpirationTime", lockExpirationTime);
+        if (getDbSqlSession().update("bulkLockHistoryJobs", lockParams) == 0) {
+            return Collections.emptyList();
+        }
+
+        // Only the jobs that weren't locked concurrently by another executor were updated
+        return getDbSqlSession().selectList("selectHistoryJobsLockedByOwner", lockParams);
+    }
+
     @Override
     public List<HistoryJobEntity> findJobsByExecutionId(final String executionId) {
         return getDbSqlSession().selectList("selectHistoryJobsByExecutionId", executionId);
@@ -12,6 +12,8 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -20,9 +22,11 @@ import java.util.Map;
 import org.flowable.common.engine.impl.Page;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.db.ListQueryParameterObject;
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcher;
 import org.flowable.job.api.Job;
 import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.JobPartitionManager;
 import org.flowable.job.service.impl.JobQueryImpl;
 import org.flowable.job.service.impl.persistence.entity.JobEntity;
 import org.flowable.job.service.impl.persistence.entity.JobEntityImpl;
@@ -62,10 +66,42 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     public List<JobEntity> findJobsToExecute(Page page) {
         HashMap<String, Object> params = new HashMap<>();
         params.put("jobExecutionScope", jobServiceConfiguration.getJobExecutionScope());
+        addOwnedPartitions(params);
         
         return getDbSqlSession().selectList("selectJobsToExecute", params, page);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobEntity> findAndLockJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("jobExecutionScope", jobServiceConfiguration.getJobExecutionScope());
+        params.put("skipLocked", true);
+        addOwnedPartitions(params);
+
+        List<JobEntity> candidateJobs = getDbSqlSession().selectListWithRawParameterNoCacheCheck("selectJobsToExecute",
+                new ListQueryParameterObject(params, page.getFirstResult(), page.getMaxResults()));
+        if (candidateJobs.isEmpty()) {
+            return candidateJobs;
+        }
+
+        List<String> jobIds = new ArrayList<>(candidateJobs.size());
+        for (JobEntity job : candidateJobs) {
+            jobIds.add(job.getId());
+        }
+
+        Map<String, Object> lockParams = new HashMap<>();
+        lockParams.put("ids", jobIds);
+        lockParams.put("lockOwner", lockOwner);
+        lockParams.put("lockExpirationTime", lockExpirationTime);
+        if (getDbSqlSession().update("bulkLockJobs", lockParams) == 0) {
+            return Collections.emptyList();
+        }
+
+        // Only the jobs that weren't locked concurrently by another executor were updated
+        return getDbSqlSession().selectList("selectJobsLockedByOwner", lockParams);
+    }
+
     @Override
     public List<JobEntity> findJobsByExecutionId(final String executionId) {
         DbSqlSession dbSqlSession = getDbSqlSession();
@@ -134,4 +170,10 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
         }
     }
 
+    protected void addOwnedPartitions(Map<String, Object> params) {
+        JobPartitionManager jobPartitionManager = jobServiceConfiguration.getJobPartitionManager();
+        if (jobPartitionManager != null) {
+            params.put("partitions", jobPartitionManager.getOwnedPartitions());
+        }
+    }
 }
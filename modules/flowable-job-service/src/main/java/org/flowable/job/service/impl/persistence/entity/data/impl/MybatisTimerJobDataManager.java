@@ -12,6 +12,8 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -20,9 +22,11 @@ import java.util.Map;
 import org.flowable.common.engine.impl.Page;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.db.ListQueryParameterObject;
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcher;
 import org.flowable.job.api.Job;
 import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.JobPartitionManager;
 import org.flowable.job.service.impl.TimerJobQueryImpl;
 import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
 import org.flowable.job.service.impl.persistence.entity.TimerJobEntityImpl;
@@ -78,10 +82,43 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
         
         Date now = jobServiceConfiguration.getClock().getCurrentTime();
         params.put("now", now);
+        addOwnedPartitions(params);
         
         return getDbSqlSession().selectList("selectTimerJobsToExecute", params, page);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TimerJobEntity> findAndLockTimerJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+        Map<String, Object> params = new HashMap<>(3);
+        params.put("jobExecutionScope", jobServiceConfiguration.getJobExecutionScope());
+        params.put("now", jobServiceConfiguration.getClock().getCurrentTime());
+        params.put("skipLocked", true);
+        addOwnedPartitions(params);
+
+        List<TimerJobEntity> candidateJobs = getDbSqlSession().selectListWithRawParameterNoCacheCheck("selectTimerJobsToExecute",
+                new ListQueryParameterObject(params, page.getFirstResult(), page.getMaxResults()));
+        if (candidateJobs.isEmpty()) {
+            return candidateJobs;
+        }
+
+        List<String> jobIds = new ArrayList<>(candidateJobs.size());
+        for (TimerJobEntity job : candidateJobs) {
+            jobIds.add(job.getId());
+        }
+
+        Map<String, Object> lockParams = new HashMap<>();
+        lockParams.put("ids", jobIds);
+        lockParams.put("lockOwner", lockOwner);
+        lockParams.put("lockExpirationTime", lockExpirationTime);
+        if (getDbSqlSession().update("bulkLockTimerJobs", lockParams) == 0) {
+            return Collections.emptyList();
+        }
+
+        // Only the jobs that weren't locked concurrently by another executor were updated
+        return getDbSqlSession().selectList("selectTimerJobsLockedByOwner", lockParams);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId) {
@@ -145,4 +182,11 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
         getDbSqlSession().update("updateTimerJobTenantIdForDeployment", params);
     }
     
+
+    protected void addOwnedPartitions(Map<String, Object> params) {
+        JobPartitionManager jobPartitionManager = jobServiceConfiguration.getJobPartitionManager();
+        if (jobPartitionManager != null) {
+            params.put("partitions", jobPartitionManager.getOwnedPartitions());
+        }
+    }
 }
@@ -21,6 +21,7 @@ create table ACT_RU_JOB (
     HANDLER_CFG_ nvarchar(4000),
     CUSTOM_VALUES_ID_ nvarchar(64),
     CREATE_TIME_ datetime2 NULL,
+    PARTITION_ int,
     TENANT_ID_ nvarchar(255) default '',
     primary key (ID_)
 );
@@ -48,6 +49,7 @@ create table ACT_RU_TIMER_JOB (
     HANDLER_CFG_ nvarchar(4000),
     CUSTOM_VALUES_ID_ nvarchar(64),
     CREATE_TIME_ datetime2 NULL,
+    PARTITION_ int,
     TENANT_ID_ nvarchar(255) default '',
     primary key (ID_)
 );
@@ -119,6 +121,14 @@ create table ACT_RU_HISTORY_JOB (
     primary key (ID_)
 );
 
+create table ACT_RU_JOB_LEASE (
+    ID_ nvarchar(255) NOT NULL,
+    REV_ int,
+    LOCK_EXP_TIME_ datetime NULL,
+    LOCK_OWNER_ nvarchar(255),
+    primary key (ID_)
+);
+
 create index ACT_IDX_JOB_EXCEPTION_STACK_ID on ACT_RU_JOB(EXCEPTION_STACK_ID_);
 create index ACT_IDX_JOB_CUSTOM_VALUES_ID on ACT_RU_JOB(CUSTOM_VALUES_ID_);
 
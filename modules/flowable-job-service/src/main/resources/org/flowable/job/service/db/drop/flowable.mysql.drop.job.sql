@@ -39,4 +39,5 @@ drop table if exists ACT_RU_JOB;
 drop table if exists ACT_RU_TIMER_JOB;
 drop table if exists ACT_RU_SUSPENDED_JOB;
 drop table if exists ACT_RU_DEADLETTER_JOB;
-drop table if exists ACT_RU_HISTORY_JOB;
\ No newline at end of file
+drop table if exists ACT_RU_HISTORY_JOB;
+drop table if exists ACT_RU_JOB_LEASE;
\ No newline at end of file
@@ -52,3 +52,4 @@ drop table ACT_RU_TIMER_JOB;
 drop table ACT_RU_SUSPENDED_JOB;
 drop table ACT_RU_DEADLETTER_JOB;
 drop table ACT_RU_HISTORY_JOB;
+drop table ACT_RU_JOB_LEASE;
@@ -0,0 +1,10 @@
+alter table ACT_RU_JOB add PARTITION_ int;
+alter table ACT_RU_TIMER_JOB add PARTITION_ int;
+
+create table ACT_RU_JOB_LEASE (
+    ID_ nvarchar(255) NOT NULL,
+    REV_ int,
+    LOCK_EXP_TIME_ datetime NULL,
+    LOCK_OWNER_ nvarchar(255),
+    primary key (ID_)
+);
@@ -0,0 +1,10 @@
+alter table ACT_RU_JOB add column PARTITION_ integer;
+alter table ACT_RU_TIMER_JOB add column PARTITION_ integer;
+
+create table ACT_RU_JOB_LEASE (
+    ID_ varchar(255) NOT NULL,
+    REV_ integer,
+    LOCK_EXP_TIME_ timestamp(3) NULL,
+    LOCK_OWNER_ varchar(255),
+    primary key (ID_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
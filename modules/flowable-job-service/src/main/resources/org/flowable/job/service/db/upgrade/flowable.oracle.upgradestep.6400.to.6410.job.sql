@@ -0,0 +1,10 @@
+alter table ACT_RU_JOB add PARTITION_ INTEGER;
+alter table ACT_RU_TIMER_JOB add PARTITION_ INTEGER;
+
+create table ACT_RU_JOB_LEASE (
+    ID_ NVARCHAR2(255) NOT NULL,
+    REV_ INTEGER,
+    LOCK_EXP_TIME_ TIMESTAMP(6),
+    LOCK_OWNER_ NVARCHAR2(255),
+    primary key (ID_)
+);
@@ -12,6 +12,7 @@
  */
 package org.flowable.task.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.task.api.history.HistoricTaskInstance;
@@ -50,5 +51,9 @@ public interface HistoricTaskService {
     HistoricTaskInstanceEntity recordTaskEnd(TaskEntity task, String deleteReason);
     
     HistoricTaskInstanceEntity recordTaskInfoChange(TaskEntity taskEntity);
+
+    void bulkDeleteHistoricTaskInstancesByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    void bulkDeleteHistoricTaskInstancesByScopeIdsAndScopeType(Collection<String> scopeIds, String scopeType);
     
 }
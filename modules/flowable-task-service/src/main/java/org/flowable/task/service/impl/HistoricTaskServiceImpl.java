@@ -12,6 +12,7 @@
  */
 package org.flowable.task.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -82,6 +83,16 @@ public class HistoricTaskServiceImpl extends CommonServiceImpl<TaskServiceConfig
         getHistoricTaskInstanceEntityManager().delete(HistoricTaskInstance);
     }
 
+    @Override
+    public void bulkDeleteHistoricTaskInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getHistoricTaskInstanceEntityManager().bulkDeleteHistoricTaskInstancesByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public void bulkDeleteHistoricTaskInstancesByScopeIdsAndScopeType(Collection<String> scopeIds, String scopeType) {
+        getHistoricTaskInstanceEntityManager().bulkDeleteHistoricTaskInstancesByScopeIdsAndScopeType(scopeIds, scopeType);
+    }
+
     @Override
     public HistoricTaskInstanceEntity recordTaskCreated(TaskEntity task) {
         HistoricTaskInstanceEntityManager historicTaskInstanceEntityManager = getHistoricTaskInstanceEntityManager();
@@ -13,6 +13,7 @@
 
 package org.flowable.task.service.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -92,6 +93,16 @@ public class HistoricTaskInstanceEntityManagerImpl extends AbstractEntityManager
         return historicTaskInstanceDataManager.findHistoricTaskInstanceCountByNativeQuery(parameterMap);
     }
 
+    @Override
+    public void bulkDeleteHistoricTaskInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        historicTaskInstanceDataManager.bulkDeleteHistoricTaskInstancesByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public void bulkDeleteHistoricTaskInstancesByScopeIdsAndScopeType(Collection<String> scopeIds, String scopeType) {
+        historicTaskInstanceDataManager.bulkDeleteHistoricTaskInstancesByScopeIdsAndScopeType(scopeIds, scopeType);
+    }
+
     public HistoricTaskInstanceDataManager getHistoricTaskInstanceDataManager() {
         return historicTaskInstanceDataManager;
     }
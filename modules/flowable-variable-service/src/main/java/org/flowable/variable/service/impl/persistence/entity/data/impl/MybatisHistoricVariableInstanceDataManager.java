@@ -12,6 +12,7 @@
  */
 package org.flowable.variable.service.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -113,4 +114,21 @@ public class MybatisHistoricVariableInstanceDataManager extends AbstractDataMana
         return (Long) getDbSqlSession().selectOne("selectHistoricVariableInstanceCountByNativeQuery", parameterMap);
     }
 
+    @Override
+    public void bulkDeleteHistoricVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        Map<String, Object> parameters = new HashMap<>(1);
+        parameters.put("processInstanceIds", processInstanceIds);
+        getDbSqlSession().delete("bulkDeleteHistoricVariableInstanceByteArraysByProcessInstanceIds", parameters, HistoricVariableInstanceEntityImpl.class);
+        getDbSqlSession().delete("bulkDeleteHistoricVariableInstancesByProcessInstanceIds", parameters, HistoricVariableInstanceEntityImpl.class);
+    }
+
+    @Override
+    public void bulkDeleteHistoricVariableInstancesByScopeIdsAndScopeType(Collection<String> scopeIds, String scopeType) {
+        Map<String, Object> parameters = new HashMap<>(2);
+        parameters.put("scopeIds", scopeIds);
+        parameters.put("scopeType", scopeType);
+        getDbSqlSession().delete("bulkDeleteHistoricVariableInstanceByteArraysByScopeIdsAndScopeType", parameters, HistoricVariableInstanceEntityImpl.class);
+        getDbSqlSession().delete("bulkDeleteHistoricVariableInstancesByScopeIdsAndScopeType", parameters, HistoricVariableInstanceEntityImpl.class);
+    }
+
 }